@@ -0,0 +1,290 @@
+"""
+========================================
+WebSocket fan-out 처리량 측정 (서버 수별 초당 전달 메시지)
+========================================
+
+목적:
+- 같은 STOMP 브로커(websocket.broker.mode=relay)를 공유하는 서버 1 / 2 / 4대에
+  클라이언트를 나눠 연결하고, 모든 클라이언트가 받은 메시지 수를 초당으로 집계
+- 서버별 / 전체 초당 전달 메시지, 순번(seq) 끊김 수 출력
+
+준비:
+1. 서버 A (브로커 + 수집 입력):  --spring.profiles.active=embedded-broker
+   (내장 브로커는 ./gradlew bootRun 실행에서만 사용 가능, bootJar로 띄우면 외부 STOMP 브로커 필요)
+2. 서버 B.. (전달 전용):        --spring.profiles.active=embedded-broker --websocket.broker.embedded.enabled=false
+                                 --python.collector.enabled=false --server.port=8081
+3. 부하: python python/stream_stub.py --symbols 500 --cycles 0 --interval 0.5 (서버 A 소켓)
+
+사용:
+    python python/fanout_bench.py --nodes http://localhost:8080 --clients 200
+    python python/fanout_bench.py --nodes http://localhost:8080,http://localhost:8081 --clients 200
+    python python/fanout_bench.py --nodes http://localhost:8080,http://localhost:8081,http://localhost:8082,http://localhost:8083 \\
+        --clients 200 --topics /topic/market,/topic/stock/STUB0000
+
+주의:
+- 표준 라이브러리만 사용 (SockJS의 raw WebSocket 경로 /ws/websocket에 직접 연결)
+- 클라이언트마다 스레드 1개 → 수천 개 이상은 여러 프로세스로 나눠 실행
+- 구독 직후 스냅샷(snapshot: true)은 집계에서 제외
+
+작성자: The Salty Spitoon Team
+작성일: 2026-01-20
+"""
+
+import argparse
+import base64
+import json
+import os
+import socket
+import struct
+import threading
+import time
+from urllib.parse import urlparse
+
+
+# ========================================
+# 최소 WebSocket 클라이언트 (RFC 6455, 텍스트 프레임만)
+# ========================================
+
+def ws_connect(url, timeout):
+    """HTTP Upgrade 핸드셰이크 후 소켓 반환"""
+    parsed = urlparse(url)
+    host = parsed.hostname
+    port = parsed.port or 80
+    path = parsed.path or '/'
+
+    sock = socket.create_connection((host, port), timeout=timeout)
+    key = base64.b64encode(os.urandom(16)).decode('ascii')
+    request = (
+        f"GET {path} HTTP/1.1\r\n"
+        f"Host: {host}:{port}\r\n"
+        "Upgrade: websocket\r\n"
+        "Connection: Upgrade\r\n"
+        f"Sec-WebSocket-Key: {key}\r\n"
+        "Sec-WebSocket-Version: 13\r\n"
+        "\r\n"
+    )
+    sock.sendall(request.encode('ascii'))
+
+    response = b''
+    while b'\r\n\r\n' not in response:
+        chunk = sock.recv(1024)
+        if not chunk:
+            raise ConnectionError('handshake closed')
+        response += chunk
+    status = response.split(b'\r\n', 1)[0]
+    if b' 101 ' not in status:
+        raise ConnectionError(f"handshake failed: {status.decode('ascii', 'replace')}")
+
+    # 핸드셰이크 응답 뒤에 붙어 온 바이트는 버퍼로 넘김
+    return sock, response.split(b'\r\n\r\n', 1)[1]
+
+
+def ws_send(sock, text, opcode=0x1):
+    """클라이언트 → 서버 프레임 (마스킹 필수)"""
+    payload = text.encode('utf-8') if isinstance(text, str) else text
+    header = bytes([0x80 | opcode])
+    length = len(payload)
+    if length < 126:
+        header += bytes([0x80 | length])
+    elif length < 65536:
+        header += bytes([0x80 | 126]) + struct.pack('!H', length)
+    else:
+        header += bytes([0x80 | 127]) + struct.pack('!Q', length)
+
+    mask = os.urandom(4)
+    masked = bytes(b ^ mask[i % 4] for i, b in enumerate(payload))
+    sock.sendall(header + mask + masked)
+
+
+class FrameReader:
+    """서버 → 클라이언트 프레임 읽기 (조각 프레임은 이어 붙임, ping은 pong 응답)"""
+
+    def __init__(self, sock, buffered):
+        self.sock = sock
+        self.buffer = bytearray(buffered)
+
+    def _read(self, n):
+        while len(self.buffer) < n:
+            chunk = self.sock.recv(65536)
+            if not chunk:
+                raise ConnectionError('connection closed')
+            self.buffer += chunk
+        data = bytes(self.buffer[:n])
+        del self.buffer[:n]
+        return data
+
+    def next_message(self):
+        parts = []
+        while True:
+            first, second = self._read(2)
+            fin = first & 0x80
+            opcode = first & 0x0F
+            length = second & 0x7F
+            if length == 126:
+                length = struct.unpack('!H', self._read(2))[0]
+            elif length == 127:
+                length = struct.unpack('!Q', self._read(8))[0]
+            payload = self._read(length)
+
+            if opcode == 0x8:
+                raise ConnectionError('server closed')
+            if opcode == 0x9:
+                ws_send(self.sock, payload, opcode=0xA)
+                continue
+            if opcode == 0xA:
+                continue
+
+            parts.append(payload)
+            if fin:
+                return b''.join(parts).decode('utf-8')
+
+
+# ========================================
+# STOMP 구독 + 집계
+# ========================================
+
+class Counter:
+    """서버별 집계 (측정 구간에만 증가)"""
+
+    def __init__(self):
+        self.lock = threading.Lock()
+        self.messages = 0
+        self.bytes = 0
+        self.gaps = 0
+        self.errors = 0
+        self.connected = 0
+
+
+def stomp_frame(command, headers, body=''):
+    lines = [command] + [f"{k}:{v}" for k, v in headers.items()]
+    return '\n'.join(lines) + '\n\n' + body + '\x00'
+
+
+def parse_stomp(text):
+    """STOMP 프레임 → (command, headers, body)"""
+    head, _, body = text.partition('\n\n')
+    lines = head.split('\n')
+    headers = {}
+    for line in lines[1:]:
+        key, _, value = line.partition(':')
+        headers.setdefault(key, value)
+    return lines[0], headers, body.rstrip('\x00')
+
+
+def run_client(node, topics, counter, measuring, stop, timeout):
+    ws_url = node.rstrip('/').replace('http://', 'ws://').replace('https://', 'wss://') + '/ws/websocket'
+    try:
+        sock, buffered = ws_connect(ws_url, timeout)
+        reader = FrameReader(sock, buffered)
+        host = urlparse(node).hostname
+        ws_send(sock, stomp_frame('CONNECT', {'accept-version': '1.2', 'host': host, 'heart-beat': '0,0'}))
+        command, _, _ = parse_stomp(reader.next_message())
+        if command != 'CONNECTED':
+            raise ConnectionError(f"STOMP {command}")
+        for i, topic in enumerate(topics):
+            ws_send(sock, stomp_frame('SUBSCRIBE', {'id': f"sub-{i}", 'destination': topic}))
+        sock.settimeout(1.0)
+    except Exception as e:
+        with counter.lock:
+            counter.errors += 1
+        print(f"[fanout] {node} connect failed: {e}")
+        return
+
+    with counter.lock:
+        counter.connected += 1
+
+    last_seq = {}
+    try:
+        while not stop.is_set():
+            try:
+                text = reader.next_message()
+            except socket.timeout:
+                continue
+            if text.strip() == '':
+                continue  # STOMP heart-beat
+
+            command, headers, body = parse_stomp(text)
+            if command != 'MESSAGE':
+                continue
+            try:
+                payload = json.loads(body)
+            except ValueError:
+                payload = {}
+            if isinstance(payload, dict) and payload.get('snapshot'):
+                continue
+
+            destination = headers.get('destination')
+            seq = payload.get('seq') if isinstance(payload, dict) else None
+            gap = False
+            if seq is not None:
+                previous = last_seq.get(destination)
+                gap = previous is not None and previous > 0 and seq > previous + 1
+                last_seq[destination] = seq
+
+            if measuring.is_set():
+                with counter.lock:
+                    counter.messages += 1
+                    counter.bytes += len(body)
+                    if gap:
+                        counter.gaps += 1
+    except Exception as e:
+        if not stop.is_set():
+            with counter.lock:
+                counter.errors += 1
+            print(f"[fanout] {node} client error: {e}")
+    finally:
+        try:
+            sock.close()
+        except OSError:
+            pass
+
+
+def main():
+    parser = argparse.ArgumentParser(description='WebSocket fan-out throughput across app nodes')
+    parser.add_argument('--nodes', default='http://localhost:8080', help='Comma-separated node base URLs')
+    parser.add_argument('--clients', type=int, default=100, help='Total clients (round-robin over nodes)')
+    parser.add_argument('--topics', default='/topic/market', help='Comma-separated destinations per client')
+    parser.add_argument('--warmup', type=float, default=5, help='Seconds before measuring')
+    parser.add_argument('--duration', type=float, default=30, help='Measuring seconds')
+    parser.add_argument('--timeout', type=float, default=10, help='Connect timeout seconds')
+    args = parser.parse_args()
+
+    nodes = [node.strip() for node in args.nodes.split(',') if node.strip()]
+    topics = [topic.strip() for topic in args.topics.split(',') if topic.strip()]
+    counters = {node: Counter() for node in nodes}
+    measuring = threading.Event()
+    stop = threading.Event()
+
+    threads = []
+    for i in range(args.clients):
+        node = nodes[i % len(nodes)]
+        thread = threading.Thread(target=run_client,
+                                  args=(node, topics, counters[node], measuring, stop, args.timeout),
+                                  daemon=True)
+        thread.start()
+        threads.append(thread)
+
+    time.sleep(args.warmup)
+    measuring.set()
+    started = time.time()
+    time.sleep(args.duration)
+    measuring.clear()
+    elapsed = time.time() - started
+    stop.set()
+    for thread in threads:
+        thread.join(timeout=2)
+
+    print('')
+    print(f"[fanout] nodes={len(nodes)} clients={args.clients} topics={','.join(topics)} duration={elapsed:.1f}s")
+    total_messages = 0
+    total_bytes = 0
+    for node, counter in counters.items():
+        total_messages += counter.messages
+        total_bytes += counter.bytes
+        print(f"  {node}: connected={counter.connected} msg/s={counter.messages / elapsed:,.0f} "
+              f"KB/s={counter.bytes / elapsed / 1024:,.0f} gaps={counter.gaps} errors={counter.errors}")
+    print(f"  total: msg/s={total_messages / elapsed:,.0f} KB/s={total_bytes / elapsed / 1024:,.0f}")
+
+
+if __name__ == '__main__':
+    main()
@@ -7,6 +7,7 @@ Historical Data Loader (Direct API Version)
 
 사용법:
     python historical_loader.py --symbol AAPL --days 3 --output result.json
+    python historical_loader.py --symbol AAPL --start 1768400000 --end 1768423400 --output result.json
 
 @author The Salty Spitoon Team
 @since 2025-12-26
@@ -15,6 +16,7 @@ Historical Data Loader (Direct API Version)
 import argparse
 import json
 import sys
+import time
 from pathlib import Path
 from datetime import datetime
 from urllib.parse import quote
@@ -26,13 +28,15 @@ import pytz
 INDEX_SYMBOLS = {'^IXIC', '^GSPC', '^DJI', '^VIX', 'KRW=X'}
 
 
-def collect_historical_data(symbol: str, days: int) -> dict:
+def collect_historical_data(symbol: str, days: int, start: int = None, end: int = None) -> dict:
     """
     Yahoo Finance API에서 직접 과거 1분봉 데이터 수집
     
     Args:
         symbol: 종목 코드 (예: AAPL, ^IXIC)
         days: 수집할 일수 (최대 7일 - Yahoo Finance 1분봉 제한)
+        start, end: 수집 구간 (epoch 초, end 미포함). 지정하면 days 대신 사용
+                    (BackfillPlanner가 계산한 빈 구간만 수집)
     
     Returns:
         {
@@ -53,10 +57,17 @@ def collect_historical_data(symbol: str, days: int) -> dict:
         # Yahoo Finance API 직접 호출 (^ 문자 URL 인코딩)
         encoded_symbol = quote(symbol, safe='')
         url = f"https://query1.finance.yahoo.com/v8/finance/chart/{encoded_symbol}"
-        params = {
-            "interval": "1m",
-            "range": f"{days}d"
-        }
+        if start and end:
+            params = {
+                "interval": "1m",
+                "period1": int(start),
+                "period2": int(end)
+            }
+        else:
+            params = {
+                "interval": "1m",
+                "range": f"{days}d"
+            }
         headers = {
             "User-Agent": "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36"
         }
@@ -123,6 +134,10 @@ def collect_historical_data(symbol: str, days: int) -> dict:
         for i, ts in enumerate(timestamps):
             if ts is None:
                 continue
+            
+            # 구간 지정 시 경계 밖 캔들 제외
+            if start and end and not (start <= ts < end):
+                continue
                 
             # None 값 체크
             o = opens[i] if i < len(opens) else None
@@ -182,12 +197,16 @@ def main():
     parser = argparse.ArgumentParser(description='Historical Data Loader for The Salty Spitoon')
     parser.add_argument('--symbol', required=True, help='Stock symbol (e.g., AAPL, ^IXIC)')
     parser.add_argument('--days', type=int, default=1, help='Number of days to collect (max 7)')
+    parser.add_argument('--start', type=int, default=None, help='Range start (epoch seconds, overrides --days)')
+    parser.add_argument('--end', type=int, default=None, help='Range end (epoch seconds, exclusive)')
     parser.add_argument('--output', required=True, help='Output JSON file path')
     
     args = parser.parse_args()
     
-    # 데이터 수집
-    result = collect_historical_data(args.symbol, args.days)
+    # 데이터 수집 (수집 자체 소요 시간 기록 → Java가 프로세스 기동 비용 계산)
+    started = time.time()
+    result = collect_historical_data(args.symbol, args.days, args.start, args.end)
+    result['elapsed_ms'] = int((time.time() - started) * 1000)
     
     # JSON 파일로 저장
     output_path = Path(args.output)
@@ -0,0 +1,73 @@
+#!/usr/bin/env python3
+"""
+Historical Data Worker (상주 프로세스)
+- PythonWorkerPool.java가 여러 개를 띄워 두고 재사용
+- 종목마다 historical_loader.py 프로세스를 새로 띄우는 비용 제거
+  (인터프리터 시작 + requests/pytz import + 임시 JSON 파일)
+
+프로토콜 (stdin / stdout, 한 줄 = JSON 1개, UTF-8):
+- 시작 완료: {"type": "ready"}
+- 요청: {"id": 1, "symbol": "AAPL", "days": 3}
+        구간 지정: {"id": 1, "symbol": "AAPL", "days": 3, "start": 1768400000, "end": 1768423400} (epoch 초)
+- 응답: collect_historical_data() 결과 + {"id": 1, "elapsed_ms": 812}
+        (success / message가 candles보다 먼저 기록됨)
+- 상태 확인: {"id": 2, "type": "ping"} → {"id": 2, "type": "pong"}
+- stdin이 닫히면 종료
+
+주의:
+- stdout은 프로토콜 전용, 로그 / print는 stderr로 보냄
+
+사용법:
+    python historical_worker.py
+
+@author The Salty Spitoon Team
+@since 2026-01-13
+"""
+
+import json
+import sys
+import time
+
+from historical_loader import collect_historical_data
+
+
+def main():
+    # 프로토콜 출력 채널 분리 (라이브러리 print가 응답을 깨지 않도록)
+    out = sys.stdout
+    sys.stdout = sys.stderr
+    
+    def write(message):
+        out.write(json.dumps(message, ensure_ascii=False) + '\n')
+        out.flush()
+    
+    write({'type': 'ready'})
+    
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+        
+        try:
+            request = json.loads(line)
+        except ValueError as e:
+            write({'id': None, 'success': False, 'candles': [], 'count': 0, 'message': f'Bad request: {e}'})
+            continue
+        
+        if request.get('type') == 'ping':
+            write({'id': request.get('id'), 'type': 'pong'})
+            continue
+        
+        started = time.time()
+        try:
+            result = collect_historical_data(request.get('symbol', ''), int(request.get('days', 1)),
+                                             request.get('start'), request.get('end'))
+        except Exception as e:
+            # 예외로 워커가 죽지 않도록 실패 응답으로 변환
+            result = {'success': False, 'candles': [], 'count': 0, 'message': f'Worker error: {e}'}
+        result['id'] = request.get('id')
+        result['elapsed_ms'] = int((time.time() - started) * 1000)
+        write(result)
+
+
+if __name__ == '__main__':
+    main()
@@ -8,10 +8,22 @@
 - 이전 분의 완성된 봉 수집
 - 무한 루프
 
+하트비트 (2026-01-16):
+- SALTY_HEALTH_DIR 환경변수가 있으면 메인 루프의 각 단계마다 collector.json 기록
+  (pid, state, cycle, updated_at, 마지막 수집 결과)
+- Java CollectorSupervisor가 갱신 시각으로 멈춤 / 종료를 감지해 재시작
+- 별도 스레드가 아닌 메인 루프에서 기록 → 수집이 멈추면 하트비트도 멈춤
+
+샤드 (2026-01-18):
+- SALTY_SHARD_ID가 있으면 하트비트 파일은 collector-<id>.json (샤드마다 하나)
+- 하트비트에 마지막 사이클의 종목별 수집 시간(latencies, ms) 포함 → Java가 종목 재분배
+
 작성자: The Salty Spitoon Team
 최종 수정: 2025-12-24
 """
 
+import json
+import os
 import time
 import logging
 from datetime import datetime
@@ -28,6 +40,43 @@ logger = logging.getLogger(__name__)
 # KST 타임존
 kst = pytz.timezone('Asia/Seoul')
 
+# 하트비트 파일 (없으면 기록 안 함)
+HEALTH_DIR = os.environ.get('SALTY_HEALTH_DIR')
+SHARD_ID = os.environ.get('SALTY_SHARD_ID')
+HEARTBEAT_FILE = f'collector-{SHARD_ID}.json' if SHARD_ID else 'collector.json'
+
+# 마지막 수집 결과 (하트비트에 포함)
+last_cycle = {}
+
+
+def write_heartbeat(state, cycle):
+    """
+    하트비트 기록 (임시 파일 → 교체로 원자적 기록)
+
+    state: starting / waiting / collecting / error
+    """
+    if not HEALTH_DIR:
+        return
+
+    try:
+        os.makedirs(HEALTH_DIR, exist_ok=True)
+        path = os.path.join(HEALTH_DIR, HEARTBEAT_FILE)
+        tmp = path + '.tmp'
+        heartbeat = {
+            'pid': os.getpid(),
+            'shard': int(SHARD_ID) if SHARD_ID else 0,
+            'state': state,
+            'cycle': cycle,
+            'updated_at': time.time(),
+        }
+        heartbeat.update(last_cycle)
+
+        with open(tmp, 'w', encoding='utf-8') as f:
+            json.dump(heartbeat, f)
+        os.replace(tmp, path)
+    except Exception as e:
+        logger.warning(f"[HEARTBEAT] Write failed: {e}")
+
 
 def wait_for_next_minute():
     """
@@ -59,7 +108,7 @@ def main():
     4. 2-3 반복
     """
     logger.info("="*60)
-    logger.info("Stock Data Collector Started (1분 간격)")
+    logger.info(f"Stock Data Collector Started (1분 간격, shard {SHARD_ID or 0})")
     logger.info("="*60)
     logger.info("")
     
@@ -68,6 +117,7 @@ def main():
     # ========================================
     now = datetime.now(kst)
     logger.info(f"[START] Current time: {now.strftime('%Y-%m-%d %H:%M:%S KST')}")
+    write_heartbeat('starting', 0)
     
     if now.second != 0:
         wait_seconds = 60 - now.second
@@ -93,11 +143,12 @@ def main():
             
             # 수집 시작
             start_time = time.time()
+            write_heartbeat('collecting', cycle_count)
             
             # ========================================
             # 전체 종목 수집
             # ========================================
-            success, errors = collect_all_stocks()
+            success, errors, latencies = collect_all_stocks()
             
             # 수집 완료
             elapsed = time.time() - start_time
@@ -109,13 +160,22 @@ def main():
             logger.info("="*60)
             logger.info(f"[COMPLETE] Cycle #{cycle_count} finished")
             logger.info(f"[STATS] Success: {success}, Errors: {errors}")
-            logger.info(f"[TIME] {elapsed:.1f}s ({elapsed/101:.2f}s per symbol)")
+            logger.info(f"[TIME] {elapsed:.1f}s ({elapsed/max(len(latencies), 1):.2f}s per symbol)")
             logger.info("="*60)
             logger.info("")
             
+            last_cycle.update({
+                'last_success': success,
+                'last_errors': errors,
+                'last_cycle_seconds': round(elapsed, 1),
+                'last_completed_at': time.time(),
+                'latencies': latencies,
+            })
+            
             # ========================================
             # 다음 분 00초까지 대기
             # ========================================
+            write_heartbeat('waiting', cycle_count)
             wait_for_next_minute()
             
         except KeyboardInterrupt:
@@ -132,6 +192,7 @@ def main():
             traceback.print_exc()
             
             # 에러 발생 시 1분 대기 후 재시도
+            write_heartbeat('error', cycle_count)
             logger.info("[RETRY] Waiting 60 seconds before retry...")
             logger.info("")
             time.sleep(60)
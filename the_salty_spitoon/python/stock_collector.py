@@ -4,8 +4,15 @@
 ========================================
 yfinance 대신 Yahoo Finance API 직접 호출
 지수(^IXIC, ^GSPC 등)와 ETF 지원
+
+샤드 수집 (2026-01-18):
+- SALTY_SYMBOLS_FILE 환경변수가 있으면 그 파일(한 줄에 한 종목)의 종목만 수집
+  (Java PythonManager가 샤드별로 기록, 재분배 시 파일만 교체 → 다음 사이클부터 반영)
+- 종목별 수집 소요 시간(ms)을 반환 → 하트비트로 Java에 전달 (재분배 기준)
 """
 
+import os
+import time
 import requests
 from urllib.parse import quote
 from websocket_publisher import WebSocketPublisher
@@ -67,6 +74,24 @@ def load_symbols_from_csv():
         raise
 
 
+def load_symbols():
+    """
+    수집 대상 종목 로드
+
+    - SALTY_SYMBOLS_FILE이 있으면 샤드 종목 파일 (매 사이클 다시 읽음)
+    - 없으면 CSV 전체 종목
+    """
+    symbols_file = os.environ.get('SALTY_SYMBOLS_FILE')
+    if not symbols_file:
+        return load_symbols_from_csv()
+
+    with open(symbols_file, 'r', encoding='utf-8') as f:
+        symbols = [line.strip() for line in f if line.strip()]
+
+    logger.info(f"📂 Loaded {len(symbols)} shard symbols from: {symbols_file}")
+    return symbols
+
+
 def collect_stock_data(symbol):
     """
     종목 데이터 수집 (Direct API Version)
@@ -210,42 +235,61 @@ def collect_stock_data(symbol):
         return None
 
 
+def collect_timed(symbol):
+    """종목 수집 + 소요 시간(ms)"""
+    start = time.time()
+    data = collect_stock_data(symbol)
+    return data, int((time.time() - start) * 1000)
+
+
 def collect_all_stocks_parallel(symbols, max_workers=20):
-    """병렬 수집"""
+    """
+    병렬 수집
+
+    Returns:
+        (results, latencies): 종목별 데이터, 종목별 소요 시간(ms)
+    """
     logger.info(f"[PARALLEL] Starting with {max_workers} workers")
     
     results = {}
+    latencies = {}
     
     with ThreadPoolExecutor(max_workers=max_workers) as executor:
         future_to_symbol = {
-            executor.submit(collect_stock_data, symbol): symbol 
+            executor.submit(collect_timed, symbol): symbol 
             for symbol in symbols
         }
         
         for future in as_completed(future_to_symbol):
             symbol = future_to_symbol[future]
             try:
-                data = future.result()
+                data, elapsed_ms = future.result()
+                latencies[symbol] = elapsed_ms
                 if data:
                     results[symbol] = data
             except Exception as e:
                 logger.error(f"  [ERROR] {symbol}: {e}")
     
-    return results
+    return results, latencies
 
 
 def collect_all_stocks():
-    """메인 함수"""
+    """
+    메인 함수
+
+    Returns:
+        (success, errors, latencies)
+    """
     try:
-        symbols = load_symbols_from_csv()
+        symbols = load_symbols()
     except Exception as e:
         logger.error(f"Failed to load symbols: {e}")
-        return 0, 0
+        return 0, 0, {}
     
     logger.info("[COLLECT] Starting collection for all symbols")
     logger.info(f"[COLLECT] Total symbols: {len(symbols)}")
     
-    results = collect_all_stocks_parallel(symbols, max_workers=20)
+    results, latencies = collect_all_stocks_parallel(symbols, max_workers=20)
     
     success_count = len(results)
     error_count = len(symbols) - success_count
@@ -263,7 +307,7 @@ def collect_all_stocks():
     else:
         logger.error("[ERROR] Failed to save JSON file")
     
-    return success_count, error_count
+    return success_count, error_count, latencies
 
 
 # 테스트
@@ -0,0 +1,101 @@
+"""
+========================================
+스트림 수집 부하 테스트용 가짜 수집기
+========================================
+
+목적:
+- 네트워크(Yahoo Finance) 없이 StreamIngestServer.java 소켓에 가짜 캔들 전송
+- 종목 수 / 사이클 수 / 간격을 바꿔가며 저장 처리량 측정
+- 결과는 /admin/ingest-stats 의 stream / batch / latency 항목으로 확인
+
+사용:
+    python python/stream_stub.py --symbols 500 --cycles 20
+    python python/stream_stub.py --socket python/output/ingest.sock --symbols 100 --cycles 0 --interval 60
+
+주의:
+- 가짜 심볼(STUB0000 ~)로 stock_candle_1m에 실제 저장됨 → 테스트 DB에서만 사용
+- 캔들 시각은 KST 현재 분부터 사이클마다 1분씩 증가
+- 사이클마다 서버 ack를 받은 뒤 다음 전송 (파이프라인 배압이 전송 속도에 그대로 반영)
+
+작성자: The Salty Spitoon Team
+작성일: 2026-01-12
+"""
+
+import argparse
+import json
+import os
+import random
+import socket
+import time
+from datetime import datetime, timedelta
+
+import pytz
+
+kst = pytz.timezone('Asia/Seoul')
+
+
+def build_cycle(symbols, minute, prices):
+    """한 사이클(1분) 분량의 NDJSON 생성"""
+    lines = []
+    timestamp = minute.strftime('%Y-%m-%d %H:%M:%S')
+    
+    for symbol in symbols:
+        last = prices[symbol]
+        close = max(1.0, last + random.uniform(-0.5, 0.5))
+        prices[symbol] = close
+        
+        lines.append(json.dumps({
+            'symbol': symbol,
+            'timestamp': timestamp,
+            'open': f"{last:.2f}",
+            'high': f"{max(last, close) + 0.1:.2f}",
+            'low': f"{min(last, close) - 0.1:.2f}",
+            'close': f"{close:.2f}",
+            'volume': random.randint(100, 100000)
+        }))
+    
+    lines.append(json.dumps({'type': 'flush'}))
+    return ('\n'.join(lines) + '\n').encode('utf-8')
+
+
+def main():
+    parser = argparse.ArgumentParser(description='Stream ingest stand-in producer')
+    parser.add_argument('--socket', default=os.environ.get('SALTY_INGEST_SOCKET', 'python/output/ingest.sock'))
+    parser.add_argument('--symbols', type=int, default=100, help='Number of fake symbols')
+    parser.add_argument('--cycles', type=int, default=10, help='Number of cycles (0 = forever)')
+    parser.add_argument('--interval', type=float, default=0, help='Seconds between cycles')
+    args = parser.parse_args()
+    
+    symbols = [f"STUB{i:04d}" for i in range(args.symbols)]
+    prices = {symbol: random.uniform(50, 500) for symbol in symbols}
+    minute = datetime.now(kst).replace(second=0, microsecond=0, tzinfo=None)
+    
+    cycle = 0
+    total_records = 0
+    started = time.time()
+    
+    with socket.socket(socket.AF_UNIX, socket.SOCK_STREAM) as sock:
+        sock.connect(args.socket)
+        acks = sock.makefile('rb')
+        
+        while args.cycles == 0 or cycle < args.cycles:
+            payload = build_cycle(symbols, minute, prices)
+            sock.sendall(payload)
+            # 묶음마다 ack 읽기 (안 읽으면 서버의 ack 쓰기가 수신 버퍼에 막힘)
+            if not acks.readline():
+                raise ConnectionError('server closed the connection')
+            
+            cycle += 1
+            total_records += len(symbols)
+            minute += timedelta(minutes=1)
+            
+            if args.interval > 0:
+                time.sleep(args.interval)
+    
+    elapsed = time.time() - started
+    print(f"[STUB] Sent {total_records} records in {cycle} cycles "
+          f"({elapsed:.2f}s, {total_records / max(elapsed, 0.001):.0f} records/sec sent)")
+
+
+if __name__ == '__main__':
+    main()
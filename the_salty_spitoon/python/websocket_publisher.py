@@ -5,7 +5,11 @@ JSON 파일 생성 모듈 - FileDataCollector 연동
 
 목적:
 - Python이 수집한 주식 데이터를 JSON 파일로 저장
-- FileDataCollector.java가 이 파일을 폴링하여 처리
+- FileDataCollector.java가 이 파일을 감시(WatchService) / 폴링하여 처리
+- SALTY_INGEST_SOCKET 환경변수가 있으면 Unix 도메인 소켓으로 NDJSON 전송
+  (StreamIngestServer.java), 연결 실패 시 파일로 기록
+- 샤드가 여러 개면(SALTY_SHARD_COUNT > 1) 폴백 파일은 latest_data-<id>.json
+  (샤드끼리 같은 파일을 덮어쓰지 않도록, FileDataCollector가 모두 처리)
 - 에러 처리 강화 (로깅)
 - 타임스탬프 형식 통일 (초 포함 필수)
 
@@ -14,6 +18,8 @@ JSON 파일 생성 모듈 - FileDataCollector 연동
 """
 
 import json
+import os
+import socket
 from pathlib import Path
 from datetime import datetime
 import pytz
@@ -45,9 +51,13 @@ class WebSocketPublisher:
         - 파일명: latest_data.json
         - 전체 데이터 저장용 딕셔너리 초기화
         """
-        # JSON 파일 경로
+        # JSON 파일 경로 (샤드가 여러 개면 샤드별 파일)
         self.output_dir = Path("python/output")
-        self.output_file = self.output_dir / "latest_data.json"
+        shard_id = os.environ.get('SALTY_SHARD_ID')
+        if shard_id and int(os.environ.get('SALTY_SHARD_COUNT', '1')) > 1:
+            self.output_file = self.output_dir / f"latest_data-{shard_id}.json"
+        else:
+            self.output_file = self.output_dir / "latest_data.json"
         
         # 디렉토리 생성 (없으면)
         self.output_dir.mkdir(parents=True, exist_ok=True)
@@ -215,12 +225,22 @@ class WebSocketPublisher:
                 return False
             
             # ========================================
-            # 2. 현재 시각 (KST, 초 포함)
+            # 2. 스트림 전송 시도 (성공 시 파일 생략)
+            # ========================================
+            if self._send_stream():
+                logger.info(f"[STREAM] Sent {len(self.all_data)} records")
+                self.all_data = {}
+                self.success_count = 0
+                self.error_count = 0
+                return True
+            
+            # ========================================
+            # 3. 현재 시각 (KST, 초 포함)
             # ========================================
             now_kst = datetime.now(self.kst)
             
             # ========================================
-            # 3. JSON 구조 생성
+            # 4. JSON 구조 생성
             # ========================================
             output = {
                 'timestamp': now_kst.strftime('%Y-%m-%d %H:%M:%S'),  # 초 포함!
@@ -228,20 +248,23 @@ class WebSocketPublisher:
             }
             
             # ========================================
-            # 4. JSON 파일 저장
+            # 5. JSON 파일 저장 (임시 파일 → rename, 원자적 교체)
+            # - FileDataCollector가 쓰는 중인 파일을 읽지 않도록
             # ========================================
-            with open(self.output_file, 'w', encoding='utf-8') as f:
+            tmp_file = self.output_file.with_name(self.output_file.name + '.tmp')
+            with open(tmp_file, 'w', encoding='utf-8') as f:
                 json.dump(output, f, indent=2, ensure_ascii=False)
+            tmp_file.replace(self.output_file)
             
             # ========================================
-            # 5. 통계 로깅
+            # 6. 통계 로깅
             # ========================================
             logger.info(f"[SAVE] JSON file saved: {self.output_file}")
             logger.info(f"[STATS] Success: {self.success_count}, Errors: {self.error_count}")
             logger.info(f"[STATS] Total symbols in file: {len(self.all_data)}")
             
             # ========================================
-            # 6. 메모리 초기화 (다음 사이클 준비)
+            # 7. 메모리 초기화 (다음 사이클 준비)
             # ========================================
             self.all_data = {}
             self.success_count = 0
@@ -255,6 +278,42 @@ class WebSocketPublisher:
             traceback.print_exc()
             return False
 
+    
+    def _send_stream(self):
+        """
+        Unix 도메인 소켓으로 NDJSON 전송
+        
+        형식:
+        - 종목당 한 줄: {"symbol": ..., "timestamp": ..., "open": ..., ...}
+        - 마지막 줄: {"type": "flush"} (Java가 한 번에 저장)
+        - 응답: {"type": "ack", ...} 한 줄 (Java가 묶음을 받음)
+        
+        Returns:
+            bool: ack 수신 시 True (소켓 미설정 / 연결 실패 / ack 없이 끊김 시 False → 파일 폴백)
+        """
+        socket_path = os.environ.get('SALTY_INGEST_SOCKET')
+        if not socket_path or not hasattr(socket, 'AF_UNIX'):
+            return False
+        
+        try:
+            lines = [json.dumps(dict(record, symbol=symbol), ensure_ascii=False)
+                     for symbol, record in self.all_data.items()]
+            lines.append(json.dumps({'type': 'flush'}))
+            payload = ('\n'.join(lines) + '\n').encode('utf-8')
+            
+            with socket.socket(socket.AF_UNIX, socket.SOCK_STREAM) as sock:
+                sock.settimeout(5)
+                sock.connect(socket_path)
+                sock.sendall(payload)
+                # 서버가 읽지 않고 닫은 연결(실행기 포화 등)은 ack 없이 EOF → 파일 폴백
+                ack = sock.makefile('rb').readline()
+                if not ack:
+                    raise OSError('connection closed before ack')
+            return True
+            
+        except OSError as e:
+            logger.warning(f"[STREAM] Socket unavailable ({e}) - falling back to file")
+            return False
 
 # ========================================
 # 테스트 코드
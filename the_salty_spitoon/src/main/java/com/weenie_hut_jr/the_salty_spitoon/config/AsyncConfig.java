@@ -1,9 +1,11 @@
 package com.weenie_hut_jr.the_salty_spitoon.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
@@ -11,22 +13,37 @@ import java.util.concurrent.Executor;
  * 비동기 처리 설정
  * - @Async 어노테이션 활성화
  * - 스레드 풀 설정
- * 
+ *
+ * 작업 종류별 실행기 (2026-01-18):
+ * - 단일 풀(HistoricalCollection-) 대신 WorkloadExecutors의 작업 종류별 실행기 사용
+ * - @Async(AsyncConfig.BACKFILL_EXECUTOR)처럼 실행기 빈 이름으로 지정, 지정하지 않으면 async 실행기
+ * - 빈은 WorkloadExecutors로 위임만 함 (생명주기 / 통계는 WorkloadExecutors가 관리)
+ *
  * @author The Salty Spitoon Team
  * @since 2025-12-26
  */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer {
-    
+
+    public static final String INGEST_EXECUTOR = "ingestExecutor";
+    public static final String BACKFILL_EXECUTOR = "backfillExecutor";
+
+    private final WorkloadExecutors workloadExecutors;
+
     @Override
     public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("HistoricalCollection-");
-        executor.initialize();
-        return executor;
+        return workloadExecutors.executor(WorkloadExecutors.DEFAULT);
+    }
+
+    @Bean(INGEST_EXECUTOR)
+    public TaskExecutor ingestExecutor() {
+        return workloadExecutors.executor(WorkloadExecutors.INGEST);
+    }
+
+    @Bean(BACKFILL_EXECUTOR)
+    public TaskExecutor backfillExecutor() {
+        return workloadExecutors.executor(WorkloadExecutors.BACKFILL);
     }
 }
@@ -0,0 +1,53 @@
+package com.weenie_hut_jr.the_salty_spitoon.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 로컬 테스트용 내장 STOMP 브로커 (ActiveMQ Artemis)
+ *
+ * - websocket.broker.embedded.enabled=true일 때만 (embedded-broker 프로필)
+ * - 이 서버 안에서 STOMP 포트를 열고, 같은 서버 / 다른 서버의 broker relay가 여기에 연결
+ *   → 외부 브로커 설치 없이 여러 서버 fan-out 확인
+ * - 메시지 저장 / 인증 없음 (로컬 전용, 운영은 외부 브로커 사용)
+ * - Artemis는 developmentOnly 의존성 → bootRun에서만 클래스패스에 있고 배포 jar에는 없음
+ *   (클래스가 없으면 이 설정은 건너뜀, 배포 환경은 외부 브로커로 relay)
+ *
+ * 토픽 주소는 /topic/... 그대로 (multicastPrefix=/topic/ → 구독자마다 복사, anycastPrefix=/queue/)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-20
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "websocket.broker.embedded.enabled", havingValue = "true")
+@ConditionalOnClass(name = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ")
+public class EmbeddedBrokerConfig {
+
+    @Value("${websocket.broker.relay.host:127.0.0.1}")
+    private String host;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int port;
+
+    /**
+     * relay(SmartLifecycle)가 연결하기 전에 시작, 종료 시 정지
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedBroker() throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.addAcceptorConfiguration("stomp",
+                "tcp://" + host + ":" + port + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+
+        log.info("Embedded STOMP broker on {}:{}", host, port);
+        return new EmbeddedActiveMQ().setConfiguration(configuration);
+    }
+}
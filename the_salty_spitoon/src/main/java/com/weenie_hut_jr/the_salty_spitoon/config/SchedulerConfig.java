@@ -9,6 +9,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * 역할:
  * - @Scheduled 어노테이션 활성화
  * - StockDataCollector의 주기적 실행 지원
+ * - 스케줄러 스레드 수: spring.task.scheduling.pool.size (기본 1 → 4, 블로킹 점검이 다른 작업을 막지 않도록)
  * 
  * @author The Salty Spitoon Team
  * @since 2025-12-21
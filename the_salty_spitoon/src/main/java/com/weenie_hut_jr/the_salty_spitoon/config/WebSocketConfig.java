@@ -1,7 +1,18 @@
 package com.weenie_hut_jr.the_salty_spitoon.config;
 
+import com.weenie_hut_jr.the_salty_spitoon.service.TickBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -24,13 +35,47 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * 3. 서버: 1분마다 새 데이터를 /topic/stock/{symbol}로 전송
  * 4. 클라이언트: 구독 중인 모든 클라이언트가 데이터 수신
  * 
+ * 압축 형식 구독 (2026-01-19):
+ * - SUBSCRIBE에 format:compact 헤더가 있으면 /topic/stock/..., /topic/market 구독을
+ *   /topic/compact/... 로 바꿔서 등록 (형식은 TickBroadcaster / CompactCandleEncoder 참고)
+ * - 헤더가 없으면 그대로 (기존 클라이언트 호환)
+ * 
+ * 순번 / 스냅샷 (2026-01-19):
+ * - 구독하면 StreamResumeHandler가 현재 상태 스냅샷 전송, resume:{seq} 헤더면 놓친 메시지 재전송
+ * 
+ * 브로커 중계 (2026-01-20):
+ * - websocket.broker.mode=simple (기본): 이 서버 메모리의 단순 브로커 → 서버 1대만 가능
+ * - websocket.broker.mode=relay: /topic 메시지를 외부 STOMP 브로커(ActiveMQ Artemis 등)로 중계
+ *   → 로드밸런서 뒤 여러 서버에 연결한 클라이언트가 모두 같은 메시지 수신 (브로커가 서버별로 전달)
+ * - 로컬 테스트: embedded-broker 프로필 (EmbeddedBrokerConfig, 이 서버 안에서 Artemis 실행)
+ * - 토픽 이름은 /topic/stock/AAPL처럼 '/' 구분 그대로 사용 → 브로커가 이 형식을 받아야 함 (Artemis는 가능)
+ * 
  * @author The Salty Spitoon Team
  * @since 2025-12-21
  */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay.host:127.0.0.1}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
     /**
      * 메시지 브로커 설정
      * 
@@ -40,7 +85,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // 메시지 브로커 활성화
         // "/topic"으로 시작하는 메시지는 브로커가 처리
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // 외부 STOMP 브로커로 중계 (클라이언트 연결마다 브로커 연결 1개 + 서버 전송용 system 연결 1개)
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            log.info("WebSocket broker relay: {}:{}", relayHost, relayPort);
+        } else {
+            config.enableSimpleBroker("/topic");
+        }
+
+        // 세션별로 보낸 순서대로 전달 (실시간 메시지 seq가 뒤바뀌어 도착하지 않도록)
+        config.setPreservePublishOrder(true);
 
         // 클라이언트에서 서버로 메시지 전송 시 prefix
         // (현재는 서버→클라이언트만 사용하므로 실제로는 미사용)
@@ -59,4 +122,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*") // CORS 설정 (개발 환경)
                 .withSockJS(); // SockJS 폴백 활성화 (WebSocket 미지원 브라우저 대응)
     }
+
+    /**
+     * 구독 형식 협상 (format:compact → 압축 형식 토픽)
+     *
+     * @param registration 클라이언트 → 서버 채널
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())
+                        && accessor.getDestination() != null) {
+                    accessor.setDestination(TickBroadcaster.negotiatedDestination(accessor.getDestination(),
+                            accessor.getFirstNativeHeader(TickBroadcaster.FORMAT_HEADER)));
+                }
+                return message;
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,251 @@
+package com.weenie_hut_jr.the_salty_spitoon.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 작업 종류별 실행기 (이름 / 크기 제한 / 통계)
+ *
+ * 역할:
+ * - @Async와 직접 만들던 스레드(new Thread)를 작업 종류별 실행기로 분리
+ *   → 긴 백필이 뉴스 수집 / 실시간 수집 보조 작업을 막지 않고, 종류마다 동시 실행 수 제한
+ * - 실행기마다 제출 / 실행 중 / 완료 / 실패 / 거부 건수, 풀 크기 / 대기열 통계
+ *
+ * 작업 종류 (기본 core / max / queue):
+ * - ingest (2 / 8 / 100): 스트림 연결 읽기, 캐시 워밍업
+ * - backfill (5 / 5 / 25): 과거 데이터 수집 (구간 병렬), 집계 재구축 (JDBC 위주)
+ * - news (1 / 2 / 10): 뉴스 수집 / URL 스캔
+ * - financial (1 / 1 / 2): 재무 데이터 수집
+ * - subprocess-io (4 / 32 / 0): Python 부트스트랩, 수집기 / 워커 출력 읽기 (프로세스 수명 동안 점유)
+ * - listener (2 / 4 / 0): 수집 파일 감시 / 스트림 소켓 수락 루프 (애플리케이션 수명 동안 점유)
+ * - async (2 / 5 / 25): 실행기를 지정하지 않은 @Async
+ *
+ * 거부:
+ * - 최대 스레드 + 대기열이 차면 TaskRejectedException (호출자에게 바로 알림, 대기열 무한 증가 방지)
+ *
+ * 가상 스레드 (executor.virtual-threads):
+ * - 켜면 블로킹 위주 작업(subprocess-io, backfill)은 가상 스레드 실행기 (동시 실행 수 = max-size)
+ * - 상한에 닿으면 거부 대신 제출한 스레드가 대기
+ * - Java 21 이상에서만 동작, 그 이하면 경고 후 플랫폼 스레드 풀 사용 (현재 툴체인은 17)
+ *
+ * 설정 (application.properties):
+ * - executor.<종류>.core-size / max-size / queue-capacity
+ * - executor.virtual-threads
+ *
+ * 상태 조회: GET /admin/executors
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-18
+ */
+@Slf4j
+@Component
+public class WorkloadExecutors {
+
+    public static final String INGEST = "ingest";
+    public static final String BACKFILL = "backfill";
+    public static final String NEWS = "news";
+    public static final String FINANCIAL = "financial";
+    public static final String SUBPROCESS_IO = "subprocess-io";
+    public static final String LISTENER = "listener";
+    public static final String DEFAULT = "async";
+
+    private final Environment environment;
+    private final boolean virtualThreads;
+    private final Map<String, Workload> workloads = new LinkedHashMap<>();
+
+    public WorkloadExecutors(Environment environment) {
+        this.environment = environment;
+
+        boolean requested = environment.getProperty("executor.virtual-threads", Boolean.class, false);
+        this.virtualThreads = requested && Runtime.version().feature() >= 21;
+        if (requested && !virtualThreads) {
+            log.warn("[Executors] Virtual threads need Java 21+ (running {}) - using platform thread pools",
+                    Runtime.version().feature());
+        }
+
+        register(INGEST, 2, 8, 100, false);
+        register(BACKFILL, 5, 5, 25, true);
+        register(NEWS, 1, 2, 10, false);
+        register(FINANCIAL, 1, 1, 2, false);
+        register(SUBPROCESS_IO, 4, 32, 0, true);
+        register(LISTENER, 2, 4, 0, true);
+        register(DEFAULT, 2, 5, 25, false);
+    }
+
+    private void register(String name, int core, int max, int queue, boolean blocking) {
+        String prefix = "executor." + name + ".";
+        core = environment.getProperty(prefix + "core-size", Integer.class, core);
+        max = Math.max(core, environment.getProperty(prefix + "max-size", Integer.class, max));
+        queue = environment.getProperty(prefix + "queue-capacity", Integer.class, queue);
+
+        workloads.put(name, new Workload(name, core, max, queue, blocking && virtualThreads));
+    }
+
+    // ========================================
+    // 실행
+    // ========================================
+
+    /**
+     * 작업 실행
+     *
+     * @throws TaskRejectedException 실행기가 가득 참 (최대 스레드 + 대기열)
+     */
+    public void execute(String workload, Runnable task) {
+        workload(workload).execute(task);
+    }
+
+    /**
+     * 작업 종류의 실행기 (@Async 실행기 빈으로 노출)
+     */
+    public TaskExecutor executor(String workload) {
+        Workload target = workload(workload);
+        return target::execute;
+    }
+
+    private Workload workload(String name) {
+        Workload workload = workloads.get(name);
+        if (workload == null) {
+            throw new IllegalArgumentException("Unknown workload: " + name);
+        }
+        return workload;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workloads.values().forEach(Workload::shutdown);
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    /**
+     * 작업 종류별 제출 / 실행 중 / 완료 / 실패 / 거부 + 풀 크기 / 대기열
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> executors = new LinkedHashMap<>();
+        workloads.forEach((name, workload) -> executors.put(name, workload.getStats()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("virtualThreads", virtualThreads);
+        stats.put("javaVersion", Runtime.version().feature());
+        stats.put("executors", executors);
+        return stats;
+    }
+
+    /**
+     * 작업 종류 하나의 실행기 + 통계
+     */
+    private static final class Workload {
+        private final String name;
+        private final int coreSize;
+        private final int maxSize;
+        private final int queueCapacity;
+        private final boolean virtual;
+
+        // 가상 스레드 모드면 SimpleAsyncTaskExecutor, 아니면 ThreadPoolTaskExecutor
+        private final TaskExecutor executor;
+        private final ThreadPoolTaskExecutor pool;
+
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        Workload(String name, int coreSize, int maxSize, int queueCapacity, boolean virtual) {
+            this.name = name;
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.virtual = virtual;
+
+            if (virtual) {
+                SimpleAsyncTaskExecutor simple = new SimpleAsyncTaskExecutor(name + "-vt-");
+                simple.setVirtualThreads(true);
+                simple.setConcurrencyLimit(maxSize);
+                this.executor = simple;
+                this.pool = null;
+            } else {
+                ThreadPoolTaskExecutor threadPool = new ThreadPoolTaskExecutor();
+                threadPool.setCorePoolSize(coreSize);
+                threadPool.setMaxPoolSize(maxSize);
+                threadPool.setQueueCapacity(queueCapacity);
+                threadPool.setThreadNamePrefix(name + "-");
+                threadPool.setDaemon(true);
+                threadPool.setWaitForTasksToCompleteOnShutdown(false);
+                threadPool.initialize();
+                this.executor = threadPool;
+                this.pool = threadPool;
+            }
+        }
+
+        void execute(Runnable task) {
+            submitted.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    active.incrementAndGet();
+                    try {
+                        task.run();
+                        completed.incrementAndGet();
+                    } catch (RuntimeException | Error e) {
+                        failed.incrementAndGet();
+                        throw e;
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                rejected.incrementAndGet();
+                log.warn("[Executors] {} rejected a task (active={}, queued={})", name, active.get(), queued());
+                throw e;
+            }
+        }
+
+        private int queued() {
+            return pool != null ? pool.getThreadPoolExecutor().getQueue().size() : 0;
+        }
+
+        void shutdown() {
+            if (pool != null) {
+                pool.shutdown();
+            } else {
+                ((SimpleAsyncTaskExecutor) executor).close();
+            }
+        }
+
+        Map<String, Object> getStats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("mode", virtual ? "virtual" : "pool");
+            stats.put("coreSize", virtual ? null : coreSize);
+            stats.put("maxSize", maxSize);
+            stats.put("queueCapacity", virtual ? null : queueCapacity);
+
+            if (pool != null) {
+                ThreadPoolExecutor threadPool = pool.getThreadPoolExecutor();
+                stats.put("poolSize", threadPool.getPoolSize());
+                stats.put("largestPoolSize", threadPool.getLargestPoolSize());
+                stats.put("queued", threadPool.getQueue().size());
+            }
+
+            stats.put("active", active.get());
+            stats.put("submitted", submitted.get());
+            stats.put("completed", completed.get());
+            stats.put("failed", failed.get());
+            stats.put("rejected", rejected.get());
+            return stats;
+        }
+    }
+}
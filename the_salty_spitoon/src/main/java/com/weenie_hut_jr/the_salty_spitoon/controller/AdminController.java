@@ -1,13 +1,29 @@
 package com.weenie_hut_jr.the_salty_spitoon.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
 import com.weenie_hut_jr.the_salty_spitoon.repository.StockNewsRepository;
 import com.weenie_hut_jr.the_salty_spitoon.scheduler.NewsScheduler;
+import com.weenie_hut_jr.the_salty_spitoon.service.CandleBatchWriter;
+import com.weenie_hut_jr.the_salty_spitoon.service.CandleRollupService;
+import com.weenie_hut_jr.the_salty_spitoon.service.CollectorShardBalancer;
+import com.weenie_hut_jr.the_salty_spitoon.service.CollectorSupervisor;
 import com.weenie_hut_jr.the_salty_spitoon.service.FinancialDataService;
 import com.weenie_hut_jr.the_salty_spitoon.service.HistoricalCollectionService;
+import com.weenie_hut_jr.the_salty_spitoon.service.HotCandleStore;
+import com.weenie_hut_jr.the_salty_spitoon.service.IndicatorCache;
+import com.weenie_hut_jr.the_salty_spitoon.service.IngestFileWatcher;
+import com.weenie_hut_jr.the_salty_spitoon.service.IngestJournal;
+import com.weenie_hut_jr.the_salty_spitoon.service.IngestPipeline;
 import com.weenie_hut_jr.the_salty_spitoon.service.NewsCollectionService;
+import com.weenie_hut_jr.the_salty_spitoon.service.PythonWorkerPool;
+import com.weenie_hut_jr.the_salty_spitoon.service.QuoteRegistry;
+import com.weenie_hut_jr.the_salty_spitoon.service.StreamIngestServer;
+import com.weenie_hut_jr.the_salty_spitoon.service.SubscriptionRegistry;
+import com.weenie_hut_jr.the_salty_spitoon.service.TickBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -26,9 +42,11 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -56,12 +74,27 @@ public class AdminController {
     private final StockNewsRepository stockNewsRepository;
     private final StockRepository stockRepository;
     private final NewsScheduler newsScheduler;
+    private final CandleRollupService candleRollupService;
+    private final HotCandleStore hotCandleStore;
+    private final IndicatorCache indicatorCache;
+    private final QuoteRegistry quoteRegistry;
+    private final CandleBatchWriter candleBatchWriter;
+    private final IngestPipeline ingestPipeline;
+    private final IngestFileWatcher ingestFileWatcher;
+    private final StreamIngestServer streamIngestServer;
+    private final IngestJournal ingestJournal;
+    private final PythonWorkerPool pythonWorkerPool;
+    private final CollectorSupervisor collectorSupervisor;
+    private final CollectorShardBalancer collectorShardBalancer;
+    private final TickBroadcaster tickBroadcaster;
+    private final SubscriptionRegistry subscriptionRegistry;
+    private final WorkloadExecutors workloadExecutors;
     
     private final ObjectMapper objectMapper = new ObjectMapper();
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     // 재무 데이터 수집 상태 추적
-    private volatile boolean isFinancialCollecting = false;
+    private final AtomicBoolean isFinancialCollecting = new AtomicBoolean(false);
     private volatile String financialCollectionStatus = "Ready";
 
     // ========================================
@@ -81,7 +114,7 @@ public class AdminController {
 
         // 수집 상태 추가
         model.addAttribute("isCollecting", historicalCollectionService.isCollecting());
-        model.addAttribute("isFinancialCollecting", isFinancialCollecting);
+        model.addAttribute("isFinancialCollecting", isFinancialCollecting.get());
         model.addAttribute("financialCollectionStatus", financialCollectionStatus);
         
         // 뉴스 수집 상태 (NewsScheduler에서 조회)
@@ -144,6 +177,26 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * 과거 데이터 수집 계획 미리보기
+     * - 종목별로 DB에 없는 구간만 계산 (수집 / 체크포인트 기록 없음)
+     * - 건너뛸 종목 수, 이미 있는 / 확인된 / 빠진 정규장 분 수, 수집 구간 목록
+     */
+    @GetMapping("/backfill-plan")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getBackfillPlan(
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(defaultValue = "") String symbols) {
+
+        List<String> targetSymbols = Arrays.stream(symbols.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(String::toUpperCase)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(historicalCollectionService.previewPlan(days, targetSymbols));
+    }
+
     @GetMapping("/historical-collection-status")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getHistoricalCollectionStatus() {
@@ -152,6 +205,202 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    // ========================================
+    // 롤업 (5m/15m/1h/4h/1d) 재구축 및 검증
+    // ========================================
+
+    /**
+     * 롤업 재구축 시작 (기존 1분봉 → 롤업 백필)
+     * 
+     * @param symbols 쉼표 구분 종목 (비어있으면 전체)
+     */
+    @PostMapping("/rebuild-rollups")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> rebuildRollups(
+            @RequestParam(defaultValue = "") String symbols) {
+        
+        Map<String, Object> response = new HashMap<>();
+        
+        if (candleRollupService.isRebuilding()) {
+            response.put("success", false);
+            response.put("message", "이미 롤업 재구축이 진행 중입니다.");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        List<String> targetSymbols = Arrays.stream(symbols.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(String::toUpperCase)
+                .collect(Collectors.toList());
+        
+        log.info("롤업 재구축 요청: {}", targetSymbols.isEmpty() ? "전체" : targetSymbols);
+        
+        candleRollupService.rebuildAll(targetSymbols);
+        
+        response.put("success", true);
+        response.put("message", "롤업 재구축이 시작되었습니다.");
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/rollup-status")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getRollupStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("isRebuilding", candleRollupService.isRebuilding());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 롤업 일관성 검증 (롤업 vs 1분봉 실시간 집계)
+     */
+    @GetMapping("/rollup-consistency")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> checkRollupConsistency(
+            @RequestParam String symbol,
+            @RequestParam(defaultValue = "1h") String timeframe) {
+        
+        try {
+            return ResponseEntity.ok(candleRollupService.checkConsistency(symbol.toUpperCase(), timeframe));
+        } catch (Exception e) {
+            log.error("롤업 검증 실패: {} {}", symbol, timeframe, e);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.ok(response);
+        }
+    }
+
+    // ========================================
+    // 인메모리 최근 캔들 저장소
+    // ========================================
+
+    /**
+     * HotCandleStore 메모리 사용량 / 적중률 조회 (용량 산정용)
+     */
+    @GetMapping("/hot-store-stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getHotStoreStats() {
+        return ResponseEntity.ok(hotCandleStore.getStats());
+    }
+
+    /**
+     * 지표 캐시 적중 / 증분 확장 / 제거 통계
+     */
+    @GetMapping("/indicator-cache-stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getIndicatorCacheStats() {
+        return ResponseEntity.ok(indicatorCache.getStats());
+    }
+
+    /**
+     * 시세 스냅샷 레지스트리 적중률 / 갱신 통계
+     */
+    @GetMapping("/quote-registry-stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getQuoteRegistryStats() {
+        return ResponseEntity.ok(quoteRegistry.getStats());
+    }
+
+    /**
+     * 실시간 수집 통계
+     * - batch: 일괄 저장 지연 / 처리량 (rows/sec) / 삽입·갱신 건수
+     * - latency: 캔들 시각 → DB 커밋 / WebSocket 전송 지연
+     * - watcher: 파일 감시 이벤트 / 처리 횟수
+     * - stream: 소켓 스트림 수신 건수 / 묶음 / 파싱 오류
+     * - journal: 저널 기록 / 커밋 / 미커밋 / 기동 시 복구 건수, 평균 기록 시간
+     * - dedup: 변경 없는 캔들이라 생략한 UPSERT / WebSocket 메시지 수
+     * - pipeline: 단계별 큐 길이 / 대기·처리 시간 / 배압 대기, publish 합침·버림 건수
+     */
+    @GetMapping("/ingest-stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getIngestStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batch", candleBatchWriter.getStats());
+        stats.put("latency", ingestPipeline.getLatencyStats());
+        stats.put("watcher", ingestFileWatcher.getStats());
+        stats.put("stream", streamIngestServer.getStats());
+        stats.put("journal", ingestJournal.getStats());
+        stats.put("dedup", ingestPipeline.getDedupStats());
+        stats.put("pipeline", ingestPipeline.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * 과거 데이터 Python 워커 풀 상태
+     * - 워커별 요청 수 / 실패 / 평균 응답 시간
+     * - 호출 1회 오버헤드: 워커 풀 vs 종목마다 프로세스 실행, 종목당 절감 시간
+     */
+    @GetMapping("/python-workers")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getPythonWorkers() {
+        return ResponseEntity.ok(pythonWorkerPool.getStats());
+    }
+
+    /**
+     * 작업 종류별 실행기 상태
+     * - ingest / backfill / news / financial / subprocess-io / async
+     * - 풀 크기 / 대기열 / 실행 중 / 완료 / 실패 / 거부 건수, 가상 스레드 사용 여부
+     */
+    @GetMapping("/executors")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getExecutors() {
+        return ResponseEntity.ok(workloadExecutors.getStats());
+    }
+
+    /**
+     * 실시간 WebSocket 전송 상태
+     * - 입력 캔들 / 종목 토픽 메시지 / 시장 묶음 프레임 수, 합친 건수
+     * - 초당 입력·출력 메시지, 초당 전송 바이트 (최근 10초)
+     */
+    @GetMapping("/broadcast-stats")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getBroadcastStats() {
+        return ResponseEntity.ok(tickBroadcaster.getStats());
+    }
+
+    /**
+     * WebSocket 구독 현황
+     * - 세션 / 구독 수, 토픽별 구독 수 (많은 순), 패턴 구독
+     * - 구독자 없는 토픽은 TickBroadcaster가 전송 생략
+     */
+    @GetMapping("/subscriptions")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getSubscriptions() {
+        return ResponseEntity.ok(subscriptionRegistry.getStats());
+    }
+
+    /**
+     * 실시간 수집기 감시 상태
+     * - state: STARTING / HEALTHY / DEAD / UNRESPONSIVE / STALE_OUTPUT / BACKOFF / DISABLED
+     * - 하트비트 경과 시간 / 마지막 실시간 묶음 경과 시간 / 재시작 횟수·사유 (샤드별)
+     * - balancer: 샤드별 종목 수 / 부하 / 재분배 횟수, 가장 느린 종목
+     */
+    @GetMapping("/collector-health")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getCollectorHealth() {
+        Map<String, Object> response = new LinkedHashMap<>(collectorSupervisor.getStats());
+        response.put("balancer", collectorShardBalancer.getStats());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 실시간 수집기 즉시 재시작 (백오프 무시)
+     */
+    @PostMapping("/restart-collector")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> restartCollector() {
+        log.info("수집기 수동 재시작 요청");
+        boolean started = collectorSupervisor.restartNow();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", started);
+        if (!started) {
+            response.put("message", "재시작이 이미 진행 중이거나 실행기가 가득 찼습니다.");
+        }
+        response.put("health", collectorSupervisor.getStats());
+        return ResponseEntity.ok(response);
+    }
+
     // ========================================
     // 재무 데이터 수집
     // ========================================
@@ -161,51 +410,61 @@ public class AdminController {
     public String collectFinancialData() {
         log.info("Financial Data Collection Requested");
 
-        if (isFinancialCollecting) {
+        // 제출 전에 표시 (연속 클릭이 전체 수집을 대기열에 더 쌓지 않도록)
+        if (!isFinancialCollecting.compareAndSet(false, true)) {
             return "⚠️ Collection already in progress!";
         }
+        financialCollectionStatus = "Starting...";
 
-        new Thread(() -> {
-            isFinancialCollecting = true;
-            financialCollectionStatus = "Starting...";
-
-            try {
-                ProcessBuilder pb = new ProcessBuilder(
-                        "python", "python/load_nasdaq100_financial.py");
-                pb.redirectErrorStream(true);
-                Process process = pb.start();
-
-                try (BufferedReader reader = new BufferedReader(
-                        new InputStreamReader(process.getInputStream()))) {
-                    String line;
-                    int processedCount = 0;
-                    while ((line = reader.readLine()) != null) {
-                        log.info("[Python] {}", line);
-                        if (line.contains("PROGRESS")) {
-                            processedCount++;
-                            financialCollectionStatus = "Processing: " + processedCount + "/101";
-                        }
-                    }
-                }
+        try {
+            workloadExecutors.execute(WorkloadExecutors.FINANCIAL, this::runFinancialCollection);
+        } catch (TaskRejectedException e) {
+            isFinancialCollecting.set(false);
+            financialCollectionStatus = "Ready";
+            return "❌ " + e.getMessage();
+        }
+
+        return "✅ Financial data collection started!";
+    }
 
-                int exitCode = process.waitFor();
-                financialCollectionStatus = exitCode == 0 ? "Completed!" : "Failed!";
+    /**
+     * 재무 데이터 수집 실행 (financial 실행기)
+     */
+    private void runFinancialCollection() {
+        try {
+            ProcessBuilder pb = new ProcessBuilder(
+                    "python", "python/load_nasdaq100_financial.py");
+            pb.redirectErrorStream(true);
+            Process process = pb.start();
 
-            } catch (Exception e) {
-                log.error("Error during financial data collection", e);
-                financialCollectionStatus = "Error: " + e.getMessage();
-            } finally {
-                isFinancialCollecting = false;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream()))) {
+                String line;
+                int processedCount = 0;
+                while ((line = reader.readLine()) != null) {
+                    log.info("[Python] {}", line);
+                    if (line.contains("PROGRESS")) {
+                        processedCount++;
+                        financialCollectionStatus = "Processing: " + processedCount + "/101";
+                    }
+                }
             }
-        }).start();
 
-        return "✅ Financial data collection started!";
+            int exitCode = process.waitFor();
+            financialCollectionStatus = exitCode == 0 ? "Completed!" : "Failed!";
+
+        } catch (Exception e) {
+            log.error("Error during financial data collection", e);
+            financialCollectionStatus = "Error: " + e.getMessage();
+        } finally {
+            isFinancialCollecting.set(false);
+        }
     }
 
     @GetMapping("/financial-collection-status")
     @ResponseBody
     public String getFinancialCollectionStatus() {
-        return isFinancialCollecting ? 
+        return isFinancialCollecting.get() ? 
             "🔄 Status: " + financialCollectionStatus : 
             "✅ Status: Ready";
     }
@@ -573,20 +832,20 @@ public class AdminController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // Run in background thread
-            new Thread(() -> {
+            // Run in background (news executor)
+            workloadExecutors.execute(WorkloadExecutors.NEWS, () -> {
                 try {
                     newsScheduler.scanNewsUrls();
                 } catch (Exception e) {
                     log.error("URL scan failed", e);
                 }
-            }).start();
+            });
             
             response.put("success", true);
             response.put("message", "URL scan started");
             return ResponseEntity.ok(response);
             
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | TaskRejectedException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
@@ -636,20 +895,20 @@ public class AdminController {
         }
         
         try {
-            // Run in background thread
-            new Thread(() -> {
+            // Run in background (news executor)
+            workloadExecutors.execute(WorkloadExecutors.NEWS, () -> {
                 try {
                     newsScheduler.collectNewsByDate(date);
                 } catch (Exception e) {
                     log.error("Date collection failed", e);
                 }
-            }).start();
+            });
             
             response.put("success", true);
             response.put("message", "Collection started for " + date);
             return ResponseEntity.ok(response);
             
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | TaskRejectedException e) {
             response.put("success", false);
             response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
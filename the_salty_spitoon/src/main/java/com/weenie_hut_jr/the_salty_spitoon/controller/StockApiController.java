@@ -1,16 +1,17 @@
 package com.weenie_hut_jr.the_salty_spitoon.controller;
 
+import com.weenie_hut_jr.the_salty_spitoon.dto.QuoteSnapshot;
 import com.weenie_hut_jr.the_salty_spitoon.model.Stock;
 import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
 import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
 import com.weenie_hut_jr.the_salty_spitoon.repository.StockRepository;
+import com.weenie_hut_jr.the_salty_spitoon.service.QuoteRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -32,6 +33,7 @@ public class StockApiController {
 
     private final StockCandle1mRepository candleRepository;
     private final StockRepository stockRepository;
+    private final QuoteRegistry quoteRegistry;
 
     /**
      * 특정 종목의 최신 가격 정보 조회
@@ -48,11 +50,11 @@ public class StockApiController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // 최신 캔들 조회
-            Optional<StockCandle1m> latestOpt = candleRepository
-                    .findFirstBySymbolOrderByTimestampDesc(symbol);
+            // 시세 스냅샷 조회 (수집 시점에 갱신, 없으면 MySQL에서 로드)
+            // - 이전 종가: 직전 캔들 (1분 전 캔들이 있으면 그것이 직전 캔들)
+            Optional<QuoteSnapshot> snapshotOpt = quoteRegistry.getOrLoad(symbol);
             
-            if (latestOpt.isEmpty()) {
+            if (snapshotOpt.isEmpty()) {
                 log.warn("{} - 데이터 없음", symbol);
                 response.put("symbol", symbol);
                 response.put("closePrice", 0);
@@ -64,34 +66,9 @@ public class StockApiController {
                 return ResponseEntity.ok(response);
             }
             
-            StockCandle1m latest = latestOpt.get();
-            
-            // 이전 캔들 조회 (전일 종가 또는 이전 캔들)
-            // 1분 전 데이터 먼저 시도
-            LocalDateTime prevTime = latest.getTimestamp().minusMinutes(1);
-            Optional<StockCandle1m> prevOpt = candleRepository
-                    .findBySymbolAndTimestamp(symbol, prevTime);
-            
-            // 없으면 가장 최근 이전 데이터 조회
-            if (prevOpt.isEmpty()) {
-                List<StockCandle1m> prevList = candleRepository
-                        .findBySymbolAndTimestampBeforeOrderByTimestampDesc(symbol, latest.getTimestamp());
-                if (!prevList.isEmpty()) {
-                    prevOpt = Optional.of(prevList.get(0));
-                }
-            }
-            
-            BigDecimal prevClose = prevOpt.map(StockCandle1m::getClose).orElse(latest.getClose());
-            
-            // 변동 계산
-            BigDecimal change = latest.getClose().subtract(prevClose);
-            BigDecimal changePercent = BigDecimal.ZERO;
-            
-            if (prevClose.compareTo(BigDecimal.ZERO) != 0) {
-                changePercent = change
-                        .divide(prevClose, 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
-            }
+            QuoteSnapshot latest = snapshotOpt.get();
+            BigDecimal change = latest.getChange();
+            BigDecimal changePercent = latest.getChangePercent();
             
             // 종목 정보 조회 (이름, 로고)
             Optional<Stock> stockOpt = stockRepository.findById(symbol);
@@ -103,9 +80,9 @@ public class StockApiController {
             response.put("name", name);
             response.put("logoUrl", logoUrl);
             response.put("logo_url", logoUrl);
-            response.put("closePrice", latest.getClose());
-            response.put("close", latest.getClose());
-            response.put("close_price", latest.getClose());
+            response.put("closePrice", latest.getPrice());
+            response.put("close", latest.getPrice());
+            response.put("close_price", latest.getPrice());
             response.put("open", latest.getOpen());
             response.put("high", latest.getHigh());
             response.put("low", latest.getLow());
@@ -114,6 +91,10 @@ public class StockApiController {
             response.put("changePercent", changePercent);
             response.put("change_percent", changePercent);
             response.put("timestamp", latest.getTimestamp());
+            response.put("version", latest.getVersion());
+            // 실시간 수집 지연 시 true (가격이 오래됐을 수 있음)
+            response.put("stale", quoteRegistry.isFeedStale());
+            response.put("feedLagSeconds", quoteRegistry.getFeedLagSeconds());
             response.put("error", false);
             
             return ResponseEntity.ok(response);
@@ -220,9 +201,35 @@ public class StockApiController {
         }
     }
 
+    /**
+     * 변경된 시세 스냅샷 조회
+     * 
+     * 클라이언트는 응답의 version을 저장해 두었다가 다음 요청에 since로 넘기면
+     * 그 이후 바뀐 종목만 받는다 (since=0 이면 전체).
+     * 
+     * @param since 마지막으로 받은 버전
+     * @return 현재 버전 + 바뀐 종목 스냅샷 목록
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<Map<String, Object>> getChangedQuotes(@RequestParam(defaultValue = "0") long since) {
+        // 버전을 먼저 읽어야 목록 조회 중 갱신된 종목을 다음 요청에서 놓치지 않음
+        long version = quoteRegistry.getVersion();
+        List<QuoteSnapshot> quotes = quoteRegistry.getChangedSince(since);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", version);
+        response.put("quotes", quotes);
+        response.put("count", quotes.size());
+        response.put("stale", quoteRegistry.isFeedStale());
+        response.put("feedLagSeconds", quoteRegistry.getFeedLagSeconds());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 모든 종목의 최신 가격 조회 (리스트)
      * 
+     * 종목 목록 1회 + 최신 캔들 일괄 조회 1회 (종목 수와 관계없이 SQL 2회)
+     * 
      * @return 모든 종목의 최신 가격 정보
      */
     @GetMapping("/all/latest")
@@ -233,25 +240,36 @@ public class StockApiController {
         
         try {
             List<Stock> stocks = stockRepository.findAll();
-            
+            if (stocks.isEmpty()) {
+                return ResponseEntity.ok(result);
+            }
+
+            List<String> symbols = new ArrayList<>(stocks.size());
             for (Stock stock : stocks) {
-                Optional<StockCandle1m> latestOpt = candleRepository
-                        .findFirstBySymbolOrderByTimestampDesc(stock.getSymbol());
-                
-                if (latestOpt.isPresent()) {
-                    StockCandle1m latest = latestOpt.get();
-                    
+                symbols.add(stock.getSymbol());
+            }
+
+            // 종목별 최신 캔들 일괄 조회 (종목당 최신 → 1분 전 순서, 첫 행만 사용)
+            Map<String, StockCandle1m> latestBySymbol = new HashMap<>();
+            for (StockCandle1m candle : candleRepository.findLatestAndPreviousBySymbols(symbols)) {
+                latestBySymbol.putIfAbsent(candle.getSymbol(), candle);
+            }
+
+            for (Stock stock : stocks) {
+                StockCandle1m latest = latestBySymbol.get(stock.getSymbol());
+
+                if (latest != null) {
                     Map<String, Object> item = new HashMap<>();
                     item.put("symbol", stock.getSymbol());
                     item.put("name", stock.getName());
                     item.put("closePrice", latest.getClose());
                     item.put("volume", latest.getVolume());
                     item.put("timestamp", latest.getTimestamp());
-                    
+
                     result.add(item);
                 }
             }
-            
+
             log.info("전체 종목: {}개 반환", result.size());
             return ResponseEntity.ok(result);
             
@@ -183,7 +183,7 @@ public class StockController {
      * 
      * 동작:
      * 1. is_active = true인 모든 종목 조회
-     * 2. 각 종목의 실시간 데이터를 StockService에서 가져옴
+     * 2. 전체 종목의 실시간 데이터를 StockService에서 일괄 조회 (SQL 1회)
      * 3. 에러 발생 시에도 기본 정보는 제공 (fallback)
      * 4. 성공/실패 카운트 로깅
      * 
@@ -230,24 +230,23 @@ public class StockController {
         int successCount = 0;
         int errorCount = 0;
 
-        // 각 종목의 실시간 데이터 조회
+        // 전체 종목 실시간 데이터 일괄 조회 (종목 수와 관계없이 SQL 1회)
+        Map<String, Map<String, Object>> quotes;
+        try {
+            List<String> symbols = new ArrayList<>(activeStocks.size());
+            for (Stock stock : activeStocks) {
+                symbols.add(stock.getSymbol());
+            }
+            quotes = stockService.getRealTimeStocks(symbols);
+        } catch (Exception e) {
+            log.error("대시보드 실시간 데이터 일괄 조회 실패", e);
+            quotes = Collections.emptyMap();
+        }
+
         for (Stock stock : activeStocks) {
-            try {
-                // StockService를 통해 실시간 데이터 조회
-                Map<String, Object> stockData = stockService.getRealTimeStock(stock.getSymbol());
-                stockData.put("name", stock.getName()); // 회사명 추가
-                stockData.put("logoUrl", stock.getLogoUrl()); // 로고 URL 추가
-                result.add(stockData);
-
-                // 성공/실패 카운트
-                if (!stockData.containsKey("error") || !(Boolean) stockData.get("error")) {
-                    successCount++;
-                } else {
-                    errorCount++;
-                }
+            Map<String, Object> stockData = quotes.get(stock.getSymbol());
 
-            } catch (Exception e) {
-                log.error("{} - 실시간 데이터 조회 실패", stock.getSymbol(), e);
+            if (stockData == null) {
                 errorCount++;
 
                 // 실패해도 기본 정보는 제공 (fallback)
@@ -260,6 +259,18 @@ public class StockController {
                 fallback.put("error", true);
                 fallback.put("message", "Data unavailable");
                 result.add(fallback);
+                continue;
+            }
+
+            stockData.put("name", stock.getName()); // 회사명 추가
+            stockData.put("logoUrl", stock.getLogoUrl()); // 로고 URL 추가
+            result.add(stockData);
+
+            // 성공/실패 카운트
+            if (!(Boolean) stockData.get("error")) {
+                successCount++;
+            } else {
+                errorCount++;
             }
         }
 
@@ -409,33 +420,10 @@ public class StockController {
 
             // 2. 기술지표 계산
             if (indicators != null && !indicators.isEmpty()) {
-                String[] indicatorList = indicators.split(",");
-                Map<String, Object> technicalIndicators = new HashMap<>();
-
-                for (String indicator : indicatorList) {
-                    switch (indicator.trim().toUpperCase()) {
-                        case "MA5":
-                            // 5일 이동평균선 계산
-                            technicalIndicators.put("MA5", stockService.calculateMA(historicalData, 5));
-                            break;
-                        case "MA20":
-                            // 20일 이동평균선 계산
-                            technicalIndicators.put("MA20", stockService.calculateMA(historicalData, 20));
-                            break;
-                        case "MA50":
-                            // 50일 이동평균선 계산
-                            technicalIndicators.put("MA50", stockService.calculateMA(historicalData, 50));
-                            break;
-                        case "MA200":
-                            // 200일 이동평균선 계산
-                            technicalIndicators.put("MA200", stockService.calculateMA(historicalData, 200));
-                            break;
-                        case "RSI":
-                            // RSI(14) 계산
-                            technicalIndicators.put("RSI", stockService.calculateRSI(historicalData, 14));
-                            break;
-                    }
-                }
+                // MA / RSI는 캐시 증분 계산, 나머지는 IndicatorEngine
+                Map<String, Object> technicalIndicators = new HashMap<>(
+                        stockService.calculateIndicators(symbol.toUpperCase(), timeframe, "d" + days,
+                                historicalData, Arrays.asList(indicators.split(","))));
 
                 response.put("indicators", technicalIndicators);
             }
@@ -492,6 +480,11 @@ public class StockController {
      * @param indicators 기술지표 (쉼표로 구분)
      *                   - MA5, MA20, MA50, MA200: 이동평균선
      *                   - RSI: 상대강도지수 (14일 기준)
+     *                   - WRSI: Wilder 평활 RSI (14일 기준)
+     *                   - EMA12, EMA26 등: 지수 이동평균선
+     *                   - MACD: MACD / MACD_SIGNAL / MACD_HIST
+     *                   - BB: BB_MIDDLE / BB_UPPER / BB_LOWER
+     *                   - STOCH: STOCH_K / STOCH_D
      *                   예: "MA5,MA20,RSI"
      * 
      *                   응답 예시 (성공):
@@ -579,27 +572,13 @@ public class StockController {
             Map<String, List<BigDecimal>> indicatorData = new HashMap<>();
 
             if (indicators != null && !indicators.isEmpty()) {
-                String[] indicatorList = indicators.split(",");
-
-                for (String indicator : indicatorList) {
-                    indicator = indicator.trim();
-
-                    try {
-                        if (indicator.startsWith("MA")) {
-                            // 이동평균선 계산 (MA5, MA20, MA50, MA200)
-                            int period = Integer.parseInt(indicator.substring(2));
-                            indicatorData.put(indicator, stockService.calculateMA(data, period));
-                            log.debug("{}:{} 계산 완료", symbol, indicator);
-
-                        } else if (indicator.equalsIgnoreCase("RSI")) {
-                            // RSI 계산 (14일 기준)
-                            indicatorData.put("RSI", stockService.calculateRSI(data, 14));
-                            log.debug("{}:RSI 계산 완료", symbol);
-                        }
-
-                    } catch (Exception e) {
-                        log.warn("지표 계산 실패: {}, 에러: {}", indicator, e.getMessage());
-                    }
+                // MA{n}, RSI, WRSI, EMA{n}, MACD, BB, STOCH (IndicatorEngine)
+                try {
+                    indicatorData.putAll(stockService.calculateIndicators(symbol.toUpperCase(), timeframe, "all",
+                            data, Arrays.asList(indicators.split(","))));
+                    log.debug("{}:{} 계산 완료", symbol, indicatorData.keySet());
+                } catch (Exception e) {
+                    log.warn("지표 계산 실패: {}, 에러: {}", indicators, e.getMessage());
                 }
             }
 
@@ -19,6 +19,12 @@ public class CollectionProgress {
     private String status;         // "success", "failed", "processing"
     private String message;        // 상세 메시지
     private int candleCount;       // 수집된 캔들 수
+    private double rowsPerSecond;  // 저장 처리량 (종목별 / 완료 시 전체)
+    
+    // 증분 백필 계획 (완료 시)
+    private int fetchedRanges;     // 수집한 구간 수
+    private int skippedSymbols;    // 빈 구간이 없어 건너뛴 종목 수
+    private long skippedMinutes;   // 이미 있거나 확인된 정규장 분 수
     
     // 완료 시 통계
     private int successCount;
@@ -90,6 +96,18 @@ public class CollectionProgress {
     public int getCandleCount() { return candleCount; }
     public void setCandleCount(int candleCount) { this.candleCount = candleCount; }
     
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    
+    public int getFetchedRanges() { return fetchedRanges; }
+    public void setFetchedRanges(int fetchedRanges) { this.fetchedRanges = fetchedRanges; }
+    
+    public int getSkippedSymbols() { return skippedSymbols; }
+    public void setSkippedSymbols(int skippedSymbols) { this.skippedSymbols = skippedSymbols; }
+    
+    public long getSkippedMinutes() { return skippedMinutes; }
+    public void setSkippedMinutes(long skippedMinutes) { this.skippedMinutes = skippedMinutes; }
+    
     public int getSuccessCount() { return successCount; }
     public void setSuccessCount(int successCount) { this.successCount = successCount; }
     
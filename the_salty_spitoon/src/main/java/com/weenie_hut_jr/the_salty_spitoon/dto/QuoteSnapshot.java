@@ -0,0 +1,47 @@
+package com.weenie_hut_jr.the_salty_spitoon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 종목 실시간 시세 스냅샷 (불변)
+ *
+ * - QuoteRegistry가 수집 시점에 만들어 교체하므로 읽는 쪽은 잠금 없이 그대로 사용
+ * - 이전 종가: 최신 캔들 직전에 저장된 캔들의 종가 (없으면 현재가)
+ * - 당일 통계: 최신 캔들과 같은 날짜의 1분봉 기준 (시가 / 고가 / 저가 / 거래량)
+ * - version: 갱신될 때마다 증가하는 전역 번호 (클라이언트 변경분 조회용)
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@ToString
+public class QuoteSnapshot {
+    private final String symbol;
+
+    // 최신 1분봉
+    private final BigDecimal price;
+    private final BigDecimal open;
+    private final BigDecimal high;
+    private final BigDecimal low;
+    private final Long volume;
+    private final LocalDateTime timestamp;
+
+    // 직전 캔들 기준 변동
+    private final BigDecimal previousClose;
+    private final LocalDateTime previousTimestamp;
+    private final BigDecimal change;
+    private final BigDecimal changePercent;
+
+    // 당일 통계
+    private final BigDecimal dayOpen;
+    private final BigDecimal dayHigh;
+    private final BigDecimal dayLow;
+    private final Long dayVolume;
+
+    private final long version;
+}
@@ -0,0 +1,69 @@
+package com.weenie_hut_jr.the_salty_spitoon.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 멀티 타임프레임 롤업 캔들 (5m / 15m / 1h / 4h / 1d)
+ *
+ * - stock_candle_1m을 타임프레임 버킷 단위로 미리 집계한 테이블
+ * - 1분봉 저장 시 CandleRollupService가 해당 버킷만 재계산
+ * - 버킷 경계는 StockService.calculateGroupKey()와 동일
+ * - 테이블 생성: src/main/resources/schema.sql
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-05
+ */
+@Entity
+@Table(name = "stock_candle_rollup", indexes = {
+        @Index(name = "idx_symbol_resolution_bucket", columnList = "symbol,resolution,bucket_start", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockCandleRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    /** 타임프레임 ("5m", "15m", "1h", "4h", "1d") */
+    @Column(nullable = false, length = 5)
+    private String resolution;
+
+    /** 버킷 시작 시각 (정규화된 그룹 키) */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal open;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal high;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal low;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal close;
+
+    @Column(nullable = false)
+    private Long volume;
+
+    /** 버킷에 포함된 1분봉 개수 */
+    @Column(name = "candle_count", nullable = false)
+    private Integer candleCount;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,12 +1,14 @@
 package com.weenie_hut_jr.the_salty_spitoon.repository;
 
 import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,6 +51,23 @@ public interface StockCandle1mRepository extends JpaRepository<StockCandle1m, Lo
          */
         List<StockCandle1m> findBySymbolOrderByTimestampAsc(String symbol);
 
+        /**
+         * 종목별 최신 캔들 + 직전(1분 전) 캔들 일괄 조회
+         * 대시보드 / 전체 최신가 API에서 사용 (종목 수와 관계없이 SQL 1회)
+         *
+         * - 종목별 MAX(timestamp)는 (symbol, timestamp) 인덱스만으로 계산
+         * - 이전 종가 규칙은 StockService.getRealTimeStock()과 동일 (정확히 1분 전 캔들)
+         * - 결과: 종목당 1~2행, 종목 오름차순 + 시각 내림차순
+         * - symbols가 비어 있으면 호출하지 말 것 (IN () 문법 오류)
+         */
+        @Query(value = "SELECT c.* FROM stock_candle_1m c "
+                        + "JOIN (SELECT symbol, MAX(timestamp) AS latest FROM stock_candle_1m "
+                        + "      WHERE symbol IN (:symbols) GROUP BY symbol) m "
+                        + "  ON c.symbol = m.symbol "
+                        + " AND c.timestamp IN (m.latest, m.latest - INTERVAL '1' MINUTE) "
+                        + "ORDER BY c.symbol ASC, c.timestamp DESC", nativeQuery = true)
+        List<StockCandle1m> findLatestAndPreviousBySymbols(@Param("symbols") Collection<String> symbols);
+
         /**
          * 심볼의 마지막 타임스탬프 조회
          * HistoricalDataService에서 사용
@@ -56,6 +75,20 @@ public interface StockCandle1mRepository extends JpaRepository<StockCandle1m, Lo
         @Query("SELECT MAX(c.timestamp) FROM StockCandle1m c WHERE c.symbol = :symbol")
         Optional<LocalDateTime> findLastTimestampBySymbol(@Param("symbol") String symbol);
 
+        /**
+         * 심볼의 첫 타임스탬프 조회
+         * CandleRollupService (롤업 재구축 범위)에서 사용
+         */
+        @Query("SELECT MIN(c.timestamp) FROM StockCandle1m c WHERE c.symbol = :symbol")
+        Optional<LocalDateTime> findFirstTimestampBySymbol(@Param("symbol") String symbol);
+
+        /**
+         * 1분봉이 존재하는 모든 심볼 조회
+         * CandleRollupService (전체 재구축)에서 사용
+         */
+        @Query("SELECT DISTINCT c.symbol FROM StockCandle1m c")
+        List<String> findDistinctSymbols();
+
         /**
          * 특정 시간 직전의 캔들 조회 (뉴스 발행 직전 가격)
          */
@@ -74,6 +107,12 @@ public interface StockCandle1mRepository extends JpaRepository<StockCandle1m, Lo
          */
         List<StockCandle1m> findBySymbolOrderByTimestampDesc(String symbol);
 
+        /**
+         * 심볼의 최근 N개 조회 (최신순)
+         * HotCandleStore 워밍업용
+         */
+        List<StockCandle1m> findBySymbolOrderByTimestampDesc(String symbol, Pageable pageable);
+
         /**
          * 특정 시간 직후의 캔들 조회 (뉴스 발행 직후 가격)
          */
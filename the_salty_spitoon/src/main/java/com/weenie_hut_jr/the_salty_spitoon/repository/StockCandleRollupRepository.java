@@ -0,0 +1,133 @@
+package com.weenie_hut_jr.the_salty_spitoon.repository;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandleRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 롤업 캔들 Repository
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-05
+ */
+@Repository
+public interface StockCandleRollupRepository extends JpaRepository<StockCandleRollup, Long> {
+
+        /**
+         * 심볼 + 타임프레임 + 기간 조회 (차트용)
+         */
+        List<StockCandleRollup> findBySymbolAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                        String symbol,
+                        String resolution,
+                        LocalDateTime start,
+                        LocalDateTime end);
+
+        /**
+         * 심볼 + 타임프레임 전체 조회 (차트용)
+         */
+        List<StockCandleRollup> findBySymbolAndResolutionOrderByBucketStartAsc(String symbol, String resolution);
+
+        /**
+         * 1분봉 → 롤업 버킷 계산식 (upsert 쿼리 공통)
+         *
+         * - 버킷 키 계산식은 StockService.calculateGroupKey()와 동일
+         * - open/close: GROUP_CONCAT 정렬 후 첫 번째 값
+         */
+        String UPSERT_SELECT = "INSERT INTO stock_candle_rollup "
+                        + "(symbol, resolution, bucket_start, open, high, low, close, volume, candle_count) "
+                        + "SELECT c.symbol, :resolution, "
+                        + "  CASE WHEN :minutes >= 1440 THEN TIMESTAMP(DATE(c.timestamp)) "
+                        + "       WHEN :minutes >= 60 THEN TIMESTAMP(DATE(c.timestamp), "
+                        + "            MAKETIME(FLOOR(HOUR(c.timestamp) / (:minutes DIV 60)) * (:minutes DIV 60), 0, 0)) "
+                        + "       ELSE TIMESTAMP(DATE(c.timestamp), "
+                        + "            MAKETIME(HOUR(c.timestamp), FLOOR(MINUTE(c.timestamp) / :minutes) * :minutes, 0)) "
+                        + "  END AS bucket, "
+                        + "  SUBSTRING_INDEX(GROUP_CONCAT(c.open ORDER BY c.timestamp ASC), ',', 1), "
+                        + "  MAX(c.high), MIN(c.low), "
+                        + "  SUBSTRING_INDEX(GROUP_CONCAT(c.close ORDER BY c.timestamp DESC), ',', 1), "
+                        + "  SUM(c.volume), COUNT(*) "
+                        + "FROM stock_candle_1m c ";
+
+        String UPSERT_UPDATE = "GROUP BY c.symbol, bucket "
+                        + "ON DUPLICATE KEY UPDATE "
+                        + "  open = VALUES(open), high = VALUES(high), low = VALUES(low), close = VALUES(close), "
+                        + "  volume = VALUES(volume), candle_count = VALUES(candle_count)";
+
+        /**
+         * 1분봉 → 롤업 재계산 (UPSERT)
+         *
+         * - [from, to) 구간의 1분봉을 버킷 단위로 GROUP BY 하여 롤업에 반영
+         * - from/to는 버킷 경계로 정렬해서 넘겨야 버킷이 잘리지 않음
+         *
+         * @return 영향받은 행 수 (MySQL: INSERT=1, UPDATE=2, 변경 없음=0)
+         */
+        @Transactional
+        @Modifying
+        @Query(value = UPSERT_SELECT
+                        + "WHERE c.symbol = :symbol AND c.timestamp >= :from AND c.timestamp < :to "
+                        + UPSERT_UPDATE, nativeQuery = true)
+        int upsertFromMinuteCandles(@Param("symbol") String symbol,
+                        @Param("resolution") String resolution,
+                        @Param("minutes") int minutes,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        /**
+         * 여러 종목의 같은 버킷 재계산 (실시간 묶음 1회당 타임프레임별 1문장)
+         *
+         * @return 영향받은 행 수
+         */
+        @Transactional
+        @Modifying
+        @Query(value = UPSERT_SELECT
+                        + "WHERE c.symbol IN (:symbols) AND c.timestamp >= :from AND c.timestamp < :to "
+                        + UPSERT_UPDATE, nativeQuery = true)
+        int upsertFromMinuteCandlesForSymbols(@Param("symbols") Collection<String> symbols,
+                        @Param("resolution") String resolution,
+                        @Param("minutes") int minutes,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        // ========================================
+        // 롤업 완성 표시 (stock_candle_rollup_complete)
+        // ========================================
+
+        /**
+         * 첫 1분봉부터 롤업이 있는 종목인지 (없으면 StockService가 1분봉 집계로 폴백)
+         */
+        @Query(value = "SELECT COUNT(*) FROM stock_candle_rollup_complete WHERE symbol = :symbol", nativeQuery = true)
+        long countCompleteBySymbol(@Param("symbol") String symbol);
+
+        /**
+         * 롤업 완성 표시 (재구축 완료 / 전체 1분봉을 재집계한 경우)
+         */
+        @Transactional
+        @Modifying
+        @Query(value = "INSERT INTO stock_candle_rollup_complete (symbol) VALUES (:symbol) "
+                        + "ON DUPLICATE KEY UPDATE completed_at = CURRENT_TIMESTAMP", nativeQuery = true)
+        int markComplete(@Param("symbol") String symbol);
+
+        /**
+         * 롤업 완성 표시 해제 (재구축 시작 전)
+         */
+        @Transactional
+        @Modifying
+        @Query(value = "DELETE FROM stock_candle_rollup_complete WHERE symbol = :symbol", nativeQuery = true)
+        int unmarkComplete(@Param("symbol") String symbol);
+
+        /**
+         * 심볼 + 타임프레임 롤업 삭제 (재구축 전 정리)
+         */
+        @Transactional
+        @Modifying
+        @Query("DELETE FROM StockCandleRollup r WHERE r.symbol = :symbol AND r.resolution = :resolution")
+        int deleteBySymbolAndResolution(@Param("symbol") String symbol, @Param("resolution") String resolution);
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
 import com.weenie_hut_jr.the_salty_spitoon.repository.StockNewsRepository;
 import com.weenie_hut_jr.the_salty_spitoon.service.NewsCollectionService;
 import lombok.RequiredArgsConstructor;
@@ -42,6 +43,7 @@ public class NewsScheduler {
 
     private final NewsCollectionService newsCollectionService;
     private final StockNewsRepository stockNewsRepository;
+    private final WorkloadExecutors workloadExecutors;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -102,8 +104,8 @@ public class NewsScheduler {
         log.info("📰 [수동] 뉴스 수집 시작");
         log.info("========================================");
         
-        // 비동기로 실행
-        new Thread(this::collectNews).start();
+        // 비동기로 실행 (news 실행기)
+        workloadExecutors.execute(WorkloadExecutors.NEWS, this::collectNews);
     }
     
     /**
@@ -0,0 +1,374 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.*;
+
+/**
+ * 과거 데이터 수집 계획 (구간 단위 증분 백필)
+ *
+ * 역할:
+ * - 종목마다 요청 기간 전체를 다시 받는 대신, DB에 없는 1분봉 구간만 계산해서 수집 대상으로 반환
+ * - 끝부분(최근)뿐 아니라 중간에 빠진 구간도 찾아서 채움
+ * - 수집한 구간은 backfill_range 테이블에 체크포인트로 기록
+ *
+ * 계산 방식 (종목별):
+ * 1. findLastTimestampBySymbol: 기간 시작 전이거나 없으면 조회 없이 기간 전체가 빈 구간
+ * 2. 그 외에는 기간 안의 분봉 시각을 한 번에 조회해서 정규장 분(09:30~15:59, 평일)과 비교
+ * 3. 이미 확인한 구간(DONE / EMPTY 체크포인트)은 제외
+ *    → 휴장일, 거래 없는 분처럼 받아도 생기지 않는 분을 매번 다시 요청하지 않음
+ * 4. 빈 분 사이에 있는 기존 분봉이 merge-gap-minutes보다 적으면 한 구간으로 합침 (요청 수 감소)
+ *
+ * 재개:
+ * - 중단된 실행의 PENDING 구간은 ABORTED로 바꾸고 새로 계획
+ * - 이미 저장된 구간은 DB에 있으므로 남은 구간만 다시 계획됨
+ *
+ * 시간대:
+ * - historical_loader.py는 뉴욕 시간(tz 제거)으로 저장 → historical.candle-zone 기준으로 계산
+ *
+ * 설정 (application.properties):
+ * - historical.plan.enabled: false면 종목마다 기간 전체 수집 (이전 방식)
+ * - historical.plan.merge-gap-minutes: 합칠 수 있는 사이 분봉 수 (기본 390 = 정규장 하루)
+ * - historical.candle-zone: 과거 데이터 timestamp 시간대
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-14
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackfillPlanner {
+
+    private static final LocalTime SESSION_OPEN = LocalTime.of(9, 30);
+    private static final LocalTime SESSION_CLOSE = LocalTime.of(16, 0);
+    // Yahoo Finance 1분봉은 최근 30일까지만 제공 → 그 이전 체크포인트는 정리
+    private static final int CHECKPOINT_RETENTION_DAYS = 35;
+    // 이 시간 안의 분봉은 아직 확정되지 않은 것으로 봄
+    private static final int FINAL_DELAY_MINUTES = 15;
+    private static final int MAX_DAYS = 7;
+
+    private static final String SELECT_TIMESTAMPS_SQL = "SELECT timestamp FROM stock_candle_1m "
+            + "WHERE symbol = ? AND timestamp BETWEEN ? AND ?";
+
+    private static final String SELECT_CHECKED_SQL = "SELECT range_start, checked_until FROM backfill_range "
+            + "WHERE symbol = ? AND status IN ('DONE', 'EMPTY') AND checked_until >= ? AND range_start <= ?";
+
+    private static final String INSERT_RANGE_SQL = "INSERT INTO backfill_range "
+            + "(run_id, symbol, range_start, range_end, status, candles, updated_at) "
+            + "VALUES (?, ?, ?, ?, 'PENDING', 0, NOW())";
+
+    private static final String FINISH_RANGE_SQL = "UPDATE backfill_range "
+            + "SET status = ?, candles = ?, checked_until = ?, message = ?, updated_at = NOW() "
+            + "WHERE run_id = ? AND symbol = ? AND range_start = ?";
+
+    private final StockCandle1mRepository candleRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${historical.plan.enabled:true}")
+    private boolean enabled;
+
+    @Value("${historical.plan.merge-gap-minutes:390}")
+    private int mergeGapMinutes;
+
+    @Value("${historical.candle-zone:America/New_York}")
+    private String candleZone;
+
+    /**
+     * 수집 대상 구간 (양 끝 포함, 분 단위)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Fetch {
+        private final String runId;
+        private final String symbol;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        // 구간 안의 빈 정규장 분 수
+        private final int missingMinutes;
+
+        public String label() {
+            return symbol + " " + start + "~" + end;
+        }
+    }
+
+    /**
+     * 수집 계획 + 보고
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class BackfillPlan {
+        private final String runId;
+        private final int days;
+        private final List<Fetch> fetches;
+        private final int symbols;
+        // 빈 구간이 없어 수집하지 않는 종목 수
+        private final int skippedSymbols;
+        // 정규장 분 기준: 이미 있음 / 이전 확인 구간이라 제외 / 빠져서 수집
+        private final long presentMinutes;
+        private final long checkedMinutes;
+        private final long missingMinutes;
+        // 이전 실행에서 끝나지 않은 구간 수
+        private final int abortedRanges;
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("runId", runId);
+            map.put("days", days);
+            map.put("symbols", symbols);
+            map.put("skippedSymbols", skippedSymbols);
+            map.put("fetchRanges", fetches.size());
+            map.put("presentMinutes", presentMinutes);
+            map.put("checkedMinutes", checkedMinutes);
+            map.put("missingMinutes", missingMinutes);
+            map.put("abortedRanges", abortedRanges);
+
+            List<String> ranges = new ArrayList<>();
+            for (Fetch fetch : fetches) {
+                ranges.add(fetch.label() + " (" + fetch.missingMinutes + "m)");
+            }
+            map.put("ranges", ranges);
+            return map;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 수집 계획 계산
+     *
+     * @param persist true면 구간을 PENDING 체크포인트로 기록 (수집 실행), false면 미리보기
+     */
+    public BackfillPlan plan(List<String> symbols, int days, boolean persist) {
+        String runId = UUID.randomUUID().toString();
+        ZoneId zone = ZoneId.of(candleZone);
+        // 진행 중인 분은 제외 (sessionMinutes는 until 미만만 포함)
+        LocalDateTime now = LocalDateTime.now(zone).withSecond(0).withNano(0);
+        // 1분봉 1회 요청 상한과 같게 최대 MAX_DAYS일 (historical_loader.py와 동일)
+        int windowDays = Math.min(Math.max(1, days), MAX_DAYS);
+        LocalDateTime windowStart = now.toLocalDate().minusDays(windowDays - 1L).atStartOfDay();
+
+        int aborted = 0;
+        if (persist) {
+            aborted = jdbcTemplate.update(
+                    "UPDATE backfill_range SET status = 'ABORTED', updated_at = NOW() WHERE status = 'PENDING'");
+            jdbcTemplate.update("DELETE FROM backfill_range WHERE range_end < ?",
+                    Timestamp.valueOf(now.minusDays(CHECKPOINT_RETENTION_DAYS)));
+            if (aborted > 0) {
+                log.info("[Backfill] {} ranges left over from an interrupted run - replanning", aborted);
+            }
+        }
+
+        List<LocalDateTime> sessionMinutes = sessionMinutes(windowStart, now);
+        List<Fetch> fetches = new ArrayList<>();
+        int skippedSymbols = 0;
+        // [이미 있음, 확인 구간, 빠짐]
+        long[] counts = new long[3];
+
+        for (String symbol : symbols) {
+            List<Fetch> symbolFetches = planSymbol(runId, symbol, sessionMinutes,
+                    existingMinutes(symbol, windowStart, now), checkedRanges(symbol, windowStart, now),
+                    mergeGapMinutes, counts);
+
+            if (symbolFetches.isEmpty()) {
+                skippedSymbols++;
+            }
+            fetches.addAll(symbolFetches);
+        }
+
+        if (persist) {
+            jdbcTemplate.batchUpdate(INSERT_RANGE_SQL, fetches, 500, (ps, fetch) -> {
+                ps.setString(1, runId);
+                ps.setString(2, fetch.symbol);
+                ps.setTimestamp(3, Timestamp.valueOf(fetch.start));
+                ps.setTimestamp(4, Timestamp.valueOf(fetch.end));
+            });
+        }
+
+        BackfillPlan plan = new BackfillPlan(runId, days, fetches, symbols.size(), skippedSymbols,
+                counts[0], counts[1], counts[2], aborted);
+
+        log.info("[Backfill] Plan {}: {} symbols ({} skipped), {} ranges, minutes present={} checked={} missing={}",
+                persist ? runId : "(preview)", symbols.size(), skippedSymbols, fetches.size(),
+                counts[0], counts[1], counts[2]);
+        return plan;
+    }
+
+    /**
+     * 계획 없이 종목마다 기간 전체를 수집할 때의 구간 (historical.plan.enabled=false)
+     */
+    public BackfillPlan fullPlan(List<String> symbols, int days) {
+        String runId = UUID.randomUUID().toString();
+        List<Fetch> fetches = new ArrayList<>();
+        for (String symbol : symbols) {
+            fetches.add(new Fetch(runId, symbol, null, null, 0));
+        }
+        return new BackfillPlan(runId, days, fetches, symbols.size(), 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * 구간 수집 완료 (candles = 0 이면 EMPTY)
+     *
+     * 최근 FINAL_DELAY_MINUTES 안의 분은 값이 바뀔 수 있으므로 확인 구간에서 제외 (다음 실행에서 다시 수집)
+     */
+    public void markDone(Fetch fetch, int candles) {
+        if (fetch.start == null) {
+            return;
+        }
+        LocalDateTime finalBefore = LocalDateTime.now(ZoneId.of(candleZone)).minusMinutes(FINAL_DELAY_MINUTES);
+        LocalDateTime checkedUntil = fetch.end.isBefore(finalBefore) ? fetch.end : finalBefore;
+
+        finish(fetch, candles > 0 ? "DONE" : "EMPTY", candles, checkedUntil, null);
+    }
+
+    public void markFailed(Fetch fetch, String message) {
+        if (fetch.start == null) {
+            return;
+        }
+        finish(fetch, "FAILED", 0, null, message);
+    }
+
+    private void finish(Fetch fetch, String status, int candles, LocalDateTime checkedUntil, String message) {
+        try {
+            jdbcTemplate.update(FINISH_RANGE_SQL,
+                    status, candles,
+                    checkedUntil != null ? Timestamp.valueOf(checkedUntil) : null,
+                    message != null && message.length() > 255 ? message.substring(0, 255) : message,
+                    fetch.runId, fetch.symbol, Timestamp.valueOf(fetch.start));
+        } catch (Exception e) {
+            log.warn("[Backfill] Checkpoint update failed ({}): {}", fetch.label(), e.getMessage());
+        }
+    }
+
+    // ========================================
+    // 구간 계산
+    // ========================================
+
+    /**
+     * 종목 1개의 빈 구간 계산
+     *
+     * - 정규장 분을 순서대로 보면서 저장되지도, 확인되지도 않은 분을 구간으로 묶음
+     * - 빈 분 사이의 채워진 분이 mergeGap 미만이면 같은 구간 (요청 1회로 함께 수집)
+     *
+     * @param counts [이미 있음, 확인 구간, 빠짐] 분 수 누적
+     */
+    static List<Fetch> planSymbol(String runId, String symbol, List<LocalDateTime> sessionMinutes,
+                                  Set<LocalDateTime> existing, List<LocalDateTime[]> checkedRanges,
+                                  int mergeGap, long[] counts) {
+        List<Fetch> fetches = new ArrayList<>();
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        int rangeMissing = 0;
+        int filledSinceMissing = 0;
+
+        for (LocalDateTime minute : sessionMinutes) {
+            if (existing.contains(minute)) {
+                counts[0]++;
+                filledSinceMissing++;
+                continue;
+            }
+            if (isChecked(checkedRanges, minute)) {
+                counts[1]++;
+                filledSinceMissing++;
+                continue;
+            }
+
+            counts[2]++;
+            if (rangeStart != null && filledSinceMissing >= mergeGap) {
+                fetches.add(new Fetch(runId, symbol, rangeStart, rangeEnd, rangeMissing));
+                rangeStart = null;
+            }
+            if (rangeStart == null) {
+                rangeStart = minute;
+                rangeMissing = 0;
+            }
+            rangeEnd = minute;
+            rangeMissing++;
+            filledSinceMissing = 0;
+        }
+
+        if (rangeStart != null) {
+            fetches.add(new Fetch(runId, symbol, rangeStart, rangeEnd, rangeMissing));
+        }
+        return fetches;
+    }
+
+    /**
+     * 기간 안의 정규장 분 (평일 09:30 ~ 15:59, until 이전)
+     */
+    static List<LocalDateTime> sessionMinutes(LocalDateTime from, LocalDateTime until) {
+        List<LocalDateTime> minutes = new ArrayList<>();
+
+        for (LocalDate date = from.toLocalDate(); !date.isAfter(until.toLocalDate()); date = date.plusDays(1)) {
+            DayOfWeek day = date.getDayOfWeek();
+            if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+                continue;
+            }
+
+            for (LocalDateTime minute = date.atTime(SESSION_OPEN);
+                 minute.toLocalTime().isBefore(SESSION_CLOSE) && minute.isBefore(until);
+                 minute = minute.plusMinutes(1)) {
+                if (!minute.isBefore(from)) {
+                    minutes.add(minute);
+                }
+            }
+        }
+        return minutes;
+    }
+
+    /**
+     * 기간 안에 이미 저장된 분봉 시각
+     */
+    private Set<LocalDateTime> existingMinutes(String symbol, LocalDateTime from, LocalDateTime until) {
+        Optional<LocalDateTime> last = candleRepository.findLastTimestampBySymbol(symbol);
+        if (last.isEmpty() || last.get().isBefore(from)) {
+            // 기간 안에 데이터 없음 → 조회 생략
+            return Collections.emptySet();
+        }
+
+        Set<LocalDateTime> minutes = new HashSet<>();
+        jdbcTemplate.query(SELECT_TIMESTAMPS_SQL,
+                rs -> {
+                    minutes.add(rs.getTimestamp(1).toLocalDateTime());
+                },
+                symbol, Timestamp.valueOf(from), Timestamp.valueOf(until));
+        return minutes;
+    }
+
+    /**
+     * 이전 실행에서 이미 확인한 구간 [range_start, checked_until]
+     */
+    private List<LocalDateTime[]> checkedRanges(String symbol, LocalDateTime from, LocalDateTime until) {
+        return jdbcTemplate.query(SELECT_CHECKED_SQL,
+                (rs, rowNum) -> new LocalDateTime[] {
+                        rs.getTimestamp(1).toLocalDateTime(),
+                        rs.getTimestamp(2).toLocalDateTime()
+                },
+                symbol, Timestamp.valueOf(from), Timestamp.valueOf(until));
+    }
+
+    private static boolean isChecked(List<LocalDateTime[]> ranges, LocalDateTime minute) {
+        for (LocalDateTime[] range : ranges) {
+            if (!minute.isBefore(range[0]) && !minute.isAfter(range[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 구간 → Yahoo Finance period1 / period2 (epoch 초, period2는 마지막 분 다음)
+     */
+    public long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.of(candleZone)).toEpochSecond();
+    }
+}
@@ -0,0 +1,97 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 브로커 중계 구성에서 다른 서버가 보낸 실시간 메시지 반영 (websocket.broker.mode=relay일 때만)
+ *
+ * 역할:
+ * - 시장 토픽 두 개(/topic/market, /topic/compact/market)를 relay의 system 연결로 항상 구독
+ *   → 이 서버에 구독자가 없어도 시세 스냅샷 / 압축 기준 값 / 순번이 보낸 서버와 같음
+ * - 이 서버 클라이언트에게 전달되는 실시간 메시지(clientOutboundChannel)의 seq 헤더 확인
+ *   → 종목 토픽도 구독자가 있는 동안은 재전송용으로 보관
+ * - 실제 반영은 TickBroadcaster.observe() (같은 순번은 한 번만, 자기가 보낸 메시지는 무시)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-20
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "relay")
+public class BrokerRelayMirror {
+
+    private final AbstractBrokerMessageHandler relayHandler;
+    private final AbstractSubscribableChannel clientOutboundChannel;
+    private final TickBroadcaster tickBroadcaster;
+
+    public BrokerRelayMirror(@Qualifier("stompBrokerRelayMessageHandler") AbstractBrokerMessageHandler relayHandler,
+                             @Qualifier("clientOutboundChannel") AbstractSubscribableChannel clientOutboundChannel,
+                             TickBroadcaster tickBroadcaster) {
+        this.relayHandler = relayHandler;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.tickBroadcaster = tickBroadcaster;
+    }
+
+    /**
+     * relay 시작(SmartLifecycle) 전에 system 구독 / 전달 감시 등록
+     */
+    @PostConstruct
+    public void init() {
+        StompBrokerRelayMessageHandler relay = (StompBrokerRelayMessageHandler) relayHandler;
+
+        Map<String, MessageHandler> subscriptions = new HashMap<>();
+        if (relay.getSystemSubscriptions() != null) {
+            subscriptions.putAll(relay.getSystemSubscriptions());
+        }
+        subscriptions.put(TickBroadcaster.MARKET_TOPIC, this::observe);
+        subscriptions.put(TickBroadcaster.compactDestination(TickBroadcaster.MARKET_TOPIC), this::observe);
+        relay.setSystemSubscriptions(subscriptions);
+
+        clientOutboundChannel.addInterceptor(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                observe(message);
+                return message;
+            }
+        });
+
+        log.info("[Relay] Mirroring {} and compact market topic from broker", TickBroadcaster.MARKET_TOPIC);
+    }
+
+    /**
+     * seq 헤더가 있는 MESSAGE만 (스냅샷 / 재전송처럼 이 서버가 직접 보내는 메시지는 헤더 없음)
+     */
+    private void observe(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String seq = accessor.getFirstNativeHeader(TickBroadcaster.SEQ_HEADER);
+        String destination = accessor.getDestination();
+        if (seq == null || destination == null || !(message.getPayload() instanceof byte[] body)) {
+            return;
+        }
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE) {
+            return;
+        }
+
+        try {
+            tickBroadcaster.observe(destination, Long.parseLong(seq), body);
+        } catch (NumberFormatException e) {
+            log.debug("[Relay] Ignoring message with invalid seq header on {}: {}", destination, seq);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 1분봉 일괄 UPSERT 저장기
+ *
+ * 역할:
+ * - 한 번에 수집된 1분봉 묶음(보통 1분치 전 종목)을 트랜잭션 1개로 저장
+ * - JDBC 배치 + INSERT ... ON DUPLICATE KEY UPDATE (idx_symbol_timestamp 유니크 키)
+ * - 종목마다 SELECT + save() 하던 방식 대비 왕복 횟수: 2N → 2 + N/batchSize
+ *
+ * JPA를 쓰지 않는 이유:
+ * - StockCandle1m의 IDENTITY 전략은 INSERT마다 키를 받아와야 하므로 Hibernate 배치가 꺼짐
+ *
+ * 삽입 / 갱신 건수:
+ * - 배치 실행 전 같은 트랜잭션에서 기존 키를 한 번에 조회해서 구분
+ * - 드라이버 반환값(affected rows)은 rewriteBatchedStatements / useAffectedRows 설정에 따라
+ *   의미가 달라지므로 사용하지 않음
+ * - 같은 묶음 안의 중복 키는 마지막 값만 저장
+ *
+ * 빈 분만 채우기 (insertMissing):
+ * - 저널 재적재용, 이미 있는 행은 건드리지 않음 (ON DUPLICATE KEY UPDATE id = id)
+ * - 재적재 묶음보다 늦게 커밋된 값을 예전 값으로 덮어쓰지 않도록
+ *
+ * 사용 위치:
+ * - IngestPipeline persist 단계 (실시간 / 과거 데이터 = upsert, 저널 재적재 = insertMissing)
+ *
+ * 설정 (application.properties):
+ * - ingest.batch-size: JDBC 배치 1회당 행 수 (기본 500)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-10
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleBatchWriter {
+
+    private static final String UPSERT_SQL = "INSERT INTO stock_candle_1m "
+            + "(symbol, timestamp, open, high, low, close, volume, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, NOW()) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "  open = VALUES(open), high = VALUES(high), low = VALUES(low), "
+            + "  close = VALUES(close), volume = VALUES(volume)";
+
+    private static final String INSERT_MISSING_SQL = "INSERT INTO stock_candle_1m "
+            + "(symbol, timestamp, open, high, low, close, volume, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, NOW()) "
+            + "ON DUPLICATE KEY UPDATE id = id";
+
+    private static final String EXISTING_KEYS_SQL = "SELECT id, symbol, timestamp FROM stock_candle_1m "
+            + "WHERE symbol IN (:symbols) AND timestamp BETWEEN :start AND :end";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Value("${ingest.batch-size:500}")
+    private int batchSize;
+
+    // 통계
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong insertedRows = new AtomicLong();
+    private final AtomicLong updatedRows = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private volatile long lastMillis;
+    private volatile double lastRowsPerSecond;
+
+    /**
+     * 저장 결과
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class BatchResult {
+        // 저장된 캔들 (중복 제거 후, 기존 행은 id 포함)
+        private final List<StockCandle1m> candles;
+        // 새로 삽입된 캔들 키 (symbol|timestamp)
+        private final Set<String> insertedKeys;
+        private final int inserted;
+        private final int updated;
+        private final long elapsedMillis;
+
+        public boolean isInserted(StockCandle1m candle) {
+            return insertedKeys.contains(key(candle.getSymbol(), candle.getTimestamp()));
+        }
+    }
+
+    /**
+     * 1분봉 묶음 일괄 UPSERT (트랜잭션 1개)
+     *
+     * @param candles 저장할 캔들 (id 무시)
+     * @return 삽입 / 갱신 건수와 저장된 캔들
+     */
+    @Transactional
+    public BatchResult upsert(List<StockCandle1m> candles) {
+        return write(candles, false);
+    }
+
+    /**
+     * 없는 행만 삽입 (트랜잭션 1개, 기존 행 유지)
+     *
+     * @param candles 저장할 캔들 (id 무시)
+     * @return 새로 삽입된 캔들만 (updated = 건너뛴 기존 행 수)
+     */
+    @Transactional
+    public BatchResult insertMissing(List<StockCandle1m> candles) {
+        return write(candles, true);
+    }
+
+    private BatchResult write(List<StockCandle1m> candles, boolean insertOnly) {
+        if (candles.isEmpty()) {
+            return new BatchResult(Collections.emptyList(), Collections.emptySet(), 0, 0, 0);
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        // ========================================
+        // 1. 중복 키 제거 (마지막 값 유지)
+        // ========================================
+        Map<String, StockCandle1m> unique = new LinkedHashMap<>();
+        for (StockCandle1m candle : candles) {
+            unique.put(key(candle.getSymbol(), candle.getTimestamp()), candle);
+        }
+        List<StockCandle1m> rows = new ArrayList<>(unique.values());
+
+        // ========================================
+        // 2. 기존 키 조회 (SQL 1회)
+        // ========================================
+        Map<String, Long> existing = findExistingIds(rows);
+
+        // ========================================
+        // 3. JDBC 배치 UPSERT (insertOnly면 기존 행 유지)
+        // ========================================
+        jdbcTemplate.batchUpdate(insertOnly ? INSERT_MISSING_SQL : UPSERT_SQL, rows, batchSize, (ps, candle) -> {
+            ps.setString(1, candle.getSymbol());
+            ps.setTimestamp(2, Timestamp.valueOf(candle.getTimestamp()));
+            ps.setBigDecimal(3, candle.getOpen());
+            ps.setBigDecimal(4, candle.getHigh());
+            ps.setBigDecimal(5, candle.getLow());
+            ps.setBigDecimal(6, candle.getClose());
+            ps.setLong(7, candle.getVolume());
+        });
+
+        // ========================================
+        // 4. 결과 집계
+        // ========================================
+        Set<String> insertedKeys = new HashSet<>();
+        List<StockCandle1m> saved = new ArrayList<>(rows.size());
+
+        for (Map.Entry<String, StockCandle1m> entry : unique.entrySet()) {
+            StockCandle1m candle = entry.getValue();
+            Long id = existing.get(entry.getKey());
+            if (id == null) {
+                insertedKeys.add(entry.getKey());
+            } else if (insertOnly) {
+                continue;
+            }
+            saved.add(StockCandle1m.builder()
+                    .id(id)
+                    .symbol(candle.getSymbol())
+                    .timestamp(candle.getTimestamp())
+                    .open(candle.getOpen())
+                    .high(candle.getHigh())
+                    .low(candle.getLow())
+                    .close(candle.getClose())
+                    .volume(candle.getVolume())
+                    .build());
+        }
+
+        int inserted = insertedKeys.size();
+        // insertOnly: 건너뛴 기존 행 수
+        int updated = rows.size() - inserted;
+        long elapsed = System.currentTimeMillis() - startTime;
+        double rowsPerSecond = rows.size() * 1000.0 / Math.max(1, elapsed);
+
+        batches.incrementAndGet();
+        insertedRows.addAndGet(inserted);
+        if (!insertOnly) {
+            updatedRows.addAndGet(updated);
+        }
+        totalMillis.addAndGet(elapsed);
+        lastMillis = elapsed;
+        lastRowsPerSecond = rowsPerSecond;
+
+        log.info("[BatchWriter] {} {} rows (inserted={}, {}={}) in {}ms ({} rows/sec)",
+                insertOnly ? "Inserted missing of" : "Upserted", rows.size(), inserted,
+                insertOnly ? "kept" : "updated", updated, elapsed, String.format("%.0f", rowsPerSecond));
+
+        return new BatchResult(saved, insertedKeys, inserted, updated, elapsed);
+    }
+
+    /**
+     * 묶음에 해당하는 기존 행의 키 → id
+     */
+    private Map<String, Long> findExistingIds(List<StockCandle1m> rows) {
+        Set<String> symbols = new HashSet<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+
+        for (StockCandle1m candle : rows) {
+            symbols.add(candle.getSymbol());
+            LocalDateTime timestamp = candle.getTimestamp();
+            if (start == null || timestamp.isBefore(start)) {
+                start = timestamp;
+            }
+            if (end == null || timestamp.isAfter(end)) {
+                end = timestamp;
+            }
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("symbols", symbols)
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end));
+
+        Map<String, Long> existing = new HashMap<>();
+        namedParameterJdbcTemplate.query(EXISTING_KEYS_SQL, params, rs -> {
+            existing.put(key(rs.getString("symbol"), rs.getTimestamp("timestamp").toLocalDateTime()),
+                    rs.getLong("id"));
+        });
+        return existing;
+    }
+
+    private static String key(String symbol, LocalDateTime timestamp) {
+        return symbol + "|" + timestamp;
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.get();
+        long inserted = insertedRows.get();
+        long updated = updatedRows.get();
+        long millis = totalMillis.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batchSize", batchSize);
+        stats.put("batches", batchCount);
+        stats.put("inserted", inserted);
+        stats.put("updated", updated);
+        stats.put("lastBatchMillis", lastMillis);
+        stats.put("lastRowsPerSecond", lastRowsPerSecond);
+        stats.put("avgBatchMillis", batchCount == 0 ? 0.0 : (double) millis / batchCount);
+        stats.put("avgRowsPerSecond", (inserted + updated) * 1000.0 / Math.max(1, millis));
+        return stats;
+    }
+}
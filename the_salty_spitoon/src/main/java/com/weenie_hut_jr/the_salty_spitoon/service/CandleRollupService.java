@@ -0,0 +1,411 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.config.AsyncConfig;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandleRollup;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockData;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandleRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 멀티 타임프레임 롤업 관리 서비스
+ *
+ * 역할:
+ * - 1분봉 저장 시 5m/15m/1h/4h/1d 롤업 버킷 증분 갱신
+ * - 기존 데이터 롤업 재구축 (백필)
+ * - 롤업 vs 1분봉 실시간 집계 일관성 검증
+ *
+ * 증분 갱신 방식:
+ * - 새 1분봉이 들어오면 그 1분봉이 속한 버킷만 1분봉 테이블에서 재집계
+ * - 같은 1분봉이 여러 번 갱신되어도 (거래량 변경 등) 결과가 항상 정확
+ * - 버킷당 최대 390개(1d) 행을 인덱스 범위로 읽으므로 저렴
+ * - 저장 묶음 단위로 호출 (onMinuteCandles): 같은 버킷의 종목은 한 문장으로
+ *   → 실시간 묶음(종목당 같은 분 1건)이면 종목 수와 무관하게 타임프레임별 1문장
+ *
+ * 완성 표시 (stock_candle_rollup_complete):
+ * - 증분 갱신은 기동 이후 버킷만 만들므로 롤업 행이 있다고 과거 구간까지 있는 것은 아님
+ * - 재구축(rebuildSymbol) 완료, 또는 재집계 구간이 그 종목의 1분봉 전체를 덮을 때만 완성 표시
+ *   (처음 수집하는 종목은 첫 1분봉부터 증분 갱신되므로 바로 완성)
+ * - 완성 전에는 StockService가 1분봉 집계로 폴백
+ *
+ * 사용 위치:
+ * - FileDataCollector: 실시간 1분봉 저장 직후
+ * - HistoricalCollectionService: 종목별 과거 데이터 저장 직후
+ * - StockService: 5m 이상 타임프레임 조회
+ * - AdminController: 재구축 / 일관성 검증 API
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-05
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleRollupService {
+
+    /**
+     * 롤업 대상 타임프레임 → 분 단위 (StockService.getIntervalMinutes와 동일)
+     */
+    public static final Map<String, Integer> RESOLUTIONS;
+
+    static {
+        Map<String, Integer> resolutions = new LinkedHashMap<>();
+        resolutions.put("5m", 5);
+        resolutions.put("15m", 15);
+        resolutions.put("1h", 60);
+        resolutions.put("4h", 240);
+        resolutions.put("1d", 1440);
+        RESOLUTIONS = Collections.unmodifiableMap(resolutions);
+    }
+
+    private final StockCandle1mRepository candleRepository;
+    private final StockCandleRollupRepository rollupRepository;
+    private final StockService stockService;
+
+    // 재구축 중 여부 플래그
+    private final AtomicBoolean isRebuilding = new AtomicBoolean(false);
+
+    // 종목별 완성 여부 (증분 갱신 때 종목마다 1분봉 범위를 다시 조회하지 않도록)
+    private final Map<String, Boolean> completeness = new ConcurrentHashMap<>();
+
+    public boolean isRebuilding() {
+        return isRebuilding.get();
+    }
+
+    /**
+     * 롤업 지원 타임프레임 여부
+     */
+    public static boolean isRollupResolution(String timeframe) {
+        return RESOLUTIONS.containsKey(timeframe);
+    }
+
+    /**
+     * 버킷 시작 시각 (StockService.calculateGroupKey와 동일한 규칙)
+     */
+    public static LocalDateTime bucketStart(LocalDateTime time, int intervalMinutes) {
+        if (intervalMinutes >= 1440) {
+            return time.toLocalDate().atStartOfDay();
+        } else if (intervalMinutes >= 60) {
+            int hours = intervalMinutes / 60;
+            return time.toLocalDate().atTime((time.getHour() / hours) * hours, 0);
+        } else {
+            return time.truncatedTo(ChronoUnit.HOURS)
+                    .plusMinutes((time.getMinute() / intervalMinutes) * intervalMinutes);
+        }
+    }
+
+    /**
+     * 버킷 종료 시각 (exclusive)
+     */
+    public static LocalDateTime bucketEnd(LocalDateTime time, int intervalMinutes) {
+        LocalDateTime start = bucketStart(time, intervalMinutes);
+        if (intervalMinutes >= 1440) {
+            return start.plusDays(1);
+        }
+        return start.plusMinutes(intervalMinutes);
+    }
+
+    // ========================================
+    // 증분 갱신
+    // ========================================
+
+    /**
+     * 1분봉 묶음 저장 후 호출 - 묶음의 1분봉이 속한 버킷만 재집계
+     *
+     * - 타임프레임마다 버킷 → 종목 목록으로 묶어 버킷당 1문장
+     *
+     * @param candles 저장된 1분봉
+     * @return 실행한 UPSERT 문장 수
+     */
+    public int onMinuteCandles(Collection<StockCandle1m> candles) {
+        if (candles.isEmpty()) {
+            return 0;
+        }
+
+        int statements = 0;
+        for (Map.Entry<String, Integer> entry : RESOLUTIONS.entrySet()) {
+            int minutes = entry.getValue();
+
+            Map<LocalDateTime, Set<String>> buckets = new TreeMap<>();
+            for (StockCandle1m candle : candles) {
+                buckets.computeIfAbsent(bucketStart(candle.getTimestamp(), minutes), key -> new TreeSet<>())
+                        .add(candle.getSymbol());
+            }
+
+            for (Map.Entry<LocalDateTime, Set<String>> bucket : buckets.entrySet()) {
+                rollupRepository.upsertFromMinuteCandlesForSymbols(
+                        bucket.getValue(), entry.getKey(), minutes,
+                        bucket.getKey(), bucketEnd(bucket.getKey(), minutes));
+                statements++;
+            }
+        }
+
+        // 완성 여부를 모르는 종목만: 묶음이 그 종목의 1분봉 전체를 덮는지 (가장 작은 5m 버킷 하나 안)
+        Map<String, LocalDateTime[]> ranges = new HashMap<>();
+        for (StockCandle1m candle : candles) {
+            if (completeness.containsKey(candle.getSymbol())) {
+                continue;
+            }
+            ranges.merge(candle.getSymbol(), new LocalDateTime[] { candle.getTimestamp(), candle.getTimestamp() },
+                    (a, b) -> new LocalDateTime[] {
+                            a[0].isBefore(b[0]) ? a[0] : b[0], a[1].isAfter(b[1]) ? a[1] : b[1] });
+        }
+        for (Map.Entry<String, LocalDateTime[]> range : ranges.entrySet()) {
+            LocalDateTime[] span = range.getValue();
+            if (bucketStart(span[0], finestMinutes()).equals(bucketStart(span[1], finestMinutes()))) {
+                updateCompleteness(range.getKey(), span[0], span[1]);
+            } else {
+                updateCompleteness(range.getKey(), null, null);
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * 기간 단위 재집계 (과거 데이터 저장 후 호출)
+     *
+     * @param symbol 종목 심볼
+     * @param from   저장된 1분봉 중 가장 이른 시각
+     * @param to     저장된 1분봉 중 가장 늦은 시각
+     * @return 갱신된 롤업 행 수 (MySQL affected rows 기준)
+     */
+    public int refreshRange(String symbol, LocalDateTime from, LocalDateTime to) {
+        int affected = 0;
+        for (Map.Entry<String, Integer> entry : RESOLUTIONS.entrySet()) {
+            int minutes = entry.getValue();
+            affected += rollupRepository.upsertFromMinuteCandles(
+                    symbol, entry.getKey(), minutes,
+                    bucketStart(from, minutes),
+                    bucketEnd(to, minutes));
+        }
+        log.debug("[Rollup] {} 재집계: {} ~ {} ({} rows)", symbol, from, to, affected);
+
+        if (!Boolean.TRUE.equals(completeness.get(symbol))) {
+            updateCompleteness(symbol, from, to);
+        }
+        return affected;
+    }
+
+    // ========================================
+    // 완성 표시
+    // ========================================
+
+    /**
+     * 완성 여부 확인 / 기록
+     *
+     * - 이미 표시된 종목은 그대로 완성
+     * - [from, to]를 재집계했고 그 종목의 1분봉이 모두 그 버킷 안이면 완성 표시
+     *
+     * @param from 재집계한 1분봉 중 가장 이른 시각 (null이면 표시 여부만 확인)
+     * @param to   재집계한 1분봉 중 가장 늦은 시각
+     */
+    private void updateCompleteness(String symbol, LocalDateTime from, LocalDateTime to) {
+        if (rollupRepository.countCompleteBySymbol(symbol) > 0) {
+            setComplete(symbol, true);
+            return;
+        }
+
+        if (from != null && to != null) {
+            int minutes = finestMinutes();
+            Optional<LocalDateTime> first = candleRepository.findFirstTimestampBySymbol(symbol);
+            Optional<LocalDateTime> last = candleRepository.findLastTimestampBySymbol(symbol);
+            if (first.isPresent() && last.isPresent()
+                    && !first.get().isBefore(bucketStart(from, minutes))
+                    && last.get().isBefore(bucketEnd(to, minutes))) {
+                rollupRepository.markComplete(symbol);
+                setComplete(symbol, true);
+                log.info("[Rollup] {} 롤업 완성 (1분봉 전체 재집계)", symbol);
+                return;
+            }
+        }
+
+        // 과거 1분봉이 롤업 밖 → 재구축(/admin/rebuild-rollups) 전까지 1분봉 집계로 조회
+        if (completeness.put(symbol, false) == null) {
+            log.info("[Rollup] {} 롤업 미완성 - 재구축 전까지 1분봉 집계로 조회", symbol);
+        }
+    }
+
+    private void setComplete(String symbol, boolean complete) {
+        completeness.put(symbol, complete);
+        stockService.setRollupComplete(symbol, complete);
+    }
+
+    private static int finestMinutes() {
+        return RESOLUTIONS.values().iterator().next();
+    }
+
+    // ========================================
+    // 재구축 (백필)
+    // ========================================
+
+    /**
+     * 단일 종목 롤업 재구축 (기존 롤업 삭제 후 전체 재집계)
+     *
+     * @return 갱신된 롤업 행 수
+     */
+    public int rebuildSymbol(String symbol) {
+        Optional<LocalDateTime> first = candleRepository.findFirstTimestampBySymbol(symbol);
+        Optional<LocalDateTime> last = candleRepository.findLastTimestampBySymbol(symbol);
+
+        if (first.isEmpty() || last.isEmpty()) {
+            log.warn("[Rollup] {} - 1분봉 데이터 없음, 재구축 스킵", symbol);
+            return 0;
+        }
+
+        // 재구축 중에는 1분봉 집계로 조회 (지운 뒤 다시 채우는 동안 일부 버킷만 보이지 않도록)
+        rollupRepository.unmarkComplete(symbol);
+        setComplete(symbol, false);
+
+        for (String resolution : RESOLUTIONS.keySet()) {
+            rollupRepository.deleteBySymbolAndResolution(symbol, resolution);
+        }
+
+        int affected = refreshRange(symbol, first.get(), last.get());
+
+        // 재구축 중 새로 들어온 1분봉은 증분 갱신으로 이미 반영됨
+        rollupRepository.markComplete(symbol);
+        setComplete(symbol, true);
+        return affected;
+    }
+
+    /**
+     * 비동기 전체 재구축
+     *
+     * @param symbols 대상 종목 (null/빈 리스트면 1분봉이 있는 모든 종목)
+     */
+    @Async(AsyncConfig.BACKFILL_EXECUTOR)
+    public void rebuildAll(List<String> symbols) {
+        if (!isRebuilding.compareAndSet(false, true)) {
+            log.warn("[Rollup] 이미 재구축이 진행 중입니다.");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            List<String> targets = (symbols == null || symbols.isEmpty())
+                    ? candleRepository.findDistinctSymbols()
+                    : symbols;
+
+            log.info("========================================");
+            log.info("[Rollup] 재구축 시작: {} 종목", targets.size());
+            log.info("========================================");
+
+            int done = 0;
+            for (String symbol : targets) {
+                done++;
+                try {
+                    int rows = rebuildSymbol(symbol);
+                    log.info("[Rollup] [{}/{}] {} ✅ {} rows", done, targets.size(), symbol, rows);
+                } catch (Exception e) {
+                    log.error("[Rollup] [{}/{}] {} ❌ {}", done, targets.size(), symbol, e.getMessage());
+                }
+            }
+
+            log.info("[Rollup] 재구축 완료: {} 종목, {}ms", targets.size(), System.currentTimeMillis() - startTime);
+
+        } finally {
+            isRebuilding.set(false);
+        }
+    }
+
+    // ========================================
+    // 일관성 검증
+    // ========================================
+
+    /**
+     * 롤업 vs 1분봉 실시간 집계 비교
+     *
+     * - 1분봉 전체를 StockService 기존 집계 로직으로 계산한 결과와
+     *   롤업 테이블을 버킷 단위로 비교
+     * - 가격은 롤업 컬럼 정밀도(소수점 2자리) 기준 compareTo 비교
+     *
+     * @return 비교 결과 (missing / extra / mismatched 버킷 목록 포함)
+     */
+    public Map<String, Object> checkConsistency(String symbol, String timeframe) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("symbol", symbol);
+        result.put("timeframe", timeframe);
+
+        if (!isRollupResolution(timeframe)) {
+            result.put("success", false);
+            result.put("message", "롤업 대상 타임프레임이 아닙니다: " + timeframe);
+            return result;
+        }
+
+        List<StockCandle1m> oneMinData = candleRepository.findBySymbolOrderByTimestampAsc(symbol);
+        List<StockData> expected = stockService.aggregateByTimeframe(oneMinData, timeframe);
+        List<StockCandleRollup> actual = rollupRepository
+                .findBySymbolAndResolutionOrderByBucketStartAsc(symbol, timeframe);
+
+        Map<LocalDateTime, StockCandleRollup> actualByBucket = new HashMap<>();
+        for (StockCandleRollup rollup : actual) {
+            actualByBucket.put(rollup.getBucketStart(), rollup);
+        }
+
+        List<String> missing = new ArrayList<>();
+        List<String> mismatched = new ArrayList<>();
+
+        for (StockData data : expected) {
+            LocalDateTime bucket = LocalDateTime.ofInstant(data.getDate().toInstant(), ZoneId.systemDefault());
+            StockCandleRollup rollup = actualByBucket.remove(bucket);
+
+            if (rollup == null) {
+                missing.add(bucket.toString());
+            } else if (!sameCandle(data, rollup)) {
+                mismatched.add(bucket.toString());
+            }
+        }
+
+        List<String> extra = new ArrayList<>();
+        for (LocalDateTime bucket : actualByBucket.keySet()) {
+            extra.add(bucket.toString());
+        }
+        Collections.sort(extra);
+
+        boolean consistent = missing.isEmpty() && mismatched.isEmpty() && extra.isEmpty();
+
+        result.put("success", true);
+        result.put("consistent", consistent);
+        result.put("expectedBuckets", expected.size());
+        result.put("rollupBuckets", actual.size());
+        result.put("missing", missing);
+        result.put("mismatched", mismatched);
+        result.put("extra", extra);
+
+        if (!consistent) {
+            log.warn("[Rollup] {} {} 불일치 - missing: {}, mismatched: {}, extra: {}",
+                    symbol, timeframe, missing.size(), mismatched.size(), extra.size());
+        }
+
+        return result;
+    }
+
+    private boolean sameCandle(StockData expected, StockCandleRollup rollup) {
+        return samePrice(expected.getOpen(), rollup.getOpen())
+                && samePrice(expected.getHigh(), rollup.getHigh())
+                && samePrice(expected.getLow(), rollup.getLow())
+                && samePrice(expected.getClose(), rollup.getClose())
+                && Objects.equals(expected.getVolume(), rollup.getVolume());
+    }
+
+    private boolean samePrice(BigDecimal expected, BigDecimal actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        return expected.setScale(2, RoundingMode.HALF_UP)
+                .compareTo(actual.setScale(2, RoundingMode.HALF_UP)) == 0;
+    }
+}
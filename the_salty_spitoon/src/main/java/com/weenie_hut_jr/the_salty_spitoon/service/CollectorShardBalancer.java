@@ -0,0 +1,272 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수집기 샤드 종목 재분배 (종목별 수집 시간 기준)
+ *
+ * 역할:
+ * - 샤드 하트비트(collector-<id>.json)의 latencies(종목별 수집 ms)를 종목별 지수 이동 평균으로 누적
+ * - 샤드 부하 = 맡은 종목의 평균 수집 시간 합 → 가장 무거운 샤드가 분 경계를 넘기는지 결정
+ * - 재분배 시 PythonManager.applyShardSymbols()로 종목 파일만 교체 (수집기는 다음 사이클부터 반영)
+ *
+ * 분배 방식 (assign):
+ * - 느린 종목부터 현재 가장 가벼운 샤드에 배정 (LPT, 최적 대비 최대 4/3배)
+ * - 시간을 모르는 종목은 알려진 종목의 평균으로 가정 (아무것도 모르면 모두 같은 비용 → 고르게 나눔)
+ *
+ * 재분배 조건:
+ * - 티커 CSV의 종목이 바뀌었으면 바로 (새 종목 추가 / 삭제가 재시작 없이 반영)
+ * - 그 외에는 새 분배의 최대 샤드 부하가 현재보다 min-improvement 이상 줄어들 때만 (잦은 교체 방지)
+ * - 교체 직후 한 사이클은 종목이 두 샤드에서 수집되거나 한 번 빠질 수 있음 (UPSERT / 변경 감지로 무해)
+ *
+ * 설정 (application.properties):
+ * - python.collector.rebalance.enabled: 재분배 사용 여부 (통계 수집은 항상)
+ * - python.collector.rebalance.sample-interval-ms: 하트비트 읽기 주기
+ * - python.collector.rebalance.interval-ms: 재분배 판단 주기
+ * - python.collector.rebalance.min-improvement: 재분배에 필요한 최대 샤드 부하 감소율
+ * - python.collector.rebalance.smoothing: 지수 이동 평균 가중치 (새 값 비중)
+ *
+ * 상태 조회: GET /admin/collector-health 의 shards 항목
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-18
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollectorShardBalancer {
+
+    // 수집 시간을 모를 때의 종목당 비용 (상대값이므로 1이면 충분)
+    private static final double DEFAULT_COST = 1.0;
+
+    private final PythonManager pythonManager;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${python.collector.rebalance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${python.collector.rebalance.interval-ms:300000}")
+    private long intervalMs;
+
+    @Value("${python.collector.rebalance.min-improvement:0.15}")
+    private double minImprovement;
+
+    @Value("${python.collector.rebalance.smoothing:0.3}")
+    private double smoothing;
+
+    // 종목별 평균 수집 시간 (ms)
+    private final Map<String, Double> latencyMs = new ConcurrentHashMap<>();
+
+    // 샤드별 마지막으로 반영한 하트비트 (pid:cycle) → 같은 사이클 중복 반영 방지
+    private final Map<Integer, String> lastSample = new ConcurrentHashMap<>();
+    // 샤드별 마지막 사이클 소요 시간 (초)
+    private final Map<Integer, Double> cycleSeconds = new ConcurrentHashMap<>();
+
+    private volatile long lastRebalanceAt = System.currentTimeMillis();
+    private volatile String lastRebalanceReason;
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong rebalances = new AtomicLong();
+
+    /**
+     * 주기 샘플링 (기본 60초, 시작 후 2분 대기) + interval-ms마다 재분배 판단
+     */
+    @Scheduled(fixedDelayString = "${python.collector.rebalance.sample-interval-ms:60000}", initialDelay = 120000)
+    public synchronized void sample() {
+        if (pythonManager.getBootstrapState() != PythonManager.BootstrapState.READY) {
+            return;
+        }
+
+        for (int shard = 0; shard < pythonManager.getShardCount(); shard++) {
+            readLatencies(shard);
+        }
+
+        long now = System.currentTimeMillis();
+        if (enabled && pythonManager.getShardCount() > 1 && now - lastRebalanceAt >= intervalMs) {
+            lastRebalanceAt = now;
+            try {
+                rebalance();
+            } catch (Exception e) {
+                log.error("[Balancer] Rebalance failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 샤드 하트비트의 종목별 수집 시간 반영
+     */
+    private void readLatencies(int shard) {
+        Path file = pythonManager.getHeartbeatFile(shard);
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            JsonNode heartbeat = objectMapper.readTree(file.toFile());
+            JsonNode latencies = heartbeat.path("latencies");
+            String key = heartbeat.path("pid").asLong() + ":" + heartbeat.path("cycle").asLong();
+            if (!latencies.isObject() || key.equals(lastSample.put(shard, key))) {
+                return;
+            }
+
+            latencies.fields().forEachRemaining(entry -> latencyMs.merge(entry.getKey(),
+                    entry.getValue().asDouble(),
+                    (previous, latest) -> previous + smoothing * (latest - previous)));
+            cycleSeconds.put(shard, heartbeat.path("last_cycle_seconds").asDouble());
+            samples.incrementAndGet();
+
+        } catch (Exception e) {
+            log.debug("[Balancer] Heartbeat read failed (shard {}): {}", shard, e.getMessage());
+        }
+    }
+
+    /**
+     * 재분배 판단 / 적용
+     */
+    private void rebalance() throws Exception {
+        List<List<String>> current = pythonManager.getShardSymbols();
+        List<String> symbols = pythonManager.loadSymbols();
+        List<List<String>> proposed = assign(symbols, latencyMs, pythonManager.getShardCount());
+
+        Set<String> assigned = new HashSet<>();
+        current.forEach(assigned::addAll);
+        boolean universeChanged = !assigned.equals(new HashSet<>(symbols));
+
+        double currentMax = maxLoad(current, latencyMs);
+        double proposedMax = maxLoad(proposed, latencyMs);
+
+        String reason;
+        if (universeChanged) {
+            reason = "symbols changed (" + assigned.size() + " → " + symbols.size() + ")";
+        } else if (proposedMax < currentMax * (1 - minImprovement)) {
+            reason = String.format("max shard load %.0fms → %.0fms", currentMax, proposedMax);
+        } else {
+            log.debug("[Balancer] Keeping assignment (max shard load {}ms, best {}ms)",
+                    Math.round(currentMax), Math.round(proposedMax));
+            return;
+        }
+
+        pythonManager.applyShardSymbols(proposed);
+        rebalances.incrementAndGet();
+        lastRebalanceReason = reason;
+        log.info("[Balancer] Rebalanced {} symbols across {} shards - {}",
+                symbols.size(), proposed.size(), reason);
+    }
+
+    // ========================================
+    // 분배 계산 (정적, 테스트 가능)
+    // ========================================
+
+    /**
+     * 종목을 샤드에 분배 (느린 종목부터 가장 가벼운 샤드에, 샤드 안은 입력 순서 유지)
+     *
+     * @param symbols 전체 종목 (순서가 같으면 결과도 같음)
+     * @param latencyMs 종목별 수집 시간 (없는 종목은 알려진 평균)
+     * @param shards 샤드 수
+     * @return 샤드별 종목 목록 (크기 = shards)
+     */
+    static List<List<String>> assign(List<String> symbols, Map<String, Double> latencyMs, int shards) {
+        double fallback = defaultCost(latencyMs);
+        Map<String, Integer> order = new HashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            order.putIfAbsent(symbols.get(i), i);
+        }
+
+        // 비용 내림차순 (같으면 입력 순서)
+        List<String> sorted = new ArrayList<>(order.keySet());
+        sorted.sort(Comparator.<String>comparingDouble(symbol -> -latencyMs.getOrDefault(symbol, fallback))
+                .thenComparing(order::get));
+
+        double[] loads = new double[shards];
+        List<List<String>> assignment = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            assignment.add(new ArrayList<>());
+        }
+
+        for (String symbol : sorted) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            loads[lightest] += latencyMs.getOrDefault(symbol, fallback);
+            assignment.get(lightest).add(symbol);
+        }
+
+        assignment.forEach(list -> list.sort(Comparator.comparing(order::get)));
+        return assignment;
+    }
+
+    /**
+     * 샤드별 부하 (맡은 종목의 수집 시간 합)
+     */
+    static double[] loads(List<List<String>> assignment, Map<String, Double> latencyMs) {
+        double fallback = defaultCost(latencyMs);
+        double[] loads = new double[assignment.size()];
+        for (int i = 0; i < assignment.size(); i++) {
+            for (String symbol : assignment.get(i)) {
+                loads[i] += latencyMs.getOrDefault(symbol, fallback);
+            }
+        }
+        return loads;
+    }
+
+    static double maxLoad(List<List<String>> assignment, Map<String, Double> latencyMs) {
+        return Arrays.stream(loads(assignment, latencyMs)).max().orElse(0);
+    }
+
+    private static double defaultCost(Map<String, Double> latencyMs) {
+        return latencyMs.values().stream().mapToDouble(Double::doubleValue).average().orElse(DEFAULT_COST);
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    /**
+     * 샤드별 종목 수 / 부하 / 마지막 사이클 시간 + 가장 느린 종목
+     */
+    public Map<String, Object> getStats() {
+        List<List<String>> current = pythonManager.getShardSymbols();
+        double[] loads = loads(current, latencyMs);
+
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (int i = 0; i < pythonManager.getShardCount(); i++) {
+            Map<String, Object> shard = new LinkedHashMap<>();
+            shard.put("shard", i);
+            shard.put("symbols", i < current.size() ? current.get(i).size() : null);
+            shard.put("loadMs", i < loads.length ? Math.round(loads[i]) : null);
+            shard.put("lastCycleSeconds", cycleSeconds.get(i));
+            shards.add(shard);
+        }
+
+        Map<String, Long> slowest = new LinkedHashMap<>();
+        latencyMs.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(5)
+                .forEach(entry -> slowest.put(entry.getKey(), Math.round(entry.getValue())));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("shardCount", pythonManager.getShardCount());
+        stats.put("shards", shards);
+        stats.put("symbolsTracked", latencyMs.size());
+        stats.put("slowestMs", slowest);
+        stats.put("samples", samples.get());
+        stats.put("rebalances", rebalances.get());
+        stats.put("lastRebalanceReason", lastRebalanceReason);
+        return stats;
+    }
+}
@@ -0,0 +1,466 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 수집기 감시 (하트비트 + 수집 지연 + 자동 재시작)
+ *
+ * 역할:
+ * - start.py가 python.health.path/collector-<샤드>.json에 남기는 하트비트로 멈춤 감지
+ * - IngestPipeline의 마지막 실시간 묶음 수신 시각으로 수집 지연 감지
+ * - 문제가 있는 샤드만 PythonManager.restartShard()로 재시작 (샤드별 지수 백오프)
+ * - 수집 지연이 임계값을 넘으면 QuoteRegistry에 stale 표시 → 시세 API 응답에 포함
+ *
+ * 상태:
+ * - STARTING: Python 부트스트랩(pip 설치) 중이거나 시작 직후 유예 시간 (첫 하트비트 / 첫 수집 대기)
+ * - HEALTHY: 프로세스 실행 중 + 하트비트 최신 + 수집 정상
+ * - DEAD: 프로세스 종료 / 부트스트랩 실패 (재시작 시 설치부터 다시)
+ * - UNRESPONSIVE: 하트비트 없음 / heartbeat-timeout 초과 (수집 루프 멈춤)
+ * - STALE_OUTPUT: 하트비트는 정상이나 output-stale 동안 실시간 묶음 없음
+ * - BACKOFF: 문제가 있지만 다음 재시작 시각 전
+ * - DISABLED: 감시 비활성화 / 이 서버에서 수집기를 실행하지 않음 (python.collector.enabled=false)
+ * - 전체 상태는 샤드 중 가장 나쁜 상태 (샤드별 상태는 getStats()의 shards)
+ *
+ * 재시작:
+ * - 첫 재시작은 즉시, 이후 backoff-initial × 2^(연속 재시작 - 1) 대기 (최대 backoff-max)
+ * - HEALTHY 확인 시 연속 재시작 횟수 초기화
+ * - 하트비트의 pid가 현재 프로세스와 다르면 이전 프로세스의 파일로 보고 무시
+ * - 부트스트랩 실패는 샤드 0의 백오프로 전체 재시작 (설치부터 다시)
+ * - 수집 지연은 전체 기준 (어느 샤드든 묶음을 보내면 정상) → 모든 샤드가 멈췄을 때만 STALE_OUTPUT
+ * - 재시작은 subprocess-io 실행기에서 (프로세스 종료 대기 / 재설치가 스케줄러 스레드를 막지 않도록)
+ *   → 진행 중에는 다음 점검이 STARTING으로 보고 중복 재시작하지 않음
+ *
+ * 설정 (application.properties):
+ * - python.supervisor.enabled: 감시 / 자동 재시작 사용 여부
+ * - python.supervisor.check-interval-ms: 점검 주기
+ * - python.supervisor.heartbeat-timeout-seconds: 하트비트 허용 경과 시간
+ * - python.supervisor.output-stale-seconds: 실시간 묶음 허용 경과 시간 (stale 표시 기준)
+ * - python.supervisor.startup-grace-seconds: 시작 / 재시작 후 판단 유예
+ * - python.supervisor.backoff-initial-seconds / backoff-max-seconds: 재시작 간격
+ *
+ * 상태 조회: GET /admin/collector-health
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-16
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollectorSupervisor {
+
+    private final PythonManager pythonManager;
+    private final IngestPipeline pipeline;
+    private final QuoteRegistry quoteRegistry;
+    private final WorkloadExecutors workloadExecutors;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public enum State {
+        STARTING, HEALTHY, DEAD, UNRESPONSIVE, STALE_OUTPUT, BACKOFF, DISABLED
+    }
+
+    @Value("${python.supervisor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${python.supervisor.heartbeat-timeout-seconds:180}")
+    private long heartbeatTimeoutSeconds;
+
+    @Value("${python.supervisor.output-stale-seconds:180}")
+    private long outputStaleSeconds;
+
+    @Value("${python.supervisor.startup-grace-seconds:120}")
+    private long startupGraceSeconds;
+
+    @Value("${python.supervisor.backoff-initial-seconds:10}")
+    private long backoffInitialSeconds;
+
+    @Value("${python.supervisor.backoff-max-seconds:600}")
+    private long backoffMaxSeconds;
+
+    // 앱 기동 시각 (실시간 묶음을 아직 못 받았을 때 지연 기준)
+    private final long createdAt = System.currentTimeMillis();
+
+    private volatile boolean stopped = false;
+    private volatile State state = State.STARTING;
+    private volatile String reason = null;
+    private volatile long outputAgeSeconds = -1;
+
+    /**
+     * 샤드별 감시 상태
+     */
+    private static final class ShardHealth {
+        volatile State state = State.STARTING;
+        volatile String reason;
+        volatile JsonNode heartbeat;
+        volatile long heartbeatAgeSeconds = -1;
+
+        // 재시작
+        int consecutiveRestarts;
+        volatile long nextRestartAt;
+        volatile long lastRestartAt;
+        volatile String lastRestartReason;
+    }
+
+    private volatile ShardHealth[] shards = new ShardHealth[0];
+
+    // 재시작 작업 실행 중 (샤드 / 전체 공통, 한 번에 하나)
+    private final AtomicBoolean restarting = new AtomicBoolean(false);
+
+    private final AtomicLong restarts = new AtomicLong();
+    private final AtomicLong failedRestarts = new AtomicLong();
+    private final AtomicLong checks = new AtomicLong();
+
+    /**
+     * 주기 점검 (기본 15초, 시작 후 30초 대기)
+     */
+    @Scheduled(fixedDelayString = "${python.supervisor.check-interval-ms:15000}", initialDelay = 30000)
+    public synchronized void check() {
+        if (stopped) {
+            return;
+        }
+        checks.incrementAndGet();
+        long now = System.currentTimeMillis();
+
+        // 전달 전용 서버 (브로커 중계 구성): 실시간 묶음을 받지 않으므로 지연 / stale 판단도 안 함
+        if (!pythonManager.isCollectorEnabled()) {
+            state = State.DISABLED;
+            reason = "collector disabled on this node";
+            return;
+        }
+
+        // ========================================
+        // 1. 수집 지연 (API stale 표시는 감시 비활성화와 무관하게 갱신)
+        // ========================================
+        long lastOutput = pipeline.getLastRealtimeMillis();
+        long outputAge = (now - (lastOutput > 0 ? lastOutput : createdAt)) / 1000;
+        outputAgeSeconds = outputAge;
+        quoteRegistry.updateFeedStatus(outputAge > outputStaleSeconds, outputAge);
+
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+
+        // 이전 재시작이 아직 진행 중 (프로세스 종료 대기 / 재설치)
+        if (restarting.get()) {
+            state = State.STARTING;
+            reason = "restart in progress";
+            return;
+        }
+
+        // ========================================
+        // 2. 부트스트랩 (진행 중에는 판단 안 함, 실패는 전체 재시작)
+        // ========================================
+        PythonManager.BootstrapState bootstrap = pythonManager.getBootstrapState();
+        if (bootstrap != PythonManager.BootstrapState.READY && bootstrap != PythonManager.BootstrapState.FAILED) {
+            state = State.STARTING;
+            reason = "bootstrap " + bootstrap;
+            return;
+        }
+
+        ShardHealth[] current = shards();
+        if (bootstrap == PythonManager.BootstrapState.FAILED) {
+            String why = "bootstrap failed: " + pythonManager.getBootstrapStats().get("error");
+            for (ShardHealth shard : current) {
+                shard.state = State.DEAD;
+                shard.reason = why;
+            }
+            handle(0, current[0], State.DEAD, now);
+            summarize(current);
+            return;
+        }
+
+        // ========================================
+        // 3. 샤드별 프로세스 / 하트비트 → 문제 샤드만 재시작
+        // ========================================
+        for (int id = 0; id < current.length; id++) {
+            handle(id, current[id], evaluate(id, current[id], now, lastOutput), now);
+        }
+        summarize(current);
+    }
+
+    /**
+     * 샤드 상태 판단
+     *
+     * @return 문제 상태 (정상이면 null, 시작 유예 중이면 STARTING)
+     */
+    private State evaluate(int id, ShardHealth shard, long now, long lastOutput) {
+        long pid = pythonManager.getPid(id);
+        long startedAt = pythonManager.getStartedAt(id);
+        JsonNode heartbeat = readHeartbeat(id, pid);
+        shard.heartbeat = heartbeat;
+        shard.heartbeatAgeSeconds = heartbeat != null
+                ? Math.max(0, (now - (long) (heartbeat.path("updated_at").asDouble() * 1000)) / 1000)
+                : -1;
+
+        boolean inGrace = now - startedAt < startupGraceSeconds * 1000;
+        // 재시작 직후에는 이전 프로세스 때의 지연을 문제로 보지 않음
+        long outputAgeSinceStart = (now - Math.max(lastOutput, startedAt)) / 1000;
+
+        if (!pythonManager.isShardRunning(id)) {
+            shard.reason = "process exited (code " + pythonManager.getExitCode(id) + ")";
+            return State.DEAD;
+        } else if (inGrace) {
+            shard.reason = null;
+            return State.STARTING;
+        } else if (heartbeat == null) {
+            shard.reason = "no heartbeat";
+            return State.UNRESPONSIVE;
+        } else if (shard.heartbeatAgeSeconds > heartbeatTimeoutSeconds) {
+            shard.reason = "heartbeat " + shard.heartbeatAgeSeconds + "s old (state="
+                    + heartbeat.path("state").asText() + ")";
+            return State.UNRESPONSIVE;
+        } else if (outputAgeSinceStart > outputStaleSeconds) {
+            shard.reason = "no realtime batch for " + outputAgeSinceStart + "s";
+            return State.STALE_OUTPUT;
+        }
+        shard.reason = null;
+        return null;
+    }
+
+    /**
+     * 판단 결과 반영 (정상 → 연속 재시작 초기화, 문제 → 백오프 확인 후 재시작)
+     */
+    private void handle(int id, ShardHealth shard, State problem, long now) {
+        if (problem == State.STARTING) {
+            shard.state = State.STARTING;
+            return;
+        }
+
+        if (problem == null) {
+            if (shard.state != State.HEALTHY) {
+                log.info("[Supervisor] Collector shard {} healthy (PID: {})", id, pythonManager.getPid(id));
+            }
+            shard.state = State.HEALTHY;
+            shard.consecutiveRestarts = 0;
+            return;
+        }
+
+        // 백오프 대기 중이면 다음 점검에서
+        if (now < shard.nextRestartAt) {
+            shard.state = State.BACKOFF;
+            log.debug("[Supervisor] Shard {} {} - next restart in {}s",
+                    id, shard.reason, (shard.nextRestartAt - now) / 1000);
+            return;
+        }
+
+        shard.state = problem;
+        restart(id, shard, problem + ": " + shard.reason, now);
+    }
+
+    private void restart(int id, ShardHealth shard, String why, long now) {
+        shard.consecutiveRestarts++;
+        long backoffSeconds = Math.min(backoffMaxSeconds,
+                backoffInitialSeconds << Math.min(shard.consecutiveRestarts - 1, 20));
+        shard.nextRestartAt = now + backoffSeconds * 1000;
+        shard.lastRestartAt = now;
+        shard.lastRestartReason = why;
+        restarts.incrementAndGet();
+
+        log.warn("[Supervisor] Restarting collector shard {} - {} (attempt {}, next allowed in {}s)",
+                id, why, shard.consecutiveRestarts, backoffSeconds);
+
+        submitRestart(() -> pythonManager.restartShard(id));
+    }
+
+    private interface RestartAction {
+        void run() throws Exception;
+    }
+
+    /**
+     * 재시작을 subprocess-io 실행기로 넘김 (진행 중이면 건너뜀)
+     *
+     * @return 제출 여부
+     */
+    private boolean submitRestart(RestartAction action) {
+        if (!restarting.compareAndSet(false, true)) {
+            log.info("[Supervisor] Restart already in progress - skipped");
+            return false;
+        }
+
+        try {
+            workloadExecutors.execute(WorkloadExecutors.SUBPROCESS_IO, () -> {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    failedRestarts.incrementAndGet();
+                    log.error("[Supervisor] Collector restart failed: {}", e.getMessage());
+                } finally {
+                    restarting.set(false);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            restarting.set(false);
+            failedRestarts.incrementAndGet();
+            log.error("[Supervisor] Collector restart rejected (subprocess-io executor full)");
+            return false;
+        }
+    }
+
+    /**
+     * 전체 상태 = 가장 나쁜 샤드 상태
+     */
+    private void summarize(ShardHealth[] current) {
+        ShardHealth worst = current[0];
+        int worstId = 0;
+        for (int id = 1; id < current.length; id++) {
+            if (severity(current[id].state) > severity(worst.state)) {
+                worst = current[id];
+                worstId = id;
+            }
+        }
+        state = worst.state;
+        reason = worst.reason == null || current.length == 1
+                ? worst.reason
+                : "shard " + worstId + ": " + worst.reason;
+    }
+
+    private static int severity(State state) {
+        switch (state) {
+            case DEAD:
+                return 5;
+            case UNRESPONSIVE:
+                return 4;
+            case STALE_OUTPUT:
+                return 3;
+            case BACKOFF:
+                return 2;
+            case STARTING:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 샤드 수에 맞춘 감시 상태 (첫 점검 때 생성)
+     */
+    private ShardHealth[] shards() {
+        int count = pythonManager.getShardCount();
+        if (shards.length != count) {
+            ShardHealth[] created = new ShardHealth[count];
+            for (int i = 0; i < count; i++) {
+                created[i] = new ShardHealth();
+            }
+            shards = created;
+        }
+        return shards;
+    }
+
+    /**
+     * 관리자 수동 재시작 (모든 샤드, 백오프 무시, 연속 횟수 초기화)
+     *
+     * @return 재시작 시작 여부 (이미 진행 중 / 실행기 포화면 false)
+     */
+    public synchronized boolean restartNow() {
+        long now = System.currentTimeMillis();
+        for (ShardHealth shard : shards()) {
+            shard.consecutiveRestarts = 0;
+            shard.nextRestartAt = 0;
+            shard.lastRestartAt = now;
+            shard.lastRestartReason = "manual";
+        }
+        restarts.incrementAndGet();
+
+        log.warn("[Supervisor] Restarting all collector shards - manual");
+        return submitRestart(pythonManager::restartPython);
+    }
+
+    /**
+     * 샤드 프로세스의 하트비트 읽기
+     *
+     * @return 하트비트 JSON (파일 없음 / 읽기 실패 / 다른 프로세스의 파일이면 null)
+     */
+    private JsonNode readHeartbeat(int id, long pid) {
+        Path file = pythonManager.getHeartbeatFile(id);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            JsonNode heartbeat = objectMapper.readTree(file.toFile());
+            if (heartbeat.path("pid").asLong(-1) != pid) {
+                return null;
+            }
+            return heartbeat;
+        } catch (Exception e) {
+            log.debug("[Supervisor] Heartbeat read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 감시 상태 / 재시작 횟수 / 수집 지연 + 샤드별 하트비트 / 재시작
+     */
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        ShardHealth[] current = shards;
+
+        List<Map<String, Object>> shardStats = new ArrayList<>();
+        for (int id = 0; id < current.length; id++) {
+            ShardHealth shard = current[id];
+            JsonNode heartbeat = shard.heartbeat;
+            long startedAt = pythonManager.getStartedAt(id);
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("shard", id);
+            stats.put("state", shard.state.name());
+            stats.put("reason", shard.reason);
+            stats.put("running", pythonManager.isShardRunning(id));
+            stats.put("pid", pythonManager.getPid(id));
+            stats.put("uptimeSeconds", startedAt > 0 ? (now - startedAt) / 1000 : 0);
+            stats.put("heartbeatAgeSeconds", shard.heartbeatAgeSeconds);
+            stats.put("heartbeat", heartbeat != null ? objectMapper.convertValue(heartbeat, Map.class) : null);
+            stats.put("consecutiveRestarts", shard.consecutiveRestarts);
+            stats.put("lastRestartAt", shard.lastRestartAt);
+            stats.put("lastRestartReason", shard.lastRestartReason);
+            stats.put("nextRestartInSeconds", Math.max(0, (shard.nextRestartAt - now) / 1000));
+            shardStats.add(stats);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("state", state.name());
+        stats.put("reason", reason);
+        stats.put("running", pythonManager.isPythonRunning());
+        stats.put("outputAgeSeconds", outputAgeSeconds);
+        stats.put("feedStale", quoteRegistry.isFeedStale());
+        stats.put("restarts", restarts.get());
+        stats.put("failedRestarts", failedRestarts.get());
+        stats.put("restartInProgress", restarting.get());
+        stats.put("checks", checks.get());
+        stats.put("shards", shardStats);
+        return stats;
+    }
+}
@@ -0,0 +1,204 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * 실시간 캔들 압축 전송 형식 (위치 배열 + 고정 소수점 + 종목별 직전 값 대비 차이)
+ *
+ * 프레임 (JSON, v=1):
+ * - {"v": 1, "t": 전송 시각(ms), "k": [전체 행...], "d": [차이 행...]} (빈 k / d는 생략)
+ * - 전체 행: [symbol, 분(epoch 분), open, high, low, close, volume]
+ * - 차이 행: [symbol, 분 차이, open 차이, high 차이, low 차이, close 차이, volume 차이]
+ *   → 직전에 보낸 같은 종목 값에 더함, 끝쪽 0은 생략 (클라이언트가 0으로 채움)
+ * - 가격은 1/100 단위 정수 (DB가 소수 2자리), 엔티티의 id / createdAt / 필드 이름 없음
+ *
+ * 전체 행 조건:
+ * - 처음 보내는 종목, 또는 마지막 전체 행 이후 keyframe-interval-ms가 지남
+ *   → 나중에 구독한 클라이언트도 그 안에 기준 값을 받음 (기준이 없는 종목의 차이 행은 무시)
+ *
+ * 한 번 인코딩한 행을 종목 토픽 / 시장 토픽에 같이 보내므로 두 토픽의 기준 값은 같음
+ *
+ * 스냅샷 (2026-01-19):
+ * - 새 구독자에게 마지막으로 보낸 값을 전체 행으로 (snapshot) → 다음 차이 행을 바로 적용 가능
+ *   → 기준 값을 받으려고 keyframe-interval-ms까지 기다리지 않음
+ *
+ * 브로커 중계 (2026-01-20):
+ * - 인코딩하지 않는 서버는 브로커에서 받은 프레임을 apply()로 반영 → 그 서버의 스냅샷도 보낸 쪽과 같은 기준 값
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-19
+ */
+public class CompactCandleEncoder {
+
+    public static final int VERSION = 1;
+    static final int PRICE_SCALE = 2;
+
+    private final ZoneId zone;
+    private final long keyframeIntervalMs;
+
+    // 종목별 마지막으로 보낸 값 (분, open, high, low, close, volume) + 마지막 전체 행 시각
+    private final Map<String, long[]> lastValues = new HashMap<>();
+    private final Map<String, Long> lastKeyframeAt = new HashMap<>();
+
+    public CompactCandleEncoder(ZoneId zone, long keyframeIntervalMs) {
+        this.zone = zone;
+        this.keyframeIntervalMs = keyframeIntervalMs;
+    }
+
+    /**
+     * 인코딩한 행 (종목 + 전체 / 차이 여부)
+     */
+    public static final class Row {
+        private final String symbol;
+        private final boolean keyframe;
+        private final List<Object> values;
+
+        private Row(String symbol, boolean keyframe, List<Object> values) {
+            this.symbol = symbol;
+            this.keyframe = keyframe;
+            this.values = values;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public boolean isKeyframe() {
+            return keyframe;
+        }
+    }
+
+    /**
+     * 한 주기 캔들 → 종목별 행 (종목당 1건씩 들어온다고 가정, 입력 순서 유지)
+     */
+    public synchronized List<Row> encode(Collection<StockCandle1m> candles, long now) {
+        List<Row> rows = new ArrayList<>(candles.size());
+
+        for (StockCandle1m candle : candles) {
+            String symbol = candle.getSymbol();
+            long[] current = toValues(candle);
+            long[] previous = lastValues.put(symbol, current);
+
+            Long keyframeAt = lastKeyframeAt.get(symbol);
+            if (previous == null || keyframeAt == null || now - keyframeAt >= keyframeIntervalMs) {
+                lastKeyframeAt.put(symbol, now);
+                rows.add(new Row(symbol, true, row(symbol, current, current.length)));
+                continue;
+            }
+
+            long[] delta = new long[current.length];
+            int length = 0;
+            for (int i = 0; i < current.length; i++) {
+                delta[i] = current[i] - previous[i];
+                if (delta[i] != 0) {
+                    length = i + 1;
+                }
+            }
+            rows.add(new Row(symbol, false, row(symbol, delta, length)));
+        }
+        return rows;
+    }
+
+    /**
+     * 마지막으로 보낸 값의 전체 행 (구독 직후 스냅샷, 다음 차이 행의 기준과 같음)
+     *
+     * @param symbols 대상 종목 (null이면 보낸 적 있는 전체, 심볼 순)
+     */
+    public synchronized List<Row> snapshot(Collection<String> symbols) {
+        Collection<String> targets = symbols != null ? symbols : new TreeSet<>(lastValues.keySet());
+        List<Row> rows = new ArrayList<>(targets.size());
+        for (String symbol : targets) {
+            long[] values = lastValues.get(symbol);
+            if (values != null) {
+                rows.add(new Row(symbol, true, row(symbol, values, values.length)));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 보낸 적 없는 종목의 전체 행 (인코더 상태는 그대로 → 그 종목의 다음 encode도 전체 행)
+     */
+    public Row keyframe(StockCandle1m candle) {
+        long[] values = toValues(candle);
+        return new Row(candle.getSymbol(), true, row(candle.getSymbol(), values, values.length));
+    }
+
+    /**
+     * 다른 서버가 보낸 프레임의 행 반영 (클라이언트와 같은 규칙: 전체 행은 교체, 차이 행은 더함)
+     *
+     * - 기준 값이 없는 종목의 차이 행은 무시 (그 종목의 다음 전체 행부터 반영)
+     */
+    public synchronized void apply(List<List<Object>> keyframes, List<List<Object>> deltas, long now) {
+        for (List<Object> row : keyframes) {
+            long[] values = new long[row.size() - 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ((Number) row.get(i + 1)).longValue();
+            }
+            String symbol = (String) row.get(0);
+            lastValues.put(symbol, values);
+            lastKeyframeAt.put(symbol, now);
+        }
+        for (List<Object> row : deltas) {
+            long[] values = lastValues.get((String) row.get(0));
+            if (values == null) {
+                continue;
+            }
+            for (int i = 1; i < row.size() && i <= values.length; i++) {
+                values[i - 1] += ((Number) row.get(i)).longValue();
+            }
+        }
+    }
+
+    /**
+     * 행 목록 → 프레임
+     */
+    public static Map<String, Object> frame(long sentAt, List<Row> rows) {
+        List<List<Object>> keyframes = new ArrayList<>();
+        List<List<Object>> deltas = new ArrayList<>();
+        for (Row row : rows) {
+            (row.keyframe ? keyframes : deltas).add(row.values);
+        }
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("v", VERSION);
+        frame.put("t", sentAt);
+        if (!keyframes.isEmpty()) {
+            frame.put("k", keyframes);
+        }
+        if (!deltas.isEmpty()) {
+            frame.put("d", deltas);
+        }
+        return frame;
+    }
+
+    private long[] toValues(StockCandle1m candle) {
+        long minute = candle.getTimestamp().atZone(zone).toEpochSecond() / 60;
+        return new long[] {
+                minute,
+                fixed(candle.getOpen()),
+                fixed(candle.getHigh()),
+                fixed(candle.getLow()),
+                fixed(candle.getClose()),
+                candle.getVolume()
+        };
+    }
+
+    static long fixed(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static List<Object> row(String symbol, long[] values, int length) {
+        List<Object> row = new ArrayList<>(length + 1);
+        row.add(symbol);
+        for (int i = 0; i < length; i++) {
+            row.add(values[i]);
+        }
+        return row;
+    }
+}
@@ -3,21 +3,22 @@ package com.weenie_hut_jr.the_salty_spitoon.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
-import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 파일 기반 실시간 데이터 수집 서비스
@@ -29,6 +30,54 @@ import java.util.Optional;
  * - Duplicate entry 에러 해결
  * - @Transactional 추가
  * - 60초마다 폴링
+ *
+ * ========================================
+ * 일괄 저장 (2026-01-10)
+ * ========================================
+ * - 종목별 SELECT + save() → CandleBatchWriter 일괄 UPSERT (트랜잭션 1개)
+ *   (private 메서드의 @Transactional은 프록시를 거치지 않아 적용되지 않았음)
+ *
+ * ========================================
+ * 이벤트 기반 수집 (2026-01-11)
+ * ========================================
+ * - IngestFileWatcher(WatchService)가 파일 교체 직후 checkForUpdates() 호출
+ * - 60초 폴링은 감시 실패 시를 위한 폴백으로 유지 (ingest.poll-interval-ms)
+ * - 파싱 실패(쓰는 중인 파일) 시 변경 시각을 되돌려 다음 이벤트 / 폴링에서 재시도
+ * - 지연 측정: 캔들 시각 → DB 커밋 / WebSocket 전송, 파일 수정 시각 → DB 커밋
+ *
+ * ========================================
+ * 스트림 수집 (2026-01-12)
+ * ========================================
+ * - StreamIngestServer가 Unix 도메인 소켓으로 받은 NDJSON 캔들도 ingest()로 같은 파이프라인 사용
+ * - 소켓 연결 실패 시 수집기는 기존처럼 파일 기록 (이 클래스가 폴백 처리)
+ *
+ * ========================================
+ * 수집 저널 (2026-01-14)
+ * ========================================
+ * - ingest()는 DB 쓰기 전에 IngestJournal에 기록하고 커밋 후 체크포인트
+ * - 저장 실패 / 앱 종료로 커밋되지 못한 묶음은 기동 직후와 매 폴링 때 다시 적재 (replayJournal)
+ *   (lastModified 때문에 같은 파일을 다시 읽지 않아도 유실되지 않음)
+ *
+ * ========================================
+ * 변경 감지 (2026-01-15)
+ * ========================================
+ * - 종목별 마지막 저장 캔들(timestamp + OHLCV)과 같으면 저장 / 반영 / WebSocket 전송 모두 생략
+ *   (수집 파일에 직전 분과 같은 마지막 캔들이 반복되는 장 마감 후 / 거래 없는 시간대)
+ * - 커밋된 캔들만 기억하므로 저장 실패한 캔들은 다음 수집 때 다시 시도됨
+ * - 생략 건수는 /admin/ingest-stats의 dedup 항목
+ *
+ * ========================================
+ * 단계별 파이프라인 (2026-01-16)
+ * ========================================
+ * - 저장 / 반영 / 변경 감지 / 지연 측정 / 저널 재적재는 IngestPipeline으로 이동
+ * - 이 클래스는 파일 감지 + 파싱만 담당 (파싱도 파이프라인 parse 단계에서 실행)
+ * - 파싱 실패 시 변경 시각 되돌리기는 파이프라인 결과(future)로 처리
+ *
+ * ========================================
+ * 샤드 파일 (2026-01-18)
+ * ========================================
+ * - 수집기 샤드가 여러 개면 폴백 파일도 샤드별(latest_data-<id>.json) → 파일마다 변경 시각 따로 관리
+ * - 종목이 샤드끼리 겹치지 않으므로 같은 파이프라인에 그대로 합쳐짐
  * 
  * @author The Salty Spitoon Team
  * @since 2025-12-25
@@ -38,41 +87,58 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class FileDataCollector {
 
-    private final StockCandle1mRepository candleRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final IngestPipeline pipeline;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    private static final String DATA_FILE = "python/output/latest_data.json";
+    static final String DATA_DIR = "python/output";
+    static final String DATA_FILE = DATA_DIR + "/latest_data.json";
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    private long lastModified = 0;
+    // 파일별 처리 요청한 마지막 수정 시각 (파싱 실패 시 파이프라인 스레드에서 되돌림)
+    private final Map<String, AtomicLong> lastModified = new ConcurrentHashMap<>();
+
+    /**
+     * 수집 결과 파일 여부 (latest_data.json / 샤드별 latest_data-<id>.json)
+     */
+    static boolean isDataFile(String name) {
+        return name.equals("latest_data.json")
+                || (name.startsWith("latest_data-") && name.endsWith(".json"));
+    }
 
     /**
-     * 주기적 파일 변경 확인 (60초)
+     * 파일 변경 확인
+     * 
+     * 호출 경로:
+     * - IngestFileWatcher: 파일 교체 이벤트 직후 (주 경로)
+     * - 스케줄러: ingest.poll-interval-ms 주기 폴백 (기본 60초, 시작 후 10초 대기)
      * 
-     * initialDelay: 10초 (Spring Boot 시작 후 대기)
-     * fixedDelay: 60초 (작업 완료 후 대기)
+     * 두 스레드에서 호출되므로 synchronized
      */
-    @Scheduled(fixedDelay = 60000, initialDelay = 10000)
-    public void checkForUpdates() {
+    @Scheduled(fixedDelayString = "${ingest.poll-interval-ms:60000}", initialDelay = 10000)
+    public synchronized void checkForUpdates() {
+        // 이전에 저장 실패한 묶음 먼저 재시도
+        pipeline.replayJournal();
+
         try {
-            File file = new File(DATA_FILE);
+            File[] files = new File(DATA_DIR).listFiles((dir, name) -> isDataFile(name));
 
-            if (!file.exists()) {
-                if (lastModified == 0) {
-                    log.debug("[FileCollector] Data file not found yet: {}", DATA_FILE);
-                }
+            if (files == null || files.length == 0) {
+                log.debug("[FileCollector] Data file not found yet: {}", DATA_FILE);
                 return;
             }
 
-            long currentModified = file.lastModified();
-
-            if (currentModified > lastModified) {
-                log.info("[FileCollector] File changed detected: {}", DATA_FILE);
-                lastModified = currentModified;
-                processDataFile(file);
-            } else {
-                log.debug("[FileCollector] No change detected");
+            for (File file : files) {
+                AtomicLong fileModified = lastModified.computeIfAbsent(file.getName(), name -> new AtomicLong());
+                long currentModified = file.lastModified();
+                long previousModified = fileModified.get();
+
+                if (currentModified > previousModified) {
+                    log.info("[FileCollector] File changed detected: {}", file.getName());
+                    fileModified.set(currentModified);
+                    processDataFile(file, fileModified, currentModified, previousModified);
+                } else {
+                    log.debug("[FileCollector] No change detected: {}", file.getName());
+                }
             }
 
         } catch (Exception e) {
@@ -81,12 +147,57 @@ public class FileDataCollector {
     }
 
     /**
-     * JSON 파일 읽기 및 데이터 처리
-     * 
-     * @Transactional: 모든 데이터를 한 트랜잭션으로 처리
+     * JSON 파일 처리 요청
+     *
+     * 1. 파이프라인 parse 단계에서 전 종목 파싱 (잘못된 종목은 ERROR로 집계)
+     * 2. validate → persist(일괄 UPSERT) → publish 단계는 IngestPipeline이 처리
+     * 3. persist 완료 후 결과 로깅 / 파싱 실패 시 변경 시각 되돌림
      */
-    @Transactional
-    private void processDataFile(File file) {
+    private void processDataFile(File file, AtomicLong lastModified, long fileModified, long previousModified) {
+        int[] errorCount = { 0 };
+        int[] parsedCount = { -1 };
+
+        pipeline.submitRaw("file", fileModified, () -> {
+            List<StockCandle1m> candles = readDataFile(file, errorCount);
+            parsedCount[0] = candles.size();
+            return candles;
+        }).whenComplete((result, error) -> {
+            if (error != null && parsedCount[0] < 0) {
+                // 쓰는 중인 파일을 읽은 경우 → 다음 이벤트 / 폴링에서 재시도 (그 사이 새 파일이 왔으면 유지)
+                if (lastModified.compareAndSet(fileModified, previousModified)) {
+                    log.warn("[FileCollector] Will retry {} on next change / poll", file.getName());
+                }
+                return;
+            }
+            if (error != null) {
+                // 저장 실패 → 저널에 남아 다음 replayJournal()에서 재시도
+                errorCount[0] += parsedCount[0];
+            }
+
+            // 처리 결과 로깅
+            log.info("[FileCollector] ========================================");
+            log.info("[FileCollector] Processing completed");
+            log.info("[FileCollector]   Inserted: {} (new records)", result != null ? result.getInserted() : 0);
+            log.info("[FileCollector]   Updated:  {} (existing records)", result != null ? result.getUpdated() : 0);
+            if (result != null) {
+                log.info("[FileCollector]   Skipped:  {} (unchanged / invalid)",
+                        parsedCount[0] - result.getCandles().size());
+            }
+            log.info("[FileCollector]   Errors:   {} (failed)", errorCount[0]);
+            if (result != null) {
+                log.info("[FileCollector]   Batch:    {}ms", result.getElapsedMillis());
+            }
+            log.info("[FileCollector] ========================================");
+        });
+    }
+
+    /**
+     * JSON 파일 읽기 및 파싱 (파이프라인 parse 단계)
+     *
+     * @param errorCount 파싱 실패 종목 수 누적
+     * @throws RuntimeException 파일을 읽을 수 없음 (쓰는 중인 파일 등)
+     */
+    private List<StockCandle1m> readDataFile(File file, int[] errorCount) {
         log.info("[FileCollector] ========================================");
         log.info("[FileCollector] Processing data file: {}", file.getName());
 
@@ -97,53 +208,29 @@ public class FileDataCollector {
 
             if (dataNode == null || !dataNode.isObject()) {
                 log.error("[FileCollector] Invalid JSON structure - missing 'data' field");
-                return;
+                return Collections.emptyList();
             }
 
             String timestamp = root.has("timestamp") ? root.get("timestamp").asText() : "Unknown";
             log.info("[FileCollector] File timestamp: {}", timestamp);
 
-            // 통계 변수
-            int insertedCount = 0;
-            int updatedCount = 0;
-            int errorCount = 0;
-
-            // 각 종목 데이터 처리
+            // ========================================
+            // 각 종목 데이터 파싱
+            // ========================================
+            List<StockCandle1m> candles = new ArrayList<>();
             Iterator<Map.Entry<String, JsonNode>> fields = dataNode.fields();
 
             while (fields.hasNext()) {
                 Map.Entry<String, JsonNode> entry = fields.next();
-                String symbol = entry.getKey();
-                JsonNode candleData = entry.getValue();
-
-                try {
-                    SaveResult result = upsertCandle(symbol, candleData);
-
-                    switch (result) {
-                        case INSERTED:
-                            insertedCount++;
-                            break;
-                        case UPDATED:
-                            updatedCount++;
-                            break;
-                        case ERROR:
-                            errorCount++;
-                            break;
-                    }
+                StockCandle1m candle = parseCandle(entry.getKey(), entry.getValue());
 
-                } catch (Exception e) {
-                    log.error("[FileCollector] Failed to process {}: {}", symbol, e.getMessage());
-                    errorCount++;
+                if (candle != null) {
+                    candles.add(candle);
+                } else {
+                    errorCount[0]++;
                 }
             }
-
-            // 처리 결과 로깅
-            log.info("[FileCollector] ========================================");
-            log.info("[FileCollector] Processing completed");
-            log.info("[FileCollector]   Inserted: {} (new records)", insertedCount);
-            log.info("[FileCollector]   Updated:  {} (existing records)", updatedCount);
-            log.info("[FileCollector]   Errors:   {} (failed)", errorCount);
-            log.info("[FileCollector] ========================================");
+            return candles;
 
         } catch (Exception e) {
             log.error("[FileCollector] Error processing data file", e);
@@ -152,32 +239,11 @@ public class FileDataCollector {
     }
 
     /**
-     * 저장 결과 열거형
+     * 종목 JSON → 캔들 파싱 (StreamIngestServer 공용)
+     *
+     * @return 파싱된 캔들 (필드 누락 / 형식 오류 시 null)
      */
-    private enum SaveResult {
-        INSERTED, // 새로 삽입
-        UPDATED, // 기존 데이터 업데이트
-        ERROR // 에러
-    }
-
-    /**
-     * UPSERT: UPDATE if exists, INSERT if not
-     * 
-     * ========================================
-     * 로직:
-     * ========================================
-     * 1. findBySymbolAndTimestamp() 조회
-     * 2. 존재하면: 기존 엔티티 업데이트 (UPDATE)
-     * 3. 없으면: 새 엔티티 생성 (INSERT)
-     * 4. save() 호출
-     * 5. WebSocket 전송
-     * 
-     * 장점:
-     * - Duplicate entry 에러 없음
-     * - ID 낭비 없음
-     * - 트랜잭션 안전
-     */
-    private SaveResult upsertCandle(String symbol, JsonNode candleData) {
+    StockCandle1m parseCandle(String symbol, JsonNode candleData) {
         try {
             // ========================================
             // 1. 필수 필드 체크
@@ -187,7 +253,7 @@ public class FileDataCollector {
             for (String field : requiredFields) {
                 if (!candleData.has(field)) {
                     log.error("[{}] Missing required field: {}", symbol, field);
-                    return SaveResult.ERROR;
+                    return null;
                 }
             }
 
@@ -201,101 +267,30 @@ public class FileDataCollector {
                 timestamp = LocalDateTime.parse(timestampStr, FORMATTER);
             } catch (Exception e) {
                 log.error("[{}] Invalid timestamp format: {} - {}", symbol, timestampStr, e.getMessage());
-                return SaveResult.ERROR;
+                return null;
             }
 
             // ========================================
             // 3. OHLCV 파싱
             // ========================================
-            BigDecimal open, high, low, close;
-            Long volume;
-
             try {
-                open = new BigDecimal(candleData.get("open").asText());
-                high = new BigDecimal(candleData.get("high").asText());
-                low = new BigDecimal(candleData.get("low").asText());
-                close = new BigDecimal(candleData.get("close").asText());
-                volume = candleData.get("volume").asLong();
-            } catch (Exception e) {
-                log.error("[{}] Failed to parse OHLCV data: {}", symbol, e.getMessage());
-                return SaveResult.ERROR;
-            }
-
-            // ========================================
-            // 4. UPSERT 로직
-            // ========================================
-            Optional<StockCandle1m> existing = candleRepository.findBySymbolAndTimestamp(symbol, timestamp);
-
-            StockCandle1m candle;
-            SaveResult result;
-
-            if (existing.isPresent()) {
-                // ========================================
-                // UPDATE: 기존 데이터 업데이트
-                // ========================================
-                candle = existing.get();
-                candle.setOpen(open);
-                candle.setHigh(high);
-                candle.setLow(low);
-                candle.setClose(close);
-                candle.setVolume(volume);
-
-                result = SaveResult.UPDATED;
-
-                log.debug("[{}] UPDATE existing record: {} @ {}",
-                        symbol, close, timestamp.format(DateTimeFormatter.ofPattern("HH:mm")));
-
-            } else {
-                // ========================================
-                // INSERT: 새 데이터 생성
-                // ========================================
-                candle = StockCandle1m.builder()
+                return StockCandle1m.builder()
                         .symbol(symbol)
                         .timestamp(timestamp)
-                        .open(open)
-                        .high(high)
-                        .low(low)
-                        .close(close)
-                        .volume(volume)
+                        .open(new BigDecimal(candleData.get("open").asText()))
+                        .high(new BigDecimal(candleData.get("high").asText()))
+                        .low(new BigDecimal(candleData.get("low").asText()))
+                        .close(new BigDecimal(candleData.get("close").asText()))
+                        .volume(candleData.get("volume").asLong())
                         .build();
-
-                result = SaveResult.INSERTED;
-
-                log.debug("[{}] INSERT new record: {} @ {}",
-                        symbol, close, timestamp.format(DateTimeFormatter.ofPattern("HH:mm")));
-            }
-
-            // ========================================
-            // 5. 저장 (INSERT 또는 UPDATE)
-            // ========================================
-            StockCandle1m saved = candleRepository.save(candle);
-
-            // ========================================
-            // 6. WebSocket 전송
-            // ========================================
-            try {
-                messagingTemplate.convertAndSend(
-                        "/topic/stock/" + symbol,
-                        saved);
             } catch (Exception e) {
-                log.warn("[{}] WebSocket send failed: {}", symbol, e.getMessage());
+                log.error("[{}] Failed to parse OHLCV data: {}", symbol, e.getMessage());
+                return null;
             }
 
-            // ========================================
-            // 7. 성공 로그
-            // ========================================
-            log.info("[{}] ✅ {}: ${} @ {} (vol={})",
-                    symbol,
-                    result == SaveResult.INSERTED ? "INSERTED" : "UPDATED",
-                    close,
-                    timestamp.format(DateTimeFormatter.ofPattern("HH:mm")),
-                    volume);
-
-            return result;
-
         } catch (Exception e) {
             log.error("[{}] Unexpected error: {}", symbol, e.getMessage());
-            return SaveResult.ERROR;
+            return null;
         }
     }
-}
\ No newline at end of file
+}
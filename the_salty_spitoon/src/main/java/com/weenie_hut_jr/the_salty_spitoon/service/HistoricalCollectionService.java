@@ -1,12 +1,15 @@
 package com.weenie_hut_jr.the_salty_spitoon.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weenie_hut_jr.the_salty_spitoon.config.AsyncConfig;
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
 import com.weenie_hut_jr.the_salty_spitoon.dto.CollectionProgress;
 import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
-import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -18,8 +21,15 @@ import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 과거 데이터 수집 서비스
@@ -27,6 +37,34 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * - Python historical_loader.py 호출하여 데이터 수집
  * - MySQL에 UPSERT
  * - WebSocket으로 진행률 전송
+ *
+ * 대량 적재 (2026-01-10):
+ * - 결과 파일을 트리로 읽지 않고 JsonParser로 candles 배열을 스트리밍
+ * - historical.batch-size 행씩 모아 CandleBatchWriter로 일괄 UPSERT (캔들당 SELECT + save 제거)
+ * - 종목별 / 전체 저장 처리량(rows/sec)을 진행률 메시지에 포함
+ *
+ * 병렬 수집 (2026-01-13):
+ * - 종목 간 고정 2초 대기 대신 작업 스레드 풀(historical.concurrency) + 토큰 버킷(historical.requests-per-second)
+ * - 종목별 실패 시 지수 백오프로 재시도 (historical.max-retries, historical.retry-backoff-ms)
+ * - 진행률은 작업 스레드들이 공유 카운터로 집계해 기존 /topic/admin/progress 형식 그대로 전송
+ * 
+ * 상주 워커 (2026-01-13):
+ * - 종목마다 Python 프로세스를 띄우지 않고 PythonWorkerPool의 historical_worker.py에 요청
+ * - historical.worker.enabled=false 면 기존 프로세스 실행 방식
+ * 
+ * 증분 백필 (2026-01-14):
+ * - BackfillPlanner가 DB에 없는 (종목, 구간)만 계산 → 구간 단위로 수집 (이미 있는 종목 / 분은 건너뜀)
+ * - 구간마다 backfill_range 체크포인트 기록, 중단 후 다시 실행하면 남은 구간만 수집
+ * - 완료 메시지에 수집 구간 수 / 건너뛴 종목 / 건너뛴 분 포함
+ * 
+ * 작업 실행기 (2026-01-18):
+ * - 수집 1회마다 만들던 전용 스레드 풀 대신 backfill 실행기에 보조 작업 제출
+ *   → 수집을 시작한 backfill 스레드도 구간을 직접 처리, 실행기가 가득 차면 가능한 만큼만 병렬
+ * 
+ * 단계별 파이프라인 (2026-01-16):
+ * - 스트리밍 파싱은 작업 스레드에서 그대로, 묶음 저장은 IngestPipeline(validate → persist)에 맡김
+ *   → 다음 묶음 파싱과 이전 묶음 UPSERT가 겹쳐 실행, 큐가 가득 차면 작업 스레드가 대기 (배압)
+ * - 종목 적재 끝에 모든 묶음 저장 완료를 기다린 뒤 롤업 / 메모리 재로드
  * 
  * @author The Salty Spitoon Team
  * @since 2025-12-26
@@ -37,9 +75,16 @@ public class HistoricalCollectionService {
     
     private static final DateTimeFormatter DT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
     
-    private final StockCandle1mRepository stockCandle1mRepository;
+    private final IngestPipeline pipeline;
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    private final CandleRollupService rollupService;
+    private final HotCandleStore hotCandleStore;
+    private final IndicatorCache indicatorCache;
+    private final QuoteRegistry quoteRegistry;
+    private final PythonWorkerPool workerPool;
+    private final BackfillPlanner backfillPlanner;
+    private final WorkloadExecutors workloadExecutors;
     
     @Value("${python.path:python}")
     private String pythonPath;
@@ -53,18 +98,48 @@ public class HistoricalCollectionService {
     @Value("${nasdaq.tickers.file:python/nasdaq100_tickers.csv}")
     private String tickersFilePath;
     
+    // 일괄 UPSERT 1회당 행 수
+    @Value("${historical.batch-size:5000}")
+    private int bulkBatchSize;
+    
     // 수집 중 여부 플래그
     private final AtomicBoolean isCollecting = new AtomicBoolean(false);
     
-    // API 보호를 위한 딜레이 (밀리초)
-    private static final long API_DELAY_MS = 2000;
+    // 동시에 실행할 Python 수집 프로세스 수
+    @Value("${historical.concurrency:4}")
+    private int concurrency;
+    
+    // Yahoo Finance 요청 속도 제한 (초당 요청 수, 재시도 포함)
+    @Value("${historical.requests-per-second:2.0}")
+    private double requestsPerSecond;
     
-    public HistoricalCollectionService(StockCandle1mRepository stockCandle1mRepository,
+    // 종목별 재시도 횟수 / 첫 재시도 대기 (이후 2배씩 증가)
+    @Value("${historical.max-retries:2}")
+    private int maxRetries;
+    
+    @Value("${historical.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+    
+    public HistoricalCollectionService(IngestPipeline pipeline,
                                         SimpMessagingTemplate messagingTemplate,
-                                        ObjectMapper objectMapper) {
-        this.stockCandle1mRepository = stockCandle1mRepository;
+                                        ObjectMapper objectMapper,
+                                        CandleRollupService rollupService,
+                                        HotCandleStore hotCandleStore,
+                                        IndicatorCache indicatorCache,
+                                        QuoteRegistry quoteRegistry,
+                                        PythonWorkerPool workerPool,
+                                        BackfillPlanner backfillPlanner,
+                                        WorkloadExecutors workloadExecutors) {
+        this.pipeline = pipeline;
         this.messagingTemplate = messagingTemplate;
         this.objectMapper = objectMapper;
+        this.rollupService = rollupService;
+        this.hotCandleStore = hotCandleStore;
+        this.indicatorCache = indicatorCache;
+        this.quoteRegistry = quoteRegistry;
+        this.workerPool = workerPool;
+        this.backfillPlanner = backfillPlanner;
+        this.workloadExecutors = workloadExecutors;
     }
     
     /**
@@ -74,10 +149,19 @@ public class HistoricalCollectionService {
         return isCollecting.get();
     }
     
+    /**
+     * 수집 계획 미리보기 (체크포인트 기록 없음)
+     * @param targetSymbols 특정 종목 리스트 (null이면 전체)
+     */
+    public Map<String, Object> previewPlan(int days, List<String> targetSymbols) {
+        List<String> symbols = targetSymbols != null && !targetSymbols.isEmpty() ? targetSymbols : loadTickers();
+        return backfillPlanner.plan(symbols, days, false).toMap();
+    }
+    
     /**
      * 비동기로 과거 데이터 수집 시작 (전체 종목)
      */
-    @Async
+    @Async(AsyncConfig.BACKFILL_EXECUTOR)
     public void startCollection(int days) {
         startCollection(days, null);
     }
@@ -87,7 +171,7 @@ public class HistoricalCollectionService {
      * @param days 수집할 일수
      * @param targetSymbols 특정 종목 리스트 (null이면 전체)
      */
-    @Async
+    @Async(AsyncConfig.BACKFILL_EXECUTOR)
     public void startCollection(int days, List<String> targetSymbols) {
         if (!isCollecting.compareAndSet(false, true)) {
             sendProgress(CollectionProgress.error("이미 수집이 진행 중입니다."));
@@ -111,72 +195,69 @@ public class HistoricalCollectionService {
             return;
         }
         
+        // 수집 구간 계획 (DB에 없는 구간만)
+        BackfillPlanner.BackfillPlan plan;
+        try {
+            plan = backfillPlanner.isEnabled()
+                ? backfillPlanner.plan(symbols, days, true)
+                : backfillPlanner.fullPlan(symbols, days);
+        } catch (Exception e) {
+            log.warn("수집 계획 실패 - 종목별 전체 수집으로 진행: {}", e.getMessage());
+            plan = backfillPlanner.fullPlan(symbols, days);
+        }
+        List<BackfillPlanner.Fetch> fetches = plan.getFetches();
+        
         log.info("========================================");
-        log.info("과거 데이터 수집 시작: {} 종목, {}일", symbols.size(), days);
+        log.info("과거 데이터 수집 시작: {} 종목, {}일 → {} 구간 (건너뜀: {} 종목)",
+            symbols.size(), days, fetches.size(), plan.getSkippedSymbols());
         log.info("========================================");
         
-        int total = symbols.size();
-        int successCount = 0;
-        int failedCount = 0;
-        int totalCandles = 0;
-        List<String> failedSymbols = new ArrayList<>();
+        int total = fetches.size();
+        CollectionStats stats = new CollectionStats();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(requestsPerSecond, 1);
         
-        try {
-            for (int i = 0; i < symbols.size(); i++) {
-                String symbol = symbols.get(i);
-                int current = i + 1;
-                
-                // 진행 중 상태 전송
-                sendProgress(CollectionProgress.progress(
-                    current, total, symbol, "processing", 
-                    "데이터 수집 중...", 0
-                ));
-                
+        // 구간 대기열을 이 스레드(backfill) + backfill 실행기 보조 작업이 나눠 처리 (최대 historical.concurrency개 동시)
+        Queue<BackfillPlanner.Fetch> pending = new ConcurrentLinkedQueue<>(fetches);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        Runnable drain = () -> {
+            BackfillPlanner.Fetch fetch;
+            while (!cancelled.get() && !Thread.currentThread().isInterrupted()
+                    && (fetch = pending.poll()) != null) {
                 try {
-                    // Python 스크립트 실행 및 데이터 저장
-                    int candleCount = collectAndSave(symbol, days);
-                    
-                    if (candleCount > 0) {
-                        successCount++;
-                        totalCandles += candleCount;
-                        log.info("[{}/{}] {} ✅ {} candles", current, total, symbol, candleCount);
-                        sendProgress(CollectionProgress.progress(
-                            current, total, symbol, "success",
-                            candleCount + " candles 수집 완료", candleCount
-                        ));
-                    } else {
-                        failedCount++;
-                        failedSymbols.add(symbol);
-                        log.warn("[{}/{}] {} ⚠️ 데이터 없음", current, total, symbol);
-                        sendProgress(CollectionProgress.progress(
-                            current, total, symbol, "failed",
-                            "데이터 없음", 0
-                        ));
-                    }
-                    
-                } catch (Exception e) {
-                    failedCount++;
-                    failedSymbols.add(symbol);
-                    log.error("[{}/{}] {} ❌ {}", current, total, symbol, e.getMessage());
-                    sendProgress(CollectionProgress.progress(
-                        current, total, symbol, "failed",
-                        e.getMessage(), 0
-                    ));
+                    collectRange(fetch, days, total, stats, rateLimiter);
+                } catch (RuntimeException e) {
+                    log.error("{} 수집 중 오류: {}", fetch.getSymbol(), e.getMessage(), e);
                 }
-                
-                // API 보호를 위한 딜레이 (마지막 종목 제외)
-                if (i < symbols.size() - 1) {
-                    Thread.sleep(API_DELAY_MS);
+            }
+        };
+        
+        List<DrainTask> helpers = startHelpers(Math.min(concurrency, total) - 1, drain);
+        
+        try {
+            drain.run();
+            
+            // 아직 시작하지 못한 보조 작업은 취소 (남은 구간 없음), 실행 중인 작업만 대기
+            helpers.forEach(DrainTask::cancelIfNotStarted);
+            for (DrainTask helper : helpers) {
+                while (!helper.await(1, TimeUnit.MINUTES)) {
+                    log.info("과거 데이터 수집 진행 중: {}/{}", stats.completed.get(), total);
                 }
             }
             
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            cancelled.set(true);
             log.warn("수집이 중단되었습니다.");
         } finally {
             isCollecting.set(false);
         }
         
+        int successCount = stats.success.get();
+        int failedCount = stats.failed.get();
+        int totalCandles = stats.candles.get();
+        long totalWriteMillis = stats.writeMillis.get();
+        List<String> failedSymbols = new ArrayList<>(stats.failedSymbols);
+        
         // 완료 통계 계산
         long duration = System.currentTimeMillis() - startTime;
         String durationStr = formatDuration(duration);
@@ -186,19 +267,239 @@ public class HistoricalCollectionService {
         log.info("  성공: {}", successCount);
         log.info("  실패: {}", failedCount);
         log.info("  총 캔들: {}", totalCandles);
+        log.info("  수집 구간: {} / 건너뛴 종목: {} / 건너뛴 분: {}",
+            total, plan.getSkippedSymbols(), plan.getPresentMinutes() + plan.getCheckedMinutes());
+        log.info("  저장 처리량: {} rows/sec", Math.round(rowsPerSecond(totalCandles, totalWriteMillis)));
         log.info("  소요시간: {}", durationStr);
         log.info("========================================");
         
         // 완료 상태 전송
-        sendProgress(CollectionProgress.complete(
+        CollectionProgress complete = CollectionProgress.complete(
             successCount, failedCount, totalCandles, failedSymbols, durationStr
+        );
+        complete.setRowsPerSecond(rowsPerSecond(totalCandles, totalWriteMillis));
+        complete.setFetchedRanges(total);
+        complete.setSkippedSymbols(plan.getSkippedSymbols());
+        complete.setSkippedMinutes(plan.getPresentMinutes() + plan.getCheckedMinutes());
+        sendProgress(complete);
+    }
+    
+    /**
+     * backfill 실행기에 보조 작업 제출 (실행기가 가득 차면 제출한 만큼만, 나머지는 수집 스레드가 처리)
+     */
+    private List<DrainTask> startHelpers(int count, Runnable drain) {
+        List<DrainTask> helpers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            DrainTask helper = new DrainTask(drain);
+            try {
+                workloadExecutors.execute(WorkloadExecutors.BACKFILL, helper);
+            } catch (TaskRejectedException e) {
+                log.info("backfill 실행기 포화 - 보조 작업 {}개로 수집", helpers.size());
+                break;
+            }
+            helpers.add(helper);
+        }
+        return helpers;
+    }
+    
+    /**
+     * 구간 대기열을 비우는 보조 작업 (시작 전에 취소되면 아무것도 하지 않음)
+     */
+    private static final class DrainTask implements Runnable {
+        private final Runnable drain;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final CountDownLatch done = new CountDownLatch(1);
+        
+        DrainTask(Runnable drain) {
+            this.drain = drain;
+        }
+        
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                drain.run();
+            } finally {
+                done.countDown();
+            }
+        }
+        
+        void cancelIfNotStarted() {
+            if (claimed.compareAndSet(false, true)) {
+                done.countDown();
+            }
+        }
+        
+        boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            return done.await(timeout, unit);
+        }
+    }
+    
+    /**
+     * 작업 스레드: 구간 1개 수집 (속도 제한 + 재시도) 후 체크포인트 / 진행률 전송
+     */
+    private void collectRange(BackfillPlanner.Fetch fetch, int days, int total,
+                              CollectionStats stats, TokenBucketRateLimiter rateLimiter) {
+        String symbol = fetch.getSymbol();
+        
+        // 진행 중 상태 전송 (current = 완료된 구간 수)
+        sendProgress(CollectionProgress.progress(
+            stats.completed.get(), total, symbol, "processing",
+            "데이터 수집 중...", 0
         ));
+        
+        BulkLoadResult result = null;
+        Exception lastError = null;
+        
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            try {
+                if (attempt > 0) {
+                    // 지수 백오프 + 지터
+                    long backoff = retryBackoffMs * (1L << (attempt - 1));
+                    Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+                    sendProgress(CollectionProgress.progress(
+                        stats.completed.get(), total, symbol, "processing",
+                        "재시도 " + attempt + "/" + maxRetries + "...", 0
+                    ));
+                }
+                
+                rateLimiter.acquire();
+                result = collectAndSave(fetch, days);
+                lastError = null;
+                break;
+                
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lastError = e;
+                break;
+            } catch (Exception e) {
+                lastError = e;
+                log.warn("{} 수집 실패 (시도 {}/{}): {}", symbol, attempt + 1, maxRetries + 1, e.getMessage());
+            }
+        }
+        
+        int current = stats.completed.incrementAndGet();
+        
+        if (lastError != null) {
+            backfillPlanner.markFailed(fetch, lastError.getMessage());
+            stats.fail(symbol);
+            log.error("[{}/{}] {} ❌ {}", current, total, symbol, lastError.getMessage());
+            sendProgress(CollectionProgress.progress(
+                current, total, symbol, "failed",
+                lastError.getMessage(), 0
+            ));
+            return;
+        }
+        
+        int candleCount = result.savedCount;
+        backfillPlanner.markDone(fetch, candleCount);
+        
+        if (candleCount > 0) {
+            stats.success.incrementAndGet();
+            stats.candles.addAndGet(candleCount);
+            stats.writeMillis.addAndGet(result.writeMillis);
+            log.info("[{}/{}] {} ✅ {} candles ({} rows/sec)",
+                current, total, symbol, candleCount, Math.round(result.rowsPerSecond()));
+            CollectionProgress progress = CollectionProgress.progress(
+                current, total, symbol, "success",
+                candleCount + " candles 수집 완료", candleCount
+            );
+            progress.setRowsPerSecond(result.rowsPerSecond());
+            sendProgress(progress);
+        } else if (fetch.getStart() != null) {
+            // 구간 수집: 휴장 / 거래 없는 분 → 확인 구간으로 기록되어 다음 계획에서 제외
+            stats.success.incrementAndGet();
+            log.info("[{}/{}] {} ➖ 새 캔들 없음", current, total, fetch.label());
+            sendProgress(CollectionProgress.progress(
+                current, total, symbol, "success",
+                "새 캔들 없음 (휴장 / 거래 없음)", 0
+            ));
+        } else {
+            stats.fail(symbol);
+            log.warn("[{}/{}] {} ⚠️ 데이터 없음", current, total, symbol);
+            sendProgress(CollectionProgress.progress(
+                current, total, symbol, "failed",
+                "데이터 없음", 0
+            ));
+        }
+    }
+    
+    /**
+     * 수집 1회의 작업 스레드 간 공유 집계
+     */
+    private static class CollectionStats {
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger success = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger candles = new AtomicInteger();
+        private final AtomicLong writeMillis = new AtomicLong();
+        private final List<String> failedSymbols = Collections.synchronizedList(new ArrayList<>());
+        
+        private void fail(String symbol) {
+            failed.incrementAndGet();
+            failedSymbols.add(symbol);
+        }
     }
     
     /**
      * 단일 종목 데이터 수집 및 저장
+     * 
+     * - 워커 풀 사용 시: 상주 historical_worker.py에 요청 → 응답 JSON을 바로 스트리밍 적재
+     * - 미사용 / 풀 종료 시: 종목마다 historical_loader.py 실행 → 결과 파일 스트리밍 적재
      */
-    private int collectAndSave(String symbol, int days) throws Exception {
+    private BulkLoadResult collectAndSave(BackfillPlanner.Fetch fetch, int days) throws Exception {
+        String symbol = fetch.getSymbol();
+        
+        // 구간 → epoch 초 (end는 마지막 분 다음, 미포함)
+        Long startEpoch = null;
+        Long endEpoch = null;
+        if (fetch.getStart() != null) {
+            startEpoch = backfillPlanner.toEpochSecond(fetch.getStart());
+            endEpoch = backfillPlanner.toEpochSecond(fetch.getEnd().plusMinutes(1));
+        }
+        
+        BulkLoadResult result = workerPool.isEnabled()
+            ? collectWithWorker(symbol, days, startEpoch, endEpoch)
+            : collectWithProcess(symbol, days, startEpoch, endEpoch);
+        
+        // 저장 구간 롤업 (5m~1d) 재집계
+        if (result.minTimestamp != null) {
+            try {
+                rollupService.refreshRange(symbol, result.minTimestamp, result.maxTimestamp);
+            } catch (Exception e) {
+                log.warn("{} 롤업 갱신 실패: {}", symbol, e.getMessage());
+            }
+            
+            // 과거 구간이 바뀌었으므로 인메모리 저장소도 DB 기준으로 다시 로드
+            hotCandleStore.reload(symbol);
+            indicatorCache.invalidateSymbol(symbol);
+            quoteRegistry.refresh(symbol);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * 상주 워커 풀로 수집
+     */
+    private BulkLoadResult collectWithWorker(String symbol, int days, Long startEpoch, Long endEpoch) throws Exception {
+        PythonWorkerPool.Response response = workerPool.request(symbol, days, startEpoch, endEpoch);
+        
+        BulkLoadResult result;
+        try (JsonParser parser = objectMapper.getFactory().createParser(response.getJson())) {
+            result = bulkLoad(symbol, parser);
+        }
+        
+        workerPool.recordOverhead(true, response.getWallMillis(), result.pythonMillis);
+        return result;
+    }
+    
+    /**
+     * 종목마다 Python 프로세스 실행으로 수집 (워커 풀 미사용 시)
+     */
+    private BulkLoadResult collectWithProcess(String symbol, int days, Long startEpoch, Long endEpoch) throws Exception {
         // 출력 파일 경로
         String outputFileName = String.format("historical_%s_%d.json", symbol, System.currentTimeMillis());
         Path outputPath = Paths.get(pythonOutputDir, outputFileName);
@@ -208,15 +509,20 @@ public class HistoricalCollectionService {
         
         try {
             // Python 스크립트 실행
-            ProcessBuilder pb = new ProcessBuilder(
+            List<String> command = new ArrayList<>(Arrays.asList(
                 pythonPath,
                 Paths.get(pythonScriptDir, "historical_loader.py").toString(),
                 "--symbol", symbol,
                 "--days", String.valueOf(days),
                 "--output", outputPath.toString()
-            );
+            ));
+            if (startEpoch != null && endEpoch != null) {
+                command.addAll(Arrays.asList("--start", String.valueOf(startEpoch), "--end", String.valueOf(endEpoch)));
+            }
+            ProcessBuilder pb = new ProcessBuilder(command);
             
             pb.redirectErrorStream(true);
+            long startTime = System.currentTimeMillis();
             Process process = pb.start();
             
             // 로그 수집
@@ -236,66 +542,220 @@ public class HistoricalCollectionService {
                 process.destroyForcibly();
                 throw new Exception("Python 스크립트 타임아웃");
             }
+            long wallMillis = System.currentTimeMillis() - startTime;
             
             // 결과 파일 읽기
             if (!Files.exists(outputPath)) {
                 throw new Exception("결과 파일이 생성되지 않았습니다: " + output.toString().trim());
             }
             
-            JsonNode result = objectMapper.readTree(outputPath.toFile());
-            
-            if (!result.path("success").asBoolean(false)) {
-                throw new Exception(result.path("message").asText("Unknown error"));
+            // 캔들 스트리밍 적재
+            BulkLoadResult result;
+            try (JsonParser parser = objectMapper.getFactory().createParser(outputPath.toFile())) {
+                result = bulkLoad(symbol, parser);
             }
             
-            // 캔들 데이터 저장
-            JsonNode candles = result.path("candles");
-            int savedCount = 0;
+            workerPool.recordOverhead(false, wallMillis, result.pythonMillis);
+            return result;
             
-            for (JsonNode candle : candles) {
-                try {
-                    String sym = candle.path("symbol").asText();
-                    LocalDateTime timestamp = LocalDateTime.parse(
-                        candle.path("datetime").asText(), DT_FORMATTER
-                    );
-                    
-                    // 기존 데이터 확인 (UPSERT)
-                    Optional<StockCandle1m> existing = stockCandle1mRepository
-                        .findBySymbolAndTimestamp(sym, timestamp);
-                    
-                    StockCandle1m entity;
-                    if (existing.isPresent()) {
-                        entity = existing.get();
-                    } else {
-                        entity = new StockCandle1m();
-                        entity.setSymbol(sym);
-                        entity.setTimestamp(timestamp);
+        } finally {
+            // 임시 파일 삭제
+            try {
+                Files.deleteIfExists(outputPath);
+            } catch (IOException e) {
+                log.warn("임시 파일 삭제 실패: {}", outputPath);
+            }
+        }
+    }
+    
+    /**
+     * 수집 결과 JSON 스트리밍 적재
+     * 
+     * - 결과 전체를 트리로 올리지 않고 candles 배열을 한 개씩 읽음
+     * - bulkBatchSize 행이 모일 때마다 IngestPipeline에 넘기고 끝에서 저장 완료 대기
+     * - historical_loader.py는 success / message를 candles보다 먼저 기록함
+     * - elapsed_ms (Python 측 수집 시간)는 호출 오버헤드 측정에 사용
+     */
+    private BulkLoadResult bulkLoad(String symbol, JsonParser parser) throws Exception {
+        BulkLoadResult result = new BulkLoadResult();
+        List<StockCandle1m> buffer = new ArrayList<>(Math.min(bulkBatchSize, 10_000));
+        boolean success = false;
+        String message = "Unknown error";
+        int skipped = 0;
+        
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new Exception("결과 파일 형식 오류");
+        }
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            
+            if ("success".equals(field)) {
+                success = token == JsonToken.VALUE_TRUE;
+            } else if ("message".equals(field)) {
+                message = parser.getValueAsString(message);
+            } else if ("elapsed_ms".equals(field)) {
+                result.pythonMillis = parser.getValueAsLong(-1);
+            } else if ("candles".equals(field) && token == JsonToken.START_ARRAY && success) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    StockCandle1m candle = readCandle(parser, symbol);
+                    if (candle == null) {
+                        skipped++;
+                        continue;
                     }
                     
-                    entity.setOpen(BigDecimal.valueOf(candle.path("open").asDouble()));
-                    entity.setHigh(BigDecimal.valueOf(candle.path("high").asDouble()));
-                    entity.setLow(BigDecimal.valueOf(candle.path("low").asDouble()));
-                    entity.setClose(BigDecimal.valueOf(candle.path("close").asDouble()));
-                    entity.setVolume(candle.path("volume").asLong());
+                    buffer.add(candle);
+                    result.track(candle.getTimestamp());
                     
-                    stockCandle1mRepository.save(entity);
-                    savedCount++;
-                    
-                } catch (Exception e) {
-                    log.warn("캔들 저장 실패: {}", e.getMessage());
+                    if (buffer.size() >= bulkBatchSize) {
+                        flush(buffer, result);
+                    }
                 }
+            } else {
+                parser.skipChildren();
             }
+        }
+        
+        if (!success) {
+            throw new Exception(message);
+        }
+        
+        flush(buffer, result);
+        awaitWrites(result);
+        
+        if (skipped > 0) {
+            log.warn("{} 캔들 {}개 형식 오류로 제외", symbol, skipped);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * candles 배열의 캔들 객체 1개 읽기 (START_OBJECT 위치에서 호출)
+     * 
+     * @return 캔들 (datetime 누락 / 형식 오류 시 null)
+     */
+    private StockCandle1m readCandle(JsonParser parser, String defaultSymbol) throws IOException {
+        String sym = defaultSymbol;
+        String datetime = null;
+        double open = 0, high = 0, low = 0, close = 0;
+        long volume = 0;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
             
-            return savedCount;
-            
-        } finally {
-            // 임시 파일 삭제
+            switch (field) {
+                case "symbol":
+                    sym = parser.getValueAsString(defaultSymbol);
+                    break;
+                case "datetime":
+                    datetime = parser.getValueAsString();
+                    break;
+                case "open":
+                    open = parser.getValueAsDouble();
+                    break;
+                case "high":
+                    high = parser.getValueAsDouble();
+                    break;
+                case "low":
+                    low = parser.getValueAsDouble();
+                    break;
+                case "close":
+                    close = parser.getValueAsDouble();
+                    break;
+                case "volume":
+                    volume = parser.getValueAsLong();
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        
+        LocalDateTime timestamp;
+        try {
+            timestamp = LocalDateTime.parse(datetime, DT_FORMATTER);
+        } catch (Exception e) {
+            log.warn("캔들 저장 실패: {}", e.getMessage());
+            return null;
+        }
+        
+        return StockCandle1m.builder()
+            .symbol(sym)
+            .timestamp(timestamp)
+            .open(BigDecimal.valueOf(open))
+            .high(BigDecimal.valueOf(high))
+            .low(BigDecimal.valueOf(low))
+            .close(BigDecimal.valueOf(close))
+            .volume(volume)
+            .build();
+    }
+    
+    /**
+     * 버퍼의 캔들을 파이프라인에 넘긴 후 비우기 (큐가 가득 차면 대기)
+     */
+    private void flush(List<StockCandle1m> buffer, BulkLoadResult result) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        
+        result.writes.add(pipeline.submitBulk("historical", new ArrayList<>(buffer)));
+        buffer.clear();
+    }
+    
+    /**
+     * 넘긴 묶음의 저장 완료 대기 + 저장 건수 / 시간 집계
+     * 
+     * @throws Exception 묶음 저장 실패 (종목 재시도 대상)
+     */
+    private void awaitWrites(BulkLoadResult result) throws Exception {
+        Exception failure = null;
+        
+        for (CompletableFuture<CandleBatchWriter.BatchResult> write : result.writes) {
             try {
-                Files.deleteIfExists(outputPath);
-            } catch (IOException e) {
-                log.warn("임시 파일 삭제 실패: {}", outputPath);
+                CandleBatchWriter.BatchResult batch = write.get();
+                result.savedCount += batch.getCandles().size();
+                result.writeMillis += batch.getElapsedMillis();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new Exception("캔들 저장 실패: " + e.getCause().getMessage(), e.getCause());
+                }
             }
         }
+        
+        result.writes.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    /**
+     * 종목 1개 적재 결과
+     */
+    private static class BulkLoadResult {
+        private int savedCount;
+        private long writeMillis;
+        // 파이프라인에 넘긴 묶음 (awaitWrites에서 완료 대기)
+        private final List<CompletableFuture<CandleBatchWriter.BatchResult>> writes = new ArrayList<>();
+        private LocalDateTime minTimestamp;
+        private LocalDateTime maxTimestamp;
+        // Python 측 수집 시간 (elapsed_ms, 없으면 -1)
+        private long pythonMillis = -1;
+        
+        private void track(LocalDateTime timestamp) {
+            if (minTimestamp == null || timestamp.isBefore(minTimestamp)) minTimestamp = timestamp;
+            if (maxTimestamp == null || timestamp.isAfter(maxTimestamp)) maxTimestamp = timestamp;
+        }
+        
+        private double rowsPerSecond() {
+            return HistoricalCollectionService.rowsPerSecond(savedCount, writeMillis);
+        }
+    }
+    
+    private static double rowsPerSecond(long rows, long millis) {
+        return rows * 1000.0 / Math.max(1, millis);
     }
     
     /**
@@ -0,0 +1,449 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.config.AsyncConfig;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 1분봉 인메모리 컬럼형 저장소 (Hot Candle Store)
+ *
+ * 역할:
+ * - 종목별 최근 N개 1분봉을 원시 long 배열(링 버퍼)로 보관
+ * - StockService가 MySQL 조회 전에 먼저 확인
+ * - 대시보드/차트가 반복 조회하는 최근 며칠 구간의 DB 부하 제거
+ *
+ * 저장 형식 (종목당 컬럼 6개):
+ * - minutes: epoch 분 (LocalDateTime을 UTC 기준 epoch 초 / 60)
+ * - open/high/low/close: 고정소수점 long (× 10^PRICE_SCALE)
+ * - volume: long
+ * - PRICE_SCALE = 2 (stock_candle_1m 컬럼 DECIMAL(10,2)과 동일 → DB 조회 결과와 같은 값)
+ *
+ * 데이터 공급:
+ * - 시작 시: MySQL에서 종목별 최근 N개 로드 (워밍업, 비동기)
+ * - 실시간: FileDataCollector가 저장 직후 put()
+ * - 과거 수집: HistoricalCollectionService가 저장 후 reload()
+ *
+ * 동시성 (종목 단위 잠금):
+ * - reload()는 DB 조회 → 새 버퍼 교체까지, put()은 반영까지 같은 종목 잠금 안에서 실행
+ *   → 조회와 교체 사이에 들어온 put()이 새 버퍼에 덮여 사라지지 않음 (조회 후 커밋된 캔들은 교체 뒤 반영)
+ * - 버퍼가 없는 종목의 put()은 그 자리에서 DB 로드 후 반영 (워밍업 전 / 신규 종목도 버리지 않음)
+ *
+ * 조회 범위 판정:
+ * - 버퍼가 가득 찬 적이 없으면 → 그 종목의 전체 이력을 보유 (모든 범위 응답 가능)
+ * - 가득 찼으면 → 가장 오래된 캔들 이후 구간만 응답, 그 이전은 MISS (DB 폴백)
+ *
+ * 설정 (application.properties):
+ * - hotstore.enabled: 사용 여부 (기본 true)
+ * - hotstore.capacity: 종목당 보관 캔들 수 (기본 1950 = 390분 × 5거래일)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-06
+ */
+@Slf4j
+@Service
+public class HotCandleStore {
+
+    /** 가격 고정소수점 자릿수 (DB 컬럼 scale과 동일) */
+    static final int PRICE_SCALE = 2;
+
+    /** 종목당 long 컬럼 수 (minutes, open, high, low, close, volume) */
+    private static final int COLUMN_COUNT = 6;
+
+    private final StockCandle1mRepository candleRepository;
+
+    @Value("${hotstore.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hotstore.capacity:1950}")
+    private int capacity;
+
+    private final Map<String, SymbolBuffer> buffers = new ConcurrentHashMap<>();
+
+    /** 종목별 로드 / 반영 잠금 (reload와 put 직렬화) */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    // 통계
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean warmedUp = false;
+
+    public HotCandleStore(StockCandle1mRepository candleRepository) {
+        this.candleRepository = candleRepository;
+    }
+
+    // ========================================
+    // 워밍업 / 공급
+    // ========================================
+
+    /**
+     * 애플리케이션 기동 후 MySQL에서 종목별 최근 캔들 로드
+     * - 웹 서버 기동을 막지 않도록 비동기 실행
+     * - 워밍업 완료 전에는 모든 조회가 MISS (DB 폴백)
+     */
+    @Async(AsyncConfig.INGEST_EXECUTOR)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            log.info("[HotStore] Disabled (hotstore.enabled=false)");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<String> symbols = candleRepository.findDistinctSymbols();
+
+        log.info("[HotStore] Warm-up started: {} symbols, capacity {} candles/symbol", symbols.size(), capacity);
+
+        int totalCandles = 0;
+        for (String symbol : symbols) {
+            try {
+                // 워밍업 중 put()으로 이미 로드된 종목은 건너뜀
+                totalCandles += loadIfAbsent(symbol);
+            } catch (Exception e) {
+                log.warn("[HotStore] Warm-up failed for {}: {}", symbol, e.getMessage());
+            }
+        }
+
+        warmedUp = true;
+
+        log.info("[HotStore] Warm-up completed: {} candles in {}ms ({} KB)",
+                totalCandles, System.currentTimeMillis() - startTime, getMemoryFootprintBytes() / 1024);
+    }
+
+    /**
+     * 종목 버퍼를 MySQL 기준으로 다시 채움 (워밍업, 과거 데이터 수집 후)
+     *
+     * @return 로드된 캔들 수
+     */
+    public int reload(String symbol) {
+        if (!enabled) {
+            return 0;
+        }
+
+        synchronized (lockFor(symbol)) {
+            return load(symbol).size();
+        }
+    }
+
+    private int loadIfAbsent(String symbol) {
+        synchronized (lockFor(symbol)) {
+            return buffers.containsKey(symbol) ? 0 : load(symbol).size();
+        }
+    }
+
+    /**
+     * DB에서 최근 capacity개를 읽어 새 버퍼로 교체 (호출자가 종목 잠금 보유)
+     */
+    private SymbolBuffer load(String symbol) {
+        List<StockCandle1m> latest = new ArrayList<>(candleRepository
+                .findBySymbolOrderByTimestampDesc(symbol, PageRequest.of(0, capacity)));
+        Collections.reverse(latest);
+
+        SymbolBuffer buffer = new SymbolBuffer(capacity);
+        for (StockCandle1m candle : latest) {
+            buffer.put(candle);
+        }
+        // 용량보다 적게 로드되었다면 그 종목의 전체 이력을 보유한 것
+        buffer.complete = latest.size() < capacity;
+
+        buffers.put(symbol, buffer);
+        return buffer;
+    }
+
+    private Object lockFor(String symbol) {
+        return locks.computeIfAbsent(symbol, s -> new Object());
+    }
+
+    /**
+     * 1분봉 반영 (저장 커밋 직후)
+     * - 같은 분이면 덮어쓰기, 새 분이면 추가, 보유 범위 안의 빠진 과거 분이면 시간순 삽입
+     * - 버퍼가 없는 종목이면 DB에서 먼저 로드한 뒤 반영
+     */
+    public void put(StockCandle1m candle) {
+        if (!enabled) {
+            return;
+        }
+
+        String symbol = candle.getSymbol();
+        synchronized (lockFor(symbol)) {
+            SymbolBuffer buffer = buffers.get(symbol);
+            if (buffer == null) {
+                buffer = load(symbol);
+            }
+            buffer.put(candle);
+        }
+    }
+
+    // ========================================
+    // 조회
+    // ========================================
+
+    /**
+     * 기간 조회 [from, to]
+     *
+     * @return 응답 가능하면 시간순 캔들 목록, 범위 밖이면 Optional.empty() (DB 폴백)
+     */
+    public Optional<List<StockCandle1m>> findRange(String symbol, LocalDateTime from, LocalDateTime to) {
+        SymbolBuffer buffer = enabled && warmedUp ? buffers.get(symbol) : null;
+
+        if (buffer == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        List<StockCandle1m> result = buffer.range(symbol, toEpochMinute(from), toEpochMinute(to));
+
+        if (result == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        hits.incrementAndGet();
+        return Optional.of(result);
+    }
+
+    /**
+     * 전체 이력 조회 (버퍼가 전체 이력을 보유한 경우만)
+     */
+    public Optional<List<StockCandle1m>> findAll(String symbol) {
+        return findRange(symbol, LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.now().plusDays(1));
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    /**
+     * 메모리 사용량 (배열 본체 기준, 바이트)
+     */
+    public long getMemoryFootprintBytes() {
+        long bytes = 0;
+        for (SymbolBuffer buffer : buffers.values()) {
+            bytes += (long) buffer.capacity * COLUMN_COUNT * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * 관리자용 통계
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        int candleCount = 0;
+        for (SymbolBuffer buffer : buffers.values()) {
+            candleCount += buffer.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("warmedUp", warmedUp);
+        stats.put("symbols", buffers.size());
+        stats.put("capacityPerSymbol", capacity);
+        stats.put("candles", candleCount);
+        stats.put("memoryBytes", getMemoryFootprintBytes());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        return stats;
+    }
+
+    // ========================================
+    // 변환 유틸
+    // ========================================
+
+    static long toEpochMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static LocalDateTime fromEpochMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    static long toFixed(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromFixed(long value) {
+        return BigDecimal.valueOf(value, PRICE_SCALE);
+    }
+
+    /**
+     * 종목별 컬럼형 링 버퍼
+     *
+     * - head: 가장 오래된 캔들 위치, size: 보관 개수
+     * - 항상 시간순으로 유지 (append, 기존 분 덮어쓰기, 빠진 과거 분은 시간순 삽입)
+     * - 읽기/쓰기 모두 synchronized (종목 단위 잠금, 경합은 1분에 1회 쓰기 수준)
+     */
+    private static final class SymbolBuffer {
+
+        final int capacity;
+        final long[] minutes;
+        final long[] open;
+        final long[] high;
+        final long[] low;
+        final long[] close;
+        final long[] volume;
+
+        int head = 0;
+        int size = 0;
+
+        /** 버퍼가 종목의 전체 이력을 보유하는지 (한 번도 밀려난 캔들이 없음) */
+        volatile boolean complete = false;
+
+        SymbolBuffer(int capacity) {
+            this.capacity = capacity;
+            this.minutes = new long[capacity];
+            this.open = new long[capacity];
+            this.high = new long[capacity];
+            this.low = new long[capacity];
+            this.close = new long[capacity];
+            this.volume = new long[capacity];
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void put(StockCandle1m candle) {
+            long minute = toEpochMinute(candle.getTimestamp());
+            int slot;
+
+            if (size > 0) {
+                int last = index(size - 1);
+
+                if (minute == minutes[last]) {
+                    slot = last; // 같은 분: 덮어쓰기
+                } else if (minute > minutes[last]) {
+                    slot = append();
+                } else {
+                    // 과거 분: 있으면 덮어쓰기, 없으면 시간순 삽입 (저널 재처리로 복구된 분)
+                    int pos = lowerBound(minute);
+                    if (minutes[index(pos)] == minute) {
+                        slot = index(pos);
+                    } else {
+                        slot = insert(pos);
+                        if (slot < 0) {
+                            return;
+                        }
+                    }
+                }
+            } else {
+                slot = append();
+            }
+
+            minutes[slot] = minute;
+            open[slot] = toFixed(candle.getOpen());
+            high[slot] = toFixed(candle.getHigh());
+            low[slot] = toFixed(candle.getLow());
+            close[slot] = toFixed(candle.getClose());
+            volume[slot] = candle.getVolume() != null ? candle.getVolume() : 0L;
+        }
+
+        /**
+         * [fromMinute, toMinute] 구간 조회
+         *
+         * @return 응답 불가(보유 범위 이전 요청)면 null
+         */
+        synchronized List<StockCandle1m> range(String symbol, long fromMinute, long toMinute) {
+            if (!complete && (size == 0 || fromMinute < minutes[index(0)])) {
+                return null;
+            }
+
+            int start = lowerBound(fromMinute);
+            List<StockCandle1m> result = new ArrayList<>();
+
+            for (int i = start; i < size; i++) {
+                int slot = index(i);
+                if (minutes[slot] > toMinute) {
+                    break;
+                }
+                result.add(StockCandle1m.builder()
+                        .symbol(symbol)
+                        .timestamp(fromEpochMinute(minutes[slot]))
+                        .open(fromFixed(open[slot]))
+                        .high(fromFixed(high[slot]))
+                        .low(fromFixed(low[slot]))
+                        .close(fromFixed(close[slot]))
+                        .volume(volume[slot])
+                        .build());
+            }
+
+            return result;
+        }
+
+        private int append() {
+            if (size < capacity) {
+                return index(size++);
+            }
+            // 가득 참: 가장 오래된 캔들 제거
+            int slot = head;
+            head = (head + 1) % capacity;
+            complete = false;
+            return slot;
+        }
+
+        /**
+         * 논리 위치 pos에 빈 칸을 만들고 그 슬롯 반환
+         * - 가득 찼으면 가장 오래된 캔들을 밀어냄, 새 캔들이 가장 오래된 쪽이면 보관 불가 (-1)
+         */
+        private int insert(int pos) {
+            if (size == capacity) {
+                complete = false;
+                if (pos == 0) {
+                    return -1;
+                }
+                head = (head + 1) % capacity;
+                size--;
+                pos--;
+            }
+            for (int i = size; i > pos; i--) {
+                int to = index(i);
+                int from = index(i - 1);
+                minutes[to] = minutes[from];
+                open[to] = open[from];
+                high[to] = high[from];
+                low[to] = low[from];
+                close[to] = close[from];
+                volume[to] = volume[from];
+            }
+            size++;
+            return index(pos);
+        }
+
+        private int index(int logical) {
+            return (head + logical) % capacity;
+        }
+
+        /** minute 이상인 첫 논리 위치 */
+        private int lowerBound(long minute) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (minutes[index(mid)] < minute) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
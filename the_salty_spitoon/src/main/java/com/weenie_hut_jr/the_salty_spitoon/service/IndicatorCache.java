@@ -0,0 +1,444 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기술지표 결과 캐시 (증분 확장)
+ *
+ * 역할:
+ * - 차트 폴링마다 MA / RSI를 처음부터 다시 계산하지 않도록 계산 결과와 롤링 상태 보관
+ * - 다음 요청에서는 마지막 캔들(갱신 중인 캔들)부터 끝까지만 다시 계산
+ * - LRU + 메모리 예산 기반 제거
+ *
+ * 캐시 키:
+ * - 종목 | 타임프레임 | 조회 구간(days 또는 all) | 지표 (예: AAPL|1m|d1|MA20)
+ *
+ * 캐시 대상:
+ * - MA{n}, RSI{n} (기존 폴링 지표, 롤링 합계만으로 증분 계산 가능)
+ * - 나머지 지표(EMA, MACD 등)는 IndicatorEngine으로 매번 계산
+ *
+ * 재사용 판단 (요청 데이터 기준):
+ * - 첫 캔들 시각이 캐시 구간 안에 있음 (days 구간이 밀려난 만큼 앞부분 잘라냄)
+ * - 직전 캔들(마지막에서 두 번째)의 시각 / 종가가 캐시와 동일
+ * - 조건을 만족하지 않으면 전체 재계산 (miss)
+ *
+ * 무효화:
+ * - FileDataCollector: 마지막 캔들보다 과거 시각의 1분봉이 들어오면 해당 종목 항목 제거
+ * - HistoricalCollectionService: 과거 데이터 저장 후 종목 전체 제거
+ *
+ * 결과는 IndicatorEngine / 기존 BigDecimal 구현과 값·scale 모두 동일
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-08
+ */
+@Slf4j
+@Service
+public class IndicatorCache {
+
+    @Value("${indicator.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${indicator.cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    // 접근 순서 LinkedHashMap (LRU)
+    private final LinkedHashMap<String, Series> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    // 통계
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong extensions = new AtomicLong();
+    private final AtomicLong extendedPoints = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시 대상 지표 여부 (MA{n}, RSI, RSI{n})
+     */
+    public static boolean isCacheable(String name) {
+        return name.matches("MA[1-9]\\d*") || name.matches("RSI([1-9]\\d*)?");
+    }
+
+    // ========================================
+    // 조회
+    // ========================================
+
+    /**
+     * 지표 계산 (캐시 경유)
+     *
+     * @param symbol    종목 심볼
+     * @param timeframe 타임프레임 (1m, 5m, ...)
+     * @param window    조회 구간 구분 (예: "d1", "all") - 같은 구간끼리만 결과 재사용
+     * @param name      지표 이름 (대문자, isCacheable 통과)
+     * @param data      시간순 캔들
+     * @return 기존 calculateMA / calculateRSI와 동일한 형식의 결과
+     */
+    public List<BigDecimal> get(String symbol, String timeframe, String window, String name, List<StockData> data) {
+        String key = symbol + "|" + timeframe + "|" + window + "|" + name;
+
+        Series series;
+        synchronized (entries) {
+            series = entries.get(key);
+            if (series == null) {
+                boolean rsi = name.startsWith("RSI");
+                int period = rsi
+                        ? (name.length() == 3 ? 14 : Integer.parseInt(name.substring(3)))
+                        : Integer.parseInt(name.substring(2));
+                series = new Series(symbol, timeframe, rsi, period);
+                entries.put(key, series);
+            }
+        }
+
+        List<BigDecimal> result;
+        synchronized (series) {
+            Outcome outcome = series.update(data);
+
+            if (outcome == Outcome.HIT) {
+                hits.incrementAndGet();
+            } else if (outcome == Outcome.MISS) {
+                misses.incrementAndGet();
+            } else {
+                extensions.incrementAndGet();
+                extendedPoints.addAndGet(series.lastComputed);
+            }
+
+            result = series.toList();
+
+            if (!series.retired) {
+                long bytes = series.bytes();
+                totalBytes.addAndGet(bytes - series.accountedBytes);
+                series.accountedBytes = bytes;
+            }
+        }
+
+        evictIfNeeded(key);
+        return result;
+    }
+
+    // ========================================
+    // 무효화
+    // ========================================
+
+    /**
+     * 1분봉 수집 후 호출 - 캐시된 마지막 캔들보다 과거 구간이 바뀌면 제거
+     *
+     * 마지막 캔들(또는 그 이후) 갱신은 다음 요청에서 증분 계산으로 반영되므로 유지
+     */
+    public void onCandle(String symbol, LocalDateTime timestamp) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (entries) {
+            Iterator<Series> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Series series = it.next();
+                if (!series.symbol.equals(symbol)) {
+                    continue;
+                }
+
+                Integer minutes = CandleRollupService.RESOLUTIONS.get(series.timeframe);
+                LocalDateTime bucket = minutes != null
+                        ? CandleRollupService.bucketStart(timestamp, minutes)
+                        : timestamp;
+                long bucketTime = bucket.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+                if (bucketTime < series.lastTime) {
+                    it.remove();
+                    retire(series);
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * 종목 전체 제거 (과거 데이터 백필 후)
+     */
+    public void invalidateSymbol(String symbol) {
+        synchronized (entries) {
+            Iterator<Series> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Series series = it.next();
+                if (series.symbol.equals(symbol)) {
+                    it.remove();
+                    retire(series);
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void evictIfNeeded(String currentKey) {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+
+        synchronized (entries) {
+            Iterator<Map.Entry<String, Series>> it = entries.entrySet().iterator();
+            while (totalBytes.get() > maxBytes && it.hasNext()) {
+                Map.Entry<String, Series> entry = it.next();
+                if (entry.getKey().equals(currentKey)) {
+                    continue; // 방금 사용한 항목은 유지
+                }
+                it.remove();
+                retire(entry.getValue());
+                evictions.incrementAndGet();
+                log.debug("[IndicatorCache] 제거 (LRU): {}", entry.getKey());
+            }
+        }
+    }
+
+    private void retire(Series series) {
+        synchronized (series) {
+            series.retired = true;
+            totalBytes.addAndGet(-series.accountedBytes);
+            series.accountedBytes = 0;
+        }
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long extensionCount = extensions.get();
+        long total = hitCount + missCount + extensionCount;
+
+        int entryCount;
+        synchronized (entries) {
+            entryCount = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", entryCount);
+        stats.put("memoryBytes", totalBytes.get());
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("extensions", extensionCount);
+        stats.put("extendedPoints", extendedPoints.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("reuseRatio", total == 0 ? 0.0 : (double) (hitCount + extensionCount) / total);
+        return stats;
+    }
+
+    // ========================================
+    // 캐시 항목
+    // ========================================
+
+    private enum Outcome {
+        HIT, EXTENDED, MISS
+    }
+
+    /**
+     * 지표 시계열 + 롤링 상태
+     *
+     * - values[i]: 캔들 i 기준 지표 값 (소수점 2자리 고정소수점, IndicatorEngine.MISSING = null)
+     *   RSI는 values[i] = 변동(캔들 i-1 → i) 기준 값, values[0]은 항상 MISSING
+     * - settledSumA/B: 마지막에서 두 번째 캔들까지 반영한 롤링 합계
+     *   (SMA: 종가 합계, RSI: 상승분 / 하락분 합계, 소수점 4자리 고정소수점)
+     * - 마지막 캔들은 수집기가 계속 갱신하므로 항상 다시 계산
+     */
+    private static final class Series {
+        final String symbol;
+        final String timeframe;
+        final boolean rsi;
+        final int period;
+
+        long[] times = new long[0];
+        long[] values = new long[0];
+        int size;
+
+        long settledSumA;
+        long settledSumB;
+        long settledClose;
+        long lastClose;
+        volatile long lastTime = Long.MIN_VALUE;
+
+        int lastComputed;
+        long accountedBytes;
+        boolean retired;
+
+        Series(String symbol, String timeframe, boolean rsi, int period) {
+            this.symbol = symbol;
+            this.timeframe = timeframe;
+            this.rsi = rsi;
+            this.period = period;
+        }
+
+        long bytes() {
+            return (long) (times.length + values.length) * Long.BYTES + 96;
+        }
+
+        Outcome update(List<StockData> data) {
+            int n = data.size();
+            int from = reusableFrom(data);
+            Outcome outcome = Outcome.EXTENDED;
+
+            if (from < 0) {
+                size = 0;
+                settledSumA = 0;
+                settledSumB = 0;
+                from = 0;
+                outcome = Outcome.MISS;
+            } else if (from == n - 1
+                    && times[from] == data.get(from).getDate().getTime()
+                    && lastClose == IndicatorEngine.toFixed(data.get(from).getClose())) {
+                lastComputed = 0;
+                return Outcome.HIT;
+            }
+
+            extend(data, from);
+            lastComputed = n - from;
+            return outcome;
+        }
+
+        /**
+         * 재사용 가능한 경우 다시 계산할 첫 index (= 캐시의 마지막 캔들), 불가능하면 -1
+         * 첫 캔들이 밀려났으면 그만큼 앞부분을 잘라낸다
+         */
+        private int reusableFrom(List<StockData> data) {
+            int n = data.size();
+            if (size < 2 || n == 0) {
+                return -1;
+            }
+
+            int shift = Arrays.binarySearch(times, 0, size, data.get(0).getDate().getTime());
+            if (shift < 0) {
+                return -1;
+            }
+
+            int last = size - 1 - shift; // 요청 데이터 기준 마지막 캔들 index
+            if (n <= last || (shift > 0 && last < period + 1)) {
+                // 데이터가 줄었거나, 잘라낸 뒤 롤링 window가 요청 데이터 밖을 가리킴
+                return -1;
+            }
+
+            StockData settled = data.get(last - 1);
+            if (settled.getDate().getTime() != times[size - 2]
+                    || IndicatorEngine.toFixed(settled.getClose()) != settledClose) {
+                return -1;
+            }
+
+            if (shift > 0) {
+                size -= shift;
+                System.arraycopy(times, shift, times, 0, size);
+                System.arraycopy(values, shift, values, 0, size);
+
+                // 기존 출력과 동일하게 앞부분은 데이터 부족(null)으로 표시
+                int warmUp = Math.min(rsi ? period : period - 1, size);
+                Arrays.fill(values, 0, warmUp, IndicatorEngine.MISSING);
+            }
+
+            return last;
+        }
+
+        /**
+         * index from부터 끝까지 계산 (from 직전까지는 settled 상태 사용)
+         */
+        private void extend(List<StockData> data, int from) {
+            int n = data.size();
+            ensureCapacity(n);
+
+            // 롤링 window에 필요한 종가만 변환 (from - period - 1 ~ n)
+            int base = Math.max(0, from - period - 1);
+            long[] closes = new long[n - base];
+            for (int i = base; i < n; i++) {
+                closes[i - base] = IndicatorEngine.toFixed(data.get(i).getClose());
+            }
+
+            long sumA = settledSumA;
+            long sumB = settledSumB;
+
+            for (int i = from; i < n; i++) {
+                long close = closes[i - base];
+                times[i] = data.get(i).getDate().getTime();
+
+                if (!rsi) {
+                    sumA += close;
+                    if (i >= period) {
+                        sumA -= closes[i - period - base];
+                    }
+                    values[i] = i < period - 1 ? IndicatorEngine.MISSING : IndicatorEngine.smaValue(sumA, period);
+                } else if (i == 0) {
+                    values[i] = IndicatorEngine.MISSING;
+                } else {
+                    long change = close - closes[i - 1 - base];
+                    sumA += Math.max(change, 0);
+                    sumB += Math.max(-change, 0);
+                    if (i >= period + 1) {
+                        long old = closes[i - period - base] - closes[i - period - 1 - base];
+                        sumA -= Math.max(old, 0);
+                        sumB -= Math.max(-old, 0);
+                    }
+                    values[i] = i < period ? IndicatorEngine.MISSING : IndicatorEngine.rsiValue(sumA, sumB, period);
+                }
+
+                if (i == n - 2) {
+                    settledSumA = sumA;
+                    settledSumB = sumB;
+                    settledClose = close;
+                }
+            }
+
+            size = n;
+            if (n > 0) {
+                lastClose = closes[n - 1 - base];
+                lastTime = times[n - 1];
+            }
+        }
+
+        private void ensureCapacity(int n) {
+            if (times.length >= n) {
+                return;
+            }
+            int capacity = Math.max(n, times.length + (times.length >> 1));
+            times = Arrays.copyOf(times, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        /**
+         * 기존 출력 형식으로 변환
+         * - MA: 캔들 수만큼 (앞부분 null)
+         * - RSI: 캔들 수 - 1 (데이터 부족 시 빈 리스트)
+         */
+        List<BigDecimal> toList() {
+            if (rsi) {
+                if (size < period + 1) {
+                    return new ArrayList<>();
+                }
+                List<BigDecimal> list = new ArrayList<>(size - 1);
+                for (int i = 1; i < size; i++) {
+                    list.add(IndicatorEngine.toDecimal(values[i]));
+                }
+                return list;
+            }
+
+            List<BigDecimal> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(IndicatorEngine.toDecimal(values[i]));
+            }
+            return list;
+        }
+    }
+}
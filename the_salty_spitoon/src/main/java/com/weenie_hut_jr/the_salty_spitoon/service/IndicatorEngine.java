@@ -0,0 +1,531 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockData;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * 기술지표 계산 엔진 (원시 배열 기반)
+ *
+ * 역할:
+ * - 종가/고가/저가를 한 번만 고정소수점 long[] 으로 변환한 뒤 모든 지표를 O(n)으로 계산
+ * - 스레드별 작업 버퍼 재사용 (요청마다 배열 재할당 없음)
+ *   → RETAINED_CAPACITY 캔들까지만 스레드에 유지, 더 긴 요청은 호출마다 할당 (요청 후 GC)
+ * - BigDecimal은 최종 응답 변환 시에만 생성
+ *
+ * 지원 지표 (indicators 파라미터 이름):
+ * - MA{n}   : 단순 이동평균 (예: MA5, MA20, MA200)
+ * - RSI     : RSI(14) - 기존 구현과 동일한 단순평균 방식 (RSI{n} 으로 기간 지정 가능)
+ * - WRSI    : Wilder 평활 RSI(14) (WRSI{n})
+ * - EMA{n}  : 지수 이동평균
+ * - MACD    : MACD(12, 26, 9) → MACD, MACD_SIGNAL, MACD_HIST
+ * - BB      : 볼린저밴드(20, 2σ) → BB_MIDDLE, BB_UPPER, BB_LOWER
+ * - STOCH   : 스토캐스틱(14, 3) → STOCH_K, STOCH_D
+ *
+ * 기존 출력 호환 (MA, RSI):
+ * - 입력 가격은 소수점 4자리 고정소수점으로 정확히 표현 (DB 컬럼은 2자리)
+ * - 기존 BigDecimal 구현과 같은 단계에서 같은 HALF_UP 반올림을 정수 연산으로 수행
+ * - 따라서 MA / RSI 결과는 기존 calculateMA / calculateRSI와 값과 scale 모두 동일
+ *
+ * 나머지 지표는 double 연산 후 소수점 2자리로 반올림하여 반환
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-07
+ */
+public class IndicatorEngine {
+
+    /** 입력 가격 고정소수점 자릿수 */
+    static final int INPUT_SCALE = 4;
+
+    private static final long INPUT_UNIT = 10_000L;
+
+    /** 고정소수점 지표 값: 데이터 부족 (null) */
+    static final long MISSING = Long.MIN_VALUE;
+
+    /** 고정소수점 RSI 값: 평균 하락분 0 (기존 구현의 BigDecimal.valueOf(100)) */
+    static final long RSI_ALL_GAIN = Long.MAX_VALUE;
+
+    /**
+     * 스레드 버퍼로 유지할 최대 캔들 수 (1분봉 약 3주치, 스레드당 약 0.5MB)
+     * - 넘는 요청(장기간 1분봉 등)이 Tomcat 스레드마다 수 MB를 계속 붙잡지 않도록
+     */
+    static final int RETAINED_CAPACITY = 8_192;
+
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    // ========================================
+    // 진입점
+    // ========================================
+
+    /**
+     * 요청된 지표 일괄 계산
+     *
+     * - 종가/고가/저가 변환은 한 번만 수행하고 모든 지표가 공유
+     * - 알 수 없는 지표 이름은 무시 (기존 컨트롤러 동작과 동일)
+     *
+     * @param data       시간순 캔들
+     * @param indicators 지표 이름 목록 (예: ["MA5", "MA20", "RSI", "MACD"])
+     * @return 지표 이름 → 값 목록 (데이터 부족 구간은 null)
+     */
+    public Map<String, List<BigDecimal>> calculate(List<StockData> data, Collection<String> indicators) {
+        Map<String, List<BigDecimal>> result = new LinkedHashMap<>();
+        Buffers buf = load(data);
+        int n = data.size();
+
+        for (String raw : indicators) {
+            String name = raw.trim().toUpperCase();
+            if (name.isEmpty()) {
+                continue;
+            }
+
+            try {
+                if (name.equals("MACD")) {
+                    macd(buf, n, 12, 26, 9, result);
+                } else if (name.startsWith("MA")) {
+                    result.put(name, sma(buf, n, Integer.parseInt(name.substring(2))));
+                } else if (name.startsWith("EMA")) {
+                    int period = Integer.parseInt(name.substring(3));
+                    toDouble(buf, n);
+                    ema(buf.values, 0, n, period, buf.out1);
+                    result.put(name, toDecimalList(buf.out1, n));
+                } else if (name.startsWith("WRSI")) {
+                    result.put(name, rsiWilder(buf, n, periodOrDefault(name.substring(4), 14)));
+                } else if (name.startsWith("RSI")) {
+                    result.put(name, rsi(buf, n, periodOrDefault(name.substring(3), 14)));
+                } else if (name.equals("BB")) {
+                    bollinger(buf, n, 20, 2.0, result);
+                } else if (name.equals("STOCH")) {
+                    stochastic(buf, n, 14, 3, result);
+                }
+            } catch (NumberFormatException e) {
+                // 잘못된 기간 표기 (예: MAX) - 무시
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 단순 이동평균 (기존 StockService.calculateMA와 동일 출력)
+     */
+    public List<BigDecimal> sma(List<StockData> data, int period) {
+        return sma(load(data), data.size(), period);
+    }
+
+    /**
+     * RSI (기존 StockService.calculateRSI와 동일 출력)
+     */
+    public List<BigDecimal> rsi(List<StockData> data, int period) {
+        return rsi(load(data), data.size(), period);
+    }
+
+    // ========================================
+    // 고정소수점 지표 (기존 출력과 비트 단위 동일)
+    // ========================================
+
+    /**
+     * 슬라이딩 합 SMA - O(n)
+     * 결과: 소수점 2자리 HALF_UP (sum / period)
+     */
+    private List<BigDecimal> sma(Buffers buf, int n, int period) {
+        List<BigDecimal> ma = new ArrayList<>(n);
+        if (period <= 0) {
+            return ma;
+        }
+
+        long[] closes = buf.closes;
+        long sum = 0;
+
+        for (int i = 0; i < n; i++) {
+            sum += closes[i];
+            if (i >= period) {
+                sum -= closes[i - period];
+            }
+            ma.add(i < period - 1 ? null : toDecimal(smaValue(sum, period)));
+        }
+
+        return ma;
+    }
+
+    /**
+     * 단순평균 RSI - O(n)
+     *
+     * 기존 구현과 동일한 단계:
+     * 1. 변동 = 종가[i+1] - 종가[i], 상승/하락분 분리
+     * 2. 최근 period개 평균 (소수점 4자리 HALF_UP)
+     * 3. RS = 평균상승 / 평균하락 (소수점 4자리 HALF_UP)
+     * 4. RSI = 100 - 100 / (1 + RS) (나눗셈 소수점 2자리 HALF_UP)
+     *
+     * 결과 길이: data.size() - 1 (변동 개수 기준, 기존 동작 유지)
+     */
+    private List<BigDecimal> rsi(Buffers buf, int n, int period) {
+        List<BigDecimal> rsi = new ArrayList<>(Math.max(n - 1, 0));
+        if (period <= 0 || n < period + 1) {
+            return rsi;
+        }
+
+        long[] closes = buf.closes;
+        long gainSum = 0;
+        long lossSum = 0;
+
+        for (int i = 0; i < n - 1; i++) {
+            long change = closes[i + 1] - closes[i];
+            gainSum += Math.max(change, 0);
+            lossSum += Math.max(-change, 0);
+
+            if (i >= period) {
+                long old = closes[i - period + 1] - closes[i - period];
+                gainSum -= Math.max(old, 0);
+                lossSum -= Math.max(-old, 0);
+            }
+
+            if (i < period - 1) {
+                rsi.add(null);
+                continue;
+            }
+
+            rsi.add(toDecimal(rsiValue(gainSum, lossSum, period)));
+        }
+
+        return rsi;
+    }
+
+    /**
+     * SMA 값 (window 합계 → 소수점 2자리 고정소수점)
+     *
+     * @param sum    최근 period개 종가 합계 (소수점 4자리 고정소수점)
+     * @param period 기간
+     */
+    static long smaValue(long sum, int period) {
+        return divideHalfUp(sum, period * (INPUT_UNIT / 100)); // 4자리 → 2자리
+    }
+
+    /**
+     * RSI 값 (상승합/하락합 → 소수점 2자리 고정소수점, 평균 하락 0이면 RSI_ALL_GAIN)
+     *
+     * @param gainSum 최근 period개 상승분 합계 (소수점 4자리 고정소수점)
+     * @param lossSum 최근 period개 하락분 합계 (소수점 4자리 고정소수점)
+     * @param period  기간
+     */
+    static long rsiValue(long gainSum, long lossSum, int period) {
+        long avgGain = divideHalfUp(gainSum, period); // 4자리
+        long avgLoss = divideHalfUp(lossSum, period); // 4자리
+
+        if (avgLoss == 0) {
+            return RSI_ALL_GAIN;
+        }
+
+        long rs = divideHalfUp(avgGain * INPUT_UNIT, avgLoss); // 4자리
+        long quotient = divideHalfUp(100L * 100L * INPUT_UNIT, INPUT_UNIT + rs); // 100 / (1 + RS), 2자리
+        return 100L * 100L - quotient;
+    }
+
+    /**
+     * 고정소수점 지표 값 → BigDecimal (MISSING은 null, RSI_ALL_GAIN은 기존과 같은 scale 0의 100)
+     */
+    static BigDecimal toDecimal(long value) {
+        if (value == MISSING) {
+            return null;
+        }
+        if (value == RSI_ALL_GAIN) {
+            return BigDecimal.valueOf(100);
+        }
+        return BigDecimal.valueOf(value, 2);
+    }
+
+    // ========================================
+    // double 지표
+    // ========================================
+
+    /**
+     * Wilder 평활 RSI
+     * - 첫 평균: 최초 period개 단순평균
+     * - 이후: avg = (prevAvg × (period - 1) + 현재값) / period
+     * 결과 길이: data.size() (index i = 종가 i 기준)
+     */
+    private List<BigDecimal> rsiWilder(Buffers buf, int n, int period) {
+        double[] out = buf.out1;
+        Arrays.fill(out, 0, n, Double.NaN);
+
+        if (period > 0 && n > period) {
+            long[] closes = buf.closes;
+            double avgGain = 0;
+            double avgLoss = 0;
+
+            for (int i = 1; i < n; i++) {
+                double change = (double) (closes[i] - closes[i - 1]) / INPUT_UNIT;
+                double gain = Math.max(change, 0);
+                double loss = Math.max(-change, 0);
+
+                if (i <= period) {
+                    avgGain += gain / period;
+                    avgLoss += loss / period;
+                } else {
+                    avgGain = (avgGain * (period - 1) + gain) / period;
+                    avgLoss = (avgLoss * (period - 1) + loss) / period;
+                }
+
+                if (i >= period) {
+                    out[i] = avgLoss == 0 ? 100.0 : 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+                }
+            }
+        }
+
+        return toDecimalList(out, n);
+    }
+
+    /**
+     * 지수 이동평균
+     * - from 이전 값은 무시 (MACD 시그널처럼 앞부분이 비어있는 시계열용)
+     * - 시드: from부터 period개 단순평균, 이후 α = 2 / (period + 1)
+     */
+    private void ema(double[] in, int from, int n, int period, double[] out) {
+        Arrays.fill(out, 0, n, Double.NaN);
+        if (period <= 0 || n - from < period) {
+            return;
+        }
+
+        double alpha = 2.0 / (period + 1);
+        double sum = 0;
+
+        for (int i = from; i < from + period; i++) {
+            sum += in[i];
+        }
+
+        double prev = sum / period;
+        out[from + period - 1] = prev;
+
+        for (int i = from + period; i < n; i++) {
+            prev = (in[i] - prev) * alpha + prev;
+            out[i] = prev;
+        }
+    }
+
+    /**
+     * MACD(fast, slow, signal)
+     * - MACD = EMA(fast) - EMA(slow)
+     * - SIGNAL = EMA(signal) of MACD
+     * - HIST = MACD - SIGNAL
+     */
+    private void macd(Buffers buf, int n, int fast, int slow, int signal,
+            Map<String, List<BigDecimal>> result) {
+        toDouble(buf, n);
+        ema(buf.values, 0, n, fast, buf.out1);
+        ema(buf.values, 0, n, slow, buf.out2);
+
+        double[] macd = buf.out3;
+        for (int i = 0; i < n; i++) {
+            macd[i] = buf.out1[i] - buf.out2[i]; // 한쪽이라도 NaN이면 NaN
+        }
+
+        int firstDefined = Math.max(fast, slow) - 1;
+        ema(macd, Math.min(firstDefined, n), n, signal, buf.out1);
+
+        for (int i = 0; i < n; i++) {
+            buf.out2[i] = macd[i] - buf.out1[i];
+        }
+
+        result.put("MACD", toDecimalList(macd, n));
+        result.put("MACD_SIGNAL", toDecimalList(buf.out1, n));
+        result.put("MACD_HIST", toDecimalList(buf.out2, n));
+    }
+
+    /**
+     * 볼린저밴드(period, k) - 슬라이딩 합/제곱합 O(n)
+     * - MIDDLE = SMA(period), UPPER/LOWER = MIDDLE ± k × 모표준편차
+     */
+    private void bollinger(Buffers buf, int n, int period, double k, Map<String, List<BigDecimal>> result) {
+        toDouble(buf, n);
+        double[] values = buf.values;
+        double[] middle = buf.out1;
+        double[] upper = buf.out2;
+        double[] lower = buf.out3;
+
+        double sum = 0;
+        double sumSq = 0;
+
+        for (int i = 0; i < n; i++) {
+            sum += values[i];
+            sumSq += values[i] * values[i];
+            if (i >= period) {
+                sum -= values[i - period];
+                sumSq -= values[i - period] * values[i - period];
+            }
+
+            if (i < period - 1) {
+                middle[i] = upper[i] = lower[i] = Double.NaN;
+                continue;
+            }
+
+            double mean = sum / period;
+            double variance = Math.max(sumSq / period - mean * mean, 0);
+            double band = k * Math.sqrt(variance);
+
+            middle[i] = mean;
+            upper[i] = mean + band;
+            lower[i] = mean - band;
+        }
+
+        result.put("BB_MIDDLE", toDecimalList(middle, n));
+        result.put("BB_UPPER", toDecimalList(upper, n));
+        result.put("BB_LOWER", toDecimalList(lower, n));
+    }
+
+    /**
+     * 스토캐스틱(kPeriod, dPeriod)
+     * - %K = (종가 - 최저가) / (최고가 - 최저가) × 100 (최근 kPeriod개 고가/저가)
+     * - %D = SMA(dPeriod) of %K
+     * - 최고/최저는 단조 덱으로 O(n) 계산, 고가 = 저가이면 %K = 50
+     */
+    private void stochastic(Buffers buf, int n, int kPeriod, int dPeriod, Map<String, List<BigDecimal>> result) {
+        long[] highs = buf.highs;
+        long[] lows = buf.lows;
+        long[] closes = buf.closes;
+        int[] maxDeque = buf.deque1;
+        int[] minDeque = buf.deque2;
+        double[] kLine = buf.out1;
+        double[] dLine = buf.out2;
+
+        int maxHead = 0, maxTail = 0;
+        int minHead = 0, minTail = 0;
+
+        for (int i = 0; i < n; i++) {
+            while (maxTail > maxHead && highs[maxDeque[maxTail - 1]] <= highs[i]) maxTail--;
+            maxDeque[maxTail++] = i;
+            while (minTail > minHead && lows[minDeque[minTail - 1]] >= lows[i]) minTail--;
+            minDeque[minTail++] = i;
+
+            if (maxDeque[maxHead] <= i - kPeriod) maxHead++;
+            if (minDeque[minHead] <= i - kPeriod) minHead++;
+
+            if (i < kPeriod - 1) {
+                kLine[i] = Double.NaN;
+                continue;
+            }
+
+            long highest = highs[maxDeque[maxHead]];
+            long lowest = lows[minDeque[minHead]];
+            kLine[i] = highest == lowest ? 50.0 : 100.0 * (closes[i] - lowest) / (highest - lowest);
+        }
+
+        double sum = 0;
+        int start = kPeriod - 1;
+        for (int i = 0; i < n; i++) {
+            if (i < start) {
+                dLine[i] = Double.NaN;
+                continue;
+            }
+            sum += kLine[i];
+            if (i >= start + dPeriod) {
+                sum -= kLine[i - dPeriod];
+            }
+            dLine[i] = i < start + dPeriod - 1 ? Double.NaN : sum / dPeriod;
+        }
+
+        result.put("STOCH_K", toDecimalList(kLine, n));
+        result.put("STOCH_D", toDecimalList(dLine, n));
+    }
+
+    // ========================================
+    // 버퍼 / 변환
+    // ========================================
+
+    /**
+     * 캔들 → 고정소수점 배열 (스레드 버퍼에 적재, RETAINED_CAPACITY 초과 시 이번 호출 전용 버퍼)
+     */
+    private Buffers load(List<StockData> data) {
+        int n = data.size();
+        Buffers buf;
+        if (n > RETAINED_CAPACITY) {
+            buf = new Buffers();
+            buf.ensure(n, n);
+        } else {
+            buf = buffers.get();
+            buf.ensure(n, RETAINED_CAPACITY);
+        }
+
+        for (int i = 0; i < n; i++) {
+            StockData candle = data.get(i);
+            buf.closes[i] = toFixed(candle.getClose());
+            buf.highs[i] = candle.getHigh() != null ? toFixed(candle.getHigh()) : buf.closes[i];
+            buf.lows[i] = candle.getLow() != null ? toFixed(candle.getLow()) : buf.closes[i];
+        }
+
+        return buf;
+    }
+
+    private void toDouble(Buffers buf, int n) {
+        for (int i = 0; i < n; i++) {
+            buf.values[i] = (double) buf.closes[i] / INPUT_UNIT;
+        }
+    }
+
+    static long toFixed(BigDecimal value) {
+        return value.setScale(INPUT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 정수 나눗셈 HALF_UP (BigDecimal.divide(..., HALF_UP)와 동일 규칙)
+     */
+    static long divideHalfUp(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (Math.abs(remainder) * 2 >= Math.abs(denominator)) {
+            quotient += (numerator < 0) == (denominator < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    private static List<BigDecimal> toDecimalList(double[] values, int n) {
+        List<BigDecimal> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double v = values[i];
+            list.add(Double.isNaN(v) ? null : BigDecimal.valueOf(v).setScale(2, RoundingMode.HALF_UP));
+        }
+        return list;
+    }
+
+    private static int periodOrDefault(String suffix, int defaultPeriod) {
+        return suffix.isEmpty() ? defaultPeriod : Integer.parseInt(suffix);
+    }
+
+    /**
+     * 현재 스레드가 유지 중인 버퍼 크기 (테스트용)
+     */
+    int retainedLength() {
+        return buffers.get().closes.length;
+    }
+
+    /**
+     * 스레드별 재사용 작업 버퍼 (필요 시에만 확장, limit까지)
+     */
+    private static final class Buffers {
+        long[] closes = new long[0];
+        long[] highs = new long[0];
+        long[] lows = new long[0];
+        double[] values = new double[0];
+        double[] out1 = new double[0];
+        double[] out2 = new double[0];
+        double[] out3 = new double[0];
+        int[] deque1 = new int[0];
+        int[] deque2 = new int[0];
+
+        void ensure(int n, int limit) {
+            if (closes.length >= n) {
+                return;
+            }
+            int size = Math.min(Math.max(n, closes.length * 2), Math.max(n, limit));
+            closes = new long[size];
+            highs = new long[size];
+            lows = new long[size];
+            values = new double[size];
+            out1 = new double[size];
+            out2 = new double[size];
+            out3 = new double[size];
+            deque1 = new int[size];
+            deque2 = new int[size];
+        }
+    }
+}
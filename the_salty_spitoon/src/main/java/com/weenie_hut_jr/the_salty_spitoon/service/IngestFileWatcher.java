@@ -0,0 +1,189 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import jakarta.annotation.PreDestroy;
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 수집 파일 감시 (WatchService)
+ *
+ * 역할:
+ * - python/output 디렉토리를 감시하다가 latest_data.json이 교체되면 즉시 FileDataCollector 호출
+ *   (수집기 샤드별 latest_data-<id>.json 포함)
+ * - 60초 폴링 대기 없이 파일 교체 후 수 밀리초 안에 DB / WebSocket 반영
+ *
+ * 파일 교체 방식:
+ * - websocket_publisher.py가 latest_data.json.tmp에 쓴 뒤 rename (원자적 교체)
+ * - rename은 ENTRY_CREATE, 직접 덮어쓰기는 ENTRY_MODIFY가 여러 번 발생
+ *
+ * 디바운스:
+ * - 이벤트 후 debounce-ms 동안 추가 이벤트가 없을 때 한 번만 처리
+ * - 그래도 쓰는 중인 파일을 읽으면 FileDataCollector가 파싱 실패 후 다음 이벤트에서 재시도
+ *
+ * 폴백:
+ * - 감시 등록 실패 / 감시 스레드 종료 시 FileDataCollector의 주기 폴링만 동작
+ *
+ * 설정 (application.properties):
+ * - ingest.watch.enabled: 사용 여부 (기본 true)
+ * - ingest.watch.debounce-ms: 마지막 이벤트 후 대기 시간 (기본 50)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-11
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestFileWatcher {
+
+    private final FileDataCollector fileDataCollector;
+    private final WorkloadExecutors workloadExecutors;
+
+    @Value("${ingest.watch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingest.watch.debounce-ms:50}")
+    private long debounceMs;
+
+    private volatile WatchService watchService;
+    private volatile boolean running = false;
+
+    // 통계
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong triggers = new AtomicLong();
+
+    /**
+     * 애플리케이션 기동 후 감시 스레드 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("[Watcher] Disabled - polling only");
+            return;
+        }
+
+        Path dataFile = Paths.get(FileDataCollector.DATA_FILE).toAbsolutePath();
+        Path directory = dataFile.getParent();
+
+        try {
+            Files.createDirectories(directory);
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.warn("[Watcher] Failed to watch {} - polling only: {}", directory, e.getMessage());
+            close();
+            return;
+        }
+
+        running = true;
+        // 감시 루프는 종료 시까지 listener 실행기 스레드 1개 점유
+        try {
+            workloadExecutors.execute(WorkloadExecutors.LISTENER, this::watchLoop);
+        } catch (TaskRejectedException e) {
+            log.warn("[Watcher] Listener executor full - polling only");
+            running = false;
+            close();
+            return;
+        }
+
+        log.info("[Watcher] Watching {} (debounce={}ms)", directory, debounceMs);
+    }
+
+    /**
+     * 감시 루프
+     */
+    private void watchLoop() {
+        try {
+            while (running) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+
+                // 디바운스: 추가 이벤트가 멈출 때까지 대기
+                while (changed) {
+                    WatchKey next = watchService.poll(debounceMs, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    drain(next);
+                }
+
+                if (changed) {
+                    triggers.incrementAndGet();
+                    fileDataCollector.checkForUpdates();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[Watcher] Watch loop failed - falling back to polling", e);
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * 키의 이벤트를 비우고 대상 파일 관련 여부 반환
+     */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            events.incrementAndGet();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || FileDataCollector.isDataFile(String.valueOf(event.context()))) {
+                changed = true;
+            }
+        }
+
+        if (!key.reset()) {
+            // 디렉토리 삭제 등으로 감시 불가
+            log.warn("[Watcher] Watch key invalidated - falling back to polling");
+            running = false;
+        }
+        return changed;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        close();
+    }
+
+    private void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("[Watcher] Close failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running);
+        stats.put("debounceMs", debounceMs);
+        stats.put("events", events.get());
+        stats.put("triggers", triggers.get());
+        return stats;
+    }
+}
@@ -0,0 +1,517 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * 실시간 수집 저널 (메모리 맵 추가 전용 로그)
+ *
+ * 역할:
+ * - IngestPipeline persist 단계가 MySQL에 쓰기 전에 캔들 묶음을 먼저 기록 (BATCH)
+ * - 커밋 후 같은 seq의 COMMIT 기록 추가 (체크포인트)
+ * - 기동 시 COMMIT이 없는 BATCH를 다시 적재 (앱 종료 / DB 오류로 놓친 1분 복구)
+ *
+ * 기록 형식 (세그먼트 파일 안에 연속 기록):
+ * - [magic int][type byte][seq long][length int][crc32 int][payload]
+ * - magic을 마지막에 써서, 쓰다가 죽은 기록은 magic 0 → 스캔 종료 지점
+ * - payload: sourceMillis, 캔들 수, 캔들마다 symbol / timestamp / OHLC(scale + unscaled) / volume
+ *
+ * 세그먼트:
+ * - journal-{세그먼트 번호}.seg, segment-bytes 크기로 미리 매핑 (FileChannel.map)
+ * - 공간이 모자라면 새 세그먼트로 교체
+ * - 앞쪽부터 미커밋 기록이 없는 세그먼트만 삭제 (COMMIT은 항상 BATCH와 같거나 뒤 세그먼트)
+ * - max-segments 초과 시 가장 오래된 세그먼트를 미커밋 기록과 함께 버림 (크기 상한 우선)
+ *
+ * 속도:
+ * - 기록은 매핑된 메모리 복사만 수행 (앱이 죽어도 OS 페이지 캐시에 남음)
+ * - ingest.journal.force=true 면 기록마다 force() (OS 장애까지 대비, 대신 지연 증가)
+ *
+ * 설정 (application.properties):
+ * - ingest.journal.enabled: 사용 여부 (기본 true)
+ * - ingest.journal.dir: 세그먼트 디렉토리
+ * - ingest.journal.segment-bytes: 세그먼트 1개 크기 (기본 8MB)
+ * - ingest.journal.max-segments: 최대 세그먼트 수 (기본 8)
+ * - ingest.journal.force: 기록마다 디스크 동기화 여부 (기본 false)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-14
+ */
+@Slf4j
+@Service
+public class IngestJournal {
+
+    private static final int MAGIC = 0x534A524E;
+    private static final byte TYPE_BATCH = 1;
+    private static final byte TYPE_COMMIT = 2;
+    // magic + type + seq + length + crc
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 4 + 4;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    @Value("${ingest.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingest.journal.dir:data/journal}")
+    private String directory;
+
+    @Value("${ingest.journal.segment-bytes:8388608}")
+    private int segmentBytes;
+
+    @Value("${ingest.journal.max-segments:8}")
+    private int maxSegments;
+
+    @Value("${ingest.journal.force:false}")
+    private boolean force;
+
+    // 오래된 순서
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    // 미커밋 기록 (seq 순)
+    private final SortedMap<Long, Entry> pending = new TreeMap<>();
+    private Segment current;
+    private long nextSeq = 1;
+    private long nextSegmentId = 1;
+
+    // 통계
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong appendNanos = new AtomicLong();
+    private final AtomicLong appendedBytes = new AtomicLong();
+
+    /**
+     * 미커밋 기록
+     */
+    @Getter
+    public static class Entry {
+        private final long seq;
+        private final long sourceMillis;
+        private final List<StockCandle1m> candles;
+        // 기록된 세그먼트
+        @Getter(AccessLevel.NONE)
+        private final Segment segment;
+
+        private Entry(long seq, long sourceMillis, List<StockCandle1m> candles, Segment segment) {
+            this.seq = seq;
+            this.sourceMillis = sourceMillis;
+            this.candles = candles;
+            this.segment = segment;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 기존 세그먼트 스캔 (미커밋 기록 복원) 후 새 세그먼트 준비
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            log.info("[Journal] Disabled");
+            return;
+        }
+
+        try {
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                stream.forEach(files::add);
+            }
+            files.sort(Comparator.comparingLong(IngestJournal::segmentIdOf));
+
+            for (Path file : files) {
+                scan(file);
+            }
+            recovered.set(pending.size());
+
+            current = createSegment();
+            deleteCommittedSegments();
+
+            log.info("[Journal] Opened {} ({} segments, {} uncommitted batches)",
+                    dir.toAbsolutePath(), segments.size(), pending.size());
+        } catch (IOException e) {
+            log.error("[Journal] Failed to open {} - journaling disabled: {}", directory, e.getMessage());
+            enabled = false;
+            close();
+        }
+    }
+
+    /**
+     * 세그먼트 1개 읽기 (BATCH → pending 추가, COMMIT → pending 제거)
+     */
+    private void scan(Path file) throws IOException {
+        Segment segment = mapSegment(file, (int) Math.max(Files.size(file), HEADER_BYTES));
+        segments.addLast(segment);
+        nextSegmentId = Math.max(nextSegmentId, segmentIdOf(file) + 1);
+
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            if (buffer.getInt(position) != MAGIC) {
+                break;
+            }
+
+            byte type = buffer.get(position + 4);
+            long seq = buffer.getLong(position + 5);
+            int length = buffer.getInt(position + 13);
+            int crc = buffer.getInt(position + 17);
+            int payloadStart = position + HEADER_BYTES;
+
+            if (length < 0 || payloadStart + length > buffer.capacity()) {
+                log.warn("[Journal] Truncated record in {} at {}", file.getFileName(), position);
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payloadStart, payload);
+            if (crc(payload) != crc) {
+                log.warn("[Journal] Corrupt record in {} at {} (seq={})", file.getFileName(), position, seq);
+                break;
+            }
+
+            if (type == TYPE_BATCH) {
+                Entry entry;
+                try {
+                    entry = decode(seq, payload, segment);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("[Journal] Unreadable batch in {} (seq={}): {}", file.getFileName(), seq, e.getMessage());
+                    break;
+                }
+                pending.put(seq, entry);
+                segment.pending++;
+            } else if (type == TYPE_COMMIT) {
+                release(pending.remove(seq));
+            }
+
+            nextSeq = Math.max(nextSeq, seq + 1);
+            position = payloadStart + length;
+        }
+
+        segment.position = position;
+    }
+
+    // ========================================
+    // 기록
+    // ========================================
+
+    /**
+     * 캔들 묶음 기록 (DB 쓰기 전)
+     *
+     * @return 기록 seq (커밋 후 commit(seq) 호출), 미사용 / 기록 실패 시 -1
+     */
+    public synchronized long append(List<StockCandle1m> candles, long sourceMillis) {
+        if (!enabled || current == null || candles.isEmpty()) {
+            return -1;
+        }
+
+        long startTime = System.nanoTime();
+        long seq = nextSeq++;
+
+        try {
+            byte[] payload = encode(candles, sourceMillis);
+            write(TYPE_BATCH, seq, payload);
+
+            pending.put(seq, new Entry(seq, sourceMillis, candles, current));
+            current.pending++;
+
+            appended.incrementAndGet();
+            appendedBytes.addAndGet(HEADER_BYTES + payload.length);
+            appendNanos.addAndGet(System.nanoTime() - startTime);
+            return seq;
+        } catch (IOException e) {
+            log.warn("[Journal] Append failed (seq={}): {}", seq, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 커밋 완료 기록 (체크포인트)
+     */
+    public synchronized void commit(long seq) {
+        if (!enabled || current == null || seq < 0) {
+            return;
+        }
+
+        Entry entry = pending.remove(seq);
+        if (entry == null) {
+            return;
+        }
+
+        try {
+            write(TYPE_COMMIT, seq, new byte[0]);
+        } catch (IOException e) {
+            // 다음 기동 때 한 번 더 적재됨 (UPSERT라 결과는 같음)
+            log.warn("[Journal] Commit record failed (seq={}): {}", seq, e.getMessage());
+        }
+
+        release(entry);
+        committed.incrementAndGet();
+        deleteCommittedSegments();
+    }
+
+    /**
+     * 미커밋 기록 목록 (seq 순, 기동 시 복원분 + 실행 중 DB 저장 실패분)
+     */
+    public synchronized List<Entry> pending() {
+        return pending.isEmpty() ? Collections.emptyList() : new ArrayList<>(pending.values());
+    }
+
+    private void write(byte type, long seq, byte[] payload) throws IOException {
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes) {
+            throw new IOException("Record larger than segment (" + size + " bytes)");
+        }
+        if (current.position + size > current.buffer.capacity()) {
+            rotate();
+        }
+
+        MappedByteBuffer buffer = current.buffer;
+        int position = current.position;
+
+        buffer.put(position + 4, type);
+        buffer.putLong(position + 5, seq);
+        buffer.putInt(position + 13, payload.length);
+        buffer.putInt(position + 17, crc(payload));
+        buffer.put(position + HEADER_BYTES, payload);
+        // magic은 마지막에 (쓰다가 죽으면 스캔이 여기서 멈춤)
+        buffer.putInt(position, MAGIC);
+
+        if (force) {
+            buffer.force();
+        }
+        current.position = position + size;
+    }
+
+    /**
+     * 새 세그먼트로 교체 + 오래된 세그먼트 정리
+     */
+    private void rotate() throws IOException {
+        if (force) {
+            current.buffer.force();
+        }
+        current = createSegment();
+
+        // 크기 상한: 미커밋 기록이 남아 있어도 가장 오래된 세그먼트부터 버림
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.pollFirst();
+            int lost = 0;
+            Iterator<Entry> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().segment == oldest) {
+                    iterator.remove();
+                    lost++;
+                }
+            }
+            if (lost > 0) {
+                dropped.addAndGet(lost);
+                log.warn("[Journal] Segment limit reached - dropped {} uncommitted batches from {}",
+                        lost, oldest.file.getFileName());
+            }
+            delete(oldest);
+        }
+
+        deleteCommittedSegments();
+    }
+
+    /**
+     * 앞쪽부터 미커밋 기록이 없는 세그먼트 삭제 (현재 세그먼트 제외)
+     */
+    private void deleteCommittedSegments() {
+        while (segments.size() > 1 && segments.peekFirst() != current && segments.peekFirst().pending == 0) {
+            delete(segments.pollFirst());
+        }
+    }
+
+    private void release(Entry entry) {
+        if (entry != null) {
+            entry.segment.pending--;
+        }
+    }
+
+    // ========================================
+    // 세그먼트 파일
+    // ========================================
+
+    private static class Segment {
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int pending;
+
+        private Segment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private Segment createSegment() throws IOException {
+        Path file = Paths.get(directory, String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+        Files.deleteIfExists(file);
+        Segment segment = mapSegment(file, segmentBytes);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private static Segment mapSegment(Path file, int size) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // 새 파일은 size만큼 늘어나고 0으로 채워짐
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(file, channel, buffer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void delete(Segment segment) {
+        try {
+            segment.channel.close();
+            // Windows는 매핑이 GC될 때까지 삭제 실패할 수 있음 → 다음 기동 때 스캔 후 정리
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.debug("[Journal] Failed to delete {}: {}", segment.file.getFileName(), e.getMessage());
+        }
+    }
+
+    private static long segmentIdOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            try {
+                segment.buffer.force();
+                segment.channel.close();
+            } catch (Exception e) {
+                log.debug("[Journal] Close failed: {}", e.getMessage());
+            }
+        }
+        segments.clear();
+        current = null;
+    }
+
+    // ========================================
+    // 직렬화
+    // ========================================
+
+    private static byte[] encode(List<StockCandle1m> candles, long sourceMillis) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + candles.size() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(sourceMillis);
+            out.writeInt(candles.size());
+            for (StockCandle1m candle : candles) {
+                out.writeUTF(candle.getSymbol());
+                out.writeLong(candle.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+                writeDecimal(out, candle.getOpen());
+                writeDecimal(out, candle.getHigh());
+                writeDecimal(out, candle.getLow());
+                writeDecimal(out, candle.getClose());
+                out.writeLong(candle.getVolume());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(long seq, byte[] payload, Segment segment) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long sourceMillis = in.readLong();
+            int count = in.readInt();
+            List<StockCandle1m> candles = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                candles.add(StockCandle1m.builder()
+                        .symbol(in.readUTF())
+                        .timestamp(LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC))
+                        .open(readDecimal(in))
+                        .high(readDecimal(in))
+                        .low(readDecimal(in))
+                        .close(readDecimal(in))
+                        .volume(in.readLong())
+                        .build());
+            }
+            return new Entry(seq, sourceMillis, candles, segment);
+        }
+    }
+
+    /**
+     * 가격: [scale short][unscaled long] (long 범위 밖이면 scale 자리에 표식 + 문자열)
+     */
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value.unscaledValue().bitLength() < 64 && value.scale() > Short.MIN_VALUE && value.scale() <= Short.MAX_VALUE) {
+            out.writeShort(value.scale());
+            out.writeLong(value.unscaledValue().longValue());
+        } else {
+            out.writeShort(Short.MIN_VALUE);
+            out.writeUTF(value.toPlainString());
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        short scale = in.readShort();
+        if (scale == Short.MIN_VALUE) {
+            return new BigDecimal(in.readUTF());
+        }
+        return BigDecimal.valueOf(in.readLong(), scale);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public synchronized Map<String, Object> getStats() {
+        long count = appended.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("directory", directory);
+        stats.put("segments", segments.size());
+        stats.put("segmentBytes", segmentBytes);
+        stats.put("force", force);
+        stats.put("appended", count);
+        stats.put("committed", committed.get());
+        stats.put("pending", pending.size());
+        stats.put("recoveredOnStartup", recovered.get());
+        stats.put("dropped", dropped.get());
+        stats.put("appendedBytes", appendedBytes.get());
+        stats.put("avgAppendMicros", count == 0 ? 0.0 : appendNanos.get() / 1000.0 / count);
+        return stats;
+    }
+}
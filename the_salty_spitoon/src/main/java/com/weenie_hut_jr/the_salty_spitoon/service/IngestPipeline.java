@@ -0,0 +1,805 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 단계별 수집 파이프라인 (parse → validate → persist → publish)
+ *
+ * 역할:
+ * - 파일 / 스트림 / 과거 데이터 수집이 모두 같은 단계를 거쳐 저장
+ * - 단계마다 전용 실행기(스레드 1개) + 제한 크기 큐로 연결 → 느린 DB가 WebSocket 전송을 막지 않고,
+ *   느린 전송이 DB 저장을 막지 않음
+ *
+ * 단계:
+ * 1. parse: 원본(파일 등) → 캔들 목록 (submitRaw로 들어온 묶음만)
+ * 2. validate: 필수 값 / 가격 범위 검사, 실시간 묶음은 변경 감지(마지막 커밋 캔들과 같으면 제외)
+ * 3. persist: 저널 기록 → 일괄 UPSERT → 저널 체크포인트 → 메모리 저장소 / 시세 / 지표 캐시 반영 + 묶음 단위 롤업
+ *    (submit이 돌려준 future는 이 단계에서 완료)
+ * 4. publish: TickBroadcaster로 넘김 (종목별 합치기 후 /topic/stock/{symbol} + /topic/market 전송)
+ * - bulk: 과거 데이터 묶음 전용 (검증 + 저장을 한 단계에서, 실시간 단계와 별도 스레드 / 큐)
+ *   → 수천 행짜리 과거 묶음이 persist 큐를 채워 실시간 1분 묶음이 그 뒤에서 기다리지 않음
+ *
+ * 큐 / 배압:
+ * - ConcurrentLinkedQueue + 원자적 크기 카운터로 만든 제한 크기 비차단 큐
+ * - 큐가 가득 차면 넣는 쪽이 대기 (수집 스레드 / 소켓 읽기 / 과거 데이터 작업 스레드까지 전달)
+ * - publish 단계는 같은 종목 + 같은 분 메시지를 하나로 합침 (아직 전송 전이면 최신 값으로 교체)
+ * - publish 큐가 가득 찰 때 정책 (ingest.pipeline.publish-overflow):
+ *   BLOCK(대기, 기본) / DROP_OLDEST(가장 오래된 메시지 버림) / DROP_NEWEST(새 메시지 버림)
+ *   → 버려도 DB / 메모리 저장소는 persist 단계에서 이미 반영됨 (클라이언트 메시지만 생략)
+ *
+ * 묶음 종류:
+ * - 실시간(submitRaw / submitRealtime): 저널 기록, 변경 감지, 지연 측정, 반영 + 전송
+ * - 재적재(replayJournal): 이미 저널에 있는 묶음, 빈 분만 채움 (insertMissing) + 새로 채운 캔들만 반영 / 전송
+ *   → 재적재 묶음보다 늦게 커밋된 값(같은 분)을 예전 값으로 덮어쓰지 않음
+ * - 과거 데이터(submitBulk): bulk 단계에서 저장만 (종목 단위 롤업 / 메모리 재로드는 HistoricalCollectionService가 처리)
+ *
+ * 설정 (application.properties):
+ * - ingest.pipeline.queue-capacity: parse / validate / persist 큐 크기 (묶음 수)
+ * - ingest.pipeline.publish-capacity: publish 큐 크기 (메시지 수)
+ * - ingest.pipeline.publish-overflow: BLOCK / DROP_OLDEST / DROP_NEWEST
+ * - ingest.pipeline.bulk-capacity: bulk 큐 크기 (과거 데이터 묶음 수, 묶음당 historical.batch-size행)
+ *
+ * 통계: /admin/ingest-stats의 pipeline (단계별 큐 길이 / 대기·처리 시간 / 배압 대기 / 합침·버림)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-15
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestPipeline {
+
+    private final CandleBatchWriter batchWriter;
+    private final IngestJournal journal;
+    private final TickBroadcaster tickBroadcaster;
+    private final CandleRollupService rollupService;
+    private final HotCandleStore hotCandleStore;
+    private final IndicatorCache indicatorCache;
+    private final QuoteRegistry quoteRegistry;
+
+    // DECIMAL(10,2) 상한 (넘으면 묶음 전체 트랜잭션이 실패하므로 검증 단계에서 제외)
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    @Value("${ingest.pipeline.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${ingest.pipeline.publish-capacity:10000}")
+    private int publishCapacity;
+
+    @Value("${ingest.pipeline.publish-overflow:BLOCK}")
+    private String publishOverflow;
+
+    @Value("${ingest.pipeline.bulk-capacity:4}")
+    private int bulkCapacity;
+
+    // 실시간 캔들 timestamp의 시간대 (stock_collector.py가 KST로 기록)
+    @Value("${ingest.candle-zone:Asia/Seoul}")
+    private String candleZone;
+
+    @Value("${ingest.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    private Stage<IngestBatch> parseStage;
+    private Stage<IngestBatch> validateStage;
+    private Stage<IngestBatch> persistStage;
+    private Stage<String> publishStage;
+    private Stage<IngestBatch> bulkStage;
+    private final List<Stage<?>> stages = new ArrayList<>();
+    private volatile boolean running = false;
+
+    // publish 단계: 합치기 키(symbol|timestamp) → 전송할 메시지
+    private final Map<String, PublishItem> pendingPublish = new ConcurrentHashMap<>();
+    private final AtomicLong publishMerged = new AtomicLong();
+    private final AtomicLong publishDropped = new AtomicLong();
+
+    // 검증 / 변경 감지
+    private final Map<String, StockCandle1m> lastSeen = new ConcurrentHashMap<>();
+    private final AtomicLong invalidCandles = new AtomicLong();
+    private final AtomicLong dedupChecked = new AtomicLong();
+    private final AtomicLong suppressedWrites = new AtomicLong();
+    private final AtomicLong suppressedMessages = new AtomicLong();
+    private final AtomicLong replaySkipped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    // 저널에 기록됐지만 아직 처리 중인 seq (persist 중 / 재적재 중인 묶음을 두 번 넣지 않도록)
+    // 추가 / 제거 + journal.pending() 조회는 모두 synchronized (inFlight) 안에서
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    // 마지막 실시간 묶음 수신 시각 (CollectorSupervisor의 수집 지연 판단)
+    private volatile long lastRealtimeMillis;
+
+    // 지연 통계 (밀리초)
+    private final LatencyStat sourceToCommit = new LatencyStat();
+    private final LatencyStat candleToCommit = new LatencyStat();
+    private final LatencyStat candleToPublish = new LatencyStat();
+
+    /**
+     * 원본 → 캔들 변환 (parse 단계에서 실행)
+     */
+    @FunctionalInterface
+    public interface CandleReader {
+        List<StockCandle1m> read() throws Exception;
+    }
+
+    /**
+     * 단계 사이를 이동하는 묶음
+     */
+    private static class IngestBatch {
+        private final String source;
+        private final long sourceMillis;
+        private final CandleReader reader;
+        private final boolean realtime;
+        private final boolean publish;
+        private final CompletableFuture<CandleBatchWriter.BatchResult> future = new CompletableFuture<>();
+        private List<StockCandle1m> candles;
+        // 저널 seq (-1: persist 단계에서 기록, 과거 데이터는 기록 안 함)
+        private long journalSeq = -1;
+        private boolean journaled;
+        private long enqueuedNanos;
+
+        private IngestBatch(String source, long sourceMillis, CandleReader reader, List<StockCandle1m> candles,
+                            boolean realtime, boolean publish) {
+            this.source = source;
+            this.sourceMillis = sourceMillis;
+            this.reader = reader;
+            this.candles = candles;
+            this.realtime = realtime;
+            this.publish = publish;
+        }
+
+        // 저널 재적재 묶음 (실시간 묶음도 persist 단계에서 journaled가 되므로 realtime으로 구분)
+        private boolean isReplay() {
+            return journaled && !realtime;
+        }
+    }
+
+    /**
+     * publish 단계 메시지
+     */
+    private static class PublishItem {
+        private final StockCandle1m candle;
+        private final boolean inserted;
+        private final boolean recordLatency;
+
+        private PublishItem(StockCandle1m candle, boolean inserted, boolean recordLatency) {
+            this.candle = candle;
+            this.inserted = inserted;
+            this.recordLatency = recordLatency;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        parseStage = new Stage<>("parse", queueCapacity, this::parse);
+        validateStage = new Stage<>("validate", queueCapacity, this::validate);
+        persistStage = new Stage<>("persist", queueCapacity, this::persist);
+        publishStage = new Stage<>("publish", publishCapacity, this::publish);
+        bulkStage = new Stage<>("bulk", bulkCapacity, this::bulk);
+        stages.addAll(Arrays.asList(parseStage, validateStage, persistStage, publishStage, bulkStage));
+
+        log.info("[Pipeline] Started (queue={}, publishQueue={}, overflow={}, bulkQueue={})",
+                queueCapacity, publishCapacity, publishOverflow, bulkCapacity);
+    }
+
+    // ========================================
+    // 입력
+    // ========================================
+
+    /**
+     * 실시간 원본 묶음 (parse 단계부터)
+     *
+     * @param sourceMillis 데이터가 준비된 시각 (파일 수정 시각 등)
+     * @return persist 완료 시 저장 결과 (parse / 저장 실패 시 예외로 완료)
+     */
+    public CompletableFuture<CandleBatchWriter.BatchResult> submitRaw(String source, long sourceMillis,
+                                                                      CandleReader reader) {
+        IngestBatch batch = new IngestBatch(source, sourceMillis, reader, null, true, true);
+        lastRealtimeMillis = System.currentTimeMillis();
+        parseStage.put(batch);
+        return batch.future;
+    }
+
+    /**
+     * 실시간 캔들 묶음 (validate 단계부터, 스트림 수집)
+     */
+    public CompletableFuture<CandleBatchWriter.BatchResult> submitRealtime(String source, List<StockCandle1m> candles,
+                                                                           long sourceMillis) {
+        IngestBatch batch = new IngestBatch(source, sourceMillis, null, candles, true, true);
+        lastRealtimeMillis = System.currentTimeMillis();
+        validateStage.put(batch);
+        return batch.future;
+    }
+
+    /**
+     * 과거 데이터 묶음 (bulk 단계, 저장만)
+     */
+    public CompletableFuture<CandleBatchWriter.BatchResult> submitBulk(String source, List<StockCandle1m> candles) {
+        IngestBatch batch = new IngestBatch(source, System.currentTimeMillis(), null, candles, false, false);
+        bulkStage.put(batch);
+        return batch.future;
+    }
+
+    /**
+     * 저널에 남은 미커밋 묶음 재적재
+     *
+     * 호출 경로:
+     * - 애플리케이션 기동 직후 (이전 실행에서 커밋 못 한 묶음)
+     * - FileDataCollector.checkForUpdates() (실행 중 DB 저장 실패한 묶음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayJournal() {
+        // 미커밋 목록 조회 + inFlight 등록을 한 번에 (그 사이 커밋 / 제거된 묶음을 다시 넣지 않도록)
+        List<IngestBatch> batches = new ArrayList<>();
+        synchronized (inFlight) {
+            for (IngestJournal.Entry entry : journal.pending()) {
+                if (!inFlight.add(entry.getSeq())) {
+                    continue;
+                }
+
+                IngestBatch batch = new IngestBatch("journal", entry.getSourceMillis(), null,
+                        entry.getCandles(), false, true);
+                batch.journalSeq = entry.getSeq();
+                batch.journaled = true;
+                batches.add(batch);
+            }
+        }
+
+        // 큐 대기(배압)는 잠금 밖에서
+        for (IngestBatch batch : batches) {
+            validateStage.put(batch);
+        }
+
+        if (!batches.isEmpty()) {
+            log.info("[Pipeline] Replaying {} uncommitted journal batches", batches.size());
+        }
+    }
+
+    // ========================================
+    // 단계 처리
+    // ========================================
+
+    private void parse(IngestBatch batch) {
+        try {
+            batch.candles = batch.reader.read();
+        } catch (Exception e) {
+            fail(batch, e);
+            return;
+        }
+        validateStage.put(batch);
+    }
+
+    /**
+     * 필수 값 / 범위 검사 + 변경 감지
+     */
+    private void validate(IngestBatch batch) {
+        if (filter(batch)) {
+            persistStage.put(batch);
+        }
+    }
+
+    /**
+     * 과거 데이터 묶음 검사 + 저장 (bulk 단계)
+     */
+    private void bulk(IngestBatch batch) {
+        if (filter(batch)) {
+            write(batch);
+        }
+    }
+
+    /**
+     * 저장할 캔들만 남김
+     *
+     * @return 저장할 캔들이 있으면 true (없으면 빈 결과로 완료)
+     */
+    private boolean filter(IngestBatch batch) {
+        List<StockCandle1m> valid = new ArrayList<>(batch.candles.size());
+
+        for (StockCandle1m candle : batch.candles) {
+            if (!isValid(candle)) {
+                invalidCandles.incrementAndGet();
+                log.warn("[Pipeline] Invalid candle from {}: {}", batch.source, candle);
+                continue;
+            }
+
+            if (batch.realtime && dedupEnabled) {
+                dedupChecked.incrementAndGet();
+                if (sameCandle(lastSeen.get(candle.getSymbol()), candle)) {
+                    suppressedWrites.incrementAndGet();
+                    suppressedMessages.incrementAndGet();
+                    continue;
+                }
+            }
+
+            // 재적재: 이번 실행에서 같은 분이 이미 커밋됐으면 그 값이 더 최신 (DB 조회 없이 제외)
+            if (batch.isReplay() && sameMinute(lastSeen.get(candle.getSymbol()), candle)) {
+                replaySkipped.incrementAndGet();
+                continue;
+            }
+            valid.add(candle);
+        }
+
+        if (valid.isEmpty()) {
+            // 저장할 것이 없음 (재적재 묶음이면 체크포인트만)
+            if (batch.journaled) {
+                journal.commit(batch.journalSeq);
+                release(batch);
+            }
+            batch.future.complete(new CandleBatchWriter.BatchResult(
+                    Collections.emptyList(), Collections.emptySet(), 0, 0, 0));
+            return false;
+        }
+
+        batch.candles = valid;
+        return true;
+    }
+
+    static boolean isValid(StockCandle1m candle) {
+        if (candle.getSymbol() == null || candle.getSymbol().isBlank() || candle.getTimestamp() == null
+                || candle.getVolume() == null || candle.getVolume() < 0) {
+            return false;
+        }
+
+        BigDecimal[] prices = { candle.getOpen(), candle.getHigh(), candle.getLow(), candle.getClose() };
+        for (BigDecimal price : prices) {
+            if (price == null || price.signum() <= 0 || price.compareTo(MAX_PRICE) > 0) {
+                return false;
+            }
+        }
+        return candle.getHigh().compareTo(candle.getLow()) >= 0;
+    }
+
+    private static boolean sameMinute(StockCandle1m previous, StockCandle1m candle) {
+        return previous != null && previous.getTimestamp().equals(candle.getTimestamp());
+    }
+
+    private static boolean sameCandle(StockCandle1m previous, StockCandle1m candle) {
+        return previous != null
+                && previous.getTimestamp().equals(candle.getTimestamp())
+                && previous.getOpen().compareTo(candle.getOpen()) == 0
+                && previous.getHigh().compareTo(candle.getHigh()) == 0
+                && previous.getLow().compareTo(candle.getLow()) == 0
+                && previous.getClose().compareTo(candle.getClose()) == 0
+                && Objects.equals(previous.getVolume(), candle.getVolume());
+    }
+
+    /**
+     * 저널 → 일괄 UPSERT → 체크포인트 → 메모리 상태 반영
+     */
+    private void persist(IngestBatch batch) {
+        if (batch.realtime && !batch.journaled) {
+            synchronized (inFlight) {
+                batch.journalSeq = journal.append(batch.candles, batch.sourceMillis);
+                batch.journaled = batch.journalSeq >= 0;
+                if (batch.journaled) {
+                    inFlight.add(batch.journalSeq);
+                }
+            }
+        }
+
+        try {
+            write(batch);
+        } finally {
+            if (batch.journaled) {
+                release(batch);
+            }
+        }
+    }
+
+    /**
+     * 처리 끝난 seq 제거 (replayJournal의 조회 + 등록과 겹치지 않도록 같은 잠금)
+     */
+    private void release(IngestBatch batch) {
+        synchronized (inFlight) {
+            inFlight.remove(batch.journalSeq);
+        }
+    }
+
+    private void write(IngestBatch batch) {
+
+        CandleBatchWriter.BatchResult result;
+        try {
+            // 재적재는 빈 분만 채움 (persist 단계는 스레드 1개 → 조회와 삽입 사이에 다른 실시간 묶음이 끼지 않음)
+            result = batch.isReplay()
+                    ? batchWriter.insertMissing(batch.candles)
+                    : batchWriter.upsert(batch.candles);
+        } catch (Exception e) {
+            // 저널에 남은 묶음은 다음 replayJournal()에서 재시도
+            log.error("[Pipeline] Batch upsert failed ({} candles from {}): {}",
+                    batch.candles.size(), batch.source, e.getMessage());
+            fail(batch, e);
+            return;
+        }
+
+        // upsert() 반환 시점 = 커밋 완료
+        long committedAt = System.currentTimeMillis();
+        if (batch.journaled) {
+            journal.commit(batch.journalSeq);
+        }
+
+        if (batch.realtime && !result.getCandles().isEmpty()) {
+            sourceToCommit.record(committedAt - batch.sourceMillis);
+            for (StockCandle1m saved : result.getCandles()) {
+                candleToCommit.record(committedAt - toEpochMillis(saved.getTimestamp()));
+            }
+        }
+
+        if (batch.publish) {
+            for (StockCandle1m saved : result.getCandles()) {
+                rememberCommitted(saved);
+                applyState(saved);
+            }
+            applyRollups(result.getCandles());
+        }
+
+        batch.future.complete(result);
+
+        if (batch.publish) {
+            for (StockCandle1m saved : result.getCandles()) {
+                enqueuePublish(new PublishItem(saved, result.isInserted(saved), batch.realtime));
+            }
+        }
+    }
+
+    /**
+     * 저장된 캔들을 메모리 저장소 / 지표 캐시에 반영 (롤업은 묶음 단위로 applyRollups)
+     */
+    private void applyState(StockCandle1m saved) {
+        String symbol = saved.getSymbol();
+        LocalDateTime timestamp = saved.getTimestamp();
+
+        // ========================================
+        // 1. 인메모리 최근 캔들 저장소 / 시세 스냅샷 반영
+        // ========================================
+        hotCandleStore.put(saved);
+        quoteRegistry.onCandle(saved);
+
+        // ========================================
+        // 2. 지표 캐시 (과거 캔들 변경 시에만 무효화)
+        // ========================================
+        indicatorCache.onCandle(symbol, timestamp);
+    }
+
+    /**
+     * 롤업 (5m~1d) 버킷 증분 갱신 (묶음 1회, 같은 버킷의 종목은 한 문장)
+     */
+    private void applyRollups(List<StockCandle1m> saved) {
+        try {
+            rollupService.onMinuteCandles(saved);
+        } catch (Exception e) {
+            log.warn("[Pipeline] Rollup update failed ({} candles): {}", saved.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 커밋된 캔들 기억 (같은 종목의 더 이전 분 캔들로는 덮어쓰지 않음 - 재적재)
+     */
+    private void rememberCommitted(StockCandle1m saved) {
+        lastSeen.merge(saved.getSymbol(), saved,
+                (previous, current) -> current.getTimestamp().isBefore(previous.getTimestamp()) ? previous : current);
+    }
+
+    /**
+     * publish 큐에 넣기 (같은 종목 + 분이면 합침, 가득 차면 overflow 정책)
+     */
+    private void enqueuePublish(PublishItem item) {
+        String key = item.candle.getSymbol() + "|" + item.candle.getTimestamp();
+
+        if (pendingPublish.put(key, item) != null) {
+            // 아직 전송 전인 같은 캔들 → 최신 값으로 교체됨
+            publishMerged.incrementAndGet();
+            return;
+        }
+
+        if ("DROP_NEWEST".equalsIgnoreCase(publishOverflow)) {
+            if (!publishStage.offer(key)) {
+                pendingPublish.remove(key);
+                publishDropped.incrementAndGet();
+            }
+        } else if ("DROP_OLDEST".equalsIgnoreCase(publishOverflow)) {
+            while (!publishStage.offer(key)) {
+                String oldest = publishStage.poll();
+                if (oldest != null && pendingPublish.remove(oldest) != null) {
+                    publishDropped.incrementAndGet();
+                }
+            }
+        } else {
+            publishStage.put(key);
+        }
+    }
+
+    /**
+     * WebSocket 전송 요청 (실제 전송은 TickBroadcaster 주기)
+     */
+    private void publish(String key) {
+        PublishItem item = pendingPublish.remove(key);
+        if (item == null) {
+            return;
+        }
+
+        StockCandle1m saved = item.candle;
+        String symbol = saved.getSymbol();
+
+        try {
+            tickBroadcaster.offer(saved);
+            if (item.recordLatency) {
+                candleToPublish.record(System.currentTimeMillis() - toEpochMillis(saved.getTimestamp()));
+            }
+        } catch (Exception e) {
+            log.warn("[{}] WebSocket send failed: {}", symbol, e.getMessage());
+        }
+
+        log.info("[{}] ✅ {}: ${} @ {} (vol={})",
+                symbol,
+                item.inserted ? "INSERTED" : "UPDATED",
+                saved.getClose(),
+                saved.getTimestamp().format(DateTimeFormatter.ofPattern("HH:mm")),
+                saved.getVolume());
+    }
+
+    private void fail(IngestBatch batch, Exception e) {
+        failedBatches.incrementAndGet();
+        batch.future.completeExceptionally(e);
+    }
+
+    private long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.of(candleZone)).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 남은 묶음 처리 대기 (실시간 묶음은 저널에 있으므로 못 끝내도 다음 기동 때 재적재)
+        long deadline = System.currentTimeMillis() + 5000;
+        for (Stage<?> stage : stages) {
+            while (stage.size.get() > 0 && System.currentTimeMillis() < deadline) {
+                LockSupport.parkNanos(10_000_000L);
+            }
+        }
+
+        running = false;
+        for (Stage<?> stage : stages) {
+            stage.executor.shutdownNow();
+        }
+    }
+
+    // ========================================
+    // 단계 (제한 크기 비차단 큐 + 전용 실행기)
+    // ========================================
+
+    private class Stage<T> {
+        private final String name;
+        private final int capacity;
+        private final Consumer<T> handler;
+        private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final ExecutorService executor;
+        private volatile Thread worker;
+
+        // 통계
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private final AtomicLong backpressureWaits = new AtomicLong();
+        private final LatencyStat serviceTime = new LatencyStat();
+        // 묶음 단계만 (publish는 합치기로 대기 시각이 바뀌므로 제외)
+        private final LatencyStat waitTime = new LatencyStat();
+
+        private Stage(String name, int capacity, Consumer<T> handler) {
+            this.name = name;
+            this.capacity = Math.max(1, capacity);
+            this.handler = handler;
+            // WorkloadExecutors 대신 전용 스레드: 단계마다 소비자 1개가 수명 내내 돌며 put()이 이 스레드를 직접 깨움
+            // (공유 풀이면 스레드를 영구 점유하거나 시작 시 거부될 수 있음, 통계는 /admin/ingest-stats)
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ingest-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor.execute(this::run);
+        }
+
+        /**
+         * 자리가 있으면 넣고 true (비차단)
+         */
+        private boolean offer(T item) {
+            int current;
+            do {
+                current = size.get();
+                if (current >= capacity) {
+                    return false;
+                }
+            } while (!size.compareAndSet(current, current + 1));
+
+            if (item instanceof IngestBatch) {
+                ((IngestBatch) item).enqueuedNanos = System.nanoTime();
+            }
+            queue.offer(item);
+            maxDepth.accumulateAndGet(current + 1, Math::max);
+            LockSupport.unpark(worker);
+            return true;
+        }
+
+        /**
+         * 자리가 날 때까지 대기 후 넣기 (배압)
+         */
+        private void put(T item) {
+            if (offer(item)) {
+                return;
+            }
+
+            backpressureWaits.incrementAndGet();
+            long parkNanos = 50_000L;
+            while (!offer(item)) {
+                if (!running) {
+                    throw new IllegalStateException("Ingest pipeline stopped");
+                }
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos * 2, 5_000_000L);
+            }
+        }
+
+        private T poll() {
+            T item = queue.poll();
+            if (item != null) {
+                size.decrementAndGet();
+            }
+            return item;
+        }
+
+        private void run() {
+            worker = Thread.currentThread();
+
+            while (running && !worker.isInterrupted()) {
+                T item = poll();
+                if (item == null) {
+                    // unpark 누락 대비 최대 10ms 후 다시 확인
+                    LockSupport.parkNanos(this, 10_000_000L);
+                    continue;
+                }
+
+                long startNanos = System.nanoTime();
+                if (item instanceof IngestBatch) {
+                    waitTime.record((startNanos - ((IngestBatch) item).enqueuedNanos) / 1_000_000);
+                }
+
+                try {
+                    handler.accept(item);
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                    log.error("[Pipeline] {} stage failed", name, e);
+                    if (item instanceof IngestBatch) {
+                        fail((IngestBatch) item, e);
+                    }
+                }
+
+                processed.incrementAndGet();
+                serviceTime.record((System.nanoTime() - startNanos) / 1_000_000);
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("depth", size.get());
+            map.put("capacity", capacity);
+            map.put("maxDepth", maxDepth.get());
+            map.put("processed", processed.get());
+            map.put("errors", errors.get());
+            map.put("backpressureWaits", backpressureWaits.get());
+            map.put("waitMs", waitTime.toMap());
+            map.put("serviceMs", serviceTime.toMap());
+            return map;
+        }
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    /**
+     * 마지막 실시간 묶음(파일 / 스트림) 수신 시각 (epoch ms, 없으면 0)
+     *
+     * 변경 없는 캔들만 있는 묶음도 포함 (수집기는 살아 있음)
+     */
+    public long getLastRealtimeMillis() {
+        return lastRealtimeMillis;
+    }
+
+    /**
+     * 단계별 큐 길이 / 처리 건수 / 대기·처리 시간 / 배압 대기 횟수
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Stage<?> stage : stages) {
+            stats.put(stage.name, stage.toMap());
+        }
+        stats.put("publishOverflow", publishOverflow);
+        stats.put("publishMerged", publishMerged.get());
+        stats.put("publishDropped", publishDropped.get());
+        stats.put("invalidCandles", invalidCandles.get());
+        stats.put("failedBatches", failedBatches.get());
+        return stats;
+    }
+
+    /**
+     * 수집 지연 통계 (밀리초)
+     *
+     * - sourceToCommit: 파일 수정 / 스트림 수신 시각 → DB 커밋 (감지 + 파싱 + 큐 대기 + 저장)
+     * - candleToCommit: 캔들 시작 시각 → DB 커밋
+     * - candleToPublish: 캔들 시작 시각 → WebSocket 전송 요청 (합치기 주기 대기 제외)
+     */
+    public Map<String, Object> getLatencyStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sourceToCommit", sourceToCommit.toMap());
+        stats.put("candleToCommit", candleToCommit.toMap());
+        stats.put("candleToPublish", candleToPublish.toMap());
+        return stats;
+    }
+
+    /**
+     * 변경 감지 통계
+     *
+     * - checked: 비교한 캔들 수
+     * - suppressedWrites / suppressedMessages: 같은 캔들이라 생략한 UPSERT 행 / WebSocket 메시지
+     */
+    public Map<String, Object> getDedupStats() {
+        long checked = dedupChecked.get();
+        long suppressed = suppressedWrites.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", dedupEnabled);
+        stats.put("trackedSymbols", lastSeen.size());
+        stats.put("checked", checked);
+        stats.put("suppressedWrites", suppressed);
+        stats.put("suppressedMessages", suppressedMessages.get());
+        stats.put("suppressedRatio", checked == 0 ? 0.0 : (double) suppressed / checked);
+        // 재적재 캔들 중 이번 실행에서 같은 분이 이미 커밋돼 제외된 수
+        stats.put("replaySkipped", replaySkipped.get());
+        return stats;
+    }
+
+    /**
+     * 지연 누적 (건수 / 합계 / 최대 / 최근)
+     */
+    private static class LatencyStat {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+        private volatile long last;
+
+        void record(long millis) {
+            count.incrementAndGet();
+            sum.addAndGet(millis);
+            max.accumulateAndGet(millis, Math::max);
+            last = millis;
+        }
+
+        Map<String, Object> toMap() {
+            long n = count.get();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", n);
+            map.put("lastMs", last);
+            map.put("avgMs", n == 0 ? 0.0 : (double) sum.get() / n);
+            map.put("maxMs", max.get());
+            return map;
+        }
+    }
+}
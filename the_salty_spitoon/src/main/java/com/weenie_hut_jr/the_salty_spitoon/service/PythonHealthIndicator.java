@@ -0,0 +1,64 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Python 부트스트랩 / 실시간 수집기 준비 상태 (/actuator/health의 python)
+ *
+ * 상태:
+ * - OUT_OF_SERVICE: 패키지 설치 / 수집기 시작 중 (웹 / DB 데이터는 이미 제공 중)
+ * - DOWN: 부트스트랩 실패 또는 수집기 종료
+ * - UP: 수집기 실행 중 (상세에 감시 상태 / 수집 지연 포함)
+ *   또는 이 서버는 수집기를 실행하지 않음 (python.collector.enabled=false, 전달 전용 서버, 상세 collector: disabled)
+ *
+ * 상세: 부트스트랩 상태, pip 생략 여부 / 소요 시간, JVM 시작 → 웹 / Python 준비 시간
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-17
+ */
+@Component("python")
+@RequiredArgsConstructor
+public class PythonHealthIndicator implements HealthIndicator {
+
+    private final PythonManager pythonManager;
+    private final CollectorSupervisor collectorSupervisor;
+    private final QuoteRegistry quoteRegistry;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = builder()
+                .withDetail("collector", pythonManager.isCollectorEnabled() ? "enabled" : "disabled");
+
+        // Health 상세에는 null 값을 넣을 수 없음
+        pythonManager.getBootstrapStats().forEach((key, value) -> {
+            if (value != null) {
+                builder.withDetail(key, value);
+            }
+        });
+
+        return builder
+                .withDetail("supervisor", collectorSupervisor.getState().name())
+                .withDetail("feedStale", quoteRegistry.isFeedStale())
+                .withDetail("feedLagSeconds", quoteRegistry.getFeedLagSeconds())
+                .build();
+    }
+
+    private Health.Builder builder() {
+        // 전달 전용 서버: 수집기 / 부트스트랩 상태와 무관하게 트래픽을 받을 수 있음
+        if (!pythonManager.isCollectorEnabled()) {
+            return Health.up();
+        }
+
+        switch (pythonManager.getBootstrapState()) {
+            case READY:
+                return pythonManager.isPythonRunning() ? Health.up() : Health.down();
+            case FAILED:
+                return Health.down();
+            default:
+                return Health.outOfService();
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.weenie_hut_jr.the_salty_spitoon.service;
 
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
@@ -9,9 +14,19 @@ import jakarta.annotation.PreDestroy;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Python 프로세스 생명주기 관리 서비스
@@ -36,30 +51,61 @@ import java.nio.file.Paths;
  * 3. Spring 종료 (@PreDestroy)
  * → Python 프로세스 우아하게 종료 (destroy)
  * → 5초 대기 후 강제 종료 (destroyForcibly)
+ * → 과거 데이터 워커(PythonWorkerPool) 종료
  * → Lock 파일 정리
  * 
+ * 과거 데이터 워커 (PythonWorkerPool):
+ * - 같은 Python 환경을 쓰므로 생명주기를 여기서 전달
+ * - 패키지 설치 완료 → markEnvironmentReady() (그 전 워커 생성은 대기)
+ * - restartPython()에서 재설치 → recycle() / 종료 → shutdown()
+ * - 워커 생성 / 요청 / ping 확인은 풀이 직접 (요청 단위 상주 프로세스라 수집기 감시와 분리)
+ * 
  * Python 스크립트 구조:
  * - start.py: 가상환경 설정, 패키지 설치 확인
  * - stock_collector.py: 실시간 데이터 수집 (1분마다)
  * - latest_data.json: 수집 결과 출력
  * 
  * 프로세스 관리:
- * - 단일 프로세스: 한 번에 하나의 collector만 실행
+ * - 샤드 수만큼 collector 실행 (기본 1개)
  * - Lock 파일: 중복 실행 방지 (collector.lock)
- * - 자동 재시작: 에러 발생 시 관리자가 수동 재시작
+ * - 자동 재시작: CollectorSupervisor가 하트비트 / 수집 지연 감시 후 재시작 (지수 백오프)
  * 
  * 로그 통합:
  * - Python stdout/stderr → Spring Logger
- * - 별도 스레드로 비동기 로그 수집
+ * - subprocess-io 실행기에서 비동기 로그 수집
  * - [Python] 접두사로 구분
  * 
  * 관리자 기능:
  * - isPythonRunning(): 상태 확인
- * - restartPython(): 수동 재시작
- * - API: /admin/python-status, /admin/restart-python
+ * - restartPython(): 재시작 (CollectorSupervisor / 관리자)
+ * - API: /admin/collector-health, /admin/restart-collector
+ * 
+ * 하트비트 (2026-01-16):
+ * - 수집기에 SALTY_HEALTH_DIR 환경변수로 python.health.path 절대 경로 전달
+ * - start.py가 메인 루프마다 collector-<샤드>.json 기록 (시작 전 이전 파일 삭제)
+ * 
+ * 비동기 부트스트랩 (2026-01-17):
+ * - @PostConstruct에서 pip 설치 / 수집기 시작을 기다리지 않음 → 웹 서버가 바로 DB / 캐시 데이터 제공
+ * - subprocess-io 실행기에서 설치 → 수집기 시작 (상태: PENDING → INSTALLING → STARTING → READY / FAILED)
+ * - requirements.txt + python.path의 SHA-256을 python.bootstrap.stamp-file에 기록, 같으면 pip 생략
+ * - 실패해도 애플리케이션은 계속 실행 (FAILED → CollectorSupervisor가 백오프로 재시도)
+ * - 준비 상태: /actuator/health의 python (PythonHealthIndicator)
+ * - 기동 시간: JVM 시작 → 웹 준비 / Python 준비 시각을 로그와 health 상세에 기록
+ * 
+ * 샤드 수집기 (2026-01-18):
+ * - python.collector.shards개의 start.py를 실행, 티커 CSV 종목을 샤드끼리 겹치지 않게 나눔
+ * - 샤드별 종목은 python.collector.shard-dir/shard-<id>.txt (SALTY_SYMBOLS_FILE), 수집기가 매 사이클 다시 읽음
+ *   → CollectorShardBalancer가 종목별 수집 시간으로 재분배할 때 파일만 교체 (재시작 없음)
+ * - 샤드마다 하트비트(collector-<id>.json) / 재시작 따로 (CollectorSupervisor는 문제 샤드만 재시작)
+ * - 출력은 모두 같은 스트림 소켓으로 합쳐짐 (폴백 파일은 샤드별 latest_data-<id>.json)
+ * - 샤드 1개(기본)면 종목 파일 없이 CSV 전체 수집 (이전과 동일)
+ * 
+ * 전달 전용 서버 (2026-01-20):
+ * - python.collector.enabled=false면 수집기를 시작하지 않음 (Python 환경 설정은 그대로)
+ *   → 브로커 중계 구성에서 캔들은 수집기를 실행하는 서버 하나만 보내고 나머지는 WebSocket 전달만
  * 
  * 에러 처리:
- * - Python 설정 실패: RuntimeException (애플리케이션 시작 중단)
+ * - Python 설정 실패: FAILED 상태 (애플리케이션은 계속 실행, 감시기가 재시도)
  * - Python 실행 실패: RuntimeException
  * - 종료 실패: 로그만 남기고 계속 (강제 종료)
  * 
@@ -72,8 +118,19 @@ import java.nio.file.Paths;
  */
 @Slf4j // 로깅 기능
 @Service // Spring Service Bean
+@RequiredArgsConstructor
 public class PythonManager {
 
+    /**
+     * 부트스트랩 / 수집기 출력 읽기 실행기 (subprocess-io)
+     */
+    private final WorkloadExecutors workloadExecutors;
+
+    /**
+     * 과거 데이터 워커 풀 (같은 Python 환경 사용 → 설치 완료 / 재설치 / 종료를 여기서 전달)
+     */
+    private final PythonWorkerPool workerPool;
+
     /**
      * 시스템 Python 명령어
      * 
@@ -120,22 +177,94 @@ public class PythonManager {
     private String pythonBaseDir;
 
     /**
-     * Python 프로세스 객체
+     * 스트림 수집 소켓 (StreamIngestServer)
      * 
-     * 역할:
-     * - stock_collector.py 실행 중인 프로세스
-     * - 프로세스 제어에 사용 (종료, 상태 확인)
+     * - 사용 시 수집기에 SALTY_INGEST_SOCKET 환경변수로 절대 경로 전달
+     * - 수집기는 소켓 연결에 실패하면 latest_data.json 파일로 기록 (폴백)
+     */
+    @Value("${ingest.stream.enabled:true}")
+    private boolean streamEnabled;
+
+    @Value("${ingest.stream.socket-path:python/output/ingest.sock}")
+    private String streamSocketPath;
+
+    /**
+     * 하트비트 디렉토리 (start.py가 샤드별 collector-<id>.json 기록)
+     */
+    @Value("${python.health.path:python/health}")
+    private String healthPath;
+
+    /**
+     * 이 서버에서 수집기 실행 여부 (false: 브로커 중계 구성의 전달 전용 서버)
+     */
+    @Value("${python.collector.enabled:true}")
+    private boolean collectorEnabled;
+
+    /**
+     * 수집기 샤드 수 / 종목 목록 / 샤드별 종목 파일 디렉토리
+     */
+    @Value("${python.collector.shards:1}")
+    private int shardCount;
+
+    @Value("${python.collector.tickers-file:python/nasdaq100_tickers.csv}")
+    private String tickersFile;
+
+    @Value("${python.collector.shard-dir:python/shards}")
+    private String shardDir;
+
+    /**
+     * 마지막으로 설치에 성공한 requirements.txt 해시 기록 파일
+     */
+    @Value("${python.bootstrap.stamp-file:python/.requirements.sha256}")
+    private String stampFile;
+
+    /**
+     * 부트스트랩 상태
+     */
+    public enum BootstrapState {
+        PENDING, INSTALLING, STARTING, READY, FAILED
+    }
+
+    private volatile BootstrapState bootstrapState = BootstrapState.PENDING;
+    private volatile String bootstrapError;
+    private volatile Process setupProcess;
+    private volatile boolean shuttingDown = false;
+
+    // 기동 시간 측정 (JVM 시작 기준, ms)
+    private volatile boolean pipSkipped = false;
+    private volatile long pipMillis = -1;
+    private volatile long webReadyAfterMillis = -1;
+    private volatile long pythonReadyAfterMillis = -1;
+
+    /**
+     * 수집기 샤드 (start.py 프로세스 하나)
      * 
      * 생명주기:
-     * - startCollector()에서 생성
+     * - initialize()에서 샤드 수만큼 생성
+     * - startShard()에서 프로세스 시작, restartShard() / restartPython()에서 재생성
      * - shutdown()에서 종료
-     * - restartPython()에서 재생성
      * 
-     * null 상태:
+     * process가 null인 경우:
      * - 초기화 전
-     * - 종료 후
+     * - 부트스트랩 실패
      */
-    private Process pythonProcess;
+    private static final class Shard {
+        final int id;
+        volatile Process process;
+        // 현재 프로세스 시작 시각 (epoch ms, 0이면 미실행)
+        volatile long startedAt;
+
+        Shard(int id) {
+            this.id = id;
+        }
+    }
+
+    private volatile Shard[] shards = new Shard[0];
+
+    /**
+     * 샤드별 수집 종목 (샤드 1개면 사용 안 함)
+     */
+    private volatile List<List<String>> shardSymbols = Collections.emptyList();
 
     /**
      * 가상환경의 Python 실행 파일 경로
@@ -188,10 +317,9 @@ public class PythonManager {
      *                 - stock_collector.py: ~1초 (프로세스 시작)
      *                 - 총: 약 10-15초
      * 
-     *                 에러 처리:
-     *                 - 실패 시 RuntimeException
-     *                 - Spring Boot 애플리케이션 시작 중단
-     *                 - 로그 확인 후 수동 조치 필요
+     *                 에러 처리 (2026-01-17 변경):
+     *                 - 실패 시 FAILED 상태로 남고 애플리케이션은 계속 실행
+     *                 - CollectorSupervisor가 restartPython()으로 재시도
      * 
      *                 로그 출력:
      *                 ========================================
@@ -208,28 +336,73 @@ public class PythonManager {
      */
     @PostConstruct
     public void initialize() {
+        Shard[] created = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = new Shard(i);
+        }
+        shards = created;
+
+        // 설치 / 수집기 시작은 subprocess-io 실행기 (빈 초기화와 웹 서버 기동을 막지 않음)
+        workloadExecutors.execute(WorkloadExecutors.SUBPROCESS_IO, this::bootstrap);
+    }
+
+    /**
+     * 부트스트랩 (subprocess-io 실행기)
+     */
+    private void bootstrap() {
         log.info("========================================");
         log.info("Python Manager Initialization");
         log.info("========================================");
 
         try {
-            // 1. Python 환경 설정 (가상환경 생성 및 패키지 설치)
+            // 1. Python 환경 설정 (requirements.txt 변경 시에만 패키지 설치)
+            bootstrapState = BootstrapState.INSTALLING;
             setupPythonEnvironment();
+            workerPool.markEnvironmentReady();
 
-            // 2. Python 수집기 시작 (stock_collector.py 실행)
-            startCollector();
+            if (shuttingDown) {
+                return;
+            }
+
+            // 2. Python 수집기 시작 (start.py 실행, 전달 전용 서버는 생략)
+            bootstrapState = BootstrapState.STARTING;
+            if (collectorEnabled) {
+                startCollector();
+            } else {
+                log.info("Collector disabled on this node (python.collector.enabled=false)");
+            }
+
+            bootstrapState = BootstrapState.READY;
+            bootstrapError = null;
+            pythonReadyAfterMillis = sinceJvmStart();
 
             log.info("========================================");
-            log.info("Python Manager Ready");
+            log.info("Python Manager Ready ({}ms after JVM start, pip {})",
+                    pythonReadyAfterMillis, pipSkipped ? "skipped" : pipMillis + "ms");
             log.info("========================================");
 
         } catch (Exception e) {
-            // 초기화 실패 시 애플리케이션 시작 중단
-            log.error("Python initialization failed", e);
-            throw new RuntimeException("Failed to initialize Python", e);
+            // 애플리케이션은 계속 실행 (DB / 캐시 데이터 제공), 재시도는 CollectorSupervisor
+            bootstrapState = BootstrapState.FAILED;
+            bootstrapError = e.getMessage();
+            log.error("Python initialization failed - collector not running", e);
         }
     }
 
+    /**
+     * 웹 서버 준비 시각 기록 (부트스트랩과 비교용)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        webReadyAfterMillis = sinceJvmStart();
+        log.info("Web tier ready {}ms after JVM start (Python bootstrap: {})",
+                webReadyAfterMillis, bootstrapState);
+    }
+
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
     /**
      * Python 가상환경 설정 (start.py 실행)
      * 
@@ -274,6 +447,21 @@ public class PythonManager {
     private void setupPythonEnvironment() throws Exception {
         log.info("Setting up Python environment...");
 
+        // 가상환경의 Python 경로 설정 (OS별)
+        pythonExecutable = getPythonExecutablePath();
+
+        // requirements.txt / Python 명령이 마지막 설치 때와 같으면 pip 생략
+        String hash = requirementsHash(Paths.get(pythonBaseDir, "requirements.txt"), pythonCommand);
+        Path stamp = Paths.get(stampFile);
+
+        if (Files.exists(stamp) && hash.equals(Files.readString(stamp, StandardCharsets.UTF_8).trim())) {
+            pipSkipped = true;
+            pipMillis = 0;
+            log.info("✅ requirements.txt unchanged - skipping pip install");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
         ProcessBuilder pb = new ProcessBuilder(
                 pythonCommand,
                 "-m",
@@ -286,22 +474,37 @@ public class PythonManager {
         pb.redirectErrorStream(true); // stderr를 stdout에 합침
         pb.inheritIO(); // Python 출력을 Java 콘솔에 표시
 
-        // 프로세스 시작 및 완료 대기
-        Process setupProcess = pb.start();
-        int exitCode = setupProcess.waitFor();
+        // 프로세스 시작 및 완료 대기 (종료 시 shutdown()에서 중단)
+        Process process = pb.start();
+        setupProcess = process;
+        int exitCode = process.waitFor();
+        setupProcess = null;
 
         // Exit code 확인
         if (exitCode != 0) {
             throw new RuntimeException("Python setup failed with exit code: " + exitCode);
         }
 
-        // 가상환경의 Python 경로 설정 (OS별)
-        pythonExecutable = getPythonExecutablePath();
+        // 설치 성공 → 해시 기록 (다음 기동부터 생략)
+        Files.writeString(stamp, hash, StandardCharsets.UTF_8);
+        pipSkipped = false;
+        pipMillis = System.currentTimeMillis() - startTime;
 
-        log.info("✅ Python environment ready");
+        log.info("✅ Python environment ready ({}ms)", pipMillis);
         log.info("   Python executable: {}", pythonExecutable);
     }
 
+    /**
+     * requirements.txt 내용 + Python 명령의 SHA-256 (Python이 바뀌어도 다시 설치)
+     */
+    static String requirementsHash(Path requirements, String pythonCommand) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(Files.readAllBytes(requirements));
+        digest.update((byte) 0);
+        digest.update(pythonCommand.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * OS별 Python 실행 파일 경로 반환
      * 
@@ -398,7 +601,23 @@ public class PythonManager {
      * @throws Exception Python 실행 실패, 파일 없음 등
      */
     private void startCollector() throws Exception {
-        log.info("Starting Python collector...");
+        // 샤드가 여러 개면 처음 한 번 종목 분배 (이후 CollectorShardBalancer가 재분배)
+        if (shards.length > 1 && shardSymbols.isEmpty()) {
+            List<String> symbols = loadSymbols();
+            applyShardSymbols(CollectorShardBalancer.assign(symbols, Collections.emptyMap(), shards.length));
+            log.info("Split {} symbols across {} collector shards", symbols.size(), shards.length);
+        }
+
+        for (Shard shard : shards) {
+            startShard(shard);
+        }
+    }
+
+    /**
+     * 샤드 하나 시작 (start.py)
+     */
+    private void startShard(Shard shard) throws Exception {
+        log.info("Starting Python collector (shard {}/{})...", shard.id, shards.length);
 
         // start.py 실행 (NASDAQ 100 실시간 수집)
         ProcessBuilder pb = new ProcessBuilder(
@@ -408,35 +627,129 @@ public class PythonManager {
 
         pb.redirectErrorStream(true);
 
+        // 스트림 수집 소켓 경로 전달 (없으면 파일 모드)
+        if (streamEnabled) {
+            pb.environment().put("SALTY_INGEST_SOCKET", Paths.get(streamSocketPath).toAbsolutePath().toString());
+        }
+
+        // 샤드 번호 / 종목 파일 (샤드 1개면 CSV 전체)
+        pb.environment().put("SALTY_SHARD_ID", String.valueOf(shard.id));
+        pb.environment().put("SALTY_SHARD_COUNT", String.valueOf(shards.length));
+        if (shards.length > 1) {
+            pb.environment().put("SALTY_SYMBOLS_FILE", shardSymbolsFile(shard.id).toString());
+        }
+
+        // 하트비트 경로 전달 (이전 프로세스의 하트비트는 삭제)
+        Path healthDir = Paths.get(healthPath).toAbsolutePath();
+        Files.createDirectories(healthDir);
+        Files.deleteIfExists(getHeartbeatFile(shard.id));
+        pb.environment().put("SALTY_HEALTH_DIR", healthDir.toString());
+
         // 프로세스 시작 (비동기)
-        pythonProcess = pb.start();
+        Process process = pb.start();
+        shard.process = process;
+        shard.startedAt = System.currentTimeMillis();
 
-        // Python 출력을 별도 스레드로 읽기 (비동기)
-        new Thread(() -> {
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(pythonProcess.getInputStream()))) {
+        // Python 출력을 subprocess-io 실행기에서 읽기 (비동기)
+        String prefix = shards.length > 1 ? "[Python-" + shard.id + "]" : "[Python]";
+        try {
+            workloadExecutors.execute(WorkloadExecutors.SUBPROCESS_IO, () -> {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream()))) {
 
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    log.info("[Python] {}", line);
-                }
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        log.info("{} {}", prefix, line);
+                    }
 
-            } catch (Exception e) {
-                log.error("Error reading Python output", e);
-            }
-        }).start();
+                } catch (Exception e) {
+                    log.error("Error reading Python output", e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 출력을 읽지 못하면 파이프가 차서 멈추므로 프로세스를 남기지 않음 (subprocess-io 실행기 포화)
+            process.destroyForcibly();
+            throw e;
+        }
 
         // 프로세스 시작 확인 (1초 대기)
         Thread.sleep(1000);
 
         // 프로세스 실행 확인
-        if (pythonProcess.isAlive()) {
-            log.info("✅ Python collector started (PID: {})", pythonProcess.pid());
+        if (process.isAlive()) {
+            log.info("✅ Python collector started (shard {}, PID: {})", shard.id, process.pid());
         } else {
-            throw new RuntimeException("Python collector failed to start");
+            throw new RuntimeException("Python collector failed to start (shard " + shard.id + ")");
+        }
+    }
+
+    /**
+     * 프로세스 종료 (SIGTERM → 5초 대기 → SIGKILL)
+     */
+    private static void stopProcess(Process process) throws InterruptedException {
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) {
+            log.warn("Python didn't stop gracefully - force killing");
+            process.destroyForcibly();
+            process.waitFor(5, java.util.concurrent.TimeUnit.SECONDS);
         }
     }
 
+    // ========================================
+    // 샤드 종목 분배
+    // ========================================
+
+    /**
+     * 티커 CSV의 종목 목록 (symbol 열, 파일 순서)
+     */
+    public List<String> loadSymbols() throws Exception {
+        List<String> lines = Files.readAllLines(Paths.get(tickersFile), StandardCharsets.UTF_8);
+        List<String> symbols = new ArrayList<>();
+
+        for (int i = 1; i < lines.size(); i++) { // 첫 줄은 헤더
+            String symbol = lines.get(i).split(",", 2)[0].trim();
+            if (!symbol.isEmpty()) {
+                symbols.add(symbol);
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * 샤드별 종목 파일 교체 (임시 파일 → rename, 수집기는 다음 사이클부터 새 목록 사용)
+     */
+    public synchronized void applyShardSymbols(List<List<String>> assignment) throws Exception {
+        if (assignment.size() != shards.length) {
+            throw new IllegalArgumentException("Expected " + shards.length + " shards, got " + assignment.size());
+        }
+
+        Files.createDirectories(Paths.get(shardDir).toAbsolutePath());
+        for (int i = 0; i < assignment.size(); i++) {
+            Path file = shardSymbolsFile(i);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, assignment.get(i), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        List<List<String>> copy = new ArrayList<>();
+        assignment.forEach(symbols -> copy.add(List.copyOf(symbols)));
+        shardSymbols = Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * 현재 샤드별 수집 종목 (샤드 1개면 빈 목록)
+     */
+    public List<List<String>> getShardSymbols() {
+        return shardSymbols;
+    }
+
+    private Path shardSymbolsFile(int shard) {
+        return Paths.get(shardDir).toAbsolutePath().resolve("shard-" + shard + ".txt");
+    }
+
     /**
      * Spring 종료 시 자동 실행되는 정리 메서드
      * 
@@ -495,30 +808,37 @@ public class PythonManager {
         log.info("Shutting down Python Manager");
         log.info("========================================");
 
-        // Python 프로세스 종료
-        if (pythonProcess != null && pythonProcess.isAlive()) {
-            log.info("Stopping Python collector...");
+        // 설치 중이면 pip 중단 (부트스트랩은 수집기를 시작하지 않고 끝남)
+        shuttingDown = true;
+        Process setup = setupProcess;
+        if (setup != null && setup.isAlive()) {
+            log.info("Stopping pip install...");
+            setup.destroy();
+        }
 
-            // 1. 우아한 종료 시도 (SIGTERM)
-            pythonProcess.destroy();
+        // Python 프로세스 종료 (샤드별)
+        for (Shard shard : shards) {
+            Process process = shard.process;
+            if (process == null || !process.isAlive()) {
+                continue;
+            }
+            log.info("Stopping Python collector (shard {})...", shard.id);
 
             try {
-                // 2. 5초 대기
-                if (!pythonProcess.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                    // 3. 종료 안 되면 강제 종료 (SIGKILL)
-                    log.warn("Python didn't stop gracefully - force killing");
-                    pythonProcess.destroyForcibly();
-                }
-
-                log.info("✅ Python collector stopped");
+                // SIGTERM → 5초 대기 → 종료 안 되면 SIGKILL
+                stopProcess(process);
+                log.info("✅ Python collector stopped (shard {})", shard.id);
 
             } catch (InterruptedException e) {
                 // 대기 중 인터럽트 발생
                 log.error("Error while stopping Python", e);
-                pythonProcess.destroyForcibly(); // 강제 종료
+                process.destroyForcibly(); // 강제 종료
             }
         }
 
+        // 과거 데이터 워커 종료
+        workerPool.shutdown();
+
         // Lock 파일 정리
         try {
             Path lockFile = Paths.get(pythonBaseDir + "/collector.lock");
@@ -544,16 +864,15 @@ public class PythonManager {
      * - 관리자 대시보드에서 상태 모니터링
      * 
      * 확인 방법:
-     * - pythonProcess != null: 프로세스 객체 존재
-     * - isAlive(): 프로세스 실행 중
+     * - 모든 샤드의 프로세스 객체 존재 + isAlive()
      * 
      * 반환값:
      * - true: Python 정상 실행 중
      * - false: Python 중지 또는 미실행
      * 
      * 사용 위치:
-     * - AdminController.getPythonStatus()
-     * - API: GET /admin/python-status
+     * - CollectorSupervisor.check()
+     * - API: GET /admin/collector-health
      * 
      * 응답 예시:
      * {
@@ -568,20 +887,81 @@ public class PythonManager {
      * - Spring 종료
      * 
      * 모니터링:
-     * - 주기적으로 체크하여 자동 재시작 가능
+     * - CollectorSupervisor가 주기적으로 체크하여 자동 재시작
      * - 알림 시스템 연동 가능
      * 
-     * @return boolean true: 실행 중, false: 중지
+     * @return boolean true: 모든 샤드 실행 중, false: 중지된 샤드 있음
      */
     public boolean isPythonRunning() {
-        return pythonProcess != null && pythonProcess.isAlive();
+        Shard[] current = shards;
+        if (current.length == 0) {
+            return false;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (!isShardRunning(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 이 서버에서 수집기를 실행하는지 (false면 CollectorSupervisor 감시 생략)
+     */
+    public boolean isCollectorEnabled() {
+        return collectorEnabled;
+    }
+
+    /**
+     * 수집기 샤드 수
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 샤드 실행 여부
+     */
+    public boolean isShardRunning(int shard) {
+        Process process = shards[shard].process;
+        return process != null && process.isAlive();
+    }
+
+    /**
+     * 샤드 수집기 PID (미실행 시 -1)
+     */
+    public long getPid(int shard) {
+        Process process = shards[shard].process;
+        return process != null ? process.pid() : -1;
+    }
+
+    /**
+     * 종료된 샤드 수집기의 exit code (실행 중 / 미실행 시 null)
+     */
+    public Integer getExitCode(int shard) {
+        Process process = shards[shard].process;
+        return process != null && !process.isAlive() ? process.exitValue() : null;
+    }
+
+    /**
+     * 샤드 수집기 시작 시각 (epoch ms)
+     */
+    public long getStartedAt(int shard) {
+        return shards[shard].startedAt;
+    }
+
+    /**
+     * 샤드 하트비트 파일 경로 (start.py의 collector-<id>.json)
+     */
+    public Path getHeartbeatFile(int shard) {
+        return Paths.get(healthPath).toAbsolutePath().resolve("collector-" + shard + ".json");
     }
 
     /**
      * Python 프로세스 재시작
      * 
      * 기능:
-     * - 실행 중인 Python 프로세스 종료
+     * - 실행 중인 Python 프로세스 종료 (모든 샤드)
      * - 새 프로세스로 재시작
      * - 에러 복구 또는 설정 변경 후 적용
      * 
@@ -598,8 +978,8 @@ public class PythonManager {
      * - 메모리 누수 해결
      * 
      * 사용 위치:
-     * - AdminController.restartPython()
-     * - API: POST /admin/restart-python
+     * - CollectorSupervisor (하트비트 / 수집 지연 감지 시)
+     * - API: POST /admin/restart-collector
      * 
      * 주의사항:
      * - 재시작 중 데이터 수집 중단 (~1-2초)
@@ -618,39 +998,107 @@ public class PythonManager {
      * 
      * @throws Exception 종료 실패, 시작 실패
      */
-    public void restartPython() throws Exception {
+    public synchronized void restartPython() throws Exception {
+        if (!collectorEnabled) {
+            throw new IllegalStateException("Collector disabled on this node (python.collector.enabled=false)");
+        }
+        BootstrapState current = bootstrapState;
+        if (current != BootstrapState.READY && current != BootstrapState.FAILED) {
+            throw new IllegalStateException("Python bootstrap in progress (" + current + ")");
+        }
+
         log.info("Restarting Python collector...");
 
-        // 1. 현재 프로세스 종료
-        if (pythonProcess != null && pythonProcess.isAlive()) {
-            pythonProcess.destroy(); // SIGTERM 전송
-            // 5초 대기 (Graceful Shutdown)
-            pythonProcess.waitFor(5, java.util.concurrent.TimeUnit.SECONDS);
+        // 0. 부트스트랩 실패 상태면 설치부터 다시
+        if (current == BootstrapState.FAILED) {
+            bootstrapState = BootstrapState.INSTALLING;
+            try {
+                setupPythonEnvironment();
+            } catch (Exception e) {
+                bootstrapState = BootstrapState.FAILED;
+                bootstrapError = e.getMessage();
+                throw e;
+            }
+            workerPool.markEnvironmentReady();
+            workerPool.recycle();
+        }
+
+        // 1. 현재 프로세스 종료 (SIGTERM → 5초 대기 → 멈춘 프로세스는 강제 종료)
+        for (Shard shard : shards) {
+            stopProcess(shard.process);
         }
 
         // 2. 새 프로세스 시작
-        startCollector();
-    }
+        try {
+            startCollector();
+        } catch (Exception e) {
+            if (current == BootstrapState.FAILED) {
+                bootstrapState = BootstrapState.FAILED;
+                bootstrapError = e.getMessage();
+            }
+            throw e;
+        }
 
-    // ========================================
-    // 향후 개선 방안 (TODO)
-    // ========================================
+        if (current == BootstrapState.FAILED) {
+            bootstrapState = BootstrapState.READY;
+            bootstrapError = null;
+            pythonReadyAfterMillis = sinceJvmStart();
+        }
+    }
 
     /**
-     * TODO: 자동 재시작 (헬스 체크)
+     * 샤드 하나만 재시작 (CollectorSupervisor, 다른 샤드는 계속 수집)
      * 
-     * @Scheduled(fixedDelay = 60000) // 1분마다
-     *                       public void healthCheck() {
-     *                       if (!isPythonRunning()) {
-     *                       log.warn("Python collector is down - auto restarting");
-     *                       try {
-     *                       restartPython();
-     *                       } catch (Exception e) {
-     *                       log.error("Auto restart failed", e);
-     *                       }
-     *                       }
-     *                       }
+     * - 부트스트랩 실패 상태면 설치부터 다시 해야 하므로 전체 재시작(restartPython)
      */
+    public synchronized void restartShard(int shard) throws Exception {
+        if (!collectorEnabled) {
+            throw new IllegalStateException("Collector disabled on this node (python.collector.enabled=false)");
+        }
+        if (bootstrapState == BootstrapState.FAILED) {
+            restartPython();
+            return;
+        }
+        if (bootstrapState != BootstrapState.READY) {
+            throw new IllegalStateException("Python bootstrap in progress (" + bootstrapState + ")");
+        }
+
+        log.info("Restarting Python collector shard {}...", shard);
+        stopProcess(shards[shard].process);
+        startShard(shards[shard]);
+    }
+
+    /**
+     * 부트스트랩 상태
+     */
+    public BootstrapState getBootstrapState() {
+        return bootstrapState;
+    }
+
+    /**
+     * 부트스트랩 상세 (health 상세 / 관리자 API)
+     */
+    public Map<String, Object> getBootstrapStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", bootstrapState.name());
+        stats.put("error", bootstrapError);
+        stats.put("pipSkipped", pipSkipped);
+        stats.put("pipMillis", pipMillis);
+        stats.put("webReadyAfterMillis", webReadyAfterMillis);
+        stats.put("pythonReadyAfterMillis", pythonReadyAfterMillis);
+        stats.put("collectorRunning", isPythonRunning());
+        stats.put("shards", shards.length);
+        List<Long> pids = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            pids.add(getPid(i));
+        }
+        stats.put("pids", pids);
+        return stats;
+    }
+
+    // ========================================
+    // 향후 개선 방안 (TODO)
+    // ========================================
 
     /**
      * TODO: Python 로그를 파일로 저장
@@ -660,19 +1108,4 @@ public class PythonManager {
      * pb.redirectError(new File("logs/python-error.log"));
      * }
      */
-
-    /**
-     * TODO: 재시작 횟수 제한 (무한 재시작 방지)
-     * 
-     * private int restartCount = 0;
-     * private static final int MAX_RESTARTS = 5;
-     * 
-     * public void restartPython() throws Exception {
-     * if (restartCount >= MAX_RESTARTS) {
-     * throw new RuntimeException("Too many restarts");
-     * }
-     * restartCount++;
-     * // ...
-     * }
-     */
-}
\ No newline at end of file
+}
@@ -0,0 +1,487 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상주 Python 과거 데이터 워커 풀
+ *
+ * 역할:
+ * - historical_worker.py 프로세스를 최대 size개 띄워 두고 종목 요청마다 재사용
+ * - 종목마다 historical_loader.py를 새로 실행하던 비용 제거
+ *   (인터프리터 시작 + 라이브러리 import + 임시 JSON 파일 쓰기 / 읽기)
+ *
+ * 프로토콜 (historical_worker.py 참고):
+ * - stdin: {"id":1,"symbol":"AAPL","days":3} 한 줄 (구간 지정 시 "start" / "end" epoch 초 추가)
+ * - stdout: 결과 JSON 한 줄 (success / message → candles → id / elapsed_ms 순)
+ * - stderr: 워커 로그 (DEBUG로 전달)
+ *
+ * 생명주기 (PythonManager가 관리):
+ * - PythonManager 부트스트랩에서 패키지 설치가 끝나면 markEnvironmentReady() → 그 전 요청은 대기
+ * - PythonManager.restartPython()에서 재설치 후 recycle() → 기존 워커는 반납 시점에 교체
+ * - PythonManager.shutdown()에서 수집기와 함께 shutdown()
+ *
+ * 워커 관리:
+ * - 처음 필요할 때 생성 (기동 시 Python을 띄우지 않음), ready 응답까지 대기
+ * - 응답 시간 초과 / 프로세스 종료 / 쓰기 실패 → 워커 폐기, 다음 요청 때 새로 생성
+ *   (폐기하므로 늦게 도착한 이전 응답이 다음 요청에 섞이지 않음)
+ * - 1분마다 유휴 워커 ping 확인 (healthCheck)
+ *
+ * 비용 비교:
+ * - 호출 1회 오버헤드 = Java 측 왕복 시간 - Python 측 수집 시간(elapsed_ms)
+ * - 워커 풀 / 프로세스 실행 방식 각각 평균을 내서 종목당 절감 시간 보고 (getStats)
+ *
+ * 설정 (application.properties):
+ * - historical.worker.enabled: 사용 여부 (false면 종목마다 프로세스 실행)
+ * - historical.worker.size: 최대 워커 수 (기본 historical.concurrency)
+ * - historical.worker.timeout-seconds: 요청 1건 응답 제한
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PythonWorkerPool {
+
+    // 읽기 스레드가 EOF를 알리는 표식 (동일성 비교)
+    private static final String EOF = new String("<eof>");
+
+    private final WorkloadExecutors workloadExecutors;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${python.path:python}")
+    private String pythonPath;
+
+    @Value("${python.script.dir:python}")
+    private String pythonScriptDir;
+
+    @Value("${historical.worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${historical.worker.size:${historical.concurrency:4}}")
+    private int size;
+
+    @Value("${historical.worker.timeout-seconds:60}")
+    private int timeoutSeconds;
+
+    @Value("${historical.worker.startup-timeout-seconds:30}")
+    private int startupTimeoutSeconds;
+
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    private final List<Worker> workers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger liveCount = new AtomicInteger();
+    private final AtomicInteger workerIds = new AtomicInteger();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final CountDownLatch environmentReady = new CountDownLatch(1);
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile boolean shutdown = false;
+
+    // 통계
+    private final AtomicLong spawned = new AtomicLong();
+    private final AtomicLong startupMillis = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong crashes = new AtomicLong();
+    private final OverheadStat pooledOverhead = new OverheadStat();
+    private final OverheadStat spawnOverhead = new OverheadStat();
+
+    public boolean isEnabled() {
+        return enabled && !shutdown;
+    }
+
+    /**
+     * 워커 응답
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Response {
+        // 결과 JSON 한 줄
+        private final String json;
+        // 요청 전송 → 응답 수신 (밀리초)
+        private final long wallMillis;
+    }
+
+    /**
+     * 종목 과거 데이터 요청 (호출 스레드에서 응답까지 대기)
+     *
+     * @param startEpoch / endEpoch 수집 구간 (epoch 초, end 미포함), null이면 최근 days일
+     * @throws TimeoutException 응답 시간 초과 (워커 폐기)
+     * @throws IOException      워커 종료 / 통신 실패 (워커 폐기)
+     */
+    public Response request(String symbol, int days, Long startEpoch, Long endEpoch) throws Exception {
+        Worker worker = borrow();
+        boolean healthy = false;
+
+        try {
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("id", requestIds.incrementAndGet());
+            request.put("symbol", symbol);
+            request.put("days", days);
+            if (startEpoch != null && endEpoch != null) {
+                request.put("start", startEpoch);
+                request.put("end", endEpoch);
+            }
+
+            long startTime = System.currentTimeMillis();
+            worker.send(objectMapper.writeValueAsString(request));
+
+            String line = worker.lines.poll(timeoutSeconds, TimeUnit.SECONDS);
+            long wallMillis = System.currentTimeMillis() - startTime;
+
+            if (line == null) {
+                timeouts.incrementAndGet();
+                throw new TimeoutException("Python 워커 응답 시간 초과 (" + timeoutSeconds + "초)");
+            }
+            if (line == EOF) {
+                crashes.incrementAndGet();
+                throw new IOException("Python 워커가 종료되었습니다 (exit=" + worker.exitCode() + ")");
+            }
+
+            healthy = true;
+            worker.record(wallMillis);
+            return new Response(line, wallMillis);
+
+        } finally {
+            if (healthy && worker.generation == generation.get()) {
+                idle.offer(worker);
+            } else if (healthy) {
+                // recycle() 이전에 만든 워커 → 반납 대신 교체
+                retire(worker);
+            } else {
+                worker.failures.incrementAndGet();
+                retire(worker);
+            }
+        }
+    }
+
+    /**
+     * 호출 1회 오버헤드 기록 (Java 왕복 - Python 수집 시간)
+     *
+     * @param pooled true: 워커 풀, false: 종목마다 프로세스 실행
+     */
+    public void recordOverhead(boolean pooled, long wallMillis, long pythonMillis) {
+        if (pythonMillis < 0) {
+            return;
+        }
+        (pooled ? pooledOverhead : spawnOverhead).record(Math.max(0, wallMillis - pythonMillis));
+    }
+
+    /**
+     * 유휴 워커 빌리기 (없으면 최대 size개까지 생성)
+     */
+    private Worker borrow() throws Exception {
+        while (true) {
+            if (shutdown) {
+                throw new IllegalStateException("Python 워커 풀이 종료되었습니다");
+            }
+
+            Worker worker = idle.poll();
+
+            if (worker == null && liveCount.incrementAndGet() <= size) {
+                try {
+                    worker = spawn();
+                } catch (Exception e) {
+                    liveCount.decrementAndGet();
+                    throw e;
+                }
+            } else if (worker == null) {
+                liveCount.decrementAndGet();
+                // 사용 중 워커가 폐기되면 새로 만들 수 있도록 주기적으로 다시 확인
+                worker = idle.poll(1, TimeUnit.SECONDS);
+            }
+
+            if (worker == null) {
+                continue;
+            }
+            if (worker.process.isAlive()) {
+                return worker;
+            }
+
+            crashes.incrementAndGet();
+            retire(worker);
+        }
+    }
+
+    /**
+     * 워커 프로세스 생성 + ready 대기
+     */
+    private Worker spawn() throws Exception {
+        // 패키지 설치 중이면 대기 (PythonManager 부트스트랩)
+        if (!environmentReady.await(startupTimeoutSeconds, TimeUnit.SECONDS)) {
+            throw new IOException("Python 환경 준비 전 (패키지 설치 대기 " + startupTimeoutSeconds + "초 초과)");
+        }
+
+        long startTime = System.currentTimeMillis();
+        int id = workerIds.incrementAndGet();
+
+        ProcessBuilder pb = new ProcessBuilder(
+                pythonPath,
+                "-u",
+                Paths.get(pythonScriptDir, "historical_worker.py").toString());
+        pb.environment().put("PYTHONIOENCODING", "utf-8");
+
+        Process process = pb.start();
+        Worker worker;
+        try {
+            worker = new Worker(id, process);
+        } catch (TaskRejectedException e) {
+            // 출력 읽기 작업을 못 붙였으면 프로세스를 남기지 않음 (subprocess-io 실행기 포화)
+            process.destroyForcibly();
+            throw e;
+        }
+        String ready = worker.lines.poll(startupTimeoutSeconds, TimeUnit.SECONDS);
+
+        if (ready == null || ready == EOF || !ready.contains("\"ready\"")) {
+            worker.destroy();
+            throw new IOException("Python 워커 시작 실패 (worker-" + id + ")");
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        spawned.incrementAndGet();
+        startupMillis.addAndGet(elapsed);
+        workers.add(worker);
+
+        log.info("[PyWorker] worker-{} started (PID: {}, {}ms)", id, worker.process.pid(), elapsed);
+        return worker;
+    }
+
+    /**
+     * 워커 폐기 (다음 요청 때 새로 생성)
+     */
+    private void retire(Worker worker) {
+        if (workers.remove(worker)) {
+            liveCount.decrementAndGet();
+            idle.remove(worker);
+            worker.destroy();
+            log.warn("[PyWorker] worker-{} retired (requests={}, failures={})",
+                    worker.id, worker.requests.get(), worker.failures.get());
+        }
+    }
+
+    /**
+     * 유휴 워커 상태 확인 (ping / pong, 1분마다)
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void healthCheck() {
+        int count = idle.size();
+
+        for (int i = 0; i < count; i++) {
+            Worker worker = idle.poll();
+            if (worker == null) {
+                return;
+            }
+
+            boolean alive = false;
+            try {
+                worker.send("{\"id\":" + requestIds.incrementAndGet() + ",\"type\":\"ping\"}");
+                String pong = worker.lines.poll(5, TimeUnit.SECONDS);
+                alive = pong != null && pong != EOF && pong.contains("\"pong\"");
+            } catch (Exception e) {
+                log.debug("[PyWorker] worker-{} ping failed: {}", worker.id, e.getMessage());
+            }
+
+            if (alive) {
+                idle.offer(worker);
+            } else {
+                crashes.incrementAndGet();
+                retire(worker);
+            }
+        }
+    }
+
+    /**
+     * 패키지 설치 완료 (PythonManager 부트스트랩 / 재설치 후)
+     */
+    public void markEnvironmentReady() {
+        environmentReady.countDown();
+    }
+
+    /**
+     * 전체 워커 교체 (PythonManager.restartPython, 재설치된 패키지 반영)
+     * - 유휴 워커는 바로 종료, 사용 중 워커는 응답 후 반납 시점에 종료
+     */
+    public void recycle() {
+        generation.incrementAndGet();
+
+        Worker worker;
+        while ((worker = idle.poll()) != null) {
+            retire(worker);
+        }
+        log.info("[PyWorker] Recycling workers (generation {})", generation.get());
+    }
+
+    /**
+     * 전체 워커 종료 (PythonManager.shutdown, 애플리케이션 종료 시)
+     */
+    public void shutdown() {
+        shutdown = true;
+
+        for (Worker worker : workers) {
+            worker.destroy();
+        }
+        workers.clear();
+        idle.clear();
+        liveCount.set(0);
+    }
+
+    // ========================================
+    // 워커 프로세스
+    // ========================================
+
+    private class Worker {
+        private final int id;
+        private final int generation = PythonWorkerPool.this.generation.get();
+        private final Process process;
+        private final BufferedWriter stdin;
+        private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile long lastLatencyMillis;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        Worker(int id, Process process) {
+            this.id = id;
+            this.process = process;
+            this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+            // stdout: 응답 줄 → 큐 (EOF 시 표식), subprocess-io 실행기
+            workloadExecutors.execute(WorkloadExecutors.SUBPROCESS_IO, () -> {
+                try (BufferedReader out = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = out.readLine()) != null) {
+                        lines.offer(line);
+                    }
+                } catch (IOException e) {
+                    log.debug("[PyWorker] worker-{} stdout closed: {}", id, e.getMessage());
+                } finally {
+                    lines.offer(EOF);
+                }
+            });
+
+            // stderr: 워커 로그
+            workloadExecutors.execute(WorkloadExecutors.SUBPROCESS_IO, () -> {
+                try (BufferedReader err = new BufferedReader(
+                        new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = err.readLine()) != null) {
+                        log.debug("[PyWorker-{}] {}", id, line);
+                    }
+                } catch (IOException e) {
+                    // 프로세스 종료
+                }
+            });
+        }
+
+        void send(String line) throws IOException {
+            stdin.write(line);
+            stdin.write('\n');
+            stdin.flush();
+        }
+
+        void record(long wallMillis) {
+            requests.incrementAndGet();
+            lastLatencyMillis = wallMillis;
+            lastUsedAt = System.currentTimeMillis();
+        }
+
+        String exitCode() {
+            return process.isAlive() ? "running" : String.valueOf(process.exitValue());
+        }
+
+        void destroy() {
+            try {
+                // stdin을 닫으면 워커가 스스로 종료
+                stdin.close();
+                if (!process.waitFor(3, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (Exception e) {
+                process.destroyForcibly();
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("pid", process.pid());
+            map.put("alive", process.isAlive());
+            map.put("busy", !idle.contains(this));
+            map.put("requests", requests.get());
+            map.put("failures", failures.get());
+            map.put("lastLatencyMs", lastLatencyMillis);
+            map.put("idleSeconds", (System.currentTimeMillis() - lastUsedAt) / 1000);
+            return map;
+        }
+    }
+
+    /**
+     * 호출 오버헤드 누적 (밀리초)
+     */
+    private static class OverheadStat {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+
+        void record(long millis) {
+            count.incrementAndGet();
+            sum.addAndGet(millis);
+        }
+
+        Double average() {
+            long n = count.get();
+            return n == 0 ? null : (double) sum.get() / n;
+        }
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public Map<String, Object> getStats() {
+        long spawnCount = spawned.get();
+        Double pooled = pooledOverhead.average();
+        Double spawn = spawnOverhead.average();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("environmentReady", environmentReady.getCount() == 0);
+        stats.put("generation", generation.get());
+        stats.put("size", size);
+        stats.put("live", workers.size());
+        stats.put("idle", idle.size());
+        stats.put("spawned", spawnCount);
+        stats.put("avgStartupMs", spawnCount == 0 ? 0.0 : (double) startupMillis.get() / spawnCount);
+        stats.put("timeouts", timeouts.get());
+        stats.put("crashes", crashes.get());
+
+        // 종목당 오버헤드 비교 (둘 다 측정된 경우 절감 시간)
+        stats.put("pooledOverheadMs", pooled);
+        stats.put("pooledCalls", pooledOverhead.count.get());
+        stats.put("spawnOverheadMs", spawn);
+        stats.put("spawnCalls", spawnOverhead.count.get());
+        stats.put("savedPerSymbolMs", pooled != null && spawn != null ? spawn - pooled : null);
+
+        List<Map<String, Object>> workerStats = new ArrayList<>();
+        for (Worker worker : workers) {
+            workerStats.add(worker.toMap());
+        }
+        stats.put("workers", workerStats);
+        return stats;
+    }
+}
@@ -0,0 +1,339 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.config.AsyncConfig;
+import com.weenie_hut_jr.the_salty_spitoon.dto.QuoteSnapshot;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandleRollup;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandleRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 시세 레지스트리
+ *
+ * 역할:
+ * - 종목별 최신 시세를 불변 스냅샷(QuoteSnapshot)으로 메모리에 보관
+ * - FileDataCollector 수집 / HistoricalCollectionService 백필 시점에 갱신
+ * - 조회는 ConcurrentHashMap.get() 한 번 (잠금 없음)
+ * - 없는 종목은 MySQL에서 로드 후 보관 (DB 폴백)
+ *
+ * 갱신 규칙 (종목 단위 원자적 교체, ConcurrentHashMap.compute):
+ * - 같은 시각 캔들 재수집: 가격 / 거래량만 교체 (이전 종가 유지)
+ * - 새 시각 캔들: 기존 최신 캔들이 이전 종가가 됨, 날짜가 바뀌면 당일 통계 초기화
+ * - 과거 시각 캔들 (늦게 도착 / 백필): 스냅샷 제거 → 다음 조회 시 DB에서 다시 로드
+ *
+ * 버전:
+ * - 스냅샷이 바뀔 때마다 전역 번호 증가
+ * - 클라이언트는 마지막으로 받은 번호 이후 바뀐 종목만 요청 가능 (getChangedSince)
+ *
+ * 수집 지연 (2026-01-16):
+ * - CollectorSupervisor가 실시간 수집이 python.supervisor.output-stale-seconds 이상 멈추면 stale 표시
+ * - 시세 API 응답에 stale / feedLagSeconds 포함 (스냅샷 자체는 그대로 제공)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-09
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuoteRegistry {
+
+    private final StockCandle1mRepository candleRepository;
+    private final StockCandleRollupRepository rollupRepository;
+
+    // 종목 → 최신 스냅샷
+    private final ConcurrentHashMap<String, QuoteSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    // 전역 버전
+    private final AtomicLong version = new AtomicLong();
+
+    // 통계
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    // 실시간 수집 상태 (CollectorSupervisor가 갱신)
+    private volatile boolean feedStale = false;
+    private volatile long feedLagSeconds = 0;
+
+    /**
+     * 애플리케이션 기동 후 전체 종목 스냅샷 로드 (비동기)
+     */
+    @Async(AsyncConfig.INGEST_EXECUTOR)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long startTime = System.currentTimeMillis();
+        List<String> symbols = candleRepository.findDistinctSymbols();
+
+        for (String symbol : symbols) {
+            try {
+                refresh(symbol);
+            } catch (Exception e) {
+                log.warn("[Quotes] Warm-up failed for {}: {}", symbol, e.getMessage());
+            }
+        }
+
+        log.info("[Quotes] Warm-up completed: {} symbols in {}ms",
+                snapshots.size(), System.currentTimeMillis() - startTime);
+    }
+
+    // ========================================
+    // 조회
+    // ========================================
+
+    /**
+     * 현재 전역 버전
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * 메모리 스냅샷만 조회 (DB 접근 없음)
+     */
+    public Optional<QuoteSnapshot> get(String symbol) {
+        QuoteSnapshot snapshot = snapshots.get(symbol);
+        if (snapshot != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * 스냅샷 조회, 없으면 MySQL에서 로드 후 보관
+     */
+    public Optional<QuoteSnapshot> getOrLoad(String symbol) {
+        Optional<QuoteSnapshot> snapshot = get(symbol);
+        return snapshot.isPresent() ? snapshot : refresh(symbol);
+    }
+
+    /**
+     * 지정 버전 이후 바뀐 스냅샷 (심볼 오름차순)
+     *
+     * @param sinceVersion 클라이언트가 마지막으로 받은 버전 (0이면 전체)
+     */
+    public List<QuoteSnapshot> getChangedSince(long sinceVersion) {
+        List<QuoteSnapshot> changed = new ArrayList<>();
+        for (QuoteSnapshot snapshot : snapshots.values()) {
+            if (snapshot.getVersion() > sinceVersion) {
+                changed.add(snapshot);
+            }
+        }
+        changed.sort(Comparator.comparing(QuoteSnapshot::getSymbol));
+        return changed;
+    }
+
+    /**
+     * 실시간 수집이 지연 임계값을 넘었는지 (시세가 오래됐을 수 있음)
+     */
+    public boolean isFeedStale() {
+        return feedStale;
+    }
+
+    /**
+     * 마지막 실시간 수집 이후 경과 초
+     */
+    public long getFeedLagSeconds() {
+        return feedLagSeconds;
+    }
+
+    // ========================================
+    // 갱신
+    // ========================================
+
+    /**
+     * 실시간 수집 상태 갱신 (CollectorSupervisor)
+     */
+    public void updateFeedStatus(boolean stale, long lagSeconds) {
+        if (stale != feedStale) {
+            if (stale) {
+                log.warn("[Quotes] Feed is stale ({}s since last realtime batch)", lagSeconds);
+            } else {
+                log.info("[Quotes] Feed recovered");
+            }
+        }
+        feedStale = stale;
+        feedLagSeconds = lagSeconds;
+    }
+
+    /**
+     * 1분봉 저장 직후 호출 (FileDataCollector)
+     */
+    public void onCandle(StockCandle1m candle) {
+        String symbol = candle.getSymbol();
+
+        QuoteSnapshot updated = snapshots.computeIfPresent(symbol, (key, current) -> apply(current, candle));
+
+        if (updated == null) {
+            // 처음 보는 종목이거나 과거 캔들로 제거됨 → DB 기준으로 다시 로드
+            refresh(symbol);
+        } else {
+            updates.incrementAndGet();
+        }
+    }
+
+    /**
+     * MySQL 기준으로 스냅샷 다시 로드 (DB 폴백, 백필 후)
+     *
+     * 쿼리: 최신 캔들 + 직전 캔들 + 당일 롤업 (최대 3회)
+     */
+    public Optional<QuoteSnapshot> refresh(String symbol) {
+        Optional<StockCandle1m> latestOpt = candleRepository.findFirstBySymbolOrderByTimestampDesc(symbol);
+        if (latestOpt.isEmpty()) {
+            snapshots.remove(symbol);
+            return Optional.empty();
+        }
+
+        StockCandle1m latest = latestOpt.get();
+        StockCandle1m previous = candleRepository
+                .findLatestBefore(symbol, latest.getTimestamp().minusSeconds(1))
+                .orElse(null);
+
+        LocalDateTime dayStart = latest.getTimestamp().toLocalDate().atStartOfDay();
+        List<StockCandleRollup> day = rollupRepository
+                .findBySymbolAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(symbol, "1d", dayStart, dayStart);
+
+        QuoteSnapshot.QuoteSnapshotBuilder builder = QuoteSnapshot.builder();
+        if (!day.isEmpty()) {
+            StockCandleRollup rollup = day.get(0);
+            builder.dayOpen(rollup.getOpen())
+                    .dayHigh(rollup.getHigh())
+                    .dayLow(rollup.getLow())
+                    .dayVolume(rollup.getVolume());
+        } else {
+            // 롤업 미구축 → 최신 캔들로 당일 통계 시작
+            builder.dayOpen(latest.getOpen())
+                    .dayHigh(latest.getHigh())
+                    .dayLow(latest.getLow())
+                    .dayVolume(latest.getVolume());
+        }
+
+        BigDecimal previousClose = previous != null ? previous.getClose() : latest.getClose();
+        QuoteSnapshot loaded = withChange(builder
+                .symbol(symbol)
+                .price(latest.getClose())
+                .open(latest.getOpen())
+                .high(latest.getHigh())
+                .low(latest.getLow())
+                .volume(latest.getVolume())
+                .timestamp(latest.getTimestamp())
+                .previousClose(previousClose)
+                .previousTimestamp(previous != null ? previous.getTimestamp() : null));
+
+        reloads.incrementAndGet();
+
+        // 로드하는 동안 더 최신 캔들이 반영됐다면 그쪽을 유지
+        QuoteSnapshot result = snapshots.merge(symbol, loaded,
+                (current, fresh) -> current.getTimestamp().isAfter(fresh.getTimestamp()) ? current : fresh);
+        return Optional.of(result);
+    }
+
+    /**
+     * 종목 스냅샷 제거 (다음 조회 시 DB에서 로드)
+     */
+    public void invalidate(String symbol) {
+        snapshots.remove(symbol);
+    }
+
+    /**
+     * 새 캔들을 현재 스냅샷에 반영 (null 반환 시 제거)
+     */
+    private QuoteSnapshot apply(QuoteSnapshot current, StockCandle1m candle) {
+        LocalDateTime timestamp = candle.getTimestamp();
+
+        if (timestamp.isBefore(current.getTimestamp())) {
+            // 과거 캔들 → 이전 종가 / 당일 통계를 메모리에서 정확히 맞출 수 없음
+            return null;
+        }
+
+        QuoteSnapshot.QuoteSnapshotBuilder builder = current.toBuilder()
+                .price(candle.getClose())
+                .open(candle.getOpen())
+                .high(candle.getHigh())
+                .low(candle.getLow())
+                .volume(candle.getVolume())
+                .timestamp(timestamp);
+
+        if (timestamp.isEqual(current.getTimestamp())) {
+            // 같은 캔들 재수집: 당일 거래량은 이전 값을 빼고 다시 더함
+            builder.dayHigh(current.getDayHigh().max(candle.getHigh()))
+                    .dayLow(current.getDayLow().min(candle.getLow()))
+                    .dayVolume(current.getDayVolume() - current.getVolume() + candle.getVolume());
+        } else {
+            builder.previousClose(current.getPrice())
+                    .previousTimestamp(current.getTimestamp());
+
+            if (!timestamp.toLocalDate().equals(current.getTimestamp().toLocalDate())) {
+                // 날짜 변경 → 당일 통계 초기화
+                builder.dayOpen(candle.getOpen())
+                        .dayHigh(candle.getHigh())
+                        .dayLow(candle.getLow())
+                        .dayVolume(candle.getVolume());
+            } else {
+                builder.dayHigh(current.getDayHigh().max(candle.getHigh()))
+                        .dayLow(current.getDayLow().min(candle.getLow()))
+                        .dayVolume(current.getDayVolume() + candle.getVolume());
+            }
+        }
+
+        return withChange(builder);
+    }
+
+    /**
+     * 변동 계산 + 새 버전 부여 (계산식은 기존 API와 동일)
+     */
+    private QuoteSnapshot withChange(QuoteSnapshot.QuoteSnapshotBuilder builder) {
+        QuoteSnapshot draft = builder.build();
+        BigDecimal change = draft.getPrice().subtract(draft.getPreviousClose());
+        BigDecimal changePercent = BigDecimal.ZERO;
+
+        if (draft.getPreviousClose().compareTo(BigDecimal.ZERO) != 0) {
+            changePercent = change
+                    .divide(draft.getPreviousClose(), 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+        }
+
+        return builder
+                .change(change)
+                .changePercent(changePercent)
+                .version(version.incrementAndGet())
+                .build();
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("symbols", snapshots.size());
+        stats.put("version", version.get());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("updates", updates.get());
+        stats.put("reloads", reloads.get());
+        stats.put("feedStale", feedStale);
+        stats.put("feedLagSeconds", feedLagSeconds);
+        return stats;
+    }
+}
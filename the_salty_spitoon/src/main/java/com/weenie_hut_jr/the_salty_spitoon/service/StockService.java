@@ -1,8 +1,11 @@
 package com.weenie_hut_jr.the_salty_spitoon.service;
 
+import com.weenie_hut_jr.the_salty_spitoon.dto.QuoteSnapshot;
 import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandleRollup;
 import com.weenie_hut_jr.the_salty_spitoon.model.StockData;
 import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandleRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,6 +16,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -39,7 +43,7 @@ import java.util.stream.Collectors;
  * 1. 실시간 데이터: getRealTimeStock()
  * 2. 과거 데이터: getHistoricalData(), getAllHistoricalData()
  * 3. 타임프레임 집계: aggregateByTimeframe()
- * 4. 기술지표: calculateMA(), calculateRSI()
+ * 4. 기술지표: calculateMA(), calculateRSI(), calculateIndicators()
  * 
  * 타임프레임 지원:
  * - 1m: 1분봉 (원본 데이터)
@@ -52,7 +56,8 @@ import java.util.stream.Collectors;
  * 기술지표:
  * - MA (Moving Average): 이동평균선
  * - RSI (Relative Strength Index): 상대강도지수
- * - 향후 확장: MACD, 볼린저밴드, 스토캐스틱 등
+ * - EMA, Wilder RSI, MACD, 볼린저밴드, 스토캐스틱: IndicatorEngine (calculateIndicators)
+ * - 향후 확장: ATR 등
  * 
  * 성능 고려사항:
  * - 1분봉 데이터: 대량 (연간 97,500개/종목)
@@ -69,6 +74,15 @@ public class StockService {
 
     // 의존성 주입
     private final StockCandle1mRepository candleRepository; // 1분봉 데이터 Repository
+    private final StockCandleRollupRepository rollupRepository; // 롤업 캔들 Repository (5m 이상)
+    private final HotCandleStore hotCandleStore; // 최근 1분봉 인메모리 저장소
+    private final IndicatorCache indicatorCache; // MA / RSI 결과 캐시 (증분 확장)
+    private final QuoteRegistry quoteRegistry; // 실시간 시세 스냅샷 (수집 시 갱신)
+
+    private final IndicatorEngine indicatorEngine = new IndicatorEngine(); // 기술지표 계산 (원시 배열)
+
+    // 롤업 완성 종목 (확인된 것만 캐시, 미완성은 매번 DB 확인)
+    private final Set<String> completeRollups = ConcurrentHashMap.newKeySet();
 
     /**
      * 실시간 주식 데이터 조회 (MySQL 기반)
@@ -114,14 +128,13 @@ public class StockService {
      * 
      * 사용 위치:
      * - StockController.getRealTimeData()
-     * - StockController.getDashboardData()
+     * - StockController.getDashboardData() (getRealTimeStocks 일괄 조회)
      * - API: /stock/api/realtime/{symbol}
      * - WebSocket 초기 데이터
      * 
      * 성능:
-     * - 인덱스 활용: (symbol, timestamp DESC)
-     * - LIMIT 1: 매우 빠름
-     * - 총 2번 쿼리: 최신 + 이전
+     * - QuoteRegistry 스냅샷 조회 (수집 시점에 갱신, DB 접근 없음)
+     * - 스냅샷이 없을 때만 MySQL에서 로드 (최신 + 이전 + 당일 롤업)
      * 
      * 예시:
      * Input: "AAPL"
@@ -143,49 +156,113 @@ public class StockService {
      * @return Map 실시간 주가 정보
      */
     public Map<String, Object> getRealTimeStock(String symbol) {
-        log.debug("{} - 실시간 데이터 조회 (MySQL)", symbol);
+        log.debug("{} - 실시간 데이터 조회", symbol);
 
-        // 1. 최신 캔들 조회 (가장 최근 1분봉)
-        Optional<StockCandle1m> latestCandle = candleRepository
-                .findFirstBySymbolOrderByTimestampDesc(symbol);
+        // 1. 시세 스냅샷 조회 (없으면 MySQL에서 로드)
+        Optional<QuoteSnapshot> snapshot = quoteRegistry.getOrLoad(symbol);
 
         // 2. 데이터 없음 체크
-        if (latestCandle.isEmpty()) {
+        if (snapshot.isEmpty()) {
             log.warn("{} - MySQL에 데이터 없음 (Python 수집 대기 중일 수 있음)", symbol);
 
             // 에러 대신 기본값 반환 (프론트엔드에서 처리)
-            Map<String, Object> result = new HashMap<>();
-            result.put("symbol", symbol);
-            result.put("price", BigDecimal.ZERO);
-            result.put("change", BigDecimal.ZERO);
-            result.put("changePercent", BigDecimal.ZERO);
-            result.put("volume", 0L);
-            result.put("dayHigh", BigDecimal.ZERO);
-            result.put("dayLow", BigDecimal.ZERO);
-            result.put("open", BigDecimal.ZERO);
-            result.put("previousClose", BigDecimal.ZERO);
-            result.put("error", true); // 에러 플래그
-            result.put("message", "No data available - waiting for collection");
+            return emptyQuote(symbol);
+        }
+
+        Map<String, Object> result = buildQuote(snapshot.get());
+
+        // 로그 출력 (간결한 정보)
+        log.info("{} - 실시간: ${} ({}%)",
+                symbol,
+                result.get("price"),
+                ((BigDecimal) result.get("changePercent")).setScale(2, RoundingMode.HALF_UP));
+
+        return result;
+    }
+
+    /**
+     * 메모리 스냅샷 기준 실시간 정보 (WebSocket 메시지용)
+     *
+     * - getRealTimeStock()과 같은 형식, DB 조회 / 로그 없음 (전송 주기마다 종목별 호출)
+     *
+     * @param symbol 종목 심볼
+     * @return 실시간 정보 (스냅샷 없으면 empty)
+     */
+    public Optional<Map<String, Object>> findCachedRealTimeStock(String symbol) {
+        return quoteRegistry.get(symbol).map(this::buildQuote);
+    }
+
+    /**
+     * 실시간 주식 데이터 일괄 조회 (대시보드 / 전체 종목)
+     *
+     * 기능:
+     * - getRealTimeStock()과 같은 형식의 결과를 종목 수와 관계없이 SQL 1회로 조회
+     * - 최신 캔들 + 1분 전 캔들을 한 번에 가져와 메모리에서 짝지음
+     *
+     * 성능:
+     * - 기존: 종목당 2회 쿼리 (100종목 = 200회 왕복)
+     * - 현재: QuoteRegistry 스냅샷 우선, 스냅샷 없는 종목만 findLatestAndPreviousBySymbols() 1회
+     *
+     * @param symbols 종목 심볼 목록
+     * @return 심볼 → 실시간 정보 (입력 순서 유지, 데이터 없는 종목은 error: true)
+     */
+    public Map<String, Map<String, Object>> getRealTimeStocks(Collection<String> symbols) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        if (symbols.isEmpty()) {
+            return result;
+        }
+
+        // 1. 메모리 스냅샷 우선
+        List<String> missing = new ArrayList<>();
+        for (String symbol : symbols) {
+            Optional<QuoteSnapshot> snapshot = quoteRegistry.get(symbol);
+            if (snapshot.isPresent()) {
+                result.put(symbol, buildQuote(snapshot.get()));
+            } else {
+                result.put(symbol, null); // 입력 순서 유지용 자리
+                missing.add(symbol);
+            }
+        }
+
+        if (missing.isEmpty()) {
             return result;
         }
 
-        StockCandle1m candle = latestCandle.get();
+        // 2. 스냅샷 없는 종목만 일괄 조회 (종목당 1~2행, 최신 → 1분 전 순서)
+        Map<String, List<StockCandle1m>> candlesBySymbol = new HashMap<>();
+        for (StockCandle1m candle : candleRepository.findLatestAndPreviousBySymbols(missing)) {
+            candlesBySymbol.computeIfAbsent(candle.getSymbol(), k -> new ArrayList<>(2)).add(candle);
+        }
+
+        for (String symbol : missing) {
+            List<StockCandle1m> candles = candlesBySymbol.get(symbol);
+            if (candles == null || candles.isEmpty()) {
+                result.put(symbol, emptyQuote(symbol));
+                continue;
+            }
+            result.put(symbol, buildQuote(candles.get(0), candles.size() > 1 ? candles.get(1) : null));
+        }
 
-        // 3. 이전 캔들 조회 (1분 전)
-        // - 변동 계산을 위해 필요
-        LocalDateTime previousTime = candle.getTimestamp().minusMinutes(1);
-        Optional<StockCandle1m> previousCandle = candleRepository
-                .findBySymbolAndTimestamp(symbol, previousTime);
+        log.debug("실시간 일괄 조회: {}개 종목 (스냅샷 없음: {}개)", symbols.size(), missing.size());
+        return result;
+    }
 
-        // 4. 이전 종가 결정
-        BigDecimal previousClose = previousCandle
-                .map(StockCandle1m::getClose) // 있으면 그 종가
-                .orElse(candle.getClose()); // 없으면 현재 종가 (변동 0)
+    /**
+     * 최신 캔들 + 1분 전 캔들 → 실시간 정보 Map
+     *
+     * @param candle   최신 캔들
+     * @param previous 1분 전 캔들 (없으면 null → 변동 0)
+     */
+    private Map<String, Object> buildQuote(StockCandle1m candle, StockCandle1m previous) {
+        // 1. 이전 종가 결정
+        BigDecimal previousClose = previous != null
+                ? previous.getClose() // 있으면 그 종가
+                : candle.getClose(); // 없으면 현재 종가 (변동 0)
 
-        // 5. 등락폭 계산 (change = 현재 - 이전)
+        // 2. 등락폭 계산 (change = 현재 - 이전)
         BigDecimal change = candle.getClose().subtract(previousClose);
 
-        // 6. 등락률 계산 (changePercent = change / previousClose × 100)
+        // 3. 등락률 계산 (changePercent = change / previousClose × 100)
         BigDecimal changePercent = BigDecimal.ZERO;
 
         if (previousClose.compareTo(BigDecimal.ZERO) != 0) {
@@ -195,15 +272,9 @@ public class StockService {
                     .multiply(BigDecimal.valueOf(100)); // 퍼센트 변환
         }
 
-        // 로그 출력 (간결한 정보)
-        log.info("{} - 실시간: ${} ({}%)",
-                symbol,
-                candle.getClose(),
-                changePercent.setScale(2, RoundingMode.HALF_UP));
-
-        // 7. 결과 Map 생성
+        // 4. 결과 Map 생성
         Map<String, Object> result = new HashMap<>();
-        result.put("symbol", symbol);
+        result.put("symbol", candle.getSymbol());
         result.put("price", candle.getClose()); // 현재가
         result.put("change", change); // 등락폭
         result.put("changePercent", changePercent); // 등락률
@@ -213,11 +284,58 @@ public class StockService {
         result.put("open", candle.getOpen()); // 시가
         result.put("previousClose", previousClose); // 전일 종가
         result.put("timestamp", candle.getTimestamp()); // 데이터 시각
+        result.put("stale", quoteRegistry.isFeedStale()); // 실시간 수집 지연 여부
         result.put("error", false); // 정상
 
         return result;
     }
 
+    /**
+     * 시세 스냅샷 → 실시간 정보 Map
+     *
+     * - 이전 종가 규칙은 기존과 동일: 직전 캔들이 정확히 1분 전일 때만 사용, 아니면 변동 0
+     */
+    private Map<String, Object> buildQuote(QuoteSnapshot snapshot) {
+        StockCandle1m candle = StockCandle1m.builder()
+                .symbol(snapshot.getSymbol())
+                .timestamp(snapshot.getTimestamp())
+                .open(snapshot.getOpen())
+                .high(snapshot.getHigh())
+                .low(snapshot.getLow())
+                .close(snapshot.getPrice())
+                .volume(snapshot.getVolume())
+                .build();
+
+        StockCandle1m previous = null;
+        if (snapshot.getPreviousTimestamp() != null
+                && snapshot.getPreviousTimestamp().isEqual(snapshot.getTimestamp().minusMinutes(1))) {
+            previous = StockCandle1m.builder().close(snapshot.getPreviousClose()).build();
+        }
+
+        Map<String, Object> result = buildQuote(candle, previous);
+        result.put("version", snapshot.getVersion()); // 변경 여부 판단용
+        return result;
+    }
+
+    /**
+     * 데이터 없는 종목 기본값 (error: true)
+     */
+    private Map<String, Object> emptyQuote(String symbol) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("symbol", symbol);
+        result.put("price", BigDecimal.ZERO);
+        result.put("change", BigDecimal.ZERO);
+        result.put("changePercent", BigDecimal.ZERO);
+        result.put("volume", 0L);
+        result.put("dayHigh", BigDecimal.ZERO);
+        result.put("dayLow", BigDecimal.ZERO);
+        result.put("open", BigDecimal.ZERO);
+        result.put("previousClose", BigDecimal.ZERO);
+        result.put("error", true); // 에러 플래그
+        result.put("message", "No data available - waiting for collection");
+        return result;
+    }
+
     /**
      * 과거 데이터 조회 (차트용, 기간 제한 있음)
      * 
@@ -234,7 +352,7 @@ public class StockService {
      * 
      * 타임프레임 처리:
      * - 1m: 원본 1분봉 그대로 반환
-     * - 5m, 15m, 1h, 4h, 1d: aggregateByTimeframe() 호출
+     * - 5m, 15m, 1h, 4h, 1d: 롤업 테이블 조회 (미구축 종목은 aggregateByTimeframe() 호출)
      * 
      * 데이터 양 예상:
      * - 1일 (1m): ~390개 (6.5시간 × 60분)
@@ -275,26 +393,38 @@ public class StockService {
 
         log.debug("{} - 조회 기간: {} ~ {}", symbol, from, to);
 
-        // 2. MySQL에서 1분봉 조회 (기간 필터)
-        List<StockCandle1m> oneMinData = candleRepository
-                .findBySymbolAndTimestampBetweenOrderByTimestampAsc(symbol, from, to);
+        // 2. 롤업 테이블이 구축된 타임프레임이면 롤업에서 바로 조회
+        // - 첫 버킷이 잘리지 않도록 from을 버킷 경계로 내림
+        if (hasRollup(symbol, timeframe)) {
+            LocalDateTime bucketFrom = CandleRollupService.bucketStart(from, getIntervalMinutes(timeframe));
+            List<StockData> result = convertRollupToStockData(rollupRepository
+                    .findBySymbolAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+                            symbol, timeframe, bucketFrom, to));
+            log.info("{} - {}봉 롤업 조회: {}개", symbol, timeframe, result.size());
+            return result;
+        }
+
+        // 3. 1분봉 조회 (HotCandleStore 우선, 범위 밖이면 MySQL)
+        List<StockCandle1m> oneMinData = hotCandleStore.findRange(symbol, from, to)
+                .orElseGet(() -> candleRepository
+                        .findBySymbolAndTimestampBetweenOrderByTimestampAsc(symbol, from, to));
 
-        log.info("{} - MySQL 조회 결과: {}개", symbol, oneMinData.size());
+        log.info("{} - 1분봉 조회 결과: {}개", symbol, oneMinData.size());
 
-        // 3. 데이터 없음 체크
+        // 4. 데이터 없음 체크
         if (oneMinData.isEmpty()) {
             log.warn("{} - 조회된 데이터 없음! (historical_loader.py 실행 필요)", symbol);
             return Collections.emptyList();
         }
 
-        // 4. 1분봉이면 변환 후 바로 반환
+        // 5. 1분봉이면 변환 후 바로 반환
         if ("1m".equals(timeframe)) {
             List<StockData> result = convertToStockData(oneMinData);
             log.info("{} - 1분봉 반환: {}개", symbol, result.size());
             return result;
         }
 
-        // 5. 타임프레임 집계 (5m, 1h, 1d 등)
+        // 6. 타임프레임 집계 (5m, 1h, 1d 등)
         List<StockData> aggregated = aggregateByTimeframe(oneMinData, timeframe);
         log.info("{} - {}봉 집계 완료: {}개", symbol, timeframe, aggregated.size());
 
@@ -350,7 +480,7 @@ public class StockService {
      * @param timeframe  목표 타임프레임
      * @return List<StockData> 집계된 데이터
      */
-    private List<StockData> aggregateByTimeframe(List<StockCandle1m> oneMinData, String timeframe) {
+    List<StockData> aggregateByTimeframe(List<StockCandle1m> oneMinData, String timeframe) {
         // 1. 타임프레임 → 분 단위 변환
         int intervalMinutes = getIntervalMinutes(timeframe);
         log.debug("집계 간격: {}분", intervalMinutes);
@@ -532,6 +662,57 @@ public class StockService {
         };
     }
 
+    /**
+     * 롤업 조회 가능 여부
+     * 
+     * - 5m/15m/1h/4h/1d 이면서 해당 종목 롤업이 첫 1분봉부터 완성되어 있어야 함
+     *   (stock_candle_rollup_complete, 재구축 완료 시 기록)
+     * - 롤업 행이 있어도 완성 표시가 없으면 폴백 (실시간 증분 갱신은 기동 이후 버킷만 만듦)
+     * - 미구축 종목은 기존 1분봉 집계 경로로 폴백
+     */
+    private boolean hasRollup(String symbol, String timeframe) {
+        if (!CandleRollupService.isRollupResolution(timeframe)) {
+            return false;
+        }
+        if (completeRollups.contains(symbol)) {
+            return true;
+        }
+        if (rollupRepository.countCompleteBySymbol(symbol) > 0) {
+            completeRollups.add(symbol);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 롤업 완성 여부 변경 (CandleRollupService: 재구축 시작 시 false, 완료 시 true)
+     */
+    public void setRollupComplete(String symbol, boolean complete) {
+        if (complete) {
+            completeRollups.add(symbol);
+        } else {
+            completeRollups.remove(symbol);
+        }
+    }
+
+    /**
+     * 롤업 엔티티 → DTO 변환
+     */
+    private List<StockData> convertRollupToStockData(List<StockCandleRollup> rollups) {
+        return rollups.stream()
+                .map(rollup -> StockData.builder()
+                        .date(Date.from(rollup.getBucketStart()
+                                .atZone(ZoneId.systemDefault())
+                                .toInstant()))
+                        .open(rollup.getOpen())
+                        .high(rollup.getHigh())
+                        .low(rollup.getLow())
+                        .close(rollup.getClose())
+                        .volume(rollup.getVolume())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     /**
      * StockCandle1m 엔티티를 StockData DTO로 변환
      * 
@@ -611,45 +792,15 @@ public class StockService {
      * - 지지선/저항선
      * 
      * 성능:
-     * - O(n × period)
-     * - 2730개 × 20 = 54,600 연산
-     * - ~1-2ms
-     * 
-     * 개선 방안:
-     * - EMA (Exponential MA): 가중 평균
-     * - 슬라이딩 윈도우: 중복 계산 제거
+     * - IndicatorEngine 슬라이딩 합 (고정소수점 long) - O(n)
+     * - 결과는 기존 BigDecimal 구현과 동일 (소수점 2자리 HALF_UP)
      * 
      * @param data   주가 데이터 (StockData 리스트)
      * @param period 이동평균 기간 (일수)
      * @return List<BigDecimal> 이동평균선 값들 (null 포함)
      */
     public List<BigDecimal> calculateMA(List<StockData> data, int period) {
-        List<BigDecimal> ma = new ArrayList<>();
-
-        // 각 데이터 포인트에 대해 MA 계산
-        for (int i = 0; i < data.size(); i++) {
-            // 데이터 부족 체크
-            if (i < period - 1) {
-                ma.add(null); // 계산 불가
-                continue;
-            }
-
-            // period개의 종가 합산
-            BigDecimal sum = BigDecimal.ZERO;
-            for (int j = 0; j < period; j++) {
-                sum = sum.add(data.get(i - j).getClose());
-            }
-
-            // 평균 계산 (소수점 2자리)
-            BigDecimal average = sum.divide(
-                    BigDecimal.valueOf(period),
-                    2, // 소수점 2자리
-                    RoundingMode.HALF_UP); // 반올림
-
-            ma.add(average);
-        }
-
-        return ma;
+        return indicatorEngine.sma(data, period);
     }
 
     /**
@@ -698,86 +849,72 @@ public class StockService {
      * - 범위 돌파: RSI가 50 돌파 (추세 전환)
      * 
      * 성능:
-     * - O(n × period)
-     * - 2730개 × 14 = 38,220 연산
-     * - ~1-2ms
+     * - IndicatorEngine 슬라이딩 합 (고정소수점 long) - O(n)
+     * - 반올림 단계가 기존 BigDecimal 구현과 같아 결과 동일
+     * - Wilder 평활 RSI가 필요하면 calculateIndicators("WRSI") 사용
      * 
      * @param data   주가 데이터
      * @param period RSI 계산 기간 (일반적으로 14)
      * @return List<BigDecimal> RSI 값들 (0~100, null 포함)
      */
     public List<BigDecimal> calculateRSI(List<StockData> data, int period) {
-        List<BigDecimal> rsi = new ArrayList<>();
-
-        // 데이터 부족 체크
         if (data.size() < period + 1) {
             log.warn("RSI 계산 불가: 데이터 부족 (필요: {}개, 실제: {}개)", period + 1, data.size());
-            return rsi;
         }
+        return indicatorEngine.rsi(data, period);
+    }
 
-        // 1. 가격 변동 계산
-        List<BigDecimal> gains = new ArrayList<>(); // 상승분
-        List<BigDecimal> losses = new ArrayList<>(); // 하락분
-
-        for (int i = 1; i < data.size(); i++) {
-            // 변동 = 현재 종가 - 이전 종가
-            BigDecimal change = data.get(i).getClose()
-                    .subtract(data.get(i - 1).getClose());
-
-            // 상승분: max(change, 0)
-            gains.add(change.max(BigDecimal.ZERO));
+    /**
+     * 기술지표 일괄 계산
+     *
+     * - 종가 배열 변환을 한 번만 수행하고 요청된 모든 지표가 공유
+     * - 지원 지표 및 이름 규칙은 IndicatorEngine 참고
+     *   (MA{n}, RSI, WRSI, EMA{n}, MACD, BB, STOCH)
+     *
+     * @param data       주가 데이터 (시간순)
+     * @param indicators 지표 이름 목록
+     * @return 지표 이름 → 값 목록 (null 포함)
+     */
+    public Map<String, List<BigDecimal>> calculateIndicators(List<StockData> data, Collection<String> indicators) {
+        return indicatorEngine.calculate(data, indicators);
+    }
 
-            // 하락분: abs(min(change, 0))
-            losses.add(change.min(BigDecimal.ZERO).abs());
+    /**
+     * 기술지표 일괄 계산 (캐시 경유)
+     *
+     * - MA{n}, RSI{n}: IndicatorCache (이전 요청 결과에 마지막 캔들부터만 증분 계산)
+     * - 나머지 지표: IndicatorEngine으로 매번 계산
+     *
+     * @param symbol     종목 심볼
+     * @param timeframe  타임프레임
+     * @param window     조회 구간 구분 (예: "d1", "all")
+     * @param data       주가 데이터 (시간순)
+     * @param indicators 지표 이름 목록
+     * @return 지표 이름 → 값 목록 (null 포함)
+     */
+    public Map<String, List<BigDecimal>> calculateIndicators(String symbol, String timeframe, String window,
+            List<StockData> data, Collection<String> indicators) {
+        if (!indicatorCache.isEnabled()) {
+            return indicatorEngine.calculate(data, indicators);
         }
 
-        // 2. RSI 계산
-        for (int i = 0; i < gains.size(); i++) {
-            // 데이터 부족 체크
-            if (i < period - 1) {
-                rsi.add(null);
-                continue;
-            }
-
-            // 평균 상승분 계산
-            BigDecimal avgGain = BigDecimal.ZERO;
-            BigDecimal avgLoss = BigDecimal.ZERO;
-
-            for (int j = 0; j < period; j++) {
-                avgGain = avgGain.add(gains.get(i - j));
-                avgLoss = avgLoss.add(losses.get(i - j));
-            }
-
-            avgGain = avgGain.divide(
-                    BigDecimal.valueOf(period),
-                    4, // 소수점 4자리
-                    RoundingMode.HALF_UP);
+        Map<String, List<BigDecimal>> result = new LinkedHashMap<>();
+        List<String> uncached = new ArrayList<>();
 
-            avgLoss = avgLoss.divide(
-                    BigDecimal.valueOf(period),
-                    4,
-                    RoundingMode.HALF_UP);
-
-            // RSI 계산
-            if (avgLoss.compareTo(BigDecimal.ZERO) == 0) {
-                // 모두 상승: RSI = 100
-                rsi.add(BigDecimal.valueOf(100));
+        for (String raw : indicators) {
+            String name = raw.trim().toUpperCase();
+            if (IndicatorCache.isCacheable(name)) {
+                result.put(name, indicatorCache.get(symbol, timeframe, window, name, data));
             } else {
-                // RS = 평균 상승 / 평균 하락
-                BigDecimal rs = avgGain.divide(avgLoss, 4, RoundingMode.HALF_UP);
-
-                // RSI = 100 - (100 / (1 + RS))
-                BigDecimal rsiValue = BigDecimal.valueOf(100).subtract(
-                        BigDecimal.valueOf(100).divide(
-                                BigDecimal.ONE.add(rs),
-                                2, // 소수점 2자리
-                                RoundingMode.HALF_UP));
-
-                rsi.add(rsiValue);
+                uncached.add(name);
             }
         }
 
-        return rsi;
+        if (!uncached.isEmpty()) {
+            result.putAll(indicatorEngine.calculate(data, uncached));
+        }
+
+        return result;
     }
 
     /**
@@ -839,11 +976,20 @@ public class StockService {
     public List<StockData> getAllHistoricalData(String symbol, String timeframe) {
         log.info("{} - 전체 데이터 조회 시작 (타임프레임: {})", symbol, timeframe);
 
-        // 1. MySQL에서 전체 데이터 조회 (days 제한 없음)
-        List<StockCandle1m> oneMinData = candleRepository
-                .findBySymbolOrderByTimestampAsc(symbol);
+        // 롤업 테이블이 구축된 타임프레임이면 롤업에서 바로 조회
+        if (hasRollup(symbol, timeframe)) {
+            List<StockData> result = convertRollupToStockData(rollupRepository
+                    .findBySymbolAndResolutionOrderByBucketStartAsc(symbol, timeframe));
+            log.info("{} - {}봉 롤업 조회: {}개 (전체)", symbol, timeframe, result.size());
+            return result;
+        }
+
+        // 1. 전체 데이터 조회 (days 제한 없음)
+        // - HotCandleStore가 종목 전체 이력을 보유한 경우 메모리에서 응답
+        List<StockCandle1m> oneMinData = hotCandleStore.findAll(symbol)
+                .orElseGet(() -> candleRepository.findBySymbolOrderByTimestampAsc(symbol));
 
-        log.info("{} - MySQL 조회 결과: {}개 (전체)", symbol, oneMinData.size());
+        log.info("{} - 1분봉 조회 결과: {}개 (전체)", symbol, oneMinData.size());
 
         // 2. 데이터 없음 체크
         if (oneMinData.isEmpty()) {
@@ -873,39 +1019,9 @@ public class StockService {
 
     // ========================================
     // 향후 추가 가능한 기술지표 (TODO)
+    // - MACD / 볼린저밴드 / 스토캐스틱은 IndicatorEngine에 구현됨 (MACD, BB, STOCH)
     // ========================================
 
-    /**
-     * TODO: MACD (Moving Average Convergence Divergence)
-     * 
-     * public Map<String, List<BigDecimal>> calculateMACD(List<StockData> data) {
-     * // EMA(12) - EMA(26)
-     * // Signal Line: EMA(9) of MACD
-     * // Histogram: MACD - Signal
-     * }
-     */
-
-    /**
-     * TODO: 볼린저 밴드 (Bollinger Bands)
-     * 
-     * public Map<String, List<BigDecimal>> calculateBollingerBands(
-     * List<StockData> data, int period, double stdDev) {
-     * // Upper Band: MA + (stdDev × σ)
-     * // Middle Band: MA
-     * // Lower Band: MA - (stdDev × σ)
-     * }
-     */
-
-    /**
-     * TODO: 스토캐스틱 (Stochastic Oscillator)
-     * 
-     * public Map<String, List<BigDecimal>> calculateStochastic(
-     * List<StockData> data, int period) {
-     * // %K = (Close - Low) / (High - Low) × 100
-     * // %D = MA(%K, 3)
-     * }
-     */
-
     /**
      * TODO: ATR (Average True Range) - 변동성 지표
      * 
@@ -0,0 +1,313 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weenie_hut_jr.the_salty_spitoon.config.WorkloadExecutors;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스트림 수집 서버 (Unix 도메인 소켓 + NDJSON)
+ *
+ * 역할:
+ * - 수집기(start.py)가 1분마다 JSON 파일 전체를 다시 쓰고 Java가 다시 읽는 대신,
+ *   캔들 1건 = JSON 1줄로 소켓에 바로 전송
+ * - 줄 단위로 파싱하며 모았다가 IngestPipeline(validate 단계부터)으로 같은 저장 / 반영 경로 사용
+ * - 파이프라인 큐가 가득 차면 flush에서 대기 → 소켓 읽기가 멈춰 수집기 쪽 전송도 느려짐 (배압)
+ *
+ * 프로토콜 (한 줄 = JSON 객체 1개, UTF-8):
+ * - 캔들: {"symbol":"AAPL","timestamp":"2026-01-12 09:31:00","open":"...","high":"...","low":"...","close":"...","volume":123}
+ * - 묶음 끝: {"type":"flush"} → 지금까지 받은 캔들을 한 번에 저장
+ * - 묶음 끝 응답: {"type":"ack","records":N} (파이프라인에 넘긴 뒤, 수집기는 ack를 못 받으면 파일로 폴백)
+ * - max-batch 행이 쌓이거나 연결이 끊겨도 저장
+ *
+ * 폴백:
+ * - 소켓이 없거나 연결 실패 시 websocket_publisher.py가 latest_data.json에 기록
+ *   → IngestFileWatcher / FileDataCollector 폴링 경로로 처리
+ *
+ * 연결 읽기:
+ * - 연결마다 ingest 실행기 작업 1개
+ * - 실행기가 가득 차면 그 연결을 닫음 (수락 스레드는 읽지 않음 → 다른 연결 수락은 계속)
+ *   → 수집기가 다시 연결하거나 파일 경로로 폴백
+ *
+ * 부하 테스트:
+ * - python/stream_stub.py: 네트워크 없이 가짜 캔들을 소켓에 전송
+ *
+ * 설정 (application.properties):
+ * - ingest.stream.enabled: 사용 여부 (기본 true)
+ * - ingest.stream.socket-path: 소켓 파일 경로 (PythonManager가 수집기에 환경변수로 전달)
+ * - ingest.stream.max-batch: 묶음 끝 표시 전이라도 저장하는 행 수
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-12
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamIngestServer {
+
+    private final FileDataCollector fileDataCollector;
+    private final IngestPipeline pipeline;
+    private final WorkloadExecutors workloadExecutors;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${ingest.stream.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingest.stream.socket-path:python/output/ingest.sock}")
+    private String socketPath;
+
+    @Value("${ingest.stream.max-batch:1000}")
+    private int maxBatch;
+
+    private volatile ServerSocketChannel server;
+    private volatile boolean running = false;
+
+    // 통계
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong rejectedConnections = new AtomicLong();
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong parseErrors = new AtomicLong();
+    private final AtomicLong failedRecords = new AtomicLong();
+    private final AtomicLong ingestMillis = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSocketPath() {
+        return socketPath;
+    }
+
+    /**
+     * 애플리케이션 기동 후 소켓 바인딩 + 연결 수락 스레드 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("[Stream] Disabled - file ingest only");
+            return;
+        }
+
+        Path path = Paths.get(socketPath);
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // 이전 실행이 남긴 소켓 파일 제거 (남아 있으면 bind 실패)
+            Files.deleteIfExists(path);
+
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(path));
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("[Stream] Failed to bind {} - file ingest only: {}", path, e.getMessage());
+            close();
+            return;
+        }
+
+        running = true;
+        // 수락 루프는 종료 시까지 listener 실행기 스레드 1개 점유 (연결 읽기는 ingest 실행기)
+        try {
+            workloadExecutors.execute(WorkloadExecutors.LISTENER, this::acceptLoop);
+        } catch (TaskRejectedException e) {
+            log.warn("[Stream] Listener executor full - file ingest only");
+            running = false;
+            close();
+            return;
+        }
+
+        log.info("[Stream] Listening on {} (maxBatch={})", path.toAbsolutePath(), maxBatch);
+    }
+
+    /**
+     * 연결 수락 루프 (연결마다 ingest 실행기 작업 1개)
+     */
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                connections.incrementAndGet();
+
+                try {
+                    workloadExecutors.execute(WorkloadExecutors.INGEST, () -> readLoop(channel));
+                } catch (TaskRejectedException e) {
+                    rejectedConnections.incrementAndGet();
+                    log.warn("[Stream] Ingest executor full - closing connection (collector reconnects or falls back to file)");
+                    closeQuietly(channel);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("[Stream] Accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("[Stream] Close failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 연결 1개의 NDJSON 읽기
+     */
+    private void readLoop(SocketChannel channel) {
+        List<StockCandle1m> buffer = new ArrayList<>();
+        long firstReceivedAt = 0;
+
+        try (BufferedReader reader = new BufferedReader(
+                Channels.newReader(channel, StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    parseErrors.incrementAndGet();
+                    log.warn("[Stream] Invalid record: {}", e.getMessage());
+                    continue;
+                }
+
+                if ("flush".equals(node.path("type").asText())) {
+                    int size = buffer.size();
+                    flush(buffer, firstReceivedAt);
+                    ack(channel, size);
+                    continue;
+                }
+
+                StockCandle1m candle = fileDataCollector.parseCandle(node.path("symbol").asText(), node);
+                if (candle == null) {
+                    parseErrors.incrementAndGet();
+                    continue;
+                }
+
+                if (buffer.isEmpty()) {
+                    firstReceivedAt = System.currentTimeMillis();
+                }
+                buffer.add(candle);
+                records.incrementAndGet();
+
+                if (buffer.size() >= maxBatch) {
+                    flush(buffer, firstReceivedAt);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[Stream] Connection closed with error: {}", e.getMessage());
+        } finally {
+            // 연결 종료 시 남은 캔들 저장
+            flush(buffer, firstReceivedAt);
+        }
+    }
+
+    /**
+     * 묶음 수신 확인 (수집기가 끊긴 뒤면 무시, 남은 줄은 계속 읽음)
+     */
+    private void ack(SocketChannel channel, int records) {
+        ByteBuffer ack = ByteBuffer.wrap(("{\"type\":\"ack\",\"records\":" + records + "}\n")
+                .getBytes(StandardCharsets.UTF_8));
+        try {
+            while (ack.hasRemaining()) {
+                channel.write(ack);
+            }
+        } catch (IOException e) {
+            log.debug("[Stream] Ack not delivered: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 모인 캔들 저장 후 버퍼 비우기
+     */
+    private void flush(List<StockCandle1m> buffer, long receivedAt) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int size = buffer.size();
+
+        // 파이프라인이 가득 차 있으면 여기서 대기 (소켓 읽기가 멈춰 수집기 쪽으로 배압 전달)
+        pipeline.submitRealtime("stream", new ArrayList<>(buffer), receivedAt)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        failedRecords.addAndGet(size);
+                    }
+                    ingestMillis.addAndGet(System.currentTimeMillis() - startTime);
+                });
+
+        batches.incrementAndGet();
+        buffer.clear();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        close();
+    }
+
+    private void close() {
+        try {
+            if (server != null) {
+                server.close();
+            }
+            Files.deleteIfExists(Paths.get(socketPath));
+        } catch (IOException e) {
+            log.debug("[Stream] Close failed: {}", e.getMessage());
+        }
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    public Map<String, Object> getStats() {
+        long recordCount = records.get();
+        long millis = ingestMillis.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running);
+        stats.put("socketPath", socketPath);
+        stats.put("connections", connections.get());
+        stats.put("rejectedConnections", rejectedConnections.get());
+        stats.put("records", recordCount);
+        stats.put("batches", batches.get());
+        stats.put("parseErrors", parseErrors.get());
+        stats.put("failedRecords", failedRecords.get());
+        stats.put("avgRecordsPerSecond", recordCount * 1000.0 / Math.max(1, millis));
+        return stats;
+    }
+}
@@ -0,0 +1,162 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import java.util.*;
+
+/**
+ * WebSocket 토픽별 순번(seq) + 최근 메시지 보관 (재연결 클라이언트 재전송용)
+ *
+ * 순번:
+ * - 토픽마다 1씩 증가, 시작 값은 기동 시각(ms) → 서버가 재시작해도 이전 순번보다 큼
+ *   (토픽당 1ms에 1건 이상 보내지 않는 한)
+ * - 구독자가 없어 보내지 않은 메시지도 순번은 소비 (next만 호출) → 보관 목록이 끊기므로 재전송 불가
+ *
+ * 보관:
+ * - 토픽마다 최근 capacity건의 직렬화된 본문 (순번이 연속인 것만)
+ * - since(): 클라이언트의 마지막 순번 이후를 빠짐없이 갖고 있을 때만 돌려줌, 아니면 스냅샷 필요
+ *
+ * 호출은 TickBroadcaster의 전송 잠금 안에서 (next → record 순서가 토픽별로 섞이지 않음)
+ *
+ * 브로커 중계 (2026-01-20):
+ * - 다른 서버가 보낸 메시지는 observe()로 그 서버의 순번 그대로 보관 (이미 본 순번 이하는 무시)
+ *   → 어느 서버에 재연결해도 같은 순번 기준으로 재전송
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-19
+ */
+public class StreamReplayBuffer {
+
+    private final int capacity;
+    private final long initialSeq;
+    private final Map<String, Stream> streams = new HashMap<>();
+
+    private static final class Stream {
+        private long seq;
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+        private Stream(long seq) {
+            this.seq = seq;
+        }
+    }
+
+    private static final class Entry {
+        private final long seq;
+        private final byte[] body;
+
+        private Entry(long seq, byte[] body) {
+            this.seq = seq;
+            this.body = body;
+        }
+    }
+
+    public StreamReplayBuffer(int capacity, long initialSeq) {
+        this.capacity = Math.max(1, capacity);
+        this.initialSeq = initialSeq;
+    }
+
+    /**
+     * 다음 순번 발급
+     */
+    public synchronized long next(String destination) {
+        return stream(destination).seq += 1;
+    }
+
+    /**
+     * 마지막으로 발급한 순번 (보낸 적 없으면 시작 값)
+     */
+    public synchronized long current(String destination) {
+        Stream stream = streams.get(destination);
+        return stream != null ? stream.seq : initialSeq;
+    }
+
+    /**
+     * 보낸 메시지 보관 (직전 보관분과 순번이 이어지지 않으면 이전 것은 버림)
+     */
+    public synchronized void record(String destination, long seq, byte[] body) {
+        Stream stream = stream(destination);
+        Entry last = stream.entries.peekLast();
+        if (last != null && last.seq != seq - 1) {
+            stream.entries.clear();
+        }
+
+        stream.entries.addLast(new Entry(seq, body));
+        while (stream.entries.size() > capacity) {
+            stream.entries.removeFirst();
+        }
+    }
+
+    /**
+     * 브로커에서 받은 메시지 보관 (다른 서버가 발급한 순번, 이미 본 순번 이하면 무시)
+     *
+     * @return 새 메시지면 true
+     */
+    public synchronized boolean observe(String destination, long seq, byte[] body) {
+        Stream stream = streams.get(destination);
+        if (stream != null && seq <= stream.seq) {
+            return false;
+        }
+        if (stream == null) {
+            stream = stream(destination);
+        }
+        stream.seq = seq;
+        record(destination, seq, body);
+        return true;
+    }
+
+    /**
+     * 순번을 발급 / 관찰한 적 있는 토픽인지
+     */
+    public synchronized boolean contains(String destination) {
+        return streams.containsKey(destination);
+    }
+
+    /**
+     * lastSeq 이후 메시지 (빠짐없이 보관 중일 때만, 놓친 것이 없으면 빈 목록)
+     *
+     * @return 재전송할 본문 (순번 순), 보관 범위를 벗어나면 empty → 스냅샷
+     */
+    public synchronized Optional<List<byte[]>> since(String destination, long lastSeq) {
+        long current = current(destination);
+        if (lastSeq == current) {
+            return Optional.of(Collections.emptyList());
+        }
+
+        Stream stream = streams.get(destination);
+        if (lastSeq > current || stream == null || stream.entries.isEmpty()
+                || stream.entries.peekLast().seq != current || stream.entries.peekFirst().seq > lastSeq + 1) {
+            return Optional.empty();
+        }
+
+        List<byte[]> missed = new ArrayList<>();
+        for (Entry entry : stream.entries) {
+            if (entry.seq > lastSeq) {
+                missed.add(entry.body);
+            }
+        }
+        return Optional.of(missed);
+    }
+
+    /**
+     * 토픽 수 / 보관 메시지 수 / 보관 바이트
+     */
+    public synchronized Map<String, Object> getStats() {
+        long entries = 0;
+        long bytes = 0;
+        for (Stream stream : streams.values()) {
+            entries += stream.entries.size();
+            for (Entry entry : stream.entries) {
+                bytes += entry.body.length;
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacityPerTopic", capacity);
+        stats.put("topics", streams.size());
+        stats.put("bufferedMessages", entries);
+        stats.put("bufferedBytes", bytes);
+        return stats;
+    }
+
+    private Stream stream(String destination) {
+        return streams.computeIfAbsent(destination, key -> new Stream(initialSeq));
+    }
+}
@@ -0,0 +1,87 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.util.List;
+
+/**
+ * 구독 직후 스냅샷 / 놓친 메시지 재전송
+ *
+ * 역할:
+ * - SessionSubscribeEvent마다 TickBroadcaster.catchUp()이 만든 메시지를 구독한 세션에만 전송
+ *   (브로커를 거치지 않고 clientOutboundChannel로 직접 → 다른 구독자에게는 안 감)
+ * - resume:{seq} 헤더가 있으면 그 이후 메시지 재전송 (보관 범위를 벗어났으면 스냅샷)
+ *
+ * 실시간 캔들 토픽이 아니면 (예: /topic/admin/progress) 아무것도 보내지 않음
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-19
+ */
+@Slf4j
+@Service
+public class StreamResumeHandler {
+
+    private final MessageChannel clientOutboundChannel;
+    private final TickBroadcaster tickBroadcaster;
+
+    public StreamResumeHandler(@Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                               TickBroadcaster tickBroadcaster) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.tickBroadcaster = tickBroadcaster;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+
+        destination = TickBroadcaster.negotiatedDestination(destination,
+                accessor.getFirstNativeHeader(TickBroadcaster.FORMAT_HEADER));
+        Long resumeSeq = parseSeq(accessor.getFirstNativeHeader(TickBroadcaster.RESUME_HEADER));
+
+        List<byte[]> bodies = tickBroadcaster.catchUp(destination, resumeSeq);
+        for (byte[] body : bodies) {
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setSessionId(sessionId);
+            headers.setSubscriptionId(subscriptionId);
+            headers.setDestination(destination);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setLeaveMutable(true);
+            clientOutboundChannel.send(MessageBuilder.createMessage(body, headers.getMessageHeaders()));
+        }
+
+        if (!bodies.isEmpty()) {
+            log.debug("[Broadcast] Sent {} catch-up message(s) for {} to session {} (resume={})",
+                    bodies.size(), destination, sessionId, resumeSeq);
+        }
+    }
+
+    /**
+     * resume 헤더 값 (숫자가 아니면 처음 구독으로 취급)
+     */
+    private Long parseSeq(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP 구독 현황 (토픽별 구독 수)
+ *
+ * 역할:
+ * - SessionSubscribeEvent / SessionUnsubscribeEvent / SessionDisconnectEvent로 세션별 구독 추적
+ * - TickBroadcaster가 구독자 없는 토픽은 직렬화 / 전송 생략 (hasSubscribers)
+ * - 토픽별 구독 수 통계 (용량 계획용)
+ *
+ * 토픽 이름:
+ * - format:compact 헤더 구독은 WebSocketConfig가 바꾼 /topic/compact/... 기준으로 집계
+ *   (이벤트 시점에 아직 안 바뀐 경우도 같은 규칙으로 변환)
+ * - /topic/stock/** 같은 패턴 구독은 따로 보관, 토픽 이름과 패턴 일치로 판단 (단순 브로커와 같은 규칙)
+ *
+ * 상태 조회: GET /admin/subscriptions
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-19
+ */
+@Service
+public class SubscriptionRegistry {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // 세션 → (구독 id → 토픽)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    // 토픽별 구독 수 (0이면 제거)
+    private final Map<String, Integer> topics = new ConcurrentHashMap<>();
+    // 패턴 구독별 구독 수 (0이면 제거)
+    private final Map<String, Integer> patterns = new ConcurrentHashMap<>();
+
+    private final AtomicLong subscribes = new AtomicLong();
+    private final AtomicLong unsubscribes = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+
+    // ========================================
+    // 이벤트
+    // ========================================
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+
+        destination = TickBroadcaster.negotiatedDestination(destination,
+                accessor.getFirstNativeHeader(TickBroadcaster.FORMAT_HEADER));
+        subscribes.incrementAndGet();
+        add(sessionId, subscriptionId, destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        unsubscribes.incrementAndGet();
+        remove(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnects.incrementAndGet();
+        removeSession(event.getSessionId());
+    }
+
+    // ========================================
+    // 등록 / 해제
+    // ========================================
+
+    synchronized void add(String sessionId, String subscriptionId, String destination) {
+        String previous = sessions.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        counter(destination).merge(destination, 1, Integer::sum);
+    }
+
+    synchronized void remove(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            decrement(destination);
+        }
+        if (subscriptions.isEmpty()) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    synchronized void removeSession(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    private void decrement(String destination) {
+        counter(destination).computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Map<String, Integer> counter(String destination) {
+        return pathMatcher.isPattern(destination) ? patterns : topics;
+    }
+
+    // ========================================
+    // 조회
+    // ========================================
+
+    /**
+     * 토픽에 구독자가 있는지 (직접 구독 또는 패턴 구독)
+     */
+    public boolean hasSubscribers(String destination) {
+        if (topics.containsKey(destination)) {
+            return true;
+        }
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        for (String pattern : patterns.keySet()) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 세션 / 구독 수 + 토픽별 구독 수 (많은 순)
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Integer> byTopic = new LinkedHashMap<>();
+        topics.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> byTopic.put(entry.getKey(), entry.getValue()));
+
+        int subscriptions = 0;
+        for (Map<String, String> session : sessions.values()) {
+            subscriptions += session.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("subscriptions", subscriptions);
+        stats.put("topicCount", byTopic.size());
+        stats.put("topics", byTopic);
+        stats.put("patterns", new TreeMap<>(patterns));
+        stats.put("subscribeEvents", subscribes.get());
+        stats.put("unsubscribeEvents", unsubscribes.get());
+        stats.put("disconnectEvents", disconnects.get());
+        return stats;
+    }
+}
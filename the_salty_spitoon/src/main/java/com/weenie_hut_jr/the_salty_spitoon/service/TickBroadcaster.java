@@ -0,0 +1,656 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weenie_hut_jr.the_salty_spitoon.dto.QuoteSnapshot;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 캔들 WebSocket 전송 (종목별 합치기 + 전체 시장 묶음 프레임)
+ *
+ * 역할:
+ * - IngestPipeline publish 단계가 넘긴 캔들을 종목별로 최신 값 하나만 보관 (합치기)
+ * - interval-ms마다 보관된 종목을 한 번에 전송 → 종목당 전송은 주기마다 최대 1건
+ * - 같은 주기에 바뀐 전체 종목을 묶음 프레임 하나로 /topic/market에 전송
+ *   → 시장 전체를 보는 화면은 종목 토픽 ~100개 대신 하나만 구독
+ *
+ * 토픽:
+ * - /topic/stock/{symbol}: 기존과 같은 StockCandle1m 필드 + seq + quote (실시간 시세, /stock/api/realtime과 같은 형식)
+ * - /topic/market: {"t": 전송 시각(ms), "q": [[symbol, 분 시각(초), open, high, low, close, volume], ...], "seq": 순번}
+ *
+ * 합치기:
+ * - 전송 전에 같은 종목 캔들이 또 오면 교체 (더 이전 분 캔들로는 교체하지 않음 - 재적재)
+ * - 중간 값은 클라이언트에 안 가지만 DB / 메모리 저장소는 persist 단계에서 이미 반영됨
+ * - 직렬화는 한 번만 (바이트 수 측정 겸, 기존 메시지 변환기와 같은 ObjectMapper)
+ *
+ * 압축 형식 (2026-01-19):
+ * - 구독할 때 format:compact 헤더를 주면 /topic/compact/... 로 바뀜 (WebSocketConfig)
+ *   → 헤더 없는 기존 클라이언트는 그대로 JSON 엔티티 / 묶음 프레임
+ * - /topic/compact/stock/{symbol}, /topic/compact/market: CompactCandleEncoder 프레임
+ *   (위치 배열 + 1/100 단위 정수 + 종목별 직전 값 대비 차이, 주기적으로 전체 값)
+ *
+ * 구독자 없는 토픽 생략 (2026-01-19):
+ * - SubscriptionRegistry에 구독자가 없는 토픽은 직렬화 / 전송하지 않음 (단순 브로커는 받아서 버리기만 함)
+ * - 압축 형식도 인코딩은 항상 (구독 직후 스냅샷의 기준 값이 최신이어야 함), 직렬화 / 전송만 생략
+ * - websocket.publish.only-subscribed=false면 항상 전송 (다른 서버의 구독을 모르는 외부 브로커 구성 등)
+ *
+ * 순번 / 스냅샷 / 재개 (2026-01-19):
+ * - 모든 메시지에 토픽별 순번 seq (StreamReplayBuffer, 서버 재시작 후에도 증가)
+ * - 구독하면 StreamResumeHandler가 catchUp()으로 그 세션에만 현재 상태 스냅샷 전송 ("snapshot": true)
+ *   → 페이지 로드 시 REST 폴링 없이 바로 표시
+ * - 재연결 클라이언트는 resume:{마지막 seq} 헤더로 구독 → 보관 중이면 놓친 메시지 그대로 재전송, 아니면 스냅샷
+ * - 클라이언트는 seq가 마지막 값 이하인 메시지를 버림 (스냅샷 / 브로커 전송이 엇갈려 도착해도 되돌아가지 않음)
+ * - 압축 형식은 seq가 건너뛰면 기준 값이 어긋나므로 resume 헤더로 다시 구독
+ *
+ * 브로커 중계 (2026-01-20):
+ * - websocket.broker.mode=relay면 외부 STOMP 브로커가 구독자에게 전달 (여러 서버가 같은 토픽 공유)
+ * - 이 서버는 다른 서버의 구독을 모르므로 구독자 없는 토픽 생략은 끔 (only-subscribed 무시)
+ * - seq는 STOMP 헤더로도 보냄 → 다른 서버가 observe()로 같은 순번 그대로 재전송 / 스냅샷에 사용
+ *   (BrokerRelayMirror: 시장 토픽 두 개는 항상, 종목 토픽은 그 서버에 구독자가 있을 때)
+ * - 아직 관찰하지 못한 토픽의 스냅샷은 seq 0 (어떤 메시지보다도 이전 → 다음 메시지가 그대로 적용)
+ * - 캔들을 보내는 서버(수집기 실행)는 하나, 나머지는 전달만 (python.collector.enabled=false)
+ *
+ * 설정 (application.properties):
+ * - websocket.conflation.enabled: false면 받는 즉시 종목 토픽으로 전송 (묶음 프레임 없음)
+ * - websocket.conflation.interval-ms: 전송 주기 (전용 스레드 tick-flush, 공용 @Scheduled 스레드가 막혀도 계속 전송)
+ * - websocket.compact.keyframe-interval-ms: 압축 형식에서 종목별 전체 값을 다시 보내는 주기
+ * - websocket.publish.only-subscribed: 구독자 없는 토픽 생략 여부
+ * - websocket.replay.buffer-size: 토픽별 재전송용 보관 메시지 수
+ * - websocket.broker.mode: simple (이 서버 안의 단순 브로커) / relay (외부 STOMP 브로커)
+ *
+ * 통계: GET /admin/broadcast-stats (입력 / 출력 메시지, 합친 건수, 초당 메시지 / 바이트, 형식별 바이트, 생략 건수,
+ * 스냅샷 / 재전송 건수)
+ *
+ * @author The Salty Spitoon Team
+ * @since 2026-01-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TickBroadcaster {
+
+    public static final String SYMBOL_TOPIC_PREFIX = "/topic/stock/";
+    public static final String MARKET_TOPIC = "/topic/market";
+    private static final String TOPIC_PREFIX = "/topic";
+    private static final String COMPACT_PREFIX = "/topic/compact";
+
+    // 구독 형식 협상 헤더 (format:compact)
+    public static final String FORMAT_HEADER = "format";
+    public static final String COMPACT_FORMAT = "compact";
+
+    // 재개 헤더 (resume:{마지막으로 받은 seq})
+    public static final String RESUME_HEADER = "resume";
+
+    // 순번 헤더 (브로커 중계 시 다른 서버가 본문을 읽지 않고 순번 확인)
+    public static final String SEQ_HEADER = "seq";
+
+    // 초당 수치 계산 구간
+    private static final long RATE_WINDOW_MS = 10_000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final SubscriptionRegistry subscriptions;
+    private final QuoteRegistry quoteRegistry;
+    private final StockService stockService;
+
+    @Value("${websocket.conflation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${websocket.conflation.interval-ms:500}")
+    private long intervalMs;
+
+    // 실시간 캔들 timestamp의 시간대 (IngestPipeline과 같은 설정)
+    @Value("${ingest.candle-zone:Asia/Seoul}")
+    private String candleZone;
+
+    @Value("${websocket.compact.keyframe-interval-ms:300000}")
+    private long keyframeIntervalMs;
+
+    @Value("${websocket.publish.only-subscribed:true}")
+    private boolean onlySubscribed;
+
+    @Value("${websocket.replay.buffer-size:120}")
+    private int replayBufferSize;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    private boolean relay;
+
+    private CompactCandleEncoder compactEncoder;
+    private StreamReplayBuffer replay;
+
+    // 주기 전송 전용 스케줄러 (다른 @Scheduled 작업의 블로킹과 무관하게)
+    private ThreadPoolTaskScheduler flushScheduler;
+
+    // 전송 대기 중인 종목별 최신 캔들
+    private final Map<String, StockCandle1m> pending = new ConcurrentHashMap<>();
+
+    // 통계 (누적)
+    private final AtomicLong messagesIn = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong symbolMessagesOut = new AtomicLong();
+    private final AtomicLong marketFramesOut = new AtomicLong();
+    private final AtomicLong marketFrameSymbols = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong entityBytes = new AtomicLong();
+    private final AtomicLong marketBytes = new AtomicLong();
+    private final AtomicLong compactBytes = new AtomicLong();
+    private final AtomicLong compactMessagesOut = new AtomicLong();
+    private final AtomicLong compactKeyframes = new AtomicLong();
+    private final AtomicLong compactDeltas = new AtomicLong();
+    private final AtomicLong sendErrors = new AtomicLong();
+    private final AtomicLong skippedUnwatched = new AtomicLong();
+    private final AtomicLong snapshotsSent = new AtomicLong();
+    private final AtomicLong resumes = new AtomicLong();
+    private final AtomicLong replayedMessages = new AtomicLong();
+    private final AtomicLong resumeMisses = new AtomicLong();
+    private final AtomicLong observedMessages = new AtomicLong();
+
+    // 통계 (마지막 구간의 초당 수치)
+    private long windowStart = System.currentTimeMillis();
+    private long windowIn;
+    private long windowOut;
+    private long windowBytes;
+    private volatile double inPerSecond;
+    private volatile double outPerSecond;
+    private volatile double bytesPerSecond;
+
+    @PostConstruct
+    public void init() {
+        compactEncoder = new CompactCandleEncoder(ZoneId.of(candleZone), keyframeIntervalMs);
+        replay = new StreamReplayBuffer(replayBufferSize, System.currentTimeMillis());
+
+        relay = "relay".equalsIgnoreCase(brokerMode);
+        if (relay && onlySubscribed) {
+            log.info("[Broadcast] Broker relay mode - publishing every topic (subscriptions on other nodes are unknown)");
+            onlySubscribed = false;
+        }
+
+        flushScheduler = new ThreadPoolTaskScheduler();
+        flushScheduler.setPoolSize(1);
+        flushScheduler.setThreadNamePrefix("tick-flush-");
+        flushScheduler.setDaemon(true);
+        flushScheduler.initialize();
+        flushScheduler.scheduleWithFixedDelay(this::flush, Duration.ofMillis(Math.max(1, intervalMs)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+        }
+    }
+
+    // ========================================
+    // 입력
+    // ========================================
+
+    /**
+     * 저장된 캔들 전송 요청 (publish 단계 스레드)
+     */
+    public void offer(StockCandle1m candle) {
+        messagesIn.incrementAndGet();
+
+        if (!enabled) {
+            // 순번 발급 → 전송 → 보관 순서를 flush / catchUp과 같은 잠금으로 유지
+            synchronized (this) {
+                sendSymbol(candle);
+                sendCompact(List.of(candle));
+            }
+            return;
+        }
+
+        pending.compute(candle.getSymbol(), (symbol, previous) -> {
+            if (previous == null) {
+                return candle;
+            }
+            conflated.incrementAndGet();
+            return candle.getTimestamp().isBefore(previous.getTimestamp()) ? previous : candle;
+        });
+    }
+
+    // ========================================
+    // 전송
+    // ========================================
+
+    /**
+     * 주기 전송 (종목 토픽 + 시장 묶음 프레임, tick-flush 스레드)
+     */
+    public synchronized void flush() {
+        rollWindow(System.currentTimeMillis());
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<StockCandle1m> candles = new ArrayList<>(pending.size());
+        for (String symbol : new ArrayList<>(pending.keySet())) {
+            StockCandle1m candle = pending.remove(symbol);
+            if (candle != null) {
+                candles.add(candle);
+            }
+        }
+
+        candles.forEach(this::sendSymbol);
+        sendMarket(candles);
+        sendCompact(candles);
+    }
+
+    private void sendSymbol(StockCandle1m candle) {
+        String destination = SYMBOL_TOPIC_PREFIX + candle.getSymbol();
+        if (!watched(destination)) {
+            skip(destination);
+            return;
+        }
+        if (send(destination, symbolPayload(candle, stockService.findCachedRealTimeStock(candle.getSymbol())),
+                entityBytes)) {
+            symbolMessagesOut.incrementAndGet();
+        }
+    }
+
+    private void sendMarket(List<StockCandle1m> candles) {
+        if (!watched(MARKET_TOPIC)) {
+            skip(MARKET_TOPIC);
+            return;
+        }
+
+        List<List<Object>> rows = new ArrayList<>(candles.size());
+        for (StockCandle1m candle : candles) {
+            rows.add(toRow(candle));
+        }
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("t", System.currentTimeMillis());
+        frame.put("q", rows);
+        if (send(MARKET_TOPIC, frame, marketBytes)) {
+            marketFramesOut.incrementAndGet();
+            marketFrameSymbols.addAndGet(rows.size());
+        }
+    }
+
+    /**
+     * 압축 형식 전송 (종목 토픽마다 1행 프레임 + 시장 토픽에 전체 행 프레임)
+     *
+     * - 인코딩은 구독자와 무관하게 전체 (인코더의 직전 값 = 스냅샷 기준 값)
+     * - 합치기를 끈 경우에도 시장 토픽에 1행 프레임 전송 (건너뛰면 시장 구독자의 차이 기준이 어긋남)
+     */
+    private void sendCompact(List<StockCandle1m> candles) {
+        long now = System.currentTimeMillis();
+        List<CompactCandleEncoder.Row> rows = compactEncoder.encode(candles, now);
+
+        for (CompactCandleEncoder.Row row : rows) {
+            (row.isKeyframe() ? compactKeyframes : compactDeltas).incrementAndGet();
+            String destination = compactDestination(SYMBOL_TOPIC_PREFIX + row.getSymbol());
+            if (!watched(destination)) {
+                skip(destination);
+                continue;
+            }
+            if (send(destination, CompactCandleEncoder.frame(now, List.of(row)), compactBytes)) {
+                compactMessagesOut.incrementAndGet();
+            }
+        }
+
+        String market = compactDestination(MARKET_TOPIC);
+        if (!watched(market)) {
+            skip(market);
+        } else if (send(market, CompactCandleEncoder.frame(now, rows), compactBytes)) {
+            compactMessagesOut.incrementAndGet();
+        }
+    }
+
+    /**
+     * 종목 토픽 메시지 (기존 StockCandle1m JSON 필드 + 실시간 시세)
+     */
+    private Map<String, Object> symbolPayload(StockCandle1m candle, Optional<Map<String, Object>> quote) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", candle.getId());
+        payload.put("symbol", candle.getSymbol());
+        payload.put("timestamp", candle.getTimestamp());
+        payload.put("open", candle.getOpen());
+        payload.put("high", candle.getHigh());
+        payload.put("low", candle.getLow());
+        payload.put("close", candle.getClose());
+        payload.put("volume", candle.getVolume());
+        payload.put("createdAt", candle.getCreatedAt());
+        quote.ifPresent(value -> payload.put("quote", value));
+        return payload;
+    }
+
+    /**
+     * 묶음 프레임 한 줄 (필드 이름 없이 고정 순서)
+     */
+    private List<Object> toRow(StockCandle1m candle) {
+        long epochSeconds = candle.getTimestamp().atZone(ZoneId.of(candleZone)).toEpochSecond();
+        return Arrays.asList(candle.getSymbol(), epochSeconds, candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+    }
+
+    private boolean watched(String destination) {
+        return !onlySubscribed || subscriptions.hasSubscribers(destination);
+    }
+
+    /**
+     * 구독자 없어 생략 (순번은 소비 → 그 사이 구독하지 않은 클라이언트의 재개는 스냅샷으로)
+     */
+    private void skip(String destination) {
+        skippedUnwatched.incrementAndGet();
+        replay.next(destination);
+    }
+
+    /**
+     * 압축 형식 토픽 (/topic/stock/AAPL → /topic/compact/stock/AAPL)
+     */
+    public static String compactDestination(String destination) {
+        return COMPACT_PREFIX + destination.substring(TOPIC_PREFIX.length());
+    }
+
+    /**
+     * 구독 요청의 실제 토픽 (format:compact + 종목 / 시장 토픽이면 압축 형식 토픽)
+     */
+    public static String negotiatedDestination(String destination, String format) {
+        if (COMPACT_FORMAT.equals(format)
+                && (destination.startsWith(SYMBOL_TOPIC_PREFIX) || destination.equals(MARKET_TOPIC))) {
+            return compactDestination(destination);
+        }
+        return destination;
+    }
+
+    /**
+     * 순번을 붙여 JSON 직렬화 후 전송 + 재전송용 보관 (직렬화한 바이트 그대로 전송해 크기 측정)
+     */
+    private boolean send(String destination, Map<String, Object> payload, AtomicLong formatBytes) {
+        long seq = replay.next(destination);
+        payload.put("seq", seq);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(payload);
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setNativeHeader(SEQ_HEADER, Long.toString(seq));
+            accessor.setLeaveMutable(true);
+            messagingTemplate.send(destination, MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+            replay.record(destination, seq, body);
+
+            bytesOut.addAndGet(body.length);
+            formatBytes.addAndGet(body.length);
+            return true;
+        } catch (Exception e) {
+            sendErrors.incrementAndGet();
+            log.warn("[Broadcast] Send to {} failed: {}", destination, e.getMessage());
+            return false;
+        }
+    }
+
+    // ========================================
+    // 구독 직후 (스냅샷 / 재전송)
+    // ========================================
+
+    /**
+     * 새 구독자에게 보낼 메시지 (StreamResumeHandler)
+     *
+     * - resumeSeq 이후를 빠짐없이 보관 중이면 그 메시지들 (놓친 것이 없으면 빈 목록)
+     * - 아니면 현재 상태 스냅샷 1건 (seq = 마지막으로 발급한 순번, "snapshot": true)
+     *   → 다음 브로커 메시지가 seq + 1, 스냅샷보다 먼저 도착한 메시지는 클라이언트가 순번으로 정리
+     *
+     * @param destination 실제 구독 토픽 (압축 형식이면 /topic/compact/...)
+     * @param resumeSeq   클라이언트가 마지막으로 받은 순번 (처음 구독이면 null)
+     * @return 직렬화된 본문 (전송 순서), 실시간 토픽이 아니면 빈 목록
+     */
+    public List<byte[]> catchUp(String destination, Long resumeSeq) {
+        boolean compact = destination.startsWith(COMPACT_PREFIX + "/");
+        String plain = compact ? TOPIC_PREFIX + destination.substring(COMPACT_PREFIX.length()) : destination;
+        boolean market = plain.equals(MARKET_TOPIC);
+        if (!market && !plain.startsWith(SYMBOL_TOPIC_PREFIX)) {
+            return Collections.emptyList();
+        }
+
+        // 종목 토픽은 메모리에 없으면 DB에서 미리 로드 (잠금 밖, 아래에서는 메모리만 조회)
+        String symbol = market ? null : plain.substring(SYMBOL_TOPIC_PREFIX.length());
+        if (symbol != null) {
+            quoteRegistry.getOrLoad(symbol);
+        }
+
+        synchronized (this) {
+            if (resumeSeq != null) {
+                Optional<List<byte[]>> missed = replay.since(destination, resumeSeq);
+                if (missed.isPresent()) {
+                    resumes.incrementAndGet();
+                    replayedMessages.addAndGet(missed.get().size());
+                    return missed.get();
+                }
+                resumeMisses.incrementAndGet();
+            }
+
+            Map<String, Object> payload;
+            if (compact) {
+                payload = compactSnapshot(symbol);
+            } else if (market) {
+                payload = marketSnapshot();
+            } else {
+                Optional<QuoteSnapshot> quote = quoteRegistry.get(symbol);
+                if (quote.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                payload = symbolPayload(toCandle(quote.get()), stockService.findCachedRealTimeStock(symbol));
+            }
+            // 중계 구성에서 아직 관찰하지 못한 토픽 → 보낸 서버의 순번을 모름 (0 = 다음 메시지가 그대로 적용)
+            payload.put("seq", relay && !replay.contains(destination) ? 0L : replay.current(destination));
+            payload.put("snapshot", true);
+
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(payload);
+                snapshotsSent.incrementAndGet();
+                bytesOut.addAndGet(body.length);
+                return List.of(body);
+            } catch (Exception e) {
+                sendErrors.incrementAndGet();
+                log.warn("[Broadcast] Snapshot for {} failed: {}", destination, e.getMessage());
+                return Collections.emptyList();
+            }
+        }
+    }
+
+    /**
+     * 시장 토픽 스냅샷 (시세가 있는 전체 종목)
+     */
+    private Map<String, Object> marketSnapshot() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (QuoteSnapshot quote : quoteRegistry.getChangedSince(0)) {
+            rows.add(toRow(toCandle(quote)));
+        }
+
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("t", System.currentTimeMillis());
+        frame.put("q", rows);
+        return frame;
+    }
+
+    /**
+     * 압축 형식 스냅샷 (인코더의 직전 값 = 다음 차이 행의 기준)
+     *
+     * - 인코딩한 적 없는 종목은 시세 스냅샷으로 전체 행 (인코더 상태는 그대로 → 그 종목의 다음 행도 전체 행)
+     *
+     * @param symbol 종목 토픽이면 종목, 시장 토픽이면 null
+     */
+    private Map<String, Object> compactSnapshot(String symbol) {
+        List<CompactCandleEncoder.Row> rows = compactEncoder.snapshot(symbol != null ? List.of(symbol) : null);
+
+        Set<String> encoded = new HashSet<>();
+        rows.forEach(row -> encoded.add(row.getSymbol()));
+        List<QuoteSnapshot> quotes = symbol != null
+                ? quoteRegistry.get(symbol).map(List::of).orElse(List.of())
+                : quoteRegistry.getChangedSince(0);
+        for (QuoteSnapshot quote : quotes) {
+            if (!encoded.contains(quote.getSymbol())) {
+                rows.add(compactEncoder.keyframe(toCandle(quote)));
+            }
+        }
+        return CompactCandleEncoder.frame(System.currentTimeMillis(), rows);
+    }
+
+    private StockCandle1m toCandle(QuoteSnapshot quote) {
+        return StockCandle1m.builder()
+                .symbol(quote.getSymbol())
+                .timestamp(quote.getTimestamp())
+                .open(quote.getOpen())
+                .high(quote.getHigh())
+                .low(quote.getLow())
+                .close(quote.getPrice())
+                .volume(quote.getVolume())
+                .build();
+    }
+
+    // ========================================
+    // 브로커 중계 (다른 서버가 보낸 메시지)
+    // ========================================
+
+    /**
+     * 브로커에서 받은 실시간 메시지 반영 (BrokerRelayMirror)
+     *
+     * - 보낸 서버의 순번 그대로 재전송용 보관 (이 서버가 보낸 메시지는 이미 본 순번이라 무시)
+     * - /topic/market: 시세 스냅샷 갱신 → 이 서버의 스냅샷 / REST 시세도 최신
+     * - /topic/compact/market: 압축 형식 기준 값 갱신 → 이 서버의 압축 스냅샷도 같은 기준
+     */
+    public synchronized void observe(String destination, long seq, byte[] body) {
+        if (!replay.observe(destination, seq, body)) {
+            return;
+        }
+        observedMessages.incrementAndGet();
+
+        boolean market = MARKET_TOPIC.equals(destination);
+        if (!market && !compactDestination(MARKET_TOPIC).equals(destination)) {
+            return;
+        }
+        try {
+            // 가격은 BigDecimal로 (double 변환 없이 보낸 값 그대로)
+            Map<String, Object> frame = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {})
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .readValue(body);
+            if (market) {
+                for (List<Object> row : rows(frame.get("q"))) {
+                    quoteRegistry.onCandle(fromRow(row));
+                }
+            } else {
+                compactEncoder.apply(rows(frame.get("k")), rows(frame.get("d")), System.currentTimeMillis());
+            }
+        } catch (Exception e) {
+            log.warn("[Broadcast] Failed to apply relayed frame from {}: {}", destination, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<List<Object>> rows(Object value) {
+        return value != null ? (List<List<Object>>) value : Collections.emptyList();
+    }
+
+    /**
+     * 묶음 프레임 한 줄 → 캔들 (toRow의 반대)
+     */
+    private StockCandle1m fromRow(List<Object> row) {
+        long epochSeconds = ((Number) row.get(1)).longValue();
+        return StockCandle1m.builder()
+                .symbol((String) row.get(0))
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds), ZoneId.of(candleZone)))
+                .open(new BigDecimal(row.get(2).toString()))
+                .high(new BigDecimal(row.get(3).toString()))
+                .low(new BigDecimal(row.get(4).toString()))
+                .close(new BigDecimal(row.get(5).toString()))
+                .volume(((Number) row.get(6)).longValue())
+                .build();
+    }
+
+    // ========================================
+    // 통계
+    // ========================================
+
+    /**
+     * 구간이 끝났으면 초당 수치 갱신 (flush 스레드)
+     */
+    private void rollWindow(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < RATE_WINDOW_MS) {
+            return;
+        }
+
+        long in = messagesIn.get();
+        long out = symbolMessagesOut.get() + marketFramesOut.get() + compactMessagesOut.get();
+        long bytes = bytesOut.get();
+
+        inPerSecond = (in - windowIn) * 1000.0 / elapsed;
+        outPerSecond = (out - windowOut) * 1000.0 / elapsed;
+        bytesPerSecond = (bytes - windowBytes) * 1000.0 / elapsed;
+
+        windowStart = now;
+        windowIn = in;
+        windowOut = out;
+        windowBytes = bytes;
+    }
+
+    /**
+     * 입력 / 출력 메시지, 합친 건수, 묶음 프레임 평균 종목 수, 초당 메시지 / 바이트
+     * + 형식별 누적 바이트 (entity: 종목 토픽 JSON, market: 묶음 프레임, compact: 압축 형식 전체)
+     *   → 구독자 수와 무관하게 메시지 1건 기준 (브로커가 구독자마다 복제)
+     */
+    public Map<String, Object> getStats() {
+        long frames = marketFramesOut.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("intervalMs", intervalMs);
+        stats.put("pendingSymbols", pending.size());
+        stats.put("messagesIn", messagesIn.get());
+        stats.put("conflated", conflated.get());
+        stats.put("symbolMessagesOut", symbolMessagesOut.get());
+        stats.put("marketFramesOut", frames);
+        stats.put("avgSymbolsPerFrame", frames > 0 ? Math.round(marketFrameSymbols.get() * 10.0 / frames) / 10.0 : 0);
+        stats.put("bytesOut", bytesOut.get());
+        stats.put("sendErrors", sendErrors.get());
+        stats.put("brokerMode", relay ? "relay" : "simple");
+        stats.put("onlySubscribed", onlySubscribed);
+        stats.put("skippedUnwatched", skippedUnwatched.get());
+        stats.put("inPerSecond", Math.round(inPerSecond * 10) / 10.0);
+        stats.put("outPerSecond", Math.round(outPerSecond * 10) / 10.0);
+        stats.put("bytesPerSecond", Math.round(bytesPerSecond));
+
+        Map<String, Object> formats = new LinkedHashMap<>();
+        formats.put("entityBytes", entityBytes.get());
+        formats.put("marketBytes", marketBytes.get());
+        formats.put("compactMessages", compactMessagesOut.get());
+        formats.put("compactBytes", compactBytes.get());
+        formats.put("compactKeyframes", compactKeyframes.get());
+        formats.put("compactDeltas", compactDeltas.get());
+        stats.put("formats", formats);
+
+        Map<String, Object> replayStats = new LinkedHashMap<>(replay.getStats());
+        replayStats.put("snapshots", snapshotsSent.get());
+        replayStats.put("resumes", resumes.get());
+        replayStats.put("replayedMessages", replayedMessages.get());
+        replayStats.put("resumeMisses", resumeMisses.get());
+        replayStats.put("observedFromBroker", observedMessages.get());
+        stats.put("replay", replayStats);
+        return stats;
+    }
+}
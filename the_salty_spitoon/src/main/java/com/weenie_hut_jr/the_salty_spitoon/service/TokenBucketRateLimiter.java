@@ -0,0 +1,88 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 버킷 요청 속도 제한기 (스레드 안전)
+ *
+ * - 초당 permitsPerSecond개씩 토큰이 차고, 최대 burst개까지 쌓임
+ * - acquire(): 토큰이 생길 때까지 대기 후 1개 사용
+ * - 여러 작업 스레드가 하나의 제한기를 공유하면 전체 요청 속도가 제한됨
+ * - permitsPerSecond <= 0 이면 제한 없음
+ * - 시간 / 대기는 Ticker로 주입 가능 (테스트에서 가짜 시계 사용)
+ *
+ * 사용 위치:
+ * - HistoricalCollectionService: Yahoo Finance 과거 데이터 요청 (종목 / 재시도 1회 = 토큰 1개)
+ */
+public class TokenBucketRateLimiter {
+
+    /**
+     * 시간 원천 + 대기 (기본: System.nanoTime / TimeUnit.sleep)
+     */
+    interface Ticker {
+        long nanoTime();
+
+        void sleepNanos(long nanos) throws InterruptedException;
+    }
+
+    static final Ticker SYSTEM_TICKER = new Ticker() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleepNanos(long nanos) throws InterruptedException {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    };
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final Ticker ticker;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, SYSTEM_TICKER);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, Ticker ticker) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.ticker = ticker;
+        this.tokens = this.burst;
+        this.lastRefillNanos = ticker.nanoTime();
+    }
+
+    /**
+     * 토큰 1개 획득 (없으면 다음 토큰까지 대기)
+     */
+    public void acquire() throws InterruptedException {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+
+        while (true) {
+            long waitNanos;
+
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / permitsPerSecond * 1_000_000_000L);
+            }
+
+            ticker.sleepNanos(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = ticker.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,52 @@
+-- ========================================
+-- 애플리케이션 관리 테이블 (spring.sql.init.mode=always)
+-- - 기존 테이블(stocks, stock_candle_1m 등)은 수동 관리
+-- - 여기에는 애플리케이션이 스스로 유지하는 파생 테이블만 둔다
+-- - 매 기동 시 실행되므로 반드시 IF NOT EXISTS 사용
+-- ========================================
+
+-- 멀티 타임프레임 롤업 캔들 (5m / 15m / 1h / 4h / 1d)
+-- stock_candle_1m 저장 시 CandleRollupService가 증분 갱신
+CREATE TABLE IF NOT EXISTS stock_candle_rollup (
+    id            BIGINT        NOT NULL AUTO_INCREMENT,
+    symbol        VARCHAR(10)   NOT NULL,
+    resolution    VARCHAR(5)    NOT NULL,
+    bucket_start  DATETIME      NOT NULL,
+    open          DECIMAL(10,2) NOT NULL,
+    high          DECIMAL(10,2) NOT NULL,
+    low           DECIMAL(10,2) NOT NULL,
+    close         DECIMAL(10,2) NOT NULL,
+    volume        BIGINT        NOT NULL,
+    candle_count  INT           NOT NULL,
+    updated_at    DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (id),
+    UNIQUE KEY idx_symbol_resolution_bucket (symbol, resolution, bucket_start)
+);
+
+-- 롤업 완성 종목 (첫 1분봉부터 롤업 버킷이 있음)
+-- CandleRollupService.rebuildSymbol 완료 시 / 종목의 1분봉 전체를 재집계한 경우에만 기록
+-- 기록 전에는 StockService가 1분봉 집계로 폴백 (증분 갱신만 된 종목은 최근 버킷만 있으므로)
+CREATE TABLE IF NOT EXISTS stock_candle_rollup_complete (
+    symbol        VARCHAR(10)   NOT NULL,
+    completed_at  DATETIME      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (symbol)
+);
+
+-- 과거 데이터 백필 구간 체크포인트
+-- BackfillPlanner가 수집 구간마다 PENDING으로 기록, 수집 후 DONE / EMPTY / FAILED로 갱신
+-- DONE / EMPTY 구간의 [range_start, checked_until]은 다음 계획에서 제외 (휴장 / 거래 없는 분 재요청 방지)
+CREATE TABLE IF NOT EXISTS backfill_range (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    run_id         VARCHAR(36)   NOT NULL,
+    symbol         VARCHAR(10)   NOT NULL,
+    range_start    DATETIME      NOT NULL,
+    range_end      DATETIME      NOT NULL,
+    status         VARCHAR(10)   NOT NULL,
+    candles        INT           NOT NULL DEFAULT 0,
+    checked_until  DATETIME      NULL,
+    message        VARCHAR(255)  NULL,
+    updated_at     DATETIME      NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_backfill_run (run_id, symbol, range_start),
+    KEY idx_backfill_symbol_status (symbol, status, checked_until)
+);
@@ -336,6 +336,7 @@
                     <div class="stat-label">소요 시간</div>
                 </div>
             </div>
+            <div class="stat-label" id="resultPlan" style="margin-top: 12px;"></div>
             <div class="failed-list" id="failedList" style="display: none;">
                 <div class="failed-list-title">❌ 실패한 종목</div>
                 <div class="failed-list-items" id="failedListItems"></div>
@@ -855,7 +856,7 @@
             if (data.type === 'progress') {
                 var percent = Math.round((data.current / data.total) * 100);
                 progressBar.style.width = percent + '%';
-                progressText.textContent = data.current + ' / ' + data.total + ' 종목';
+                progressText.textContent = data.current + ' / ' + data.total + ' 구간';
                 progressPercent.textContent = percent + '%';
                 
                 var symbolSpan = currentSymbol.querySelector('.symbol');
@@ -866,7 +867,7 @@
                     statusSpan.textContent = data.message;
                     statusSpan.className = 'status';
                 } else if (data.status === 'success') {
-                    statusSpan.textContent = '✅ ' + data.candleCount + ' candles';
+                    statusSpan.textContent = '✅ ' + data.candleCount + ' candles' + formatThroughput(data.rowsPerSecond);
                     statusSpan.className = 'status success';
                 } else {
                     statusSpan.textContent = '❌ ' + data.message;
@@ -881,7 +882,7 @@
                 }
                 
                 if (data.status === 'success' || data.status === 'failed') {
-                    addLogEntry(data.symbol, data.status, data.status === 'success' ? data.candleCount + ' candles' : data.message);
+                    addLogEntry(data.symbol, data.status, data.status === 'success' ? data.candleCount + ' candles' + formatThroughput(data.rowsPerSecond) : data.message);
                 }
             } else if (data.type === 'complete') {
                 handleComplete(data);
@@ -891,6 +892,10 @@
             }
         }
         
+        function formatThroughput(rowsPerSecond) {
+            return rowsPerSecond ? ' (' + Math.round(rowsPerSecond).toLocaleString() + ' rows/s)' : '';
+        }
+        
         function handleComplete(data) {
             isCollecting = false;
             resetUI();
@@ -900,7 +905,10 @@
             document.getElementById('resultSuccess').textContent = data.successCount;
             document.getElementById('resultFailed').textContent = data.failedCount;
             document.getElementById('resultCandles').textContent = data.totalCandles.toLocaleString();
-            document.getElementById('resultDuration').textContent = data.duration;
+            document.getElementById('resultDuration').textContent = data.duration + formatThroughput(data.rowsPerSecond);
+            document.getElementById('resultPlan').textContent =
+                '수집 구간 ' + data.fetchedRanges + '개 · 건너뛴 종목 ' + data.skippedSymbols +
+                '개 · 이미 있는 분봉 ' + data.skippedMinutes.toLocaleString() + '개';
             
             var failedList = document.getElementById('failedList');
             var failedItems = document.getElementById('failedListItems');
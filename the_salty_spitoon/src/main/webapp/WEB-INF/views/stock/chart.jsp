@@ -223,6 +223,7 @@
         
         let stompClient = null;
         let currentSubscription = null;
+        const lastSeq = {}; // 종목별 마지막으로 받은 실시간 메시지 순번 (다시 구독할 때 resume 헤더)
 
         function initChart() {
             const chartOptions = {
@@ -290,18 +291,29 @@
             
             console.log('종목 구독:', symbol);
             
+            // 구독 직후 스냅샷 (현재 캔들 + 시세), 전에 받은 적 있으면 그 이후 메시지부터
+            const headers = lastSeq[symbol] != null ? { resume: String(lastSeq[symbol]) } : {};
             currentSubscription = stompClient.subscribe(
                 '/topic/stock/' + symbol,
                 function(message) {
                     const candle = JSON.parse(message.body);
-                    console.log('새 캔들 수신:', candle);
+                    if (lastSeq[symbol] != null && candle.seq <= lastSeq[symbol]) return; // 이미 받은 메시지
+                    lastSeq[symbol] = candle.seq;
+                    console.log(candle.snapshot ? '스냅샷 수신:' : '새 캔들 수신:', candle);
                     updateChartWithNewCandle(candle);
-                }
+                },
+                headers
             );
         }
 
         function updateChartWithNewCandle(candle) {
+            if (candle.quote) {
+                updateRealTimePrice(candle.quote);
+            }
+            
             if (currentTimeframe !== '1m') {
+                // 스냅샷은 방금 REST로 불러온 차트와 같은 시점 → 다시 불러오지 않음
+                if (candle.snapshot) return;
                 loadChartData(currentSymbol);
                 return;
             }
@@ -322,7 +334,6 @@
             
             console.log('✅ 차트 업데이트:', candleData);
             candlestickSeries.update(candleData);
-            updateRealTimePrice(currentSymbol);
         }
 
         function updateConnectionStatus(connected) {
@@ -412,8 +423,6 @@
                     updateIndicators(data.data, data.indicators);
                 }
                 
-                updateRealTimePrice(symbol);
-                
             } catch (error) {
                 console.error('❌ 차트 데이터 로드 실패:', error);
                 alert('데이터를 불러오는데 실패했습니다.');
@@ -455,32 +464,24 @@
             });
         }
 
-        async function updateRealTimePrice(symbol) {
-            try {
-                const response = await fetch('/stock/api/realtime/' + symbol);
-                const data = await response.json();
-                
-                if (data.error) return;
-                
-                document.getElementById('currentPrice').textContent = 
-                    '$' + parseFloat(data.price).toFixed(2);
-                
-                const changePercent = parseFloat(data.changePercent);
-                const changeElement = document.getElementById('priceChange');
-                changeElement.textContent = 
-                    (changePercent >= 0 ? '+' : '') + changePercent.toFixed(2) + '%';
-                
-                const priceElement = document.getElementById('currentPrice');
-                if (changePercent >= 0) {
-                    priceElement.classList.remove('down');
-                    changeElement.classList.remove('down');
-                } else {
-                    priceElement.classList.add('down');
-                    changeElement.classList.add('down');
-                }
-                
-            } catch (error) {
-                console.error('실시간 가격 업데이트 실패:', error);
+        function updateRealTimePrice(data) {
+            if (data.error) return;
+            
+            document.getElementById('currentPrice').textContent = 
+                '$' + parseFloat(data.price).toFixed(2);
+            
+            const changePercent = parseFloat(data.changePercent);
+            const changeElement = document.getElementById('priceChange');
+            changeElement.textContent = 
+                (changePercent >= 0 ? '+' : '') + changePercent.toFixed(2) + '%';
+            
+            const priceElement = document.getElementById('currentPrice');
+            if (changePercent >= 0) {
+                priceElement.classList.remove('down');
+                changeElement.classList.remove('down');
+            } else {
+                priceElement.classList.add('down');
+                changeElement.classList.add('down');
             }
         }
 
@@ -337,7 +337,6 @@
             updateTime();
             setInterval(updateTime, 1000);
             checkMarketStatus();
-            loadExchangeRate();
             initMainChart();
             loadMainChartData('1m');
             loadSectorSlider();
@@ -346,7 +345,6 @@
             setupViewToggle();
             setupChartPeriods();
             connectWebSocket();
-            setInterval(function() { loadExchangeRate(); }, 30000);
         });
 
         function updateTime() {
@@ -371,19 +369,15 @@
             }
         }
 
-        function loadExchangeRate() {
-            fetch('/api/stocks/' + encodeURIComponent('KRW=X') + '/latest')
-                .then(function(r) { return r.json(); })
-                .then(function(data) {
-                    if (data && !data.error) {
-                        var rate = data.closePrice || data.close || 0;
-                        var change = data.changePercent || data.change_percent || 0;
-                        document.getElementById('usd-krw-value').textContent = '₩' + rate.toLocaleString(undefined, {minimumFractionDigits: 2, maximumFractionDigits: 2});
-                        var changeEl = document.getElementById('usd-krw-change');
-                        changeEl.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
-                        changeEl.className = 'exchange-change ' + (change <= 0 ? 'positive' : 'negative');
-                    }
-                });
+        // 환율 (/topic/stock/KRW=X 메시지의 quote)
+        function applyExchangeRate(quote) {
+            if (quote.error) return;
+            var rate = parseFloat(quote.price || 0);
+            var change = parseFloat(quote.changePercent || 0);
+            document.getElementById('usd-krw-value').textContent = '₩' + rate.toLocaleString(undefined, {minimumFractionDigits: 2, maximumFractionDigits: 2});
+            var changeEl = document.getElementById('usd-krw-change');
+            changeEl.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
+            changeEl.className = 'exchange-change ' + (change <= 0 ? 'positive' : 'negative');
         }
 
         function initMainChart() {
@@ -400,19 +394,17 @@
                 lineColor: '#3b82f6', lineWidth: 2
             });
             window.addEventListener('resize', function() { mainChart.applyOptions({ width: container.clientWidth }); });
-            
-            fetch('/api/stocks/' + encodeURIComponent('^IXIC') + '/latest')
-                .then(function(r) { return r.json(); })
-                .then(function(data) {
-                    if (data) {
-                        var price = data.closePrice || data.close || 0;
-                        var change = data.changePercent || data.change_percent || 0;
-                        document.getElementById('chart-price').textContent = price.toLocaleString(undefined, {minimumFractionDigits: 2, maximumFractionDigits: 2});
-                        var changeEl = document.getElementById('chart-change');
-                        changeEl.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
-                        changeEl.className = 'chart-change ' + (change >= 0 ? 'positive' : 'negative');
-                    }
-                });
+        }
+
+        // 지수 현재가 (/topic/stock/^IXIC 메시지의 quote)
+        function applyIndexQuote(quote) {
+            if (quote.error) return;
+            var price = parseFloat(quote.price || 0);
+            var change = parseFloat(quote.changePercent || 0);
+            document.getElementById('chart-price').textContent = price.toLocaleString(undefined, {minimumFractionDigits: 2, maximumFractionDigits: 2});
+            var changeEl = document.getElementById('chart-change');
+            changeEl.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
+            changeEl.className = 'chart-change ' + (change >= 0 ? 'positive' : 'negative');
         }
 
         function loadMainChartData(timeframe) {
@@ -517,20 +509,18 @@
             });
         }
 
-        function loadSectorData(symbol) {
-            fetch('/api/stocks/' + symbol + '/latest')
-                .then(function(r) { return r.json(); })
-                .then(function(data) {
-                    if (data && !data.error) {
-                        var change = data.changePercent || data.change_percent || 0;
-                        var el = document.getElementById('sector-change-' + symbol);
-                        if (el) {
-                            el.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
-                            el.className = 'sector-change ' + (change >= 0 ? 'positive' : 'negative');
-                        }
-                    }
-                });
+        // 섹터 등락률 (/topic/stock/{symbol} 메시지의 quote)
+        function applySectorQuote(symbol, quote) {
+            if (quote.error) return;
+            var change = parseFloat(quote.changePercent || 0);
+            var el = document.getElementById('sector-change-' + symbol);
+            if (el) {
+                el.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
+                el.className = 'sector-change ' + (change >= 0 ? 'positive' : 'negative');
+            }
+        }
 
+        function loadSectorData(symbol) {
             // 1시간봉 API 사용
             fetch('/stock/api/chart/' + symbol + '/all?timeframe=1h')
                 .then(function(r) { return r.json(); })
@@ -748,7 +738,7 @@
                     '<div class="stock-list-info"><div class="stock-list-symbol">' + stock.symbol + '</div><div class="stock-list-name">' + stock.name + '</div></div>' +
                     '<div class="stock-list-right">' +
                         '<div class="stock-list-chart"><canvas id="chart-canvas-' + stock.symbol + '" width="240" height="80"></canvas></div>' +
-                        '<div class="stock-list-price"><div class="stock-list-price-value">$' + price.toFixed(2) + '</div><div class="stock-list-change ' + (isDown ? 'negative' : 'positive') + '">' + (changePercent >= 0 ? '+' : '') + changePercent.toFixed(2) + '%</div></div>' +
+                        '<div class="stock-list-price"><div class="stock-list-price-value" data-price-symbol="' + stock.symbol + '">$' + price.toFixed(2) + '</div><div class="stock-list-change ' + (isDown ? 'negative' : 'positive') + '">' + (changePercent >= 0 ? '+' : '') + changePercent.toFixed(2) + '%</div></div>' +
                         '<div class="stock-list-bookmark"><button class="bookmark-btn ' + (isInWatchlist ? 'active' : '') + '" data-symbol="' + stock.symbol + '" onclick="toggleWatchlist(\'' + stock.symbol + '\', event)"><svg viewBox="0 0 24 24" fill="' + (isInWatchlist ? 'currentColor' : 'none') + '" stroke="currentColor" stroke-width="2"><polygon points="12 2 15.09 8.26 22 9.27 17 14.14 18.18 21.02 12 17.77 5.82 21.02 7 14.14 2 9.27 8.91 8.26 12 2"/></svg></button></div>' +
                     '</div></div>';
             });
@@ -767,7 +757,7 @@
 
                 html += '<div class="stock-card" onclick="location.href=\'/stock/detail/' + stock.symbol + '\'">' +
                     '<div class="stock-card-header"><div class="stock-card-logo">' + logoHtml + '</div><div class="stock-card-info"><div class="stock-card-symbol">' + stock.symbol + '</div><div class="stock-card-name">' + stock.name + '</div></div><div class="stock-card-badge">Live</div></div>' +
-                    '<div class="stock-card-price ' + (isDown ? 'down' : '') + '">$' + price.toFixed(2) + '</div>' +
+                    '<div class="stock-card-price ' + (isDown ? 'down' : '') + '" data-price-symbol="' + stock.symbol + '">$' + price.toFixed(2) + '</div>' +
                     '<div class="stock-card-change"><span class="stock-card-change-badge ' + (isDown ? 'down' : '') + '">' + (changePercent >= 0 ? '+' : '') + changePercent.toFixed(2) + '%</span><span style="color:#6b7280;font-size:12px">' + (change >= 0 ? '+' : '') + change.toFixed(2) + '</span></div></div>';
             });
             html += '</div>';
@@ -839,15 +829,119 @@
             stompClient = Stomp.over(socket);
             stompClient.debug = null;
             stompClient.connect({}, function() {
-                stompClient.subscribe('/topic/stock/^IXIC', function(msg) {
-                    var candle = JSON.parse(msg.body);
-                    if (mainAreaSeries) {
+                // 구독마다 서버가 현재 값 스냅샷을 바로 보냄 (재연결이면 resume 헤더로 놓친 메시지부터)
+                subscribeLive('/topic/stock/^IXIC', function(candle) {
+                    // 스냅샷은 REST로 불러온 차트에 이미 있는 시점
+                    if (mainAreaSeries && !candle.snapshot) {
                         mainAreaSeries.update({ time: new Date(candle.timestamp).getTime() / 1000, value: parseFloat(candle.close) });
                     }
-                    document.getElementById('chart-price').textContent = parseFloat(candle.close).toLocaleString(undefined, {minimumFractionDigits: 2, maximumFractionDigits: 2});
+                    if (candle.quote) applyIndexQuote(candle.quote);
+                });
+                subscribeLive('/topic/stock/KRW=X', function(candle) {
+                    if (candle.quote) applyExchangeRate(candle.quote);
+                });
+                sectorETFs.forEach(function(sector) {
+                    subscribeLive('/topic/stock/' + sector.symbol, function(candle) {
+                        if (candle.quote) applySectorQuote(sector.symbol, candle.quote);
+                    });
                 });
+                // 전체 종목 시세: 종목별 토픽 대신 묶음 프레임 하나 (압축 형식)
+                marketResyncing = false;
+                subscribeCompactMarket();
             }, function() { setTimeout(connectWebSocket, 5000); });
         }
+
+        // ========================================
+        // 실시간 토픽 순번 (seq)
+        // - 토픽마다 1씩 증가, 이미 받은 순번 이하는 버림 (스냅샷과 브로커 메시지가 엇갈려 도착해도 되돌아가지 않음)
+        // - 다시 구독할 때 resume: 마지막 순번 → 서버가 보관 중이면 놓친 메시지, 아니면 스냅샷
+        // ========================================
+        var lastSeq = {};
+
+        function resumeHeaders(destination, headers) {
+            var result = {};
+            for (var key in (headers || {})) { result[key] = headers[key]; }
+            if (lastSeq[destination] != null) result.resume = String(lastSeq[destination]);
+            return result;
+        }
+
+        function subscribeLive(destination, onMessage) {
+            return stompClient.subscribe(destination, function(msg) {
+                var body = JSON.parse(msg.body);
+                if (lastSeq[destination] != null && body.seq <= lastSeq[destination]) return;
+                lastSeq[destination] = body.seq;
+                onMessage(body);
+            }, resumeHeaders(destination));
+        }
+
+        // 압축 형식은 차이 행이라 순번이 건너뛰면 기준 값이 어긋남 → resume으로 다시 구독해 빠진 프레임부터
+        var marketSubscription = null;
+        var marketResyncing = false;
+
+        function subscribeCompactMarket() {
+            var destination = '/topic/market';
+            marketSubscription = stompClient.subscribe(destination, function(msg) {
+                var frame = JSON.parse(msg.body);
+                var last = lastSeq[destination];
+                if (last != null && frame.seq <= last) return;
+                if (!frame.snapshot && (last == null || frame.seq !== last + 1)) {
+                    // 기준 값이 없으면 곧 올 스냅샷을 기다림, 중간을 놓쳤으면 한 번만 다시 구독
+                    if (last != null && !marketResyncing) {
+                        marketResyncing = true;
+                        marketSubscription.unsubscribe();
+                        subscribeCompactMarket();
+                    }
+                    return;
+                }
+                lastSeq[destination] = frame.seq;
+                marketResyncing = false;
+                decodeCompactFrame(frame).forEach(function(quote) {
+                    applyLivePrice(quote.symbol, quote.values[4] / 100);
+                });
+            }, resumeHeaders(destination, { format: 'compact' }));
+        }
+
+        // ========================================
+        // 압축 형식 프레임 해석
+        // k: [[symbol, 분, open, high, low, close, volume]] 전체 값 (가격은 1/100 단위)
+        // d: [[symbol, 차이...]] 직전 값에 더함 (끝쪽 0 생략), 기준 값이 없는 종목은 무시
+        // 재연결해도 유지 (resume으로 이어 받거나 스냅샷 전체 값으로 교체)
+        // ========================================
+        var compactState = {};
+
+        function decodeCompactFrame(frame) {
+            var quotes = [];
+            (frame.k || []).forEach(function(row) {
+                compactState[row[0]] = row.slice(1);
+                quotes.push({ symbol: row[0], values: compactState[row[0]] });
+            });
+            (frame.d || []).forEach(function(row) {
+                var values = compactState[row[0]];
+                if (!values) return;
+                for (var i = 1; i < row.length; i++) {
+                    values[i - 1] += row[i];
+                }
+                quotes.push({ symbol: row[0], values: values });
+            });
+            return quotes;
+        }
+
+        function applyLivePrice(symbol, price) {
+            var stock = allStocks.find(function(s) { return s.symbol === symbol; });
+            if (!stock || stock.error) return;
+
+            // 전일 종가 기준 등락 유지
+            var previousClose = parseFloat(stock.price || 0) - parseFloat(stock.change || 0);
+            stock.price = price;
+            if (previousClose > 0) {
+                stock.change = price - previousClose;
+                stock.changePercent = stock.change / previousClose * 100;
+            }
+
+            document.querySelectorAll('[data-price-symbol="' + symbol + '"]').forEach(function(el) {
+                el.textContent = '$' + price.toFixed(2);
+            });
+        }
     </script>
 </body>
 </html>
@@ -232,6 +232,7 @@
         var currentTimeframe = '1m';
         var activeIndicators = ['MA5', 'MA20'];
         var stompClient = null;
+        var lastSeq = null; // 마지막으로 받은 실시간 메시지 순번 (재연결 시 resume 헤더)
         var isInWatchlist = false;
 
         document.addEventListener('DOMContentLoaded', function() {
@@ -344,7 +345,6 @@
                     if (data.indicators) {
                         updateIndicators(data.data, data.indicators);
                     }
-                    updatePrice();
                 })
                 .catch(function(error) {
                     console.error('Chart load failed:', error);
@@ -386,8 +386,13 @@
                 document.getElementById('statusDot').classList.add('connected');
                 document.getElementById('statusText').textContent = 'Live';
 
+                // 구독 직후 스냅샷 (현재 캔들 + 시세), 재연결이면 놓친 메시지부터
+                var headers = lastSeq != null ? { resume: String(lastSeq) } : {};
                 stompClient.subscribe('/topic/stock/' + SYMBOL, function(msg) {
                     var candle = JSON.parse(msg.body);
+                    if (lastSeq != null && candle.seq <= lastSeq) return; // 이미 받은 메시지
+                    lastSeq = candle.seq;
+
                     if (currentTimeframe === '1m') {
                         candlestickSeries.update({
                             time: new Date(candle.timestamp).getTime() / 1000,
@@ -397,8 +402,8 @@
                             close: parseFloat(candle.close)
                         });
                     }
-                    updatePrice();
-                });
+                    if (candle.quote) updatePrice(candle.quote);
+                }, headers);
             }, function(error) {
                 document.getElementById('statusDot').classList.remove('connected');
                 document.getElementById('statusText').textContent = 'Disconnected';
@@ -406,20 +411,13 @@
             });
         }
 
-        function updatePrice() {
-            fetch('/stock/api/realtime/' + SYMBOL)
-                .then(function(response) { return response.json(); })
-                .then(function(data) {
-                    if (data.error) return;
-                    document.getElementById('currentPrice').textContent = '$' + parseFloat(data.price).toFixed(2);
-                    var change = parseFloat(data.changePercent);
-                    var changeEl = document.getElementById('priceChange');
-                    changeEl.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
-                    changeEl.className = 'price-change ' + (change >= 0 ? 'positive' : 'negative');
-                })
-                .catch(function(error) {
-                    console.error('Price update failed:', error);
-                });
+        function updatePrice(data) {
+            if (data.error) return;
+            document.getElementById('currentPrice').textContent = '$' + parseFloat(data.price).toFixed(2);
+            var change = parseFloat(data.changePercent);
+            var changeEl = document.getElementById('priceChange');
+            changeEl.textContent = (change >= 0 ? '+' : '') + change.toFixed(2) + '%';
+            changeEl.className = 'price-change ' + (change >= 0 ? 'positive' : 'negative');
         }
 
         function loadKeyStats() {
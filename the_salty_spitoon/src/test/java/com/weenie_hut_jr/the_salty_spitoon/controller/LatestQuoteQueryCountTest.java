@@ -0,0 +1,170 @@
+package com.weenie_hut_jr.the_salty_spitoon.controller;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.Stock;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandleRollupRepository;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockRepository;
+import com.weenie_hut_jr.the_salty_spitoon.service.HotCandleStore;
+import com.weenie_hut_jr.the_salty_spitoon.service.IndicatorCache;
+import com.weenie_hut_jr.the_salty_spitoon.service.QuoteRegistry;
+import com.weenie_hut_jr.the_salty_spitoon.service.StockService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ========================================
+ * 대시보드 / 전체 최신가 SQL 횟수 테스트
+ * ========================================
+ *
+ * 실제 Repository + 내장 DB(H2)에서 Hibernate 통계의 준비된 JDBC 문장 수를 센다.
+ * - 최신 / 직전 캔들 일괄 조회 native SQL이 실제로 실행되고 결과가 맞는지도 같이 확인
+ * - 종목 수가 늘어도 요청당 SQL 수가 일정해야 한다 (종목별 조회 = N+1이면 실패)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+public class LatestQuoteQueryCountTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 9, 15, 30);
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockCandle1mRepository candleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StockController stockController;
+    private StockApiController stockApiController;
+
+    @BeforeEach
+    public void setUp() {
+        // 시세 스냅샷이 비어 있는 상태 (모든 종목이 DB 일괄 조회 경로)
+        QuoteRegistry quoteRegistry = mock(QuoteRegistry.class);
+
+        StockService stockService = new StockService(candleRepository,
+                mock(StockCandleRollupRepository.class), mock(HotCandleStore.class), mock(IndicatorCache.class),
+                quoteRegistry);
+
+        stockController = new StockController(stockService, stockRepository);
+        stockApiController = new StockApiController(candleRepository, stockRepository, quoteRegistry);
+    }
+
+    /**
+     * 종목 count개 저장 (마지막 종목은 캔들 없음), 이후 실행되는 SQL만 세도록 통계 초기화
+     */
+    private void givenStocks(int count) {
+        candleRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        // 일괄 삭제는 영속성 컨텍스트를 비우지 않음 (이전 회차 조회로 올라온 Stock과 충돌 방지)
+        entityManager.clear();
+
+        for (int i = 0; i < count; i++) {
+            String symbol = String.format("S%03d", i);
+            entityManager.persist(Stock.builder().symbol(symbol).name("Stock " + i).isActive(true).build());
+            if (i == count - 1) {
+                continue;
+            }
+            entityManager.persist(candle(symbol, NOW.minusMinutes(2), "99.00"));
+            entityManager.persist(candle(symbol, NOW.minusMinutes(1), "100.00"));
+            entityManager.persist(candle(symbol, NOW, "101.00"));
+        }
+
+        // 저장 INSERT가 조회 전 자동 flush로 섞이지 않도록
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    private StockCandle1m candle(String symbol, LocalDateTime timestamp, String close) {
+        BigDecimal price = new BigDecimal(close);
+        return StockCandle1m.builder()
+                .symbol(symbol)
+                .timestamp(timestamp)
+                .open(price).high(price).low(price).close(price)
+                .volume(1000L)
+                .build();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long statementCount() {
+        return statistics().getPrepareStatementCount();
+    }
+
+    @Test
+    public void testDashboardStatementCountIsConstant() {
+        long[] counts = new long[2];
+        int[] sizes = { 10, 300 };
+
+        for (int i = 0; i < sizes.length; i++) {
+            givenStocks(sizes[i]);
+
+            List<Map<String, Object>> result = stockController.getDashboardData();
+            counts[i] = statementCount();
+
+            assertEquals(sizes[i], result.size());
+            Map<String, Object> first = result.stream()
+                    .filter(row -> "S000".equals(row.get("symbol"))).findFirst().orElseThrow();
+            assertEquals(false, first.get("error"));
+            assertEquals(0, new BigDecimal("1.00").compareTo((BigDecimal) first.get("change")));
+            assertEquals(0, new BigDecimal("100.00").compareTo((BigDecimal) first.get("previousClose")));
+            assertEquals("Stock 0", first.get("name"));
+
+            String last = String.format("S%03d", sizes[i] - 1);
+            assertEquals(true, result.stream()
+                    .filter(row -> last.equals(row.get("symbol"))).findFirst().orElseThrow().get("error"));
+        }
+
+        // 종목 목록 1회 + 최신/이전 캔들 일괄 조회 1회
+        assertEquals(2, counts[0]);
+        assertEquals(counts[0], counts[1]);
+    }
+
+    @Test
+    public void testAllLatestStatementCountIsConstant() {
+        long[] counts = new long[2];
+        int[] sizes = { 10, 300 };
+
+        for (int i = 0; i < sizes.length; i++) {
+            givenStocks(sizes[i]);
+
+            List<Map<String, Object>> result = stockApiController.getAllLatestPrices().getBody();
+            counts[i] = statementCount();
+
+            // 캔들 없는 마지막 종목은 제외, 종목당 최신 캔들 1건
+            assertEquals(sizes[i] - 1, result.size());
+            Map<String, Object> first = result.stream()
+                    .filter(row -> "S000".equals(row.get("symbol"))).findFirst().orElseThrow();
+            assertEquals(0, new BigDecimal("101.00").compareTo((BigDecimal) first.get("closePrice")));
+            assertEquals(NOW, first.get("timestamp"));
+        }
+
+        assertEquals(2, counts[0]);
+        assertEquals(counts[0], counts[1]);
+    }
+}
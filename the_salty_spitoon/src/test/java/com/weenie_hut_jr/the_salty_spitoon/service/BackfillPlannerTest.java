@@ -0,0 +1,99 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * BackfillPlanner 테스트
+ * ========================================
+ *
+ * 정규장 분 계산과 빈 구간 계산(끝부분 / 중간 / 확인 구간 제외 / 합치기) 검증
+ */
+public class BackfillPlannerTest {
+
+    // 2026-01-12(월) ~ 2026-01-13(화) 장 마감 후
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 10, 0, 0);
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2026, 1, 13, 20, 0);
+
+    private final List<LocalDateTime> session = BackfillPlanner.sessionMinutes(FROM, UNTIL);
+
+    private Set<LocalDateTime> fullDays() {
+        return new HashSet<>(session);
+    }
+
+    private List<BackfillPlanner.Fetch> plan(Set<LocalDateTime> existing, List<LocalDateTime[]> checked,
+                                             int mergeGap, long[] counts) {
+        return BackfillPlanner.planSymbol("run", "AAPL", session, existing, checked, mergeGap, counts);
+    }
+
+    @Test
+    public void testSessionMinutesSkipWeekendAndOffHours() {
+        // 토 / 일 제외, 월 / 화 390분씩
+        assertEquals(780, session.size());
+        assertEquals(LocalDateTime.of(2026, 1, 12, 9, 30), session.get(0));
+        assertEquals(LocalDateTime.of(2026, 1, 13, 15, 59), session.get(session.size() - 1));
+
+        // 장중에는 현재 분 이전까지만
+        List<LocalDateTime> today = BackfillPlanner.sessionMinutes(
+                LocalDateTime.of(2026, 1, 13, 0, 0), LocalDateTime.of(2026, 1, 13, 9, 35));
+        assertEquals(5, today.size());
+    }
+
+    @Test
+    public void testFullyCoveredSymbolIsSkipped() {
+        long[] counts = new long[3];
+        assertTrue(plan(fullDays(), Collections.emptyList(), 390, counts).isEmpty());
+        assertArrayEquals(new long[] { 780, 0, 0 }, counts);
+    }
+
+    @Test
+    public void testTailAndMidHistoryHoles() {
+        Set<LocalDateTime> existing = fullDays();
+        // 중간 구멍: 월 11:00 ~ 11:09
+        for (int i = 0; i < 10; i++) {
+            existing.remove(LocalDateTime.of(2026, 1, 12, 11, i));
+        }
+        // 끝부분: 화 15:00 이후 없음
+        for (int i = 0; i < 60; i++) {
+            existing.remove(LocalDateTime.of(2026, 1, 13, 15, i));
+        }
+
+        long[] counts = new long[3];
+        List<BackfillPlanner.Fetch> fetches = plan(existing, Collections.emptyList(), 390, counts);
+
+        assertEquals(2, fetches.size());
+        assertEquals(LocalDateTime.of(2026, 1, 12, 11, 0), fetches.get(0).getStart());
+        assertEquals(LocalDateTime.of(2026, 1, 12, 11, 9), fetches.get(0).getEnd());
+        assertEquals(10, fetches.get(0).getMissingMinutes());
+        assertEquals(LocalDateTime.of(2026, 1, 13, 15, 0), fetches.get(1).getStart());
+        assertEquals(LocalDateTime.of(2026, 1, 13, 15, 59), fetches.get(1).getEnd());
+        assertEquals(70, counts[2]);
+
+        // 사이 기존 분봉이 merge gap 미만이면 한 구간으로
+        List<BackfillPlanner.Fetch> merged = plan(existing, Collections.emptyList(), 1000, new long[3]);
+        assertEquals(1, merged.size());
+        assertEquals(LocalDateTime.of(2026, 1, 12, 11, 0), merged.get(0).getStart());
+        assertEquals(LocalDateTime.of(2026, 1, 13, 15, 59), merged.get(0).getEnd());
+        assertEquals(70, merged.get(0).getMissingMinutes());
+    }
+
+    @Test
+    public void testCheckedRangesAreNotRefetched() {
+        // 월요일은 휴장으로 확인됨 (이전 실행에서 EMPTY), 화요일만 수집
+        Set<LocalDateTime> existing = new HashSet<>();
+        List<LocalDateTime[]> checked = Collections.singletonList(new LocalDateTime[] {
+                LocalDateTime.of(2026, 1, 12, 9, 30), LocalDateTime.of(2026, 1, 12, 15, 59) });
+
+        long[] counts = new long[3];
+        List<BackfillPlanner.Fetch> fetches = plan(existing, checked, 390, counts);
+
+        assertEquals(1, fetches.size());
+        assertEquals(LocalDateTime.of(2026, 1, 13, 9, 30), fetches.get(0).getStart());
+        assertArrayEquals(new long[] { 0, 390, 390 }, counts);
+    }
+}
@@ -0,0 +1,82 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * CollectorShardBalancer 테스트
+ * ========================================
+ *
+ * 샤드 분배가 종목을 빠짐없이 겹치지 않게 나누는지, 수집 시간을 알면 최대 샤드 부하가 줄어드는지 검증
+ */
+public class CollectorShardBalancerTest {
+
+    private List<String> symbols(int count) {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            symbols.add("SYM" + i);
+        }
+        return symbols;
+    }
+
+    @Test
+    public void testUnknownLatenciesSplitEvenly() {
+        List<String> symbols = symbols(101);
+        List<List<String>> assignment = CollectorShardBalancer.assign(symbols, Collections.emptyMap(), 4);
+
+        assertEquals(4, assignment.size());
+        Set<String> seen = new HashSet<>();
+        for (List<String> shard : assignment) {
+            assertTrue(shard.size() == 25 || shard.size() == 26);
+            for (String symbol : shard) {
+                assertTrue(seen.add(symbol), "duplicate " + symbol);
+            }
+        }
+        assertEquals(new HashSet<>(symbols), seen);
+
+        // 같은 입력이면 같은 분배, 샤드 안은 입력 순서
+        assertEquals(assignment, CollectorShardBalancer.assign(symbols, Collections.emptyMap(), 4));
+        assertEquals("SYM0", assignment.get(0).get(0));
+    }
+
+    @Test
+    public void testSlowSymbolsAreSpreadAcrossShards() {
+        List<String> symbols = symbols(40);
+        Map<String, Double> latency = new HashMap<>();
+        symbols.forEach(symbol -> latency.put(symbol, 100.0));
+        // 처음 4개가 느림 → 균등 분배면 한 샤드에 몰림
+        for (int i = 0; i < 4; i++) {
+            latency.put("SYM" + i, 3000.0);
+        }
+
+        List<List<String>> naive = Arrays.asList(symbols.subList(0, 20), symbols.subList(20, 40));
+        List<List<String>> balanced = CollectorShardBalancer.assign(symbols, latency, 2);
+
+        assertEquals(13600.0, CollectorShardBalancer.maxLoad(naive, latency));
+        assertEquals(7800.0, CollectorShardBalancer.maxLoad(balanced, latency));
+        for (List<String> shard : balanced) {
+            assertEquals(2, shard.stream().filter(symbol -> latency.get(symbol) > 1000).count());
+        }
+    }
+
+    @Test
+    public void testNewSymbolsUseAverageLatency() {
+        Map<String, Double> latency = new HashMap<>();
+        latency.put("A", 200.0);
+        latency.put("B", 400.0);
+
+        // C는 수집 시간 모름 → 평균 300ms로 가정
+        double[] loads = CollectorShardBalancer.loads(
+                Arrays.asList(Arrays.asList("A", "C"), Collections.singletonList("B")), latency);
+        assertArrayEquals(new double[] { 500.0, 400.0 }, loads);
+
+        // 종목보다 샤드가 많으면 빈 샤드
+        List<List<String>> assignment = CollectorShardBalancer.assign(Arrays.asList("A", "B"), latency, 3);
+        assertEquals(Arrays.asList(Collections.singletonList("B"), Collections.singletonList("A"),
+                Collections.emptyList()), assignment);
+    }
+}
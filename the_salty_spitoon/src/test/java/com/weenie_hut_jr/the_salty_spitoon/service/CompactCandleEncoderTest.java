@@ -0,0 +1,183 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * CompactCandleEncoder 테스트
+ * ========================================
+ *
+ * 전체 / 차이 행 규칙, 차이 행을 더하면 원래 값이 되는지, 다른 서버의 프레임 반영, NASDAQ-100 장중 세션 모의 전송량 비교
+ */
+public class CompactCandleEncoderTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime OPEN = LocalDateTime.of(2026, 1, 19, 23, 30);
+
+    private StockCandle1m candle(String symbol, LocalDateTime timestamp, String close, long volume) {
+        BigDecimal price = new BigDecimal(close);
+        return StockCandle1m.builder()
+                .symbol(symbol)
+                .timestamp(timestamp)
+                .open(price)
+                .high(price)
+                .low(price)
+                .close(price)
+                .volume(volume)
+                .build();
+    }
+
+    @Test
+    public void testKeyframeThenTrimmedDeltas() {
+        CompactCandleEncoder encoder = new CompactCandleEncoder(ZONE, 60_000);
+
+        List<CompactCandleEncoder.Row> first = encoder.encode(List.of(candle("AAPL", OPEN, "231.50", 1000)), 0);
+        Map<String, Object> frame = CompactCandleEncoder.frame(0, first);
+        long minute = OPEN.atZone(ZONE).toEpochSecond() / 60;
+        assertEquals(List.of(List.of("AAPL", minute, 23150L, 23150L, 23150L, 23150L, 1000L)), frame.get("k"));
+        assertFalse(frame.containsKey("d"));
+
+        // 같은 분, 거래량만 증가 → 끝쪽 0이 없으므로 전체 길이 / 가격 그대로면 0
+        StockCandle1m update = candle("AAPL", OPEN, "231.50", 1500);
+        frame = CompactCandleEncoder.frame(1000, encoder.encode(List.of(update), 1000));
+        assertEquals(List.of(List.of("AAPL", 0L, 0L, 0L, 0L, 0L, 500L)), frame.get("d"));
+
+        // 가격만 변경 (거래량 같음) → 끝쪽 0 생략
+        update.setHigh(new BigDecimal("231.80"));
+        update.setClose(new BigDecimal("231.75"));
+        frame = CompactCandleEncoder.frame(2000, encoder.encode(List.of(update), 2000));
+        assertEquals(List.of(List.of("AAPL", 0L, 0L, 30L, 0L, 25L)), frame.get("d"));
+
+        // keyframe-interval 경과 → 전체 행
+        frame = CompactCandleEncoder.frame(60_000, encoder.encode(List.of(update), 60_000));
+        assertTrue(frame.containsKey("k"));
+        assertFalse(frame.containsKey("d"));
+    }
+
+    @Test
+    public void testDeltasRebuildOriginalValues() {
+        CompactCandleEncoder encoder = new CompactCandleEncoder(ZONE, Long.MAX_VALUE);
+        Random random = new Random(7);
+        long[] decoded = null;
+
+        BigDecimal close = new BigDecimal("100.00");
+        for (int i = 0; i < 200; i++) {
+            close = close.add(BigDecimal.valueOf(random.nextInt(41) - 20, 2));
+            StockCandle1m candle = candle("MSFT", OPEN.plusMinutes(i / 3), close.toPlainString(), 1000L * i);
+            CompactCandleEncoder.Row row = encoder.encode(List.of(candle), i).get(0);
+
+            List<Object> values = firstRow(CompactCandleEncoder.frame(i, List.of(row)));
+            if (row.isKeyframe()) {
+                decoded = new long[6];
+            }
+            for (int j = 1; j < values.size(); j++) {
+                decoded[j - 1] += (Long) values.get(j);
+            }
+
+            assertEquals(CompactCandleEncoder.fixed(close), decoded[4]);
+            assertEquals(1000L * i, decoded[5]);
+            assertEquals(OPEN.plusMinutes(i / 3).atZone(ZONE).toEpochSecond() / 60, decoded[0]);
+        }
+    }
+
+    /**
+     * 브로커 중계: 보낸 서버의 프레임(JSON)을 그대로 반영한 서버의 스냅샷이 보낸 서버와 같음
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAppliedFramesMirrorEncoderState() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        CompactCandleEncoder sender = new CompactCandleEncoder(ZONE, 5);
+        CompactCandleEncoder mirror = new CompactCandleEncoder(ZONE, 5);
+        Random random = new Random(3);
+
+        BigDecimal[] prices = {new BigDecimal("231.50"), new BigDecimal("415.20"), new BigDecimal("98.10")};
+        String[] symbols = {"AAPL", "MSFT", "INTC"};
+        for (int i = 0; i < 20; i++) {
+            List<StockCandle1m> candles = new ArrayList<>();
+            for (int s = 0; s < symbols.length; s++) {
+                prices[s] = prices[s].add(BigDecimal.valueOf(random.nextInt(21) - 10, 2));
+                candles.add(candle(symbols[s], OPEN.plusMinutes(i / 4), prices[s].toPlainString(), 100L * i));
+            }
+
+            byte[] body = objectMapper.writeValueAsBytes(CompactCandleEncoder.frame(i, sender.encode(candles, i)));
+            Map<String, Object> frame = objectMapper.readValue(body, Map.class);
+            mirror.apply((List<List<Object>>) frame.getOrDefault("k", List.of()),
+                    (List<List<Object>>) frame.getOrDefault("d", List.of()), i);
+
+            assertEquals(CompactCandleEncoder.frame(0, sender.snapshot(null)),
+                    CompactCandleEncoder.frame(0, mirror.snapshot(null)));
+        }
+
+        // 기준 값이 없는 종목의 차이 행은 무시
+        mirror.apply(List.of(), List.of(List.of("NVDA", 0, 5)), 0);
+        assertTrue(mirror.snapshot(List.of("NVDA")).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> firstRow(Map<String, Object> frame) {
+        List<List<Object>> rows = (List<List<Object>>) frame.getOrDefault("k", frame.get("d"));
+        return rows.get(0);
+    }
+
+    /**
+     * NASDAQ-100 정규장 390분 × 종목 100개 (1분마다 종목당 1건)
+     * - entity: 종목 토픽마다 StockCandle1m JSON (id / createdAt 포함)
+     * - compact: 주기마다 /topic/compact/market 프레임 1건
+     */
+    @Test
+    public void testBandwidthOnSimulatedNasdaq100Session() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        CompactCandleEncoder encoder = new CompactCandleEncoder(ZONE, 300_000);
+        Random random = new Random(100);
+
+        BigDecimal[] prices = new BigDecimal[100];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = BigDecimal.valueOf(5_000 + random.nextInt(95_000), 2);
+        }
+
+        long entityBytes = 0;
+        long compactBytes = 0;
+        long id = 1;
+        for (int minute = 0; minute < 390; minute++) {
+            LocalDateTime timestamp = OPEN.plusMinutes(minute);
+            List<StockCandle1m> candles = new ArrayList<>();
+
+            for (int i = 0; i < prices.length; i++) {
+                BigDecimal open = prices[i];
+                BigDecimal close = open.add(BigDecimal.valueOf(random.nextInt(61) - 30, 2));
+                StockCandle1m candle = StockCandle1m.builder()
+                        .id(id++)
+                        .symbol(String.format("SYM%02d", i))
+                        .timestamp(timestamp)
+                        .open(open)
+                        .high(open.max(close).add(BigDecimal.valueOf(random.nextInt(10), 2)))
+                        .low(open.min(close).subtract(BigDecimal.valueOf(random.nextInt(10), 2)))
+                        .close(close)
+                        .volume(1_000L + random.nextInt(200_000))
+                        .createdAt(timestamp.plusSeconds(5))
+                        .build();
+                prices[i] = close;
+                candles.add(candle);
+                entityBytes += objectMapper.writeValueAsBytes(candle).length;
+            }
+
+            long sentAt = minute * 60_000L;
+            compactBytes += objectMapper.writeValueAsBytes(
+                    CompactCandleEncoder.frame(sentAt, encoder.encode(candles, sentAt))).length;
+        }
+
+        // 필드 이름 / id / createdAt 제거 + 차이 인코딩 → 엔티티 JSON의 1/4 미만
+        assertTrue(compactBytes * 4 < entityBytes,
+                "compact=" + compactBytes + " entity=" + entityBytes);
+    }
+}
@@ -0,0 +1,152 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import com.weenie_hut_jr.the_salty_spitoon.repository.StockCandle1mRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * ========================================
+ * HotCandleStore 테스트
+ * ========================================
+ *
+ * - 빠진 과거 분(저널 재처리)은 시간순 삽입, 용량 초과 시 가장 오래된 캔들 제거
+ * - reload()의 DB 조회와 버퍼 교체 사이에 들어온 put()이 사라지지 않는지
+ * - 버퍼가 없는 종목의 put()은 DB 로드 후 반영 (워밍업 전에도 버리지 않음)
+ */
+public class HotCandleStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 9, 9, 30);
+
+    private StockCandle1mRepository repository;
+    private HotCandleStore store;
+
+    /** 종목별 "DB" 내용 (시간순) */
+    private final Map<String, List<StockCandle1m>> db = new HashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(StockCandle1mRepository.class);
+        when(repository.findBySymbolOrderByTimestampDesc(anyString(), any(Pageable.class))).thenAnswer(invocation -> {
+            List<StockCandle1m> rows = new ArrayList<>(db.getOrDefault(invocation.getArgument(0), List.of()));
+            Collections.reverse(rows);
+            int limit = ((Pageable) invocation.getArgument(1)).getPageSize();
+            return new ArrayList<>(rows.subList(0, Math.min(limit, rows.size())));
+        });
+
+        store = newStore(5);
+    }
+
+    private HotCandleStore newStore(int capacity) {
+        HotCandleStore created = new HotCandleStore(repository);
+        ReflectionTestUtils.setField(created, "enabled", true);
+        ReflectionTestUtils.setField(created, "capacity", capacity);
+        ReflectionTestUtils.setField(created, "warmedUp", true);
+        return created;
+    }
+
+    private StockCandle1m candle(String symbol, int minute, String close) {
+        BigDecimal price = new BigDecimal(close);
+        return StockCandle1m.builder()
+                .symbol(symbol)
+                .timestamp(BASE.plusMinutes(minute))
+                .open(price).high(price).low(price).close(price)
+                .volume(100L)
+                .build();
+    }
+
+    private void givenDb(String symbol, int... minutes) {
+        List<StockCandle1m> rows = new ArrayList<>();
+        for (int minute : minutes) {
+            rows.add(candle(symbol, minute, "100.00"));
+        }
+        db.put(symbol, rows);
+    }
+
+    private List<Integer> minutes(String symbol, int from, int to) {
+        return store.findRange(symbol, BASE.plusMinutes(from), BASE.plusMinutes(to))
+                .map(list -> list.stream()
+                        .map(c -> (int) Duration.between(BASE, c.getTimestamp()).toMinutes())
+                        .collect(Collectors.toList()))
+                .orElse(null);
+    }
+
+    @Test
+    public void testMissingPastMinuteIsInsertedInOrder() {
+        givenDb("AAPL", 0, 1, 3);
+        store.reload("AAPL");
+
+        // 저널 재처리로 복구된 2분
+        store.put(candle("AAPL", 2, "101.50"));
+
+        assertEquals(List.of(0, 1, 2, 3), minutes("AAPL", 0, 10));
+        assertEquals(0, new BigDecimal("101.50").compareTo(
+                store.findRange("AAPL", BASE.plusMinutes(2), BASE.plusMinutes(2)).orElseThrow().get(0).getClose()));
+    }
+
+    @Test
+    public void testInsertIntoFullBufferEvictsOldest() {
+        givenDb("AAPL", 0, 1, 2, 4, 5);
+        store.reload("AAPL");
+
+        store.put(candle("AAPL", 3, "100.00"));
+        assertEquals(List.of(1, 2, 3, 4, 5), minutes("AAPL", 1, 10));
+
+        // 보관 범위보다 오래된 분은 보관 불가 → 그 구간은 MISS (DB 폴백)
+        store.put(candle("AAPL", 0, "100.00"));
+        assertEquals(List.of(1, 2, 3, 4, 5), minutes("AAPL", 1, 10));
+        assertNull(minutes("AAPL", 0, 10));
+    }
+
+    @Test
+    public void testPutOfUnknownSymbolLoadsFromDbFirst() {
+        ReflectionTestUtils.setField(store, "warmedUp", false);
+        givenDb("MSFT", 0, 1);
+
+        // 워밍업 전 (아직 로드 안 된 종목)
+        store.put(candle("MSFT", 2, "100.00"));
+
+        ReflectionTestUtils.setField(store, "warmedUp", true);
+        assertEquals(List.of(0, 1, 2), minutes("MSFT", 0, 10));
+    }
+
+    @Test
+    public void testPutDuringReloadIsNotLost() throws Exception {
+        givenDb("AAPL", 0, 1);
+        store.reload("AAPL");
+
+        // reload의 DB 조회 도중 다른 스레드가 새 분을 put (조회 결과에는 없음)
+        Thread[] writer = new Thread[1];
+        reset(repository);
+        when(repository.findBySymbolOrderByTimestampDesc(anyString(), any(Pageable.class))).thenAnswer(invocation -> {
+            writer[0] = new Thread(() -> store.put(candle("AAPL", 2, "100.00")));
+            writer[0].start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (writer[0].getState() != Thread.State.BLOCKED && writer[0].isAlive()) {
+                assertTrue(System.nanoTime() < deadline, "writer never reached the symbol lock");
+                Thread.sleep(1);
+            }
+            return new ArrayList<>(List.of(candle("AAPL", 1, "100.00"), candle("AAPL", 0, "100.00")));
+        });
+
+        store.reload("AAPL");
+        writer[0].join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(writer[0].isAlive());
+        assertEquals(List.of(0, 1, 2), minutes("AAPL", 0, 10));
+    }
+}
@@ -0,0 +1,131 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockData;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * IndicatorCache 테스트
+ * ========================================
+ *
+ * 증분 확장 / 구간 이동 / 무효화 후에도 결과가 전체 재계산(IndicatorEngine)과 동일한지 검증
+ */
+public class IndicatorCacheTest {
+
+    private static final List<String> NAMES = Arrays.asList("MA5", "MA20", "MA200", "RSI", "RSI7");
+
+    private final IndicatorEngine engine = new IndicatorEngine();
+
+    private List<StockData> randomWalk(long seed, int size) {
+        Random random = new Random(seed);
+        List<StockData> data = new ArrayList<>();
+        long cents = 25_000;
+        for (int i = 0; i < size; i++) {
+            cents = Math.max(100, cents + (random.nextInt(8) == 0 ? 0 : random.nextInt(201) - 100));
+            data.add(candle(i, cents));
+        }
+        return data;
+    }
+
+    private IndicatorCache newCache() {
+        IndicatorCache cache = new IndicatorCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 32L * 1024 * 1024);
+        return cache;
+    }
+
+    private StockData candle(int minute, long cents) {
+        return StockData.builder()
+                .date(new Date(minute * 60_000L))
+                .close(BigDecimal.valueOf(cents, 2))
+                .build();
+    }
+
+    private void assertSameAsEngine(IndicatorCache cache, List<StockData> data) {
+        Map<String, List<BigDecimal>> expected = engine.calculate(data, NAMES);
+        for (String name : NAMES) {
+            assertEquals(expected.get(name), cache.get("AAPL", "1m", "all", name, data), name);
+        }
+    }
+
+    @Test
+    public void testIncrementalExtension() {
+        IndicatorCache cache = newCache();
+        List<StockData> all = randomWalk(1, 1500);
+        Random random = new Random(2);
+
+        List<StockData> live = new ArrayList<>(all.subList(0, 300));
+        assertSameAsEngine(cache, live);
+
+        for (int i = 300; i < all.size(); i++) {
+            // 진행 중인 마지막 캔들 갱신
+            StockData last = live.get(live.size() - 1);
+            live.set(live.size() - 1, candle((int) (last.getDate().getTime() / 60_000L),
+                    last.getClose().movePointRight(2).longValue() + random.nextInt(21) - 10));
+            assertSameAsEngine(cache, live);
+
+            // 새 캔들 추가 (가끔 여러 개)
+            live.add(all.get(i));
+            if (random.nextInt(10) == 0 && i + 1 < all.size()) {
+                live.add(all.get(++i));
+            }
+            assertSameAsEngine(cache, live);
+        }
+
+        // 같은 데이터 재요청은 hit
+        assertSameAsEngine(cache, live);
+
+        Map<String, Object> stats = cache.getStats();
+        assertTrue((Long) stats.get("hits") >= NAMES.size());
+        assertEquals((long) NAMES.size(), stats.get("misses"));
+        assertTrue((Long) stats.get("extensions") > 0);
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        IndicatorCache cache = newCache();
+        List<StockData> all = randomWalk(3, 3000);
+        int window = 600;
+
+        for (int end = window; end <= all.size(); end += 7) {
+            assertSameAsEngine(cache, all.subList(end - window, end));
+        }
+
+        // 구간이 밀려도 전체 재계산은 최초 1회
+        assertEquals((long) NAMES.size(), cache.getStats().get("misses"));
+    }
+
+    @Test
+    public void testChangedHistoryRecomputes() {
+        IndicatorCache cache = newCache();
+        List<StockData> data = new ArrayList<>(randomWalk(4, 500));
+        assertSameAsEngine(cache, data);
+
+        // 과거 캔들 변경 (백필) → 직전 캔들 검증 또는 무효화로 전체 재계산
+        data.set(data.size() - 2, candle(data.size() - 2, 12_345));
+        assertSameAsEngine(cache, data);
+
+        data.set(100, candle(100, 54_321));
+        cache.invalidateSymbol("AAPL");
+        assertSameAsEngine(cache, data);
+        assertEquals((long) NAMES.size(), cache.getStats().get("invalidations"));
+
+        // 메모리 예산 초과 시 LRU 제거 (방금 사용한 항목만 남음)
+        ReflectionTestUtils.setField(cache, "maxBytes", 1L);
+        assertSameAsEngine(cache, data);
+        assertEquals(1, cache.getStats().get("entries"));
+        assertTrue((Long) cache.getStats().get("evictions") > 0);
+
+        // 데이터가 줄거나 시작이 앞당겨지면 전체 재계산
+        assertSameAsEngine(cache, data.subList(0, 300));
+        assertSameAsEngine(cache, data);
+        assertSameAsEngine(cache, data.subList(0, 10));
+        assertSameAsEngine(cache, Collections.emptyList());
+    }
+}
@@ -0,0 +1,210 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * IndicatorEngine 테스트
+ * ========================================
+ *
+ * MA / RSI 결과가 기존 BigDecimal 구현(아래 legacy*)과 값·scale 모두 동일한지 검증
+ */
+public class IndicatorEngineTest {
+
+    private final IndicatorEngine engine = new IndicatorEngine();
+
+    /**
+     * 소수점 2자리 랜덤워크 캔들 (DB DECIMAL(10,2)와 동일 정밀도)
+     */
+    private List<StockData> randomWalk(long seed, int size) {
+        Random random = new Random(seed);
+        List<StockData> data = new ArrayList<>();
+        long cents = 25_000;
+
+        for (int i = 0; i < size; i++) {
+            // 보합 구간도 포함 (평균 하락분 0 → RSI 100 케이스)
+            long change = random.nextInt(10) == 0 ? 0 : random.nextInt(201) - 100;
+            cents = Math.max(100, cents + change);
+            BigDecimal close = BigDecimal.valueOf(cents, 2);
+
+            data.add(StockData.builder()
+                    .date(new Date(i * 60_000L))
+                    .open(close)
+                    .high(close.add(BigDecimal.valueOf(random.nextInt(50), 2)))
+                    .low(close.subtract(BigDecimal.valueOf(random.nextInt(50), 2)))
+                    .close(close)
+                    .volume(1000L)
+                    .build());
+        }
+        return data;
+    }
+
+    @Test
+    public void testMovingAverageMatchesLegacy() {
+        for (long seed = 1; seed <= 20; seed++) {
+            List<StockData> data = randomWalk(seed, 2730);
+            for (int period : new int[] { 1, 5, 20, 50, 200 }) {
+                assertEquals(legacyMA(data, period), engine.sma(data, period),
+                        "MA" + period + " seed=" + seed);
+            }
+        }
+    }
+
+    @Test
+    public void testRsiMatchesLegacy() {
+        for (long seed = 1; seed <= 20; seed++) {
+            List<StockData> data = randomWalk(seed, 2730);
+            for (int period : new int[] { 2, 7, 14, 21 }) {
+                assertEquals(legacyRSI(data, period), engine.rsi(data, period),
+                        "RSI" + period + " seed=" + seed);
+            }
+        }
+    }
+
+    @Test
+    public void testLongRequestDoesNotGrowRetainedBuffers() {
+        List<StockData> small = randomWalk(3, 500);
+        List<StockData> large = randomWalk(4, IndicatorEngine.RETAINED_CAPACITY * 3);
+
+        engine.sma(small, 20);
+        int retained = engine.retainedLength();
+        assertTrue(retained >= 500 && retained <= IndicatorEngine.RETAINED_CAPACITY);
+
+        // 긴 요청도 결과는 같고, 스레드 버퍼는 그대로
+        assertEquals(legacyMA(large, 20), engine.sma(large, 20));
+        assertEquals(retained, engine.retainedLength());
+
+        // 두 배씩 늘려도 상한을 넘지 않음
+        engine.sma(randomWalk(5, 5_000), 5);
+        engine.sma(randomWalk(6, 6_000), 5);
+        assertEquals(IndicatorEngine.RETAINED_CAPACITY, engine.retainedLength());
+    }
+
+    @Test
+    public void testShortInput() {
+        List<StockData> data = randomWalk(7, 10);
+
+        assertEquals(legacyMA(data, 20), engine.sma(data, 20));
+        assertTrue(engine.rsi(data, 14).isEmpty());
+        assertEquals(legacyMA(Collections.emptyList(), 5), engine.sma(Collections.emptyList(), 5));
+    }
+
+    @Test
+    public void testCalculateBatch() {
+        List<StockData> data = randomWalk(3, 500);
+        Map<String, List<BigDecimal>> result = engine.calculate(data,
+                Arrays.asList("MA5", " ma20 ", "RSI", "WRSI", "EMA12", "MACD", "BB", "STOCH", "MAX"));
+
+        assertEquals(legacyMA(data, 5), result.get("MA5"));
+        assertEquals(legacyMA(data, 20), result.get("MA20"));
+        assertEquals(legacyRSI(data, 14), result.get("RSI"));
+        assertFalse(result.containsKey("MAX"));
+
+        for (String key : Arrays.asList("WRSI", "EMA12", "MACD", "MACD_SIGNAL", "MACD_HIST",
+                "BB_MIDDLE", "BB_UPPER", "BB_LOWER", "STOCH_K", "STOCH_D")) {
+            assertEquals(data.size(), result.get(key).size(), key);
+        }
+
+        // 워밍업 구간
+        assertNull(result.get("EMA12").get(10));
+        assertNotNull(result.get("EMA12").get(11));
+        assertNull(result.get("MACD").get(24));
+        assertNotNull(result.get("MACD").get(25));
+        assertNull(result.get("MACD_SIGNAL").get(32));
+        assertNotNull(result.get("MACD_SIGNAL").get(33));
+        assertNull(result.get("STOCH_D").get(14));
+        assertNotNull(result.get("STOCH_D").get(15));
+
+        // 볼린저 중심선 = MA20
+        assertEquals(0, legacyMA(data, 20).get(100).compareTo(result.get("BB_MIDDLE").get(100)));
+
+        for (int i = 13; i < data.size(); i++) {
+            BigDecimal k = result.get("STOCH_K").get(i);
+            assertTrue(k.compareTo(BigDecimal.ZERO) >= 0 && k.compareTo(BigDecimal.valueOf(100)) <= 0);
+            assertTrue(result.get("BB_UPPER").get(Math.max(i, 19))
+                    .compareTo(result.get("BB_LOWER").get(Math.max(i, 19))) >= 0);
+        }
+    }
+
+    @Test
+    public void testWilderRsiKnownValues() {
+        // 상승만 있으면 100, 하락만 있으면 0
+        List<StockData> up = new ArrayList<>();
+        List<StockData> down = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            up.add(StockData.builder().close(BigDecimal.valueOf(100 + i)).build());
+            down.add(StockData.builder().close(BigDecimal.valueOf(100 - i)).build());
+        }
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(
+                engine.calculate(up, List.of("WRSI")).get("WRSI").get(29)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+                engine.calculate(down, List.of("WRSI")).get("WRSI").get(29)));
+    }
+
+    // ========================================
+    // 기존 구현 (StockService 교체 전 코드)
+    // ========================================
+
+    private List<BigDecimal> legacyMA(List<StockData> data, int period) {
+        List<BigDecimal> ma = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++) {
+            if (i < period - 1) {
+                ma.add(null);
+                continue;
+            }
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int j = 0; j < period; j++) {
+                sum = sum.add(data.get(i - j).getClose());
+            }
+            ma.add(sum.divide(BigDecimal.valueOf(period), 2, RoundingMode.HALF_UP));
+        }
+        return ma;
+    }
+
+    private List<BigDecimal> legacyRSI(List<StockData> data, int period) {
+        List<BigDecimal> rsi = new ArrayList<>();
+        if (data.size() < period + 1) {
+            return rsi;
+        }
+
+        List<BigDecimal> gains = new ArrayList<>();
+        List<BigDecimal> losses = new ArrayList<>();
+        for (int i = 1; i < data.size(); i++) {
+            BigDecimal change = data.get(i).getClose().subtract(data.get(i - 1).getClose());
+            gains.add(change.max(BigDecimal.ZERO));
+            losses.add(change.min(BigDecimal.ZERO).abs());
+        }
+
+        for (int i = 0; i < gains.size(); i++) {
+            if (i < period - 1) {
+                rsi.add(null);
+                continue;
+            }
+            BigDecimal avgGain = BigDecimal.ZERO;
+            BigDecimal avgLoss = BigDecimal.ZERO;
+            for (int j = 0; j < period; j++) {
+                avgGain = avgGain.add(gains.get(i - j));
+                avgLoss = avgLoss.add(losses.get(i - j));
+            }
+            avgGain = avgGain.divide(BigDecimal.valueOf(period), 4, RoundingMode.HALF_UP);
+            avgLoss = avgLoss.divide(BigDecimal.valueOf(period), 4, RoundingMode.HALF_UP);
+
+            if (avgLoss.compareTo(BigDecimal.ZERO) == 0) {
+                rsi.add(BigDecimal.valueOf(100));
+            } else {
+                BigDecimal rs = avgGain.divide(avgLoss, 4, RoundingMode.HALF_UP);
+                rsi.add(BigDecimal.valueOf(100).subtract(
+                        BigDecimal.valueOf(100).divide(BigDecimal.ONE.add(rs), 2, RoundingMode.HALF_UP)));
+            }
+        }
+        return rsi;
+    }
+}
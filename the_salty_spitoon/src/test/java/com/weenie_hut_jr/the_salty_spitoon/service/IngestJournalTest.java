@@ -0,0 +1,108 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * IngestJournal 테스트
+ * ========================================
+ *
+ * 커밋 안 된 묶음만 재시작 후 복원되는지, 세그먼트 수가 상한을 넘지 않는지 검증
+ */
+public class IngestJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private IngestJournal open(int segmentBytes, int maxSegments) {
+        IngestJournal journal = new IngestJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentBytes", segmentBytes);
+        ReflectionTestUtils.setField(journal, "maxSegments", maxSegments);
+        ReflectionTestUtils.setField(journal, "force", false);
+        journal.open();
+        return journal;
+    }
+
+    private List<StockCandle1m> batch(int size, int minute) {
+        List<StockCandle1m> candles = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            candles.add(StockCandle1m.builder()
+                    .symbol("SYM" + i)
+                    .timestamp(LocalDateTime.of(2026, 1, 14, 9, minute))
+                    .open(new BigDecimal("101.25"))
+                    .high(new BigDecimal("102.00"))
+                    .low(new BigDecimal("100.50"))
+                    .close(new BigDecimal("101.75"))
+                    .volume(1000L + i)
+                    .build());
+        }
+        return candles;
+    }
+
+    @Test
+    public void testUncommittedBatchesSurviveRestart() {
+        IngestJournal journal = open(64 * 1024, 4);
+        long first = journal.append(batch(3, 1), 111L);
+        long second = journal.append(batch(2, 2), 222L);
+        long third = journal.append(batch(1, 3), 333L);
+        journal.commit(second);
+
+        // close() 없이 다시 열기 (비정상 종료)
+        IngestJournal reopened = open(64 * 1024, 4);
+        List<IngestJournal.Entry> pending = reopened.pending();
+
+        assertEquals(2, pending.size());
+        assertEquals(first, pending.get(0).getSeq());
+        assertEquals(third, pending.get(1).getSeq());
+        assertEquals(111L, pending.get(0).getSourceMillis());
+
+        StockCandle1m candle = pending.get(0).getCandles().get(2);
+        assertEquals("SYM2", candle.getSymbol());
+        assertEquals(LocalDateTime.of(2026, 1, 14, 9, 1), candle.getTimestamp());
+        assertEquals(new BigDecimal("101.75"), candle.getClose());
+        assertEquals(1002L, candle.getVolume());
+
+        // 재적재 후 커밋하면 다음 기동 때 복원할 것이 없음
+        pending.forEach(entry -> reopened.commit(entry.getSeq()));
+        assertTrue(open(64 * 1024, 4).pending().isEmpty());
+        // 새 seq는 이전 실행 이후부터
+        assertTrue(reopened.append(batch(1, 4), 444L) > third);
+    }
+
+    @Test
+    public void testSegmentsAreRotatedAndBounded() {
+        IngestJournal journal = open(4096, 3);
+
+        // 커밋된 세그먼트는 바로 정리됨
+        for (int i = 0; i < 100; i++) {
+            journal.commit(journal.append(batch(20, 5), 1L));
+        }
+        assertEquals(1, segmentFiles());
+
+        // 커밋되지 않아도 상한을 넘지 않음
+        for (int i = 0; i < 100; i++) {
+            journal.append(batch(20, 6), 1L);
+        }
+        assertTrue(segmentFiles() <= 3);
+        assertTrue(((Number) journal.getStats().get("dropped")).longValue() > 0);
+    }
+
+    private int segmentFiles() {
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(".seg"));
+        return files == null ? 0 : files.length;
+    }
+}
@@ -0,0 +1,404 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import com.weenie_hut_jr.the_salty_spitoon.model.StockCandle1m;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * ========================================
+ * IngestPipeline 테스트
+ * ========================================
+ *
+ * - 검증 단계: 묶음 전체 UPSERT를 실패시키는 캔들(누락 / 음수 / 범위 초과)이 걸러지는지
+ * - 작은 큐로 실제 단계 스레드를 돌려서 배압 / publish overflow 정책 / future 완료·실패 / 단계별 카운터 확인
+ *   (저장기 / 전송기는 Gate로 멈춰 두고 큐가 차는 상태를 만든 뒤 풀어줌)
+ */
+public class IngestPipelineTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2026, 1, 16, 9, 31);
+
+    private CandleBatchWriter batchWriter;
+    private TickBroadcaster tickBroadcaster;
+    private IngestPipeline pipeline;
+
+    // 저장기 / 전송기 멈춤 (기본은 열림)
+    private Gate writerGate = Gate.opened();
+    private Gate publishGate = Gate.opened();
+    private final List<StockCandle1m> offered = new CopyOnWriteArrayList<>();
+
+    /**
+     * 들어온 스레드를 open() 전까지 멈춤
+     */
+    private static class Gate {
+        private final CountDownLatch open = new CountDownLatch(1);
+        private final AtomicInteger entered = new AtomicInteger();
+
+        static Gate opened() {
+            Gate gate = new Gate();
+            gate.open();
+            return gate;
+        }
+
+        void pass() throws InterruptedException {
+            entered.incrementAndGet();
+            open.await(10, TimeUnit.SECONDS);
+        }
+
+        void open() {
+            open.countDown();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        batchWriter = mock(CandleBatchWriter.class);
+        tickBroadcaster = mock(TickBroadcaster.class);
+
+        // 과거 데이터(HIST*) 묶음은 Gate와 무관하게 바로 저장
+        when(batchWriter.upsert(any())).thenAnswer(invocation -> {
+            List<StockCandle1m> candles = invocation.getArgument(0);
+            if (!candles.get(0).getSymbol().startsWith("HIST")) {
+                writerGate.pass();
+            }
+            return saved(candles);
+        });
+
+        doAnswer(invocation -> {
+            publishGate.pass();
+            offered.add(invocation.getArgument(0));
+            return null;
+        }).when(tickBroadcaster).offer(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writerGate.open();
+        publishGate.open();
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    private IngestPipeline start(int queueCapacity, int publishCapacity, String overflow) {
+        // 저널 미사용 (-1) → 실시간 묶음도 체크포인트 없이 저장
+        IngestJournal journal = mock(IngestJournal.class);
+        when(journal.append(any(), anyLong())).thenReturn(-1L);
+
+        pipeline = new IngestPipeline(batchWriter, journal, tickBroadcaster, mock(CandleRollupService.class),
+                mock(HotCandleStore.class), mock(IndicatorCache.class), mock(QuoteRegistry.class));
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(pipeline, "publishCapacity", publishCapacity);
+        ReflectionTestUtils.setField(pipeline, "publishOverflow", overflow);
+        ReflectionTestUtils.setField(pipeline, "bulkCapacity", 1);
+        ReflectionTestUtils.setField(pipeline, "candleZone", "Asia/Seoul");
+        ReflectionTestUtils.setField(pipeline, "dedupEnabled", true);
+        pipeline.start();
+        return pipeline;
+    }
+
+    // ========================================
+    // 도우미
+    // ========================================
+
+    private StockCandle1m.StockCandle1mBuilder candle() {
+        return StockCandle1m.builder()
+                .symbol("AAPL")
+                .timestamp(MINUTE)
+                .open(new BigDecimal("101.25"))
+                .high(new BigDecimal("102.00"))
+                .low(new BigDecimal("100.50"))
+                .close(new BigDecimal("101.75"))
+                .volume(1000L);
+    }
+
+    private StockCandle1m candle(String symbol) {
+        return candle().symbol(symbol).build();
+    }
+
+    private static CandleBatchWriter.BatchResult saved(List<StockCandle1m> candles) {
+        Set<String> keys = new HashSet<>();
+        for (StockCandle1m candle : candles) {
+            keys.add(candle.getSymbol() + "|" + candle.getTimestamp());
+        }
+        return new CandleBatchWriter.BatchResult(new ArrayList<>(candles), keys, candles.size(), 0, 0);
+    }
+
+    private CompletableFuture<CandleBatchWriter.BatchResult> submit(StockCandle1m... candles) {
+        return pipeline.submitRealtime("test", Arrays.asList(candles), System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    private long stage(String name, String key) {
+        Map<String, Object> stage = (Map<String, Object>) pipeline.getStats().get(name);
+        return ((Number) stage.get(key)).longValue();
+    }
+
+    private long stat(String key) {
+        return ((Number) pipeline.getStats().get(key)).longValue();
+    }
+
+    private List<String> offeredSymbols() {
+        List<String> symbols = new ArrayList<>();
+        for (StockCandle1m candle : offered) {
+            symbols.add(candle.getSymbol());
+        }
+        return symbols;
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, message);
+            Thread.sleep(5);
+        }
+    }
+
+    // ========================================
+    // 검증 단계
+    // ========================================
+
+    @Test
+    public void testValidCandle() {
+        assertTrue(IngestPipeline.isValid(candle().build()));
+        // 거래 없는 분 (volume 0, OHLC 동일)
+        assertTrue(IngestPipeline.isValid(candle().volume(0L)
+                .high(new BigDecimal("101.25")).low(new BigDecimal("101.25")).close(new BigDecimal("101.25"))
+                .build()));
+    }
+
+    @Test
+    public void testInvalidCandlesAreRejected() {
+        assertFalse(IngestPipeline.isValid(candle().symbol(" ").build()));
+        assertFalse(IngestPipeline.isValid(candle().timestamp(null).build()));
+        assertFalse(IngestPipeline.isValid(candle().close(null).build()));
+        assertFalse(IngestPipeline.isValid(candle().open(BigDecimal.ZERO).build()));
+        assertFalse(IngestPipeline.isValid(candle().volume(-1L).build()));
+        // high < low
+        assertFalse(IngestPipeline.isValid(candle().high(new BigDecimal("100.00")).build()));
+        // DECIMAL(10,2) 범위 초과
+        assertFalse(IngestPipeline.isValid(candle().high(new BigDecimal("100000000")).build()));
+    }
+
+    // ========================================
+    // future 완료 / 실패 + 카운터
+    // ========================================
+
+    @Test
+    public void testFutureCompletesWithWriterResult() throws Exception {
+        start(4, 16, "BLOCK");
+
+        CandleBatchWriter.BatchResult result = submit(candle("AAPL"), candle("MSFT")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, result.getInserted());
+        assertEquals(2, result.getCandles().size());
+        await(() -> offered.size() == 2, "both candles published");
+        await(() -> stage("validate", "processed") == 1, "validate stage processed 1");
+        await(() -> stage("persist", "processed") == 1, "persist stage processed 1");
+        await(() -> stage("publish", "processed") == 2, "publish stage counted both messages");
+        assertEquals(0, stat("failedBatches"));
+    }
+
+    @Test
+    public void testFutureFailsWhenWriterFails() throws Exception {
+        doThrow(new RuntimeException("db down")).when(batchWriter).upsert(any());
+        start(4, 16, "BLOCK");
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> submit(candle("AAPL")).get(5, TimeUnit.SECONDS));
+
+        assertEquals("db down", e.getCause().getMessage());
+        assertEquals(1, stat("failedBatches"));
+        assertEquals(0, stage("persist", "errors"));
+        assertTrue(offered.isEmpty());
+    }
+
+    @Test
+    public void testParseFailureFailsFuture() throws Exception {
+        start(4, 16, "BLOCK");
+
+        CompletableFuture<CandleBatchWriter.BatchResult> future = pipeline.submitRaw("file", System.currentTimeMillis(),
+                () -> {
+                    throw new IOException("unreadable");
+                });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals("unreadable", e.getCause().getMessage());
+        assertEquals(1, stat("failedBatches"));
+        await(() -> stage("parse", "processed") == 1, "parse stage counted the batch");
+        assertEquals(0, stage("validate", "processed"));
+    }
+
+    @Test
+    public void testInvalidAndUnchangedCandlesAreCounted() throws Exception {
+        start(4, 16, "BLOCK");
+
+        StockCandle1m invalid = candle().symbol("MSFT").volume(-1L).build();
+        assertEquals(1, submit(candle("AAPL"), invalid).get(5, TimeUnit.SECONDS).getInserted());
+
+        // 같은 캔들 다시 → 변경 감지로 저장 / 전송 생략, 빈 결과로 완료
+        CandleBatchWriter.BatchResult unchanged = submit(candle("AAPL")).get(5, TimeUnit.SECONDS);
+
+        assertTrue(unchanged.getCandles().isEmpty());
+        assertEquals(1, stat("invalidCandles"));
+        assertEquals(1L, pipeline.getDedupStats().get("suppressedWrites"));
+        await(() -> stage("validate", "processed") == 2, "validate stage processed 2");
+        await(() -> stage("persist", "processed") == 1, "persist stage processed 1");
+        verify(batchWriter, times(1)).upsert(any());
+    }
+
+    // ========================================
+    // 제한 크기 큐 / 배압
+    // ========================================
+
+    @Test
+    public void testBoundedQueuesBlockProducer() throws Exception {
+        writerGate = new Gate();
+        start(2, 16, "BLOCK");
+
+        List<CompletableFuture<CandleBatchWriter.BatchResult>> futures = new CopyOnWriteArrayList<>();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                futures.add(submit(candle().timestamp(MINUTE.plusMinutes(i)).build()));
+            }
+        });
+        producer.start();
+
+        // 저장 중 1 + persist 큐 2 + validate가 넘기려고 대기 중 1 + validate 큐 2 = 6개까지만 받음
+        await(() -> futures.size() == 6 && stage("validate", "backpressureWaits") > 0,
+                "producer blocked after filling both queues");
+        Thread.sleep(100);
+        assertEquals(6, futures.size());
+        assertTrue(producer.isAlive());
+        assertEquals(2, stage("validate", "depth"));
+        assertEquals(2, stage("persist", "depth"));
+        assertTrue(stage("persist", "backpressureWaits") > 0);
+        assertTrue(stage("persist", "maxDepth") <= 2);
+        assertTrue(stage("validate", "maxDepth") <= 2);
+
+        writerGate.open();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        for (CompletableFuture<CandleBatchWriter.BatchResult> future : futures) {
+            assertEquals(1, future.get(5, TimeUnit.SECONDS).getInserted());
+        }
+        await(() -> stage("persist", "processed") == 10, "persist stage processed 10");
+    }
+
+    @Test
+    public void testBulkLaneDoesNotWaitBehindRealtime() throws Exception {
+        writerGate = new Gate();
+        start(1, 16, "BLOCK");
+
+        CompletableFuture<CandleBatchWriter.BatchResult> realtime = submit(candle("AAPL"));
+        await(() -> writerGate.entered.get() == 1, "realtime batch is being written");
+
+        // 실시간 저장이 멈춰 있어도 과거 데이터 묶음은 bulk 단계에서 저장
+        CandleBatchWriter.BatchResult bulk = pipeline.submitBulk("historical",
+                Arrays.asList(candle("HIST1"), candle().symbol("HIST1").timestamp(MINUTE.plusMinutes(1)).build()))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, bulk.getInserted());
+        assertFalse(realtime.isDone());
+        await(() -> stage("bulk", "processed") == 1, "bulk stage processed 1");
+        assertEquals(0, stage("persist", "processed"));
+
+        writerGate.open();
+        realtime.get(5, TimeUnit.SECONDS);
+        // 과거 데이터는 전송하지 않음
+        await(() -> offered.size() == 1, "only the realtime candle is published");
+        assertEquals(List.of("AAPL"), offeredSymbols());
+    }
+
+    // ========================================
+    // publish overflow 정책 / 합치기
+    // ========================================
+
+    /**
+     * 전송기를 첫 메시지(FIRST)에서 멈춘 뒤 4종목 묶음 제출 (publish 큐 2칸)
+     */
+    private void fillPublishQueue(String overflow) throws Exception {
+        publishGate = new Gate();
+        start(4, 2, overflow);
+
+        submit(candle("FIRST")).get(5, TimeUnit.SECONDS);
+        await(() -> publishGate.entered.get() == 1, "publisher blocked on first message");
+
+        submit(candle("A"), candle("B"), candle("C"), candle("D")).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDropNewestKeepsQueuedMessages() throws Exception {
+        fillPublishQueue("DROP_NEWEST");
+
+        await(() -> stat("publishDropped") == 2, "two newest messages dropped");
+        publishGate.open();
+        await(() -> offered.size() == 3, "remaining messages published");
+
+        assertEquals(List.of("FIRST", "A", "B"), offeredSymbols());
+        assertEquals(2, stage("publish", "maxDepth"));
+    }
+
+    @Test
+    public void testDropOldestKeepsLatestMessages() throws Exception {
+        fillPublishQueue("DROP_OLDEST");
+
+        await(() -> stat("publishDropped") == 2, "two oldest messages dropped");
+        publishGate.open();
+        await(() -> offered.size() == 3, "remaining messages published");
+
+        assertEquals(List.of("FIRST", "C", "D"), offeredSymbols());
+    }
+
+    @Test
+    public void testBlockPolicyWaitsForPublisher() throws Exception {
+        publishGate = new Gate();
+        start(4, 2, "BLOCK");
+
+        submit(candle("FIRST")).get(5, TimeUnit.SECONDS);
+        await(() -> publishGate.entered.get() == 1, "publisher blocked on first message");
+
+        // 저장(future)은 끝나지만 persist 스레드는 publish 큐 자리를 기다림
+        submit(candle("A"), candle("B"), candle("C")).get(5, TimeUnit.SECONDS);
+        await(() -> stage("publish", "backpressureWaits") > 0, "persist thread waits for publish queue");
+        assertEquals(0, stat("publishDropped"));
+
+        publishGate.open();
+        await(() -> offered.size() == 4, "nothing dropped");
+        assertEquals(List.of("FIRST", "A", "B", "C"), offeredSymbols());
+    }
+
+    @Test
+    public void testSameMinuteMessagesAreMerged() throws Exception {
+        publishGate = new Gate();
+        start(4, 16, "BLOCK");
+
+        submit(candle("FIRST")).get(5, TimeUnit.SECONDS);
+        await(() -> publishGate.entered.get() == 1, "publisher blocked on first message");
+
+        // 아직 전송 전인 같은 종목 + 분 → 최신 값 하나로
+        submit(candle("AAPL")).get(5, TimeUnit.SECONDS);
+        submit(candle().close(new BigDecimal("101.90")).build()).get(5, TimeUnit.SECONDS);
+        await(() -> stat("publishMerged") == 1, "second update merged into queued message");
+
+        publishGate.open();
+        await(() -> offered.size() == 2, "merged message published once");
+
+        assertEquals(List.of("FIRST", "AAPL"), offeredSymbols());
+        assertEquals(0, new BigDecimal("101.90").compareTo(offered.get(1).getClose()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * StreamReplayBuffer 테스트
+ * ========================================
+ *
+ * 토픽별 순번, 놓친 메시지 재전송 범위, 보관 한도 / 순번 끊김 / 서버 재시작 시 스냅샷 전환,
+ * 브로커에서 받은 다른 서버 메시지 보관 검증
+ */
+public class StreamReplayBufferTest {
+
+    private static final String TOPIC = "/topic/stock/AAPL";
+
+    private void send(StreamReplayBuffer buffer, String destination, String body) {
+        long seq = buffer.next(destination);
+        buffer.record(destination, seq, body.getBytes());
+    }
+
+    private List<String> bodies(Optional<List<byte[]>> missed) {
+        return missed.orElseThrow().stream().map(String::new).toList();
+    }
+
+    @Test
+    public void testSequencesArePerTopicAndStartAtInitialValue() {
+        StreamReplayBuffer buffer = new StreamReplayBuffer(10, 1000);
+
+        assertEquals(1000, buffer.current(TOPIC));
+        assertEquals(1001, buffer.next(TOPIC));
+        assertEquals(1002, buffer.next(TOPIC));
+        assertEquals(1001, buffer.next("/topic/market"));
+        assertEquals(1002, buffer.current(TOPIC));
+    }
+
+    @Test
+    public void testResumeReturnsOnlyMissedMessages() {
+        StreamReplayBuffer buffer = new StreamReplayBuffer(10, 0);
+        send(buffer, TOPIC, "a");
+        send(buffer, TOPIC, "b");
+        send(buffer, TOPIC, "c");
+
+        assertEquals(List.of("b", "c"), bodies(buffer.since(TOPIC, 1)));
+        assertEquals(List.of("a", "b", "c"), bodies(buffer.since(TOPIC, 0)));
+        // 놓친 것 없음 → 빈 목록 (스냅샷도 필요 없음)
+        assertEquals(List.of(), bodies(buffer.since(TOPIC, 3)));
+        // 서버가 모르는 미래 순번 (다른 서버 / 잘못된 값) → 스냅샷
+        assertTrue(buffer.since(TOPIC, 9).isEmpty());
+    }
+
+    @Test
+    public void testCapacityLimitFallsBackToSnapshot() {
+        StreamReplayBuffer buffer = new StreamReplayBuffer(3, 0);
+        for (int i = 1; i <= 5; i++) {
+            send(buffer, TOPIC, "m" + i);
+        }
+
+        // 보관: 3~5 → 2 이후는 재전송 가능, 1 이후는 2가 빠졌으므로 스냅샷
+        assertEquals(List.of("m3", "m4", "m5"), bodies(buffer.since(TOPIC, 2)));
+        assertTrue(buffer.since(TOPIC, 1).isEmpty());
+        assertEquals(3L, buffer.getStats().get("bufferedMessages"));
+    }
+
+    @Test
+    public void testSkippedSequenceBreaksReplay() {
+        StreamReplayBuffer buffer = new StreamReplayBuffer(10, 0);
+        send(buffer, TOPIC, "a");
+        buffer.next(TOPIC); // 구독자 없어 보내지 않음 (순번만 소비)
+        send(buffer, TOPIC, "c");
+
+        // 2번을 재전송할 수 없음 → 1 이후는 스냅샷, 2 이후는 재전송
+        assertTrue(buffer.since(TOPIC, 1).isEmpty());
+        assertEquals(List.of("c"), bodies(buffer.since(TOPIC, 2)));
+
+        // 마지막 메시지를 보내지 않고 순번만 소비한 경우도 스냅샷
+        buffer.next(TOPIC);
+        assertTrue(buffer.since(TOPIC, 2).isEmpty());
+    }
+
+    @Test
+    public void testRestartedServerIssuesLargerSequences() {
+        StreamReplayBuffer before = new StreamReplayBuffer(10, 1_000_000);
+        send(before, TOPIC, "a");
+        long lastSeen = before.current(TOPIC);
+
+        // 재시작 → 시작 값(기동 시각)이 더 큼, 보관 내용 없음 → 스냅샷 (순번은 클라이언트 값보다 큼)
+        StreamReplayBuffer after = new StreamReplayBuffer(10, 2_000_000);
+        assertTrue(after.since(TOPIC, lastSeen).isEmpty());
+        assertTrue(after.current(TOPIC) > lastSeen);
+    }
+
+    @Test
+    public void testObservedMessagesKeepSenderSequence() {
+        StreamReplayBuffer buffer = new StreamReplayBuffer(10, 9_000);
+        assertFalse(buffer.contains(TOPIC));
+
+        // 다른 서버의 순번(시작 값보다 작아도) 그대로 보관
+        assertTrue(buffer.observe(TOPIC, 501, "a".getBytes()));
+        assertTrue(buffer.observe(TOPIC, 502, "b".getBytes()));
+        assertTrue(buffer.contains(TOPIC));
+        assertEquals(502, buffer.current(TOPIC));
+        assertEquals(List.of("b"), bodies(buffer.since(TOPIC, 501)));
+
+        // 이미 본 순번 (system 구독 + 클라이언트 전달로 두 번 관찰) → 무시
+        assertFalse(buffer.observe(TOPIC, 502, "b".getBytes()));
+        assertFalse(buffer.observe(TOPIC, 400, "old".getBytes()));
+        assertEquals(List.of("a", "b"), bodies(buffer.since(TOPIC, 500)));
+
+        // 중간을 놓침 → 그 이전부터는 스냅샷
+        assertTrue(buffer.observe(TOPIC, 505, "e".getBytes()));
+        assertTrue(buffer.since(TOPIC, 502).isEmpty());
+        assertEquals(List.of(), bodies(buffer.since(TOPIC, 505)));
+    }
+}
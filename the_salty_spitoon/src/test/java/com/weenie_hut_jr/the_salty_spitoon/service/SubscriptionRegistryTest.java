@@ -0,0 +1,79 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * SubscriptionRegistry 테스트
+ * ========================================
+ *
+ * 구독 / 해제 / 연결 종료 시 토픽별 구독 수, 패턴 구독 일치, 압축 형식 토픽 변환 검증
+ */
+public class SubscriptionRegistryTest {
+
+    @Test
+    public void testCountsFollowSubscribeUnsubscribeAndDisconnect() {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+
+        registry.add("s1", "sub-0", "/topic/stock/AAPL");
+        registry.add("s1", "sub-1", "/topic/market");
+        registry.add("s2", "sub-0", "/topic/stock/AAPL");
+        assertTrue(registry.hasSubscribers("/topic/stock/AAPL"));
+        assertFalse(registry.hasSubscribers("/topic/stock/MSFT"));
+        assertEquals(Map.of("/topic/stock/AAPL", 2, "/topic/market", 1), registry.getStats().get("topics"));
+
+        registry.remove("s2", "sub-0");
+        assertTrue(registry.hasSubscribers("/topic/stock/AAPL"));
+
+        // 연결 종료 → 세션의 구독 전부 해제 (UNSUBSCRIBE 없이 끊긴 경우)
+        registry.removeSession("s1");
+        assertFalse(registry.hasSubscribers("/topic/stock/AAPL"));
+        assertFalse(registry.hasSubscribers("/topic/market"));
+        assertEquals(0, registry.getStats().get("sessions"));
+
+        // 없는 구독 해제는 무시
+        registry.remove("s3", "sub-9");
+        assertEquals(0, registry.getStats().get("subscriptions"));
+    }
+
+    @Test
+    public void testResubscribeWithSameIdMovesCount() {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+
+        registry.add("s1", "sub-0", "/topic/stock/AAPL");
+        registry.add("s1", "sub-0", "/topic/stock/MSFT");
+
+        assertFalse(registry.hasSubscribers("/topic/stock/AAPL"));
+        assertTrue(registry.hasSubscribers("/topic/stock/MSFT"));
+        assertEquals(1, registry.getStats().get("subscriptions"));
+    }
+
+    @Test
+    public void testPatternSubscriptionsMatchTopics() {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+
+        registry.add("s1", "sub-0", "/topic/stock/**");
+        assertTrue(registry.hasSubscribers("/topic/stock/AAPL"));
+        assertFalse(registry.hasSubscribers("/topic/market"));
+
+        registry.removeSession("s1");
+        assertFalse(registry.hasSubscribers("/topic/stock/AAPL"));
+    }
+
+    @Test
+    public void testCompactFormatDestination() {
+        assertEquals("/topic/compact/stock/AAPL",
+                TickBroadcaster.negotiatedDestination("/topic/stock/AAPL", "compact"));
+        assertEquals("/topic/compact/market", TickBroadcaster.negotiatedDestination("/topic/market", "compact"));
+        // 헤더 없음 / 다른 토픽 / 이미 변환된 토픽은 그대로
+        assertEquals("/topic/market", TickBroadcaster.negotiatedDestination("/topic/market", null));
+        assertEquals("/topic/admin/progress",
+                TickBroadcaster.negotiatedDestination("/topic/admin/progress", "compact"));
+        assertEquals("/topic/compact/market",
+                TickBroadcaster.negotiatedDestination("/topic/compact/market", "compact"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.weenie_hut_jr.the_salty_spitoon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ========================================
+ * TokenBucketRateLimiter 테스트
+ * ========================================
+ *
+ * 가짜 시계(Ticker)로 실제 대기 없이 검증
+ * - sleepNanos()는 요청한 시간만큼 시계를 진행시키고 누적 대기 시간을 기록
+ */
+public class TokenBucketRateLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** 부동소수 반올림 여유 (대기 합계 비교용) */
+    private static final long TOLERANCE = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private static class FakeTicker implements TokenBucketRateLimiter.Ticker {
+        long now = 1_000_000_000L;
+        long slept;
+        int sleeps;
+        boolean interruptNextSleep;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void sleepNanos(long nanos) throws InterruptedException {
+            if (interruptNextSleep) {
+                interruptNextSleep = false;
+                throw new InterruptedException();
+            }
+            assertTrue(nanos > 0, "wait must be positive");
+            now += nanos;
+            slept += nanos;
+            sleeps++;
+        }
+
+        void advance(long nanos) {
+            now += nanos;
+        }
+    }
+
+    @Test
+    public void testBurstIsAvailableImmediately() throws InterruptedException {
+        FakeTicker ticker = new FakeTicker();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 5, ticker);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        assertEquals(0, ticker.sleeps);
+
+        // 버킷이 비면 다음 토큰(1 / 2초)까지 대기
+        limiter.acquire();
+        assertEquals(500 * MS, ticker.slept, TOLERANCE);
+    }
+
+    @Test
+    public void testRefillRate() throws InterruptedException {
+        FakeTicker ticker = new FakeTicker();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(4, 1, ticker);
+        limiter.acquire();
+
+        // 250ms = 토큰 1개 → 대기 없음
+        ticker.advance(250 * MS);
+        limiter.acquire();
+        assertEquals(0, ticker.sleeps);
+
+        // 100ms만 지났으면 남은 150ms 대기
+        ticker.advance(100 * MS);
+        limiter.acquire();
+        assertEquals(150 * MS, ticker.slept, TOLERANCE);
+    }
+
+    @Test
+    public void testRefillIsCappedAtBurst() throws InterruptedException {
+        FakeTicker ticker = new FakeTicker();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, ticker);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+        }
+
+        // 오래 쉬어도 burst(3)개까지만 쌓임
+        ticker.advance(60_000 * MS);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+        }
+        assertEquals(0, ticker.sleeps);
+
+        limiter.acquire();
+        assertEquals(100 * MS, ticker.slept, TOLERANCE);
+    }
+
+    @Test
+    public void testSustainedRateAfterBurst() throws InterruptedException {
+        FakeTicker ticker = new FakeTicker();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 2, ticker);
+
+        // burst 2개 + 이후 10개 = 초당 10개 → 1초 대기
+        for (int i = 0; i < 12; i++) {
+            limiter.acquire();
+        }
+        assertEquals(1_000 * MS, ticker.slept, 10 * TOLERANCE);
+    }
+
+    @Test
+    public void testInterruptedAcquireDoesNotConsumeToken() throws InterruptedException {
+        FakeTicker ticker = new FakeTicker();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, ticker);
+        limiter.acquire();
+
+        ticker.interruptNextSleep = true;
+        assertThrows(InterruptedException.class, limiter::acquire);
+
+        // 대기 중 중단된 요청은 토큰을 가져가지 않음 → 1초 뒤 바로 획득
+        ticker.advance(1_000 * MS);
+        limiter.acquire();
+        assertEquals(0, ticker.sleeps);
+    }
+
+    @Test
+    public void testNonPositiveRateIsUnlimited() throws InterruptedException {
+        FakeTicker ticker = new FakeTicker();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0, 1, ticker);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.acquire();
+        }
+        assertEquals(0, ticker.sleeps);
+    }
+}